@@ -37,6 +37,11 @@ public class CopyBenchmark {
     return state.fory.copy(state.object);
   }
 
+  @Benchmark
+  public Object fory_codegen_copy(ForyState.ForyCopyState state) {
+    return state.fory.copy(state.object);
+  }
+
   @Benchmark
   public Object kryo_copy(KryoState.KryoUserTypeState state) {
     return state.kryo.copy(state.object);
@@ -36,13 +36,18 @@ import org.apache.avro.reflect.ReflectDatumReader;
 import org.apache.avro.reflect.ReflectDatumWriter;
 import org.apache.fory.format.encoder.Encoder;
 import org.apache.fory.format.encoder.Encoders;
+import org.apache.fory.format.encoder.RowEncoder;
 import org.apache.fory.logging.Logger;
 import org.apache.fory.logging.LoggerFactory;
+import org.apache.fory.memory.MemoryBuffer;
+import org.apache.fory.memory.MemoryUtils;
 import org.openjdk.jmh.Main;
 import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
 
 public class RowSuite {
   private static final Logger LOG = LoggerFactory.getLogger(RowSuite.class);
+  private static final int BATCH_SIZE = 1000;
 
   public static final class TestStruct implements Serializable {
     private short f1;
@@ -100,6 +105,11 @@ public class RowSuite {
   private static Encoder<TestStruct> foryEncoder = Encoders.bean(TestStruct.class);
   private static final byte[] foryData;
 
+  private static List<TestStruct> objects = new ArrayList<>();
+  private static RowEncoder<TestStruct> foryRowEncoder = Encoders.bean(TestStruct.class);
+  private static MemoryBuffer batchBuffer = MemoryUtils.buffer(32);
+  private static final byte[] foryBatchData;
+
   static {
     // create a file of packets
     DatumWriter<TestStruct> writer = new ReflectDatumWriter<>(TestStruct.class);
@@ -113,6 +123,10 @@ public class RowSuite {
       throw new RuntimeException(e);
     }
     foryData = foryEncoder.encode(object);
+    for (int i = 0; i < BATCH_SIZE; i++) {
+      objects.add(object);
+    }
+    foryBatchData = foryRowEncoder.encodeBatch(objects);
   }
 
   @Benchmark
@@ -125,6 +139,31 @@ public class RowSuite {
     return foryEncoder.decode(foryData);
   }
 
+  // Batch benchmarks report rows/sec since every invocation counts as BATCH_SIZE operations.
+  @Benchmark
+  @OperationsPerInvocation(BATCH_SIZE)
+  public Object foryRowByRowSerialize() {
+    batchBuffer.writerIndex(0);
+    for (TestStruct obj : objects) {
+      foryRowEncoder.encode(batchBuffer, obj);
+    }
+    return batchBuffer;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(BATCH_SIZE)
+  public Object foryBatchSerialize() {
+    batchBuffer.writerIndex(0);
+    foryRowEncoder.encodeBatch(objects, batchBuffer);
+    return batchBuffer;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(BATCH_SIZE)
+  public Object foryBatchDeserialize() {
+    return foryRowEncoder.decodeBatch(foryBatchData);
+  }
+
   @Benchmark
   public Object avroSerialize() throws IOException {
     outputStream.reset();
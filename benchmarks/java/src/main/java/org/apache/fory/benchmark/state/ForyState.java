@@ -176,6 +176,29 @@ public class ForyState {
     }
   }
 
+  /**
+   * Copy state parameterized by codegen, which compares the generated copy code of structs with the
+   * field accessor based copy.
+   */
+  public static class ForyCopyState extends ForyUserTypeState {
+    @Param({"true", "false"})
+    public boolean codegen;
+
+    @Override
+    public void setup() {
+      object = ObjectType.createObject(objectType, references);
+      Thread.currentThread().setContextClassLoader(object.getClass().getClassLoader());
+      fory =
+          Fory.builder()
+              .withXlang(false)
+              .withRefCopy(references)
+              .withCodegen(codegen)
+              .requireClassRegistration(false)
+              .build();
+      Preconditions.checkArgument(object.equals(fory.copy(object)));
+    }
+  }
+
   public static class ForyMetaSharedState extends ForyUserTypeState {
     public MetaWriteContext writerMetaContext = new MetaWriteContext();
     public MetaReadContext readerMetaContext = new MetaReadContext();
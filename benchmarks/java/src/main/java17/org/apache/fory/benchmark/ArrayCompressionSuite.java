@@ -107,6 +107,10 @@ public class ArrayCompressionSuite {
     private MemoryBuffer intRangeCompressedLongBuffer;
     private MemoryBuffer largeValueNormalLongBuffer;
     private MemoryBuffer largeValueCompressedLongBuffer;
+    private MemoryBuffer sortedIdNormalIntBuffer;
+    private MemoryBuffer sortedIdCompressedIntBuffer;
+    private MemoryBuffer timestampNormalLongBuffer;
+    private MemoryBuffer timestampCompressedLongBuffer;
 
     @Param({"100", "1000", "10000", "100000", "1000000", "10000000"})
     public int arraySize;
@@ -115,6 +119,8 @@ public class ArrayCompressionSuite {
     private int[] largeValueIntArray;
     private long[] intRangeLongArray;
     private long[] largeValueLongArray;
+    private int[] sortedIdIntArray;
+    private long[] timestampLongArray;
 
     @Setup(Level.Trial)
     public void setup() {
@@ -123,6 +129,7 @@ public class ArrayCompressionSuite {
           new ForyBuilder()
               .withIntArrayCompressed(true)
               .withLongArrayCompressed(true)
+              .withBitPackedArrayCompressed(true)
               .withCompatible(true)
               .build();
 
@@ -131,6 +138,8 @@ public class ArrayCompressionSuite {
       largeValueIntArray = createLargeValueArray(arraySize);
       intRangeLongArray = createIntRangeLongArray(arraySize);
       largeValueLongArray = createLargeLongValueArray(arraySize);
+      sortedIdIntArray = createSortedIdArray(arraySize);
+      timestampLongArray = createTimestampArray(arraySize);
 
       buffer = MemoryBuffer.newHeapBuffer(1024 * 1024 * 16);
       byteRangeNormalIntBuffer = MemoryBuffer.newHeapBuffer(1024 * 1024 * 16);
@@ -141,6 +150,10 @@ public class ArrayCompressionSuite {
       intRangeCompressedLongBuffer = MemoryBuffer.newHeapBuffer(1024 * 1024 * 16);
       largeValueNormalLongBuffer = MemoryBuffer.newHeapBuffer(1024 * 1024 * 16);
       largeValueCompressedLongBuffer = MemoryBuffer.newHeapBuffer(1024 * 1024 * 16);
+      sortedIdNormalIntBuffer = MemoryBuffer.newHeapBuffer(1024 * 1024 * 16);
+      sortedIdCompressedIntBuffer = MemoryBuffer.newHeapBuffer(1024 * 1024 * 16);
+      timestampNormalLongBuffer = MemoryBuffer.newHeapBuffer(1024 * 1024 * 16);
+      timestampCompressedLongBuffer = MemoryBuffer.newHeapBuffer(1024 * 1024 * 16);
 
       // Pre-serialize the arrays for clean deserialization benchmarks
       foryNormal.serialize(byteRangeNormalIntBuffer, byteRangeIntArray);
@@ -162,6 +175,17 @@ public class ArrayCompressionSuite {
       largeValueNormalLongBuffer.readerIndex(0);
       foryWithCompression.serialize(largeValueCompressedLongBuffer, largeValueLongArray);
       largeValueCompressedLongBuffer.readerIndex(0);
+
+      // Sorted ids and timestamps don't fit a narrower type, but their deltas are small.
+      foryNormal.serialize(sortedIdNormalIntBuffer, sortedIdIntArray);
+      sortedIdNormalIntBuffer.readerIndex(0);
+      foryWithCompression.serialize(sortedIdCompressedIntBuffer, sortedIdIntArray);
+      sortedIdCompressedIntBuffer.readerIndex(0);
+
+      foryNormal.serialize(timestampNormalLongBuffer, timestampLongArray);
+      timestampNormalLongBuffer.readerIndex(0);
+      foryWithCompression.serialize(timestampCompressedLongBuffer, timestampLongArray);
+      timestampCompressedLongBuffer.readerIndex(0);
     }
   }
 
@@ -524,6 +548,72 @@ public class ArrayCompressionSuite {
     bh.consume(compressionType);
   }
 
+  @Benchmark
+  public void serializeSortedIdIntNormal(StateClass state, Blackhole bh) {
+    state.buffer.writerIndex(0);
+    state.foryNormal.serialize(state.buffer, state.sortedIdIntArray);
+    bh.consume(state.buffer.writerIndex());
+  }
+
+  @Benchmark
+  public void serializeSortedIdIntCompressed(StateClass state, Blackhole bh) {
+    state.buffer.writerIndex(0);
+    state.foryWithCompression.serialize(state.buffer, state.sortedIdIntArray);
+    bh.consume(state.buffer.writerIndex());
+  }
+
+  @Benchmark
+  public void serializeTimestampLongNormal(StateClass state, Blackhole bh) {
+    state.buffer.writerIndex(0);
+    state.foryNormal.serialize(state.buffer, state.timestampLongArray);
+    bh.consume(state.buffer.writerIndex());
+  }
+
+  @Benchmark
+  public void serializeTimestampLongCompressed(StateClass state, Blackhole bh) {
+    state.buffer.writerIndex(0);
+    state.foryWithCompression.serialize(state.buffer, state.timestampLongArray);
+    bh.consume(state.buffer.writerIndex());
+  }
+
+  @Benchmark
+  public int[] deserializeSortedIdIntNormal(StateClass state) {
+    state.sortedIdNormalIntBuffer.readerIndex(0);
+    return (int[]) state.foryNormal.deserialize(state.sortedIdNormalIntBuffer);
+  }
+
+  @Benchmark
+  public int[] deserializeSortedIdIntCompressed(StateClass state) {
+    state.sortedIdCompressedIntBuffer.readerIndex(0);
+    return (int[]) state.foryWithCompression.deserialize(state.sortedIdCompressedIntBuffer);
+  }
+
+  @Benchmark
+  public long[] deserializeTimestampLongNormal(StateClass state) {
+    state.timestampNormalLongBuffer.readerIndex(0);
+    return (long[]) state.foryNormal.deserialize(state.timestampNormalLongBuffer);
+  }
+
+  @Benchmark
+  public long[] deserializeTimestampLongCompressed(StateClass state) {
+    state.timestampCompressedLongBuffer.readerIndex(0);
+    return (long[]) state.foryWithCompression.deserialize(state.timestampCompressedLongBuffer);
+  }
+
+  @Benchmark
+  public void chooseSortedIdIntCompressionTypeSIMD(StateClass state, Blackhole bh) {
+    PrimitiveArrayCompressionType compressionType =
+        ArrayCompressionUtils.chooseIntCompressionType(state.sortedIdIntArray);
+    bh.consume(compressionType);
+  }
+
+  @Benchmark
+  public void chooseTimestampLongCompressionTypeSIMD(StateClass state, Blackhole bh) {
+    PrimitiveArrayCompressionType compressionType =
+        ArrayCompressionUtils.chooseLongCompressionType(state.timestampLongArray);
+    bh.consume(compressionType);
+  }
+
   // Helper methods to create test data
   private static final int[] createByteRangeArray(int size) {
     int[] array = new int[size];
@@ -561,6 +651,28 @@ public class ArrayCompressionSuite {
     return array;
   }
 
+  private static final int[] createSortedIdArray(int size) {
+    int[] array = new int[size];
+    Random random = new Random(42);
+    int id = 1_000_000_000;
+    for (int i = 0; i < size; i++) {
+      id += 1 + random.nextInt(7);
+      array[i] = id;
+    }
+    return array;
+  }
+
+  private static final long[] createTimestampArray(int size) {
+    long[] array = new long[size];
+    Random random = new Random(42);
+    long timestamp = 1_700_000_000_000L;
+    for (int i = 0; i < size; i++) {
+      timestamp += random.nextInt(100);
+      array[i] = timestamp;
+    }
+    return array;
+  }
+
   private static final long[] createIntRangeLongArray(int size) {
     long[] array = new long[size];
     Random random = new Random(42);
@@ -19,13 +19,16 @@
 
 package org.apache.fory.benchmark.java25;
 
+import java.lang.foreign.Arena;
 import java.lang.foreign.MemorySegment;
 import java.lang.foreign.ValueLayout;
 import java.lang.invoke.MethodHandles;
 import java.lang.invoke.VarHandle;
+import java.lang.reflect.Field;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.util.concurrent.TimeUnit;
+import org.apache.fory.memory.MemoryBuffer;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Fork;
@@ -35,6 +38,7 @@ import org.openjdk.jmh.annotations.OutputTimeUnit;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
 import org.openjdk.jmh.annotations.Threads;
 import org.openjdk.jmh.annotations.Warmup;
 
@@ -55,15 +59,47 @@ public class DirectMemoryAccessBenchmark {
       MethodHandles.byteBufferViewVarHandle(int[].class, NATIVE_ORDER);
   private static final VarHandle LONG_HANDLE =
       MethodHandles.byteBufferViewVarHandle(long[].class, NATIVE_ORDER);
+  private static final VarHandle HEAP_INT_HANDLE =
+      MethodHandles.byteArrayViewVarHandle(int[].class, NATIVE_ORDER);
+  private static final VarHandle HEAP_LONG_HANDLE =
+      MethodHandles.byteArrayViewVarHandle(long[].class, NATIVE_ORDER);
   private static final ValueLayout.OfInt INT_LAYOUT =
       ValueLayout.JAVA_INT_UNALIGNED.withOrder(NATIVE_ORDER);
   private static final ValueLayout.OfLong LONG_LAYOUT =
       ValueLayout.JAVA_LONG_UNALIGNED.withOrder(NATIVE_ORDER);
+  // Baseline only: the Unsafe path is what the pre-JDK25 MemoryBuffer uses.
+  @SuppressWarnings("removal")
+  private static final sun.misc.Unsafe UNSAFE = loadUnsafe();
+  private static final long BYTE_ARRAY_OFFSET = UNSAFE.arrayBaseOffset(byte[].class);
+
+  @SuppressWarnings("removal")
+  private static sun.misc.Unsafe loadUnsafe() {
+    try {
+      Field field = sun.misc.Unsafe.class.getDeclaredField("theUnsafe");
+      field.setAccessible(true);
+      return (sun.misc.Unsafe) field.get(null);
+    } catch (ReflectiveOperationException e) {
+      throw new ExceptionInInitializerError(e);
+    }
+  }
 
   @State(Scope.Thread)
   public static class DirectState {
     ByteBuffer buffer;
     MemorySegment segment;
+    // Segments allocated from arenas rather than wrapped from a direct ByteBuffer, which is how
+    // `MemoryBuffer.newSegmentBuffer` allocates memory.
+    Arena confinedArena;
+    Arena sharedArena;
+    MemorySegment confinedSegment;
+    MemorySegment sharedSegment;
+    long unsafeAddress;
+    byte[] heapBytes;
+    MemorySegment heapSegment;
+    // Memory buffers over the same heap array and confined segment, to compare the `MemoryBuffer`
+    // accessors with the raw access paths above.
+    MemoryBuffer heapBuffer;
+    MemoryBuffer segmentBuffer;
     int intValue;
     int intCursor;
     long longValue;
@@ -73,20 +109,38 @@ public class DirectMemoryAccessBenchmark {
     public void setup() {
       buffer = ByteBuffer.allocateDirect(BUFFER_BYTES).order(NATIVE_ORDER);
       segment = MemorySegment.ofBuffer(buffer);
+      confinedArena = Arena.ofConfined();
+      sharedArena = Arena.ofShared();
+      confinedSegment = confinedArena.allocate(BUFFER_BYTES, Long.BYTES);
+      sharedSegment = sharedArena.allocate(BUFFER_BYTES, Long.BYTES);
+      unsafeAddress = confinedSegment.address();
+      heapBytes = new byte[BUFFER_BYTES];
+      heapSegment = MemorySegment.ofArray(heapBytes);
+      heapBuffer = MemoryBuffer.fromByteArray(heapBytes);
+      segmentBuffer = MemoryBuffer.fromSegment(confinedSegment);
       intValue = 0x12345678;
       longValue = 0x123456789abcdef0L;
-      for (int i = 0; i < INT_SLOTS; i++) {
-        int intOffset = i << 2;
-        int intPattern = intValue + i;
-        segment.set(INT_LAYOUT, intOffset, intPattern);
-      }
-      for (int i = 0; i < LONG_SLOTS; i++) {
-        int longOffset = i << 3;
-        long longPattern = longValue + i;
-        segment.set(LONG_LAYOUT, longOffset, longPattern);
+      for (MemorySegment target :
+          new MemorySegment[] {segment, confinedSegment, sharedSegment, heapSegment}) {
+        for (int i = 0; i < INT_SLOTS; i++) {
+          int intOffset = i << 2;
+          int intPattern = intValue + i;
+          target.set(INT_LAYOUT, intOffset, intPattern);
+        }
+        for (int i = 0; i < LONG_SLOTS; i++) {
+          int longOffset = i << 3;
+          long longPattern = longValue + i;
+          target.set(LONG_LAYOUT, longOffset, longPattern);
+        }
       }
     }
 
+    @TearDown
+    public void tearDown() {
+      confinedArena.close();
+      sharedArena.close();
+    }
+
     int nextIntOffset() {
       return (intCursor++ & INT_SLOT_MASK) << 2;
     }
@@ -157,4 +211,199 @@ public class DirectMemoryAccessBenchmark {
   public long varHandleGetLong(DirectState state) {
     return (long) LONG_HANDLE.get(state.buffer, state.nextLongOffset());
   }
+
+  @Benchmark
+  public int confinedSegmentPutInt(DirectState state) {
+    int offset = state.nextIntOffset();
+    int value = state.nextIntValue();
+    state.confinedSegment.set(INT_LAYOUT, offset, value);
+    return value;
+  }
+
+  @Benchmark
+  public int sharedSegmentPutInt(DirectState state) {
+    int offset = state.nextIntOffset();
+    int value = state.nextIntValue();
+    state.sharedSegment.set(INT_LAYOUT, offset, value);
+    return value;
+  }
+
+  @Benchmark
+  public int heapSegmentPutInt(DirectState state) {
+    int offset = state.nextIntOffset();
+    int value = state.nextIntValue();
+    state.heapSegment.set(INT_LAYOUT, offset, value);
+    return value;
+  }
+
+  @Benchmark
+  public int heapVarHandlePutInt(DirectState state) {
+    int offset = state.nextIntOffset();
+    int value = state.nextIntValue();
+    HEAP_INT_HANDLE.set(state.heapBytes, offset, value);
+    return value;
+  }
+
+  @Benchmark
+  public int confinedSegmentGetInt(DirectState state) {
+    return state.confinedSegment.get(INT_LAYOUT, state.nextIntOffset());
+  }
+
+  @Benchmark
+  public int sharedSegmentGetInt(DirectState state) {
+    return state.sharedSegment.get(INT_LAYOUT, state.nextIntOffset());
+  }
+
+  @Benchmark
+  public int heapSegmentGetInt(DirectState state) {
+    return state.heapSegment.get(INT_LAYOUT, state.nextIntOffset());
+  }
+
+  @Benchmark
+  public int heapVarHandleGetInt(DirectState state) {
+    return (int) HEAP_INT_HANDLE.get(state.heapBytes, state.nextIntOffset());
+  }
+
+  @Benchmark
+  public long confinedSegmentPutLong(DirectState state) {
+    int offset = state.nextLongOffset();
+    long value = state.nextLongValue();
+    state.confinedSegment.set(LONG_LAYOUT, offset, value);
+    return value;
+  }
+
+  @Benchmark
+  public long heapSegmentPutLong(DirectState state) {
+    int offset = state.nextLongOffset();
+    long value = state.nextLongValue();
+    state.heapSegment.set(LONG_LAYOUT, offset, value);
+    return value;
+  }
+
+  @Benchmark
+  public long heapVarHandlePutLong(DirectState state) {
+    int offset = state.nextLongOffset();
+    long value = state.nextLongValue();
+    HEAP_LONG_HANDLE.set(state.heapBytes, offset, value);
+    return value;
+  }
+
+  @Benchmark
+  public long confinedSegmentGetLong(DirectState state) {
+    return state.confinedSegment.get(LONG_LAYOUT, state.nextLongOffset());
+  }
+
+  @Benchmark
+  public long heapSegmentGetLong(DirectState state) {
+    return state.heapSegment.get(LONG_LAYOUT, state.nextLongOffset());
+  }
+
+  @Benchmark
+  public long heapVarHandleGetLong(DirectState state) {
+    return (long) HEAP_LONG_HANDLE.get(state.heapBytes, state.nextLongOffset());
+  }
+
+  @Benchmark
+  public int unsafeDirectPutInt(DirectState state) {
+    int offset = state.nextIntOffset();
+    int value = state.nextIntValue();
+    UNSAFE.putInt(null, state.unsafeAddress + offset, value);
+    return value;
+  }
+
+  @Benchmark
+  public int unsafeHeapPutInt(DirectState state) {
+    int offset = state.nextIntOffset();
+    int value = state.nextIntValue();
+    UNSAFE.putInt(state.heapBytes, BYTE_ARRAY_OFFSET + offset, value);
+    return value;
+  }
+
+  @Benchmark
+  public int unsafeDirectGetInt(DirectState state) {
+    return UNSAFE.getInt(null, state.unsafeAddress + state.nextIntOffset());
+  }
+
+  @Benchmark
+  public int unsafeHeapGetInt(DirectState state) {
+    return UNSAFE.getInt(state.heapBytes, BYTE_ARRAY_OFFSET + state.nextIntOffset());
+  }
+
+  @Benchmark
+  public long unsafeDirectPutLong(DirectState state) {
+    int offset = state.nextLongOffset();
+    long value = state.nextLongValue();
+    UNSAFE.putLong(null, state.unsafeAddress + offset, value);
+    return value;
+  }
+
+  @Benchmark
+  public long unsafeHeapPutLong(DirectState state) {
+    int offset = state.nextLongOffset();
+    long value = state.nextLongValue();
+    UNSAFE.putLong(state.heapBytes, BYTE_ARRAY_OFFSET + offset, value);
+    return value;
+  }
+
+  @Benchmark
+  public long unsafeDirectGetLong(DirectState state) {
+    return UNSAFE.getLong(null, state.unsafeAddress + state.nextLongOffset());
+  }
+
+  @Benchmark
+  public long unsafeHeapGetLong(DirectState state) {
+    return UNSAFE.getLong(state.heapBytes, BYTE_ARRAY_OFFSET + state.nextLongOffset());
+  }
+
+  @Benchmark
+  public int memoryBufferHeapPutInt(DirectState state) {
+    int offset = state.nextIntOffset();
+    int value = state.nextIntValue();
+    state.heapBuffer.putInt32(offset, value);
+    return value;
+  }
+
+  @Benchmark
+  public int memoryBufferSegmentPutInt(DirectState state) {
+    int offset = state.nextIntOffset();
+    int value = state.nextIntValue();
+    state.segmentBuffer.putInt32(offset, value);
+    return value;
+  }
+
+  @Benchmark
+  public int memoryBufferHeapGetInt(DirectState state) {
+    return state.heapBuffer.getInt32(state.nextIntOffset());
+  }
+
+  @Benchmark
+  public int memoryBufferSegmentGetInt(DirectState state) {
+    return state.segmentBuffer.getInt32(state.nextIntOffset());
+  }
+
+  @Benchmark
+  public long memoryBufferHeapPutLong(DirectState state) {
+    int offset = state.nextLongOffset();
+    long value = state.nextLongValue();
+    state.heapBuffer.putInt64(offset, value);
+    return value;
+  }
+
+  @Benchmark
+  public long memoryBufferSegmentPutLong(DirectState state) {
+    int offset = state.nextLongOffset();
+    long value = state.nextLongValue();
+    state.segmentBuffer.putInt64(offset, value);
+    return value;
+  }
+
+  @Benchmark
+  public long memoryBufferHeapGetLong(DirectState state) {
+    return state.heapBuffer.getInt64(state.nextLongOffset());
+  }
+
+  @Benchmark
+  public long memoryBufferSegmentGetLong(DirectState state) {
+    return state.segmentBuffer.getInt64(state.nextLongOffset());
+  }
 }
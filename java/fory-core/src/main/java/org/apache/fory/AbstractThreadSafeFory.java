@@ -19,7 +19,10 @@
 
 package org.apache.fory;
 
+import java.util.Collection;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
+import org.apache.fory.builder.SerializerWarmUp;
 import org.apache.fory.resolver.TypeChecker;
 import org.apache.fory.resolver.TypeResolver;
 import org.apache.fory.serializer.Serializer;
@@ -141,4 +144,9 @@ public abstract class AbstractThreadSafeFory implements ThreadSafeFory {
           return null;
         });
   }
+
+  @Override
+  public void warmUp(Collection<Class<?>> classes, Executor executor) {
+    SerializerWarmUp.warmUp(this, classes, executor);
+  }
 }
@@ -212,8 +212,18 @@ public interface BaseFory {
   /** Serialize <code>obj</code> to a <code>buffer</code>. */
   MemoryBuffer serialize(MemoryBuffer buffer, Object obj, BufferCallback callback);
 
+  /**
+   * Serialize <code>obj</code> to <code>outputStream</code>. Serialized bytes are flushed to the
+   * stream whenever the write window is full, the window is the buffer of a {@link
+   * org.apache.fory.io.ForyOutputStream} if provided, or the buffer size limit of this instance
+   * otherwise. If serialization fails, bytes flushed before the failure have been written already.
+   */
   void serialize(OutputStream outputStream, Object obj);
 
+  /**
+   * Serialize <code>obj</code> to <code>outputStream</code> with out-of-band buffers handled by
+   * <code>callback</code>. See {@link #serialize(OutputStream, Object)} for flushing behavior.
+   */
   void serialize(OutputStream outputStream, Object obj, BufferCallback callback);
 
   /** Deserialize <code>obj</code> from a byte array. */
@@ -230,6 +240,16 @@ public interface BaseFory {
 
   <T> T deserialize(MemoryBuffer buffer, Class<T> type);
 
+  /**
+   * Deserialize only {@code fields} of a struct of {@code type}, other fields are skipped without
+   * being materialized and keep their default values. Requires compatible mode, since field
+   * skipping relies on the type definition written with the payload.
+   */
+  <T> T deserializeProjection(byte[] bytes, Class<T> type, String... fields);
+
+  /** Same as {@link #deserializeProjection(byte[], Class, String...)} but reads from a buffer. */
+  <T> T deserializeProjection(MemoryBuffer buffer, Class<T> type, String... fields);
+
   <T> T deserialize(ForyInputStream inputStream, Class<T> type);
 
   <T> T deserialize(ForyReadableChannel channel, Class<T> type);
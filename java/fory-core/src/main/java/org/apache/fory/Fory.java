@@ -19,7 +19,6 @@
 
 package org.apache.fory;
 
-import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.ByteBuffer;
 import java.util.IdentityHashMap;
@@ -46,9 +45,11 @@ import org.apache.fory.exception.DeserializationException;
 import org.apache.fory.exception.ForyException;
 import org.apache.fory.exception.SerializationException;
 import org.apache.fory.io.ForyInputStream;
+import org.apache.fory.io.ForyOutputStream;
 import org.apache.fory.io.ForyReadableChannel;
 import org.apache.fory.logging.Logger;
 import org.apache.fory.logging.LoggerFactory;
+import org.apache.fory.memory.BufferPool;
 import org.apache.fory.memory.MemoryBuffer;
 import org.apache.fory.memory.MemoryUtils;
 import org.apache.fory.resolver.ClassResolver;
@@ -101,6 +102,7 @@ public final class Fory implements BaseFory {
   private final CopyContext copyContext;
   private final IdentityHashMap<ForyModule, Boolean> installedModules = new IdentityHashMap<>();
   private final byte headerBitmap;
+  private final BufferPool bufferPool;
   private MemoryBuffer buffer;
 
   private static String[] splitRegistrationName(String name) {
@@ -137,6 +139,7 @@ public final class Fory implements BaseFory {
     }
     this.sharedRegistry = sharedRegistry;
     this.classLoader = classLoader;
+    this.bufferPool = builder.getBufferPool();
     headerBitmap = config.isXlang() ? isCrossLanguageFlag : 0;
     RefWriter refWriter;
     RefReader refReader;
@@ -425,6 +428,26 @@ public final class Fory implements BaseFory {
 
   @Override
   public <T> T deserialize(MemoryBuffer buffer, Class<T> type) {
+    return deserializeRoot(buffer, type, null);
+  }
+
+  @Override
+  public <T> T deserializeProjection(byte[] bytes, Class<T> type, String... fields) {
+    return deserializeProjection(MemoryUtils.wrap(bytes), type, fields);
+  }
+
+  @Override
+  public <T> T deserializeProjection(MemoryBuffer buffer, Class<T> type, String... fields) {
+    Preconditions.checkArgument(
+        config.isMetaShareEnabled(), "Projection deserialization requires compatible mode");
+    return deserializeRoot(buffer, type, fields);
+  }
+
+  /**
+   * Reads a root value of {@code type}. The struct type info read from the payload is replaced by
+   * its {@code projection} view if the projection isn't null.
+   */
+  private <T> T deserializeRoot(MemoryBuffer buffer, Class<T> type, String[] projection) {
     ensureRegistrationFinished();
     byte bitmap = buffer.readByte();
     if (bitmap != headerBitmap) {
@@ -437,7 +460,7 @@ public final class Fory implements BaseFory {
         if (readContext.getDepth() > 0) {
           throwDepthDeserializationException();
         }
-        return deserializeByType(buffer, type);
+        return deserializeByType(buffer, type, projection);
       } finally {
         jitContext.unlock();
       }
@@ -550,7 +573,7 @@ public final class Fory implements BaseFory {
   }
 
   @SuppressWarnings("unchecked")
-  private <T> T deserializeByType(MemoryBuffer buffer, Class<T> type) {
+  private <T> T deserializeByType(MemoryBuffer buffer, Class<T> type, String[] projection) {
     // The outer root operation resets generic state after failure; balance this push here only
     // after a successful read.
     readContext
@@ -564,6 +587,9 @@ public final class Fory implements BaseFory {
       return value;
     }
     TypeInfo typeInfo = typeResolver.readTypeInfo(readContext, type);
+    if (projection != null) {
+      typeInfo = typeResolver.getProjectedTypeInfo(typeInfo, projection);
+    }
     T value = (T) readContext.readNonRef(typeInfo);
     refReader.setReadRef(nextReadRefId, value);
     readContext.getGenerics().popGenericType(readContext.getDepth());
@@ -603,20 +629,48 @@ public final class Fory implements BaseFory {
   }
 
   private void serializeToStream(OutputStream outputStream, Consumer<MemoryBuffer> function) {
+    if (outputStream instanceof ForyOutputStream) {
+      ForyOutputStream stream = (ForyOutputStream) outputStream;
+      try {
+        function.accept(stream.getBuffer());
+      } catch (Throwable t) {
+        stream.reset();
+        throw t;
+      }
+      stream.flush();
+      return;
+    }
+    // Use a flush window so that memory is bounded by the buffer size limit instead of the size of
+    // the serialized object graph.
+    int windowSize = config.bufferSizeLimitBytes();
+    BufferPool pool = bufferPool;
+    if (pool != null && !pool.isDirect()) {
+      // Borrow the window from the heap pool, the stream needs heap memory to flush from.
+      MemoryBuffer window = pool.allocate(windowSize);
+      ForyOutputStream stream = new ForyOutputStream(outputStream, window);
+      try {
+        function.accept(window);
+        stream.flush();
+      } finally {
+        stream.detach();
+        pool.release(window);
+      }
+      return;
+    }
     MemoryBuffer buf = getBuffer();
-    buf.writerIndex(0);
-    function.accept(buf);
-    try {
-      byte[] bytes = buf.getHeapMemory();
-      if (bytes != null) {
-        outputStream.write(bytes, 0, buf.writerIndex());
-      } else {
-        outputStream.write(buf.getBytes(0, buf.writerIndex()));
+    if (buf.size() < windowSize || !buf.isHeapFullyWriteable()) {
+      if (bufferPool != null) {
+        bufferPool.release(buf);
       }
-      outputStream.flush();
-    } catch (IOException e) {
-      throw new SerializationException(e);
+      buf = buffer = MemoryBuffer.fromByteArray(new byte[windowSize]);
+      buf.setAllocator(bufferPool);
+    }
+    ForyOutputStream stream = new ForyOutputStream(outputStream, buf);
+    try {
+      function.accept(buf);
+      stream.flush();
     } finally {
+      stream.detach();
       resetBuffer();
     }
   }
@@ -624,7 +678,7 @@ public final class Fory implements BaseFory {
   public MemoryBuffer getBuffer() {
     MemoryBuffer buf = buffer;
     if (buf == null) {
-      buf = buffer = MemoryBuffer.newHeapBuffer(64);
+      buf = buffer = newBuffer(64);
     }
     return buf;
   }
@@ -632,10 +686,19 @@ public final class Fory implements BaseFory {
   public void resetBuffer() {
     MemoryBuffer buf = buffer;
     if (buf != null && buf.size() > config.bufferSizeLimitBytes()) {
-      buffer = MemoryBuffer.newHeapBuffer(config.bufferSizeLimitBytes());
+      if (bufferPool != null) {
+        // Return the grown memory so that the next large message reuses it.
+        bufferPool.release(buf);
+      }
+      buffer = newBuffer(config.bufferSizeLimitBytes());
     }
   }
 
+  private MemoryBuffer newBuffer(int size) {
+    BufferPool pool = bufferPool;
+    return pool != null ? pool.allocate(size) : MemoryBuffer.newHeapBuffer(size);
+  }
+
   public void reset() {
     writeContext.reset();
     readContext.reset();
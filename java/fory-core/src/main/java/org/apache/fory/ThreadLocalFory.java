@@ -136,6 +136,16 @@ public class ThreadLocalFory extends AbstractThreadSafeFory {
     return currentFory().deserialize(buffer, type);
   }
 
+  @Override
+  public <T> T deserializeProjection(byte[] bytes, Class<T> type, String... fields) {
+    return currentFory().deserializeProjection(bytes, type, fields);
+  }
+
+  @Override
+  public <T> T deserializeProjection(MemoryBuffer buffer, Class<T> type, String... fields) {
+    return currentFory().deserializeProjection(buffer, type, fields);
+  }
+
   @Override
   public <T> T deserialize(ForyInputStream inputStream, Class<T> type) {
     return currentFory().deserialize(inputStream, type);
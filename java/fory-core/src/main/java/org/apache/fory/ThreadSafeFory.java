@@ -19,6 +19,8 @@
 
 package org.apache.fory;
 
+import java.util.Collection;
+import java.util.concurrent.Executor;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import org.apache.fory.annotation.Internal;
@@ -39,6 +41,18 @@ public interface ThreadSafeFory extends BaseFory {
    */
   <R> R execute(Function<Fory, R> action);
 
+  /**
+   * Compile JIT serializers of {@code classes} and the classes of their monomorphic fields in
+   * parallel on {@code executor}, and block until all compilation is done. Classes are compiled
+   * after the classes they depend on, and compiled serializers are published to all {@link Fory}
+   * instances of this serializer at once when all classes are compiled.
+   *
+   * <p>This method is used to avoid JIT on first use for online services. It should be invoked
+   * after all registrations. The {@link Fory} instances used for compilation are acquired on the
+   * executor threads, for {@link ThreadLocalFory} those threads keep their instances.
+   */
+  void warmUp(Collection<Class<?>> classes, Executor executor);
+
   /**
    * Set TypeChecker of serializer for current thread only.
    *
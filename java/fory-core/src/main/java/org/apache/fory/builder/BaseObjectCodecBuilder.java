@@ -80,10 +80,18 @@ import static org.apache.fory.type.TypeUtils.isBoxed;
 import static org.apache.fory.type.TypeUtils.isPrimitive;
 import static org.apache.fory.util.Preconditions.checkArgument;
 
+import java.lang.reflect.Field;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Member;
 import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -96,6 +104,7 @@ import org.apache.fory.Fory;
 import org.apache.fory.codegen.Code;
 import org.apache.fory.codegen.CodeGenerator;
 import org.apache.fory.codegen.CodegenContext;
+import org.apache.fory.codegen.CompiledCodeCache;
 import org.apache.fory.codegen.Expression;
 import org.apache.fory.codegen.Expression.Assign;
 import org.apache.fory.codegen.Expression.BitAnd;
@@ -116,12 +125,14 @@ import org.apache.fory.codegen.ExpressionUtils;
 import org.apache.fory.codegen.ExpressionVisitor.ExprHolder;
 import org.apache.fory.collection.Tuple2;
 import org.apache.fory.config.Config;
+import org.apache.fory.context.CopyContext;
 import org.apache.fory.context.ReadContext;
 import org.apache.fory.context.WriteContext;
 import org.apache.fory.memory.MemoryBuffer;
 import org.apache.fory.meta.TypeDef;
 import org.apache.fory.meta.TypeExtMeta;
 import org.apache.fory.platform.GraalvmSupport;
+import org.apache.fory.platform.JdkVersion;
 import org.apache.fory.reflect.ObjectInstantiator;
 import org.apache.fory.reflect.ReflectionUtils;
 import org.apache.fory.reflect.TypeRef;
@@ -155,6 +166,7 @@ import org.apache.fory.type.TypeUtils;
 import org.apache.fory.type.Types;
 import org.apache.fory.util.Preconditions;
 import org.apache.fory.util.StringUtils;
+import org.apache.fory.util.record.RecordUtils;
 
 /**
  * Generate sequential read/write code for java serialization to speed up performance. It also
@@ -166,6 +178,7 @@ public abstract class BaseObjectCodecBuilder extends CodecBuilder {
   public static final String BUFFER_NAME = "_f_buffer";
   public static final String WRITE_CONTEXT_NAME = "_f_writeContext";
   public static final String READ_CONTEXT_NAME = "_f_readContext";
+  public static final String COPY_CONTEXT_NAME = "_f_copyContext";
   public static final String CONSTRUCTOR_TYPE_RESOLVER_NAME = "_f_ctorTypeResolver";
   public static final String TYPE_RESOLVER_NAME = "_f_typeResolver";
   public static final String REF_WRITER_NAME = "_f_refWriter";
@@ -265,6 +278,131 @@ public abstract class BaseObjectCodecBuilder extends CodecBuilder {
 
   protected abstract String codecSuffix();
 
+  /**
+   * Returns a key of the code generated for {@link #beanClass} which can be computed without
+   * generating the code, {@link CompiledCodeCache} uses it to look up cached bytecode before
+   * {@link #genCode} runs. The key covers the builder, the config, the struct layout and how field
+   * types are resolved; it must change whenever the generated code may change.
+   */
+  public String codeCacheKey() {
+    StringBuilder builder = new StringBuilder(getClass().getName());
+    builder.append('\n').append(beanClass.getName());
+    // Config#getConfigHash is a per-process id, use the config values instead.
+    for (Field field : Config.class.getDeclaredFields()) {
+      int modifiers = field.getModifiers();
+      if (Modifier.isStatic(modifiers) || !Modifier.isFinal(modifiers)) {
+        continue;
+      }
+      Object value =
+          ReflectionUtils.getFieldValues(Collections.singletonList(field), config).get(0);
+      builder.append('\n').append(field.getName()).append('=');
+      if (value instanceof Class) {
+        builder.append(((Class<?>) value).getName());
+      } else if (value == null || value instanceof String || value instanceof Enum) {
+        builder.append(value);
+      } else if (field.getType().isPrimitive()) {
+        builder.append(value);
+      } else {
+        builder.append(value.getClass().getName());
+      }
+    }
+    appendCodeCacheKey(builder);
+    return builder.toString();
+  }
+
+  /** Appends what the generated code depends on besides the bean class and the config. */
+  protected void appendCodeCacheKey(StringBuilder builder) {}
+
+  /** Appends the struct layout of {@code descriptors} and how their field types are resolved. */
+  protected final void appendDescriptorsKey(
+      StringBuilder builder, Collection<Descriptor> descriptors) {
+    Set<Class<?>> types = new LinkedHashSet<>();
+    for (Descriptor d : descriptors) {
+      builder
+          .append('\n')
+          .append(d.getDeclaringClass())
+          .append('.')
+          .append(d.getName())
+          .append(':')
+          .append(d.getTypeRef())
+          .append(',')
+          .append(d.getModifiers())
+          .append(',')
+          .append(d.isNullable())
+          .append(',')
+          .append(d.isTrackingRef())
+          .append(',')
+          .append(d.hasForyFieldId() ? d.getForyFieldId() : -1)
+          .append(',')
+          .append(d.getTypeName())
+          .append(',')
+          .append(isMonomorphic(d));
+      Field field = d.getField();
+      // Generated code embeds field offsets as literals where Unsafe is available.
+      if (field != null
+          && JdkVersion.MAJOR_VERSION < 25
+          && !Modifier.isStatic(field.getModifiers())
+          && !RecordUtils.isRecord(field.getDeclaringClass())) {
+        builder.append(',').append(UnsafeCodegenSupport.objectFieldOffset(field));
+      }
+      // Same conditions as the accessor paths of getFieldValue and setFieldValue.
+      if (!isInterface
+          && !isRecord
+          && !duplicatedFields.contains(d.getName())
+          && sourcePublicAccessible(beanClass)) {
+        appendAccessorKey(builder, field);
+        appendAccessorKey(builder, d.getReadMethod());
+        appendAccessorKey(builder, d.getWriteMethod());
+      }
+      collectTypes(d.getTypeRef().getType(), types);
+    }
+    for (Class<?> type : types) {
+      builder.append('\n').append(type.getName());
+      if (!type.isPrimitive() && isMonomorphic(type)) {
+        // Serializer classes of monomorphic types are referenced by the generated code.
+        Class<? extends Serializer> serializerClass =
+            typeResolver(r -> r.getSerializerClass(type));
+        builder.append(':').append(serializerClass == null ? null : serializerClass.getName());
+      }
+    }
+  }
+
+  /**
+   * Defines the accessor class which generated code may use for a package-private member, so a
+   * cached class can resolve it, and appends the accessor class name which embeds a process id.
+   */
+  private static void appendAccessorKey(StringBuilder builder, Member member) {
+    if (member == null
+        || Modifier.isPublic(member.getModifiers())
+        || Modifier.isPrivate(member.getModifiers())) {
+      return;
+    }
+    Class<?> declaringClass = member.getDeclaringClass();
+    if (AccessorHelper.defineAccessorClass(declaringClass)) {
+      builder.append(',').append(AccessorHelper.qualifiedAccessorClassName(declaringClass));
+    }
+  }
+
+  private static void collectTypes(Type type, Set<Class<?>> types) {
+    if (type instanceof Class) {
+      Class<?> cls = (Class<?>) type;
+      if (types.add(cls) && cls.isArray()) {
+        collectTypes(cls.getComponentType(), types);
+      }
+    } else if (type instanceof ParameterizedType) {
+      collectTypes(((ParameterizedType) type).getRawType(), types);
+      for (Type arg : ((ParameterizedType) type).getActualTypeArguments()) {
+        collectTypes(arg, types);
+      }
+    } else if (type instanceof GenericArrayType) {
+      collectTypes(((GenericArrayType) type).getGenericComponentType(), types);
+    } else if (type instanceof WildcardType) {
+      for (Type bound : ((WildcardType) type).getUpperBounds()) {
+        collectTypes(bound, types);
+      }
+    }
+  }
+
   protected <T> T fory(Function<Fory, T> function) {
     return fory.getJITContext().asyncVisitFory(function);
   }
@@ -311,6 +449,7 @@ public abstract class BaseObjectCodecBuilder extends CodecBuilder {
     ctx.reserveName(POJO_CLASS_TYPE_NAME);
     Expression encodeExpr = buildEncodeExpression();
     Expression decodeExpr = buildDecodeExpression();
+    Expression copyExpr = buildCopyExpression();
     String constructorCode =
         StringUtils.format(
             ""
@@ -383,6 +522,19 @@ public abstract class BaseObjectCodecBuilder extends CodecBuilder {
     if (generatedReadDataAlwaysAdvances()) {
       ctx.overrideMethod("readDataAlwaysAdvances", "return true;", boolean.class);
     }
+    if (copyExpr != null) {
+      ctx.clearExprState();
+      String copyCode = copyExpr.genCode(ctx).code();
+      copyCode = ctx.optimizeMethodCode(copyCode);
+      ctx.overrideMethod(
+          "copy",
+          copyCode,
+          Object.class,
+          CopyContext.class,
+          COPY_CONTEXT_NAME,
+          Object.class,
+          ROOT_OBJECT_NAME);
+    }
     registerJITNotifyCallback();
     ctx.addConstructor(
         constructorCode,
@@ -397,6 +549,15 @@ public abstract class BaseObjectCodecBuilder extends CodecBuilder {
     return "";
   }
 
+  /**
+   * Return an expression that deep copies a java bean of type {@link CodecBuilder#beanClass}, or
+   * null to keep the field accessor based copy of {@link
+   * org.apache.fory.serializer.AbstractObjectSerializer}.
+   */
+  protected Expression buildCopyExpression() {
+    return null;
+  }
+
   protected boolean generatedReadDataAlwaysAdvances() {
     return false;
   }
@@ -539,7 +700,7 @@ public abstract class BaseObjectCodecBuilder extends CodecBuilder {
     } else {
       if (clz == String.class) {
         return StringSerializer.writeStringExpr(
-            getOrCreateStringSerializer(), buffer, inputObject, config.compressString());
+            getOrCreateStringSerializer(), buffer, inputObject, config);
       }
       Expression action;
       if (usesPrimitiveListArrayProtocol(descriptor)) {
@@ -824,7 +985,7 @@ public abstract class BaseObjectCodecBuilder extends CodecBuilder {
     } else {
       if (clz == String.class) {
         return StringSerializer.writeStringExpr(
-            getOrCreateStringSerializer(), buffer, inputObject, config.compressString());
+            getOrCreateStringSerializer(), buffer, inputObject, config);
       }
       Expression action;
       // this is different from ITERABLE_TYPE in RowCodecBuilder. In row-format we don't need to
@@ -1937,6 +2098,15 @@ public abstract class BaseObjectCodecBuilder extends CodecBuilder {
     Expression chunkSizeOffset =
         subtract(
             inlineInvoke(buffer, "writerIndex", PRIMITIVE_INT_TYPE), ofInt(1), "chunkSizeOffset");
+    // chunk header and size are patched after writing entries, don't flush them to stream.
+    Expression flushBarrier =
+        new Invoke(
+            buffer,
+            "holdFlush",
+            "flushBarrier",
+            PRIMITIVE_INT_TYPE,
+            false,
+            subtract(chunkSizeOffset, ofInt(1)));
     expressions.add(
         key,
         value,
@@ -1945,7 +2115,8 @@ public abstract class BaseObjectCodecBuilder extends CodecBuilder {
         writePlaceHolder,
         chunkSizeOffset,
         writePlaceHolder,
-        chunkSizeOffset);
+        chunkSizeOffset,
+        flushBarrier);
 
     Expression chunkHeader;
     Expression keySerializer, valueSerializer;
@@ -2118,7 +2289,10 @@ public abstract class BaseObjectCodecBuilder extends CodecBuilder {
                       list(new Assign(entry, new Literal(null, MAP_ENTRY_TYPE)), new Break())),
                   new If(eq(chunkSize, ofInt(MAX_CHUNK_SIZE)), new Break()));
             });
-    expressions.add(writeLoop, new Invoke(buffer, "putByte", chunkSizeOffset, chunkSize));
+    expressions.add(
+        writeLoop,
+        new Invoke(buffer, "putByte", chunkSizeOffset, chunkSize),
+        new Invoke(buffer, "releaseFlush", flushBarrier));
     if (!inline) {
       expressions.add(new Return(entry));
       // method too big, spilt it into a new method.
@@ -2302,8 +2476,7 @@ public abstract class BaseObjectCodecBuilder extends CodecBuilder {
       return deserializePrimitive(buffer, typeRef);
     } else {
       if (cls == String.class) {
-        return StringSerializer.readStringExpr(
-            getOrCreateStringSerializer(), buffer, config.compressString());
+        return StringSerializer.readStringExpr(getOrCreateStringSerializer(), buffer, config);
       }
       Expression obj;
       if (useCollectionSerialization(typeRef)) {
@@ -2443,8 +2616,7 @@ public abstract class BaseObjectCodecBuilder extends CodecBuilder {
       return deserializePrimitiveField(buffer, descriptor);
     } else {
       if (cls == String.class) {
-        return StringSerializer.readStringExpr(
-            getOrCreateStringSerializer(), buffer, config.compressString());
+        return StringSerializer.readStringExpr(getOrCreateStringSerializer(), buffer, config);
       }
       if (isEnumType(cls)) {
         Expression enumSerializer = serializer == null ? getSerializerForField(cls) : serializer;
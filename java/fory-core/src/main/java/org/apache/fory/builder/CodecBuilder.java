@@ -102,7 +102,7 @@ public abstract class CodecBuilder {
   protected final Class<?> beanClass;
   protected final boolean isRecord;
   protected final boolean isInterface;
-  private final Set<String> duplicatedFields;
+  protected final Set<String> duplicatedFields;
   public static final Reference recordComponentDefaultValues =
       new Reference("recordComponentDefaultValues", OBJECT_ARRAY_TYPE);
   protected final Map<String, Reference> fieldMap = new HashMap<>();
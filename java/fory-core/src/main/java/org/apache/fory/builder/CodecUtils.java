@@ -123,7 +123,8 @@ public class CodecUtils {
         new CompileUnit(
             CodeGenerator.getPackage(beanClass),
             codecBuilder.codecClassName(beanClass),
-            codecBuilder::genCode);
+            codecBuilder::genCode,
+            codecBuilder::codeCacheKey);
     CodeGenerator codeGenerator;
     ClassLoader beanClassClassLoader =
         beanClass.getClassLoader() == null
@@ -156,6 +156,24 @@ public class CompatibleCodecBuilder extends ObjectCodecBuilder {
     this.defaultValueFields = defaultValueFields;
   }
 
+  @Override
+  protected void appendCodeCacheKey(StringBuilder builder) {
+    builder.append("\ntypeDef=").append(typeDef.getId());
+    super.appendCodeCacheKey(builder);
+    builder.append("\ndefaultValues=").append(defaultValueLanguage);
+    for (DefaultValueUtils.DefaultValueField defaultField : defaultValueFields) {
+      builder.append(',').append(defaultField.getFieldName());
+      Object defaultValue = defaultField.getDefaultValue();
+      // Primitive and string default values are generated as literals.
+      if (defaultValue instanceof String
+          || defaultValue instanceof Number
+          || defaultValue instanceof Boolean
+          || defaultValue instanceof Character) {
+        builder.append('=').append(defaultValue);
+      }
+    }
+  }
+
   @Override
   protected boolean generatedReadDataAlwaysAdvances() {
     return typeDef.readDataAlwaysAdvances();
@@ -72,6 +72,13 @@ public class CompatibleLayerCodecBuilder extends ObjectCodecBuilder {
     objectCodecOptimizer = new ObjectCodecOptimizer(beanClass, grouper, false, ctx);
   }
 
+  @Override
+  protected void appendCodeCacheKey(StringBuilder builder) {
+    builder.append("\ntypeDef=").append(layerTypeDef.getId());
+    builder.append("\nlayerMarker=").append(layerMarkerClass.getName());
+    super.appendCodeCacheKey(builder);
+  }
+
   private static final Map<Long, Integer> idGenerator = new ConcurrentHashMap<>();
 
   @Override
@@ -39,7 +39,9 @@ import static org.apache.fory.type.TypeUtils.PRIMITIVE_VOID_TYPE;
 import static org.apache.fory.type.TypeUtils.SHORT_TYPE;
 import static org.apache.fory.type.TypeUtils.getRawType;
 
+import java.lang.reflect.Modifier;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
@@ -60,14 +62,18 @@ import org.apache.fory.codegen.Expression.NewInstance;
 import org.apache.fory.codegen.Expression.Reference;
 import org.apache.fory.codegen.Expression.ReplaceStub;
 import org.apache.fory.codegen.Expression.StaticInvoke;
+import org.apache.fory.codegen.ExpressionUtils;
 import org.apache.fory.codegen.ExpressionVisitor;
+import org.apache.fory.context.CopyContext;
 import org.apache.fory.logging.Logger;
 import org.apache.fory.logging.LoggerFactory;
 import org.apache.fory.meta.TypeDef;
 import org.apache.fory.platform.JdkVersion;
 import org.apache.fory.reflect.TypeRef;
 import org.apache.fory.serializer.GraphMemoryEstimates;
+import org.apache.fory.serializer.ImmutableSerializer;
 import org.apache.fory.serializer.ObjectSerializer;
+import org.apache.fory.serializer.Serializer;
 import org.apache.fory.type.BFloat16;
 import org.apache.fory.type.Descriptor;
 import org.apache.fory.type.DescriptorGrouper;
@@ -152,6 +158,16 @@ public class ObjectCodecBuilder extends BaseObjectCodecBuilder {
     }
   }
 
+  @Override
+  protected void appendCodeCacheKey(StringBuilder builder) {
+    if (classVersionHash != null) {
+      builder.append("\nclassVersionHash=").append(classVersionHash.getValue());
+    }
+    if (objectCodecOptimizer != null) {
+      appendDescriptorsKey(builder, objectCodecOptimizer.descriptorGrouper.getSortedDescriptors());
+    }
+  }
+
   @Override
   protected boolean generatedReadDataAlwaysAdvances() {
     if (classVersionHash != null) {
@@ -222,6 +238,106 @@ public class ObjectCodecBuilder extends BaseObjectCodecBuilder {
     }
   }
 
+  /**
+   * Return an expression that deep copies a java bean of type {@link CodecBuilder#beanClass}.
+   * Fields are read and written directly, immutable field values are shared and primitive arrays
+   * are copied by {@link Arrays#copyOf}, other field values are copied by {@link CopyContext}.
+   */
+  @Override
+  protected Expression buildCopyExpression() {
+    if (isRecord || isInterface) {
+      return null;
+    }
+    Reference inputObject = new Reference(ROOT_OBJECT_NAME, OBJECT_TYPE, false);
+    Reference copyContext = new Reference(COPY_CONTEXT_NAME, TypeRef.of(CopyContext.class), false);
+    ListExpression expressions = new ListExpression();
+    Expression origin = tryCastIfPublic(inputObject, beanType, ctx.newName(beanClass));
+    expressions.add(origin);
+    Expression newObj = newBean();
+    expressions.add(newObj);
+    expressions.add(new Invoke(copyContext, "reference", origin, newObj));
+    for (List<Descriptor> group : objectCodecOptimizer.primitiveGroups) {
+      ListExpression groupExpressions = new ListExpression();
+      for (Descriptor d : group) {
+        groupExpressions.add(setFieldValue(newObj, d, getFieldValue(origin, d)));
+      }
+      if (hasFewFields()) {
+        expressions.add(groupExpressions);
+      } else {
+        expressions.add(
+            objectCodecOptimizer.invokeGenerated(
+                ofHashSet(origin, newObj), groupExpressions, "copyFields"));
+      }
+    }
+    int numGroups = getNumGroups(objectCodecOptimizer);
+    List<List<Descriptor>> groups = new ArrayList<>(objectCodecOptimizer.boxedWriteGroups);
+    groups.addAll(objectCodecOptimizer.nonPrimitiveWriteGroups);
+    for (List<Descriptor> group : groups) {
+      if (group.isEmpty()) {
+        continue;
+      }
+      ListExpression groupExpressions = new ListExpression();
+      for (Descriptor d : group) {
+        groupExpressions.add(copyField(copyContext, origin, newObj, d));
+      }
+      boolean inline = hasFewFields() || (group.size() == 1 && numGroups < 10);
+      if (inline) {
+        expressions.add(groupExpressions);
+      } else {
+        expressions.add(
+            objectCodecOptimizer.invokeGenerated(
+                ofHashSet(copyContext, origin, newObj), groupExpressions, "copyFields"));
+      }
+    }
+    expressions.add(new Expression.Return(newObj));
+    return expressions;
+  }
+
+  private Expression copyField(
+      Reference copyContext, Expression origin, Expression newObj, Descriptor d) {
+    Class<?> rawType = d.getRawType();
+    Expression fieldValue = getFieldValue(origin, d);
+    if (isCopyByReference(rawType)) {
+      return setFieldValue(newObj, d, fieldValue);
+    }
+    Expression copied;
+    if (rawType.isArray() && rawType.getComponentType().isPrimitive()) {
+      if (getRawType(fieldValue.type()) != rawType) {
+        fieldValue = new Cast(fieldValue, d.getTypeRef());
+      }
+      Expression length =
+          new Expression.FieldValue(fieldValue, "length", PRIMITIVE_INT_TYPE, false, true);
+      copied = new StaticInvoke(Arrays.class, "copyOf", d.getTypeRef(), false, fieldValue, length);
+    } else if (Modifier.isFinal(rawType.getModifiers()) && !rawType.isArray()) {
+      copied =
+          new Invoke(
+              copyContext, "copyObject", OBJECT_TYPE, fieldValue, getOrCreateSerializer(rawType));
+    } else {
+      copied = new Invoke(copyContext, "copyObject", OBJECT_TYPE, fieldValue);
+    }
+    return new Expression.If(
+        ExpressionUtils.neqNull(fieldValue), setFieldValue(newObj, d, copied));
+  }
+
+  /** Returns whether values of the final type {@code cls} can be shared between copies. */
+  private boolean isCopyByReference(Class<?> cls) {
+    if (cls.isPrimitive()
+        || TypeUtils.isBoxed(cls)
+        || cls == String.class
+        || cls.isEnum()
+        || cls == Float16.class
+        || cls == BFloat16.class) {
+      return true;
+    }
+    if (!Modifier.isFinal(cls.getModifiers()) || cls.isArray()) {
+      return false;
+    }
+    Class<? extends Serializer> serializerClass = typeResolver(r -> r.getSerializerClass(cls));
+    return serializerClass != null
+        && ImmutableSerializer.class.isAssignableFrom(serializerClass)
+        && typeResolver(r -> r.getSerializer(cls)).isImmutable();
+  }
+
   protected boolean hasFewFields() {
     return objectCodecOptimizer.descriptorGrouper.getNumDescriptors() < 6;
   }
@@ -0,0 +1,209 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.fory.builder;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import org.apache.fory.ThreadSafeFory;
+import org.apache.fory.annotation.Internal;
+import org.apache.fory.exception.ForyException;
+import org.apache.fory.reflect.ReflectionUtils;
+import org.apache.fory.resolver.SharedRegistry;
+import org.apache.fory.serializer.CodegenSerializer;
+import org.apache.fory.serializer.Serializer;
+import org.apache.fory.util.Preconditions;
+
+/**
+ * Compiles JIT serializers for a known set of classes in parallel ahead of first use.
+ *
+ * <p>The generated code of a class references the generated serializers of its monomorphic
+ * fields, which are compiled first when missing. Classes are therefore compiled in levels: a class
+ * is compiled after the classes it depends on, and the classes of one level are compiled in
+ * parallel on different {@link org.apache.fory.Fory} instances. Generated classes are shared by
+ * those instances through the {@link org.apache.fory.codegen.CodeGenerator} of their {@link
+ * SharedRegistry}, and the serializer classes are published to the registry once all levels
+ * finished so other instances create them without generating code again.
+ */
+@Internal
+public final class SerializerWarmUp {
+
+  private SerializerWarmUp() {}
+
+  /** Compiles serializers of {@code classes} and their nested field types on {@code executor}. */
+  public static void warmUp(ThreadSafeFory fory, Collection<Class<?>> classes, Executor executor) {
+    Preconditions.checkNotNull(classes);
+    Preconditions.checkNotNull(executor);
+    Map<Class<?>, Class<? extends Serializer>> serializerClasses = new IdentityHashMap<>();
+    Map<Class<?>, Set<Class<?>>> dependencies = dependencies(classes);
+    for (List<Class<?>> level : levels(dependencies)) {
+      List<List<Class<?>>> tasks = new ArrayList<>(level.size());
+      if (isCyclic(level, dependencies)) {
+        // Compiling a class holds its compile lock while the serializers of its field types are
+        // generated, so classes of a cycle must be compiled by one thread to avoid a deadlock.
+        tasks.add(level);
+      } else {
+        for (Class<?> cls : level) {
+          tasks.add(Collections.singletonList(cls));
+        }
+      }
+      List<CompletableFuture<List<Class<? extends Serializer>>>> futures =
+          new ArrayList<>(tasks.size());
+      for (List<Class<?>> task : tasks) {
+        futures.add(CompletableFuture.supplyAsync(() -> compile(fory, task), executor));
+      }
+      for (int i = 0; i < tasks.size(); i++) {
+        List<Class<? extends Serializer>> taskSerializerClasses;
+        try {
+          taskSerializerClasses = futures.get(i).join();
+        } catch (CompletionException e) {
+          throw new ForyException(
+              "Warm up serializer for " + tasks.get(i) + " failed", e.getCause());
+        }
+        for (int j = 0; j < taskSerializerClasses.size(); j++) {
+          if (taskSerializerClasses.get(j) != null) {
+            serializerClasses.put(tasks.get(i).get(j), taskSerializerClasses.get(j));
+          }
+        }
+      }
+    }
+    SharedRegistry sharedRegistry = fory.execute(f -> f.getTypeResolver().getSharedRegistry());
+    sharedRegistry.publishWarmedUpSerializerClasses(serializerClasses);
+  }
+
+  private static List<Class<? extends Serializer>> compile(
+      ThreadSafeFory fory, List<Class<?>> classes) {
+    return fory.execute(
+        f ->
+            // Visiting fory as the JIT thread makes JIT synchronous even if async compilation
+            // is enabled, so the serializers are compiled when this call returns.
+            f.getJITContext()
+                .asyncVisitFory(
+                    v -> {
+                      List<Class<? extends Serializer>> serializerClasses =
+                          new ArrayList<>(classes.size());
+                      for (Class<?> cls : classes) {
+                        Serializer<?> serializer = v.getTypeResolver().getSerializer(cls);
+                        serializerClasses.add(
+                            serializer instanceof Generated ? serializer.getClass() : null);
+                      }
+                      return serializerClasses;
+                    }));
+  }
+
+  /**
+   * Returns {@code classes} and the codegen-able classes reachable from them through monomorphic
+   * fields, grouped into levels where every class only depends on classes of previous levels.
+   * Classes on a dependency cycle are put into the last level and compiled by a single thread,
+   * generated serializers of such classes break the cycle by lazy initialization.
+   */
+  static List<List<Class<?>>> plan(Collection<Class<?>> classes) {
+    return levels(dependencies(classes));
+  }
+
+  private static Map<Class<?>, Set<Class<?>>> dependencies(Collection<Class<?>> classes) {
+    Map<Class<?>, Set<Class<?>>> dependencies = new LinkedHashMap<>();
+    Deque<Class<?>> queue = new ArrayDeque<>(classes);
+    while (!queue.isEmpty()) {
+      Class<?> cls = queue.poll();
+      if (dependencies.containsKey(cls)) {
+        continue;
+      }
+      Set<Class<?>> fieldTypes = new LinkedHashSet<>();
+      if (isWarmUpCandidate(cls)) {
+        for (Field field : ReflectionUtils.getFields(cls, true)) {
+          if (Modifier.isStatic(field.getModifiers())
+              || Modifier.isTransient(field.getModifiers())) {
+            continue;
+          }
+          Class<?> fieldType = field.getType();
+          while (fieldType.isArray()) {
+            fieldType = fieldType.getComponentType();
+          }
+          if (fieldType != cls
+              && ReflectionUtils.isMonomorphic(fieldType)
+              && isWarmUpCandidate(fieldType)) {
+            fieldTypes.add(fieldType);
+            queue.add(fieldType);
+          }
+        }
+      }
+      dependencies.put(cls, fieldTypes);
+    }
+    return dependencies;
+  }
+
+  private static List<List<Class<?>>> levels(Map<Class<?>, Set<Class<?>>> dependencies) {
+    List<List<Class<?>>> levels = new ArrayList<>();
+    Set<Class<?>> done = new LinkedHashSet<>();
+    while (done.size() < dependencies.size()) {
+      List<Class<?>> level = new ArrayList<>();
+      for (Map.Entry<Class<?>, Set<Class<?>>> entry : dependencies.entrySet()) {
+        if (!done.contains(entry.getKey()) && done.containsAll(entry.getValue())) {
+          level.add(entry.getKey());
+        }
+      }
+      if (level.isEmpty()) {
+        for (Class<?> cls : dependencies.keySet()) {
+          if (!done.contains(cls)) {
+            level.add(cls);
+          }
+        }
+      }
+      done.addAll(level);
+      levels.add(level);
+    }
+    return levels;
+  }
+
+  private static boolean isCyclic(List<Class<?>> level, Map<Class<?>, Set<Class<?>>> dependencies) {
+    for (Class<?> cls : level) {
+      for (Class<?> dependency : dependencies.get(cls)) {
+        if (level.contains(dependency)) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  private static boolean isWarmUpCandidate(Class<?> cls) {
+    // Classes of the bootstrap loader have builtin serializers.
+    return !cls.isPrimitive()
+        && !cls.isEnum()
+        && !cls.isInterface()
+        && !Modifier.isAbstract(cls.getModifiers())
+        && cls.getClassLoader() != null
+        && CodegenSerializer.supportCodegenForJavaSerialization(cls);
+  }
+}
@@ -90,6 +90,13 @@ public final class StaticCompatibleCodecBuilder extends ObjectCodecBuilder {
     return "StaticCompatible";
   }
 
+  @Override
+  protected void appendCodeCacheKey(StringBuilder builder) {
+    // The remote TypeDef is bound when the serializer is created, only local fields are generated.
+    builder.append("\ndebug=").append(debug);
+    appendDescriptorsKey(builder, localDescriptors);
+  }
+
   @Override
   public String genCode() {
     ctx.setPackage(CodeGenerator.getPackage(beanClass));
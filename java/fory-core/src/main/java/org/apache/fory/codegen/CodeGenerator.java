@@ -159,8 +159,16 @@ public class CodeGenerator {
       compileState.lock.unlock();
     } else {
       try {
-        classes =
-            JaninoUtils.toBytecode(parentClassLoader, compileUnits.toArray(new CompileUnit[0]));
+        CompileUnit[] unitsArray = compileUnits.toArray(new CompileUnit[0]);
+        // Direct invocation bridges are installed after compilation, don't cache them.
+        boolean cacheable = directUnit == null && CompiledCodeCache.isEnabled();
+        classes = cacheable ? CompiledCodeCache.load(unitsArray) : null;
+        if (classes == null) {
+          classes = JaninoUtils.toBytecode(parentClassLoader, unitsArray);
+          if (cacheable) {
+            CompiledCodeCache.store(classes, unitsArray);
+          }
+        }
         if (directUnit != null && invocations.length != 0) {
           String classFile = directUnit.getQualifiedClassName().replace('.', '/') + ".class";
           byte[] bytecode = classes.get(classFile);
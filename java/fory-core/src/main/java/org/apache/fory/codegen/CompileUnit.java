@@ -33,6 +33,8 @@ public class CompileUnit {
   String mainClassName;
   private String code;
   private Supplier<String> genCodeFunc;
+  private Supplier<String> cacheKeyFunc;
+  private String cacheKey;
 
   public CompileUnit(String pkg, String mainClassName, String code) {
     this.pkg = pkg;
@@ -46,6 +48,27 @@ public class CompileUnit {
     this.genCodeFunc = genCodeFunc;
   }
 
+  /**
+   * Creates a unit whose code is generated on demand, {@code cacheKeyFunc} identifies the code
+   * without generating it so cached bytecode can be looked up first.
+   */
+  public CompileUnit(
+      String pkg,
+      String mainClassName,
+      Supplier<String> genCodeFunc,
+      Supplier<String> cacheKeyFunc) {
+    this(pkg, mainClassName, genCodeFunc);
+    this.cacheKeyFunc = cacheKeyFunc;
+  }
+
+  /** Returns the key which identifies the code of this unit, or null if the unit has no key. */
+  public String getCacheKey() {
+    if (cacheKey == null && cacheKeyFunc != null) {
+      cacheKey = cacheKeyFunc.get();
+    }
+    return cacheKey;
+  }
+
   public String getCode() {
     if (code == null) {
       Preconditions.checkNotNull(genCodeFunc);
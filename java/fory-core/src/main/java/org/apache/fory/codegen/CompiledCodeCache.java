@@ -0,0 +1,221 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.fory.codegen;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.CodeSource;
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.fory.Fory;
+import org.apache.fory.logging.Logger;
+import org.apache.fory.logging.LoggerFactory;
+import org.apache.fory.platform.JdkVersion;
+import org.apache.fory.util.MurmurHash3;
+import org.apache.fory.util.StringUtils;
+
+/**
+ * An on-disk cache of bytecode compiled from generated code, which lets a restarted process define
+ * generated classes such as JIT serializers without compiling them again.
+ *
+ * <p>The cache is disabled by default, set system property or environment variable {@code
+ * FORY_CODE_CACHE_DIR} to a directory to enable it. An entry is keyed by the Fory runtime version,
+ * the JDK major version and the {@link CompileUnit#getCacheKey cache key} of every compiled unit,
+ * so a hit defines the cached classes without generating their source. JIT serializers are keyed
+ * by the config values, the struct layout of the bean class including field types and offsets, the
+ * TypeDef they read and the serializers of monomorphic field types, so a changed class or config
+ * yields a new key instead of reusing stale bytecode. Units without a cache key are keyed by their
+ * generated source. Unreadable entries are treated as misses and are removed.
+ */
+public final class CompiledCodeCache {
+  private static final Logger LOG = LoggerFactory.getLogger(CompiledCodeCache.class);
+  private static final String CACHE_DIR_KEY = "FORY_CODE_CACHE_DIR";
+  private static final int MAGIC_NUMBER = 0x46434301;
+  private static final String FILE_SUFFIX = ".classes";
+
+  private static final Path CACHE_DIR;
+  private static final String RUNTIME_VERSION;
+
+  static {
+    String dir = System.getProperty(CACHE_DIR_KEY, System.getenv(CACHE_DIR_KEY));
+    CACHE_DIR = StringUtils.isBlank(dir) ? null : Paths.get(dir).toAbsolutePath();
+    RUNTIME_VERSION = runtimeVersion();
+  }
+
+  private CompiledCodeCache() {}
+
+  /** Returns whether the on-disk cache is enabled. */
+  public static boolean isEnabled() {
+    return CACHE_DIR != null;
+  }
+
+  /** Returns the cached bytecode of {@code units}, or null if it isn't cached. */
+  public static Map<String, byte[]> load(CompileUnit... units) {
+    return CACHE_DIR == null ? null : load(CACHE_DIR, units);
+  }
+
+  static Map<String, byte[]> load(Path dir, CompileUnit... units) {
+    Path path = entryPath(dir, units);
+    if (!Files.exists(path)) {
+      return null;
+    }
+    try {
+      Map<String, byte[]> classes = read(path);
+      for (CompileUnit unit : units) {
+        String classFile = unit.getQualifiedClassName().replace('.', '/') + ".class";
+        if (!classes.containsKey(classFile)) {
+          throw new IOException("Missing class " + classFile);
+        }
+      }
+      LOG.info("Load compiled classes {} from {}", classes.keySet(), path);
+      return classes;
+    } catch (IOException | RuntimeException e) {
+      LOG.warn("Discard unreadable compiled code cache entry {}: {}", path, e);
+      deleteQuietly(path);
+      return null;
+    }
+  }
+
+  /** Stores the bytecode compiled from {@code units}, failures are logged and ignored. */
+  public static void store(Map<String, byte[]> classes, CompileUnit... units) {
+    if (CACHE_DIR != null) {
+      store(CACHE_DIR, classes, units);
+    }
+  }
+
+  static void store(Path dir, Map<String, byte[]> classes, CompileUnit... units) {
+    Path path = entryPath(dir, units);
+    Path tmpPath = null;
+    try {
+      Files.createDirectories(dir);
+      tmpPath = Files.createTempFile(dir, path.getFileName().toString(), ".tmp");
+      write(tmpPath, classes);
+      try {
+        Files.move(tmpPath, path, StandardCopyOption.ATOMIC_MOVE);
+      } catch (AtomicMoveNotSupportedException e) {
+        Files.move(tmpPath, path, StandardCopyOption.REPLACE_EXISTING);
+      }
+    } catch (IOException | RuntimeException e) {
+      LOG.warn("Write compiled code cache entry {} failed: {}", path, e);
+      if (tmpPath != null) {
+        deleteQuietly(tmpPath);
+      }
+    }
+  }
+
+  static Path entryPath(Path dir, CompileUnit... units) {
+    StringBuilder builder = new StringBuilder(RUNTIME_VERSION);
+    builder.append('\n').append(JdkVersion.MAJOR_VERSION);
+    for (CompileUnit unit : units) {
+      builder.append('\n').append(unit.getQualifiedClassName()).append('\n');
+      // Keyed units are looked up without generating their code.
+      String key = unit.getCacheKey();
+      builder.append(key != null ? "key:" + key : unit.getCode());
+    }
+    byte[] bytes = builder.toString().getBytes(StandardCharsets.UTF_8);
+    long[] hash = MurmurHash3.murmurhash3_x64_128(bytes, 0, bytes.length, 47);
+    String name =
+        units[0].mainClassName
+            + "_"
+            + Long.toHexString(hash[0])
+            + Long.toHexString(hash[1])
+            + FILE_SUFFIX;
+    return dir.resolve(name);
+  }
+
+  private static Map<String, byte[]> read(Path path) throws IOException {
+    try (DataInputStream in =
+        new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+      if (in.readInt() != MAGIC_NUMBER) {
+        throw new IOException("Not a compiled code cache entry");
+      }
+      int numClasses = in.readInt();
+      Map<String, byte[]> classes = new HashMap<>(numClasses * 2);
+      for (int i = 0; i < numClasses; i++) {
+        String classFile = in.readUTF();
+        byte[] bytecode = new byte[in.readInt()];
+        in.readFully(bytecode);
+        classes.put(classFile, bytecode);
+      }
+      if (in.read() != -1) {
+        throw new IOException("Trailing bytes in compiled code cache entry");
+      }
+      return classes;
+    }
+  }
+
+  private static void write(Path path, Map<String, byte[]> classes) throws IOException {
+    try (DataOutputStream out =
+        new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+      out.writeInt(MAGIC_NUMBER);
+      out.writeInt(classes.size());
+      for (Map.Entry<String, byte[]> entry : classes.entrySet()) {
+        out.writeUTF(entry.getKey());
+        out.writeInt(entry.getValue().length);
+        out.write(entry.getValue());
+      }
+    }
+  }
+
+  private static String runtimeVersion() {
+    String version = Fory.class.getPackage().getImplementationVersion();
+    if (version != null && !version.endsWith("SNAPSHOT")) {
+      return version;
+    }
+    // Snapshot and unpackaged builds change without a version bump, key them by the build as well.
+    StringBuilder builder = new StringBuilder(String.valueOf(version));
+    CodeSource codeSource = Fory.class.getProtectionDomain().getCodeSource();
+    URL location = codeSource == null ? null : codeSource.getLocation();
+    if (location != null) {
+      builder.append(location);
+      try {
+        File file = Paths.get(location.toURI()).toFile();
+        if (file.isFile()) {
+          builder.append('@').append(file.length()).append('@').append(file.lastModified());
+        } else {
+          File classFile = new File(file, Fory.class.getName().replace('.', '/') + ".class");
+          builder.append('@').append(classFile.lastModified());
+        }
+      } catch (Exception e) {
+        LOG.debug("Can't resolve Fory code source {}: {}", location, e);
+      }
+    }
+    return builder.toString();
+  }
+
+  private static void deleteQuietly(Path path) {
+    try {
+      Files.deleteIfExists(path);
+    } catch (IOException e) {
+      LOG.debug("Delete {} failed: {}", path, e);
+    }
+  }
+}
@@ -51,6 +51,7 @@ public class Config implements Serializable {
   private final Int64Encoding longEncoding;
   private final boolean compressIntArray;
   private final boolean compressLongArray;
+  private final boolean bitPackArray;
   private final boolean requireClassRegistration;
   private final boolean suppressClassRegistrationWarnings;
   private final boolean registerGuavaTypes;
@@ -70,6 +71,7 @@ public class Config implements Serializable {
   private final int maxAverageSchemaVersionsPerType;
   private final long maxGraphMemoryBytes;
   private final int maxUnbackedContainerItems;
+  private final int stringDictionarySize;
   private final float mapRefLoadFactor;
   private final boolean forVirtualThread;
 
@@ -87,6 +89,7 @@ public class Config implements Serializable {
     compressLong = longEncoding != Int64Encoding.FIXED;
     compressIntArray = builder.compressIntArray;
     compressLongArray = builder.compressLongArray;
+    bitPackArray = builder.bitPackArray;
     requireClassRegistration = builder.requireClassRegistration;
     suppressClassRegistrationWarnings = builder.suppressClassRegistrationWarnings;
     registerGuavaTypes = builder.registerGuavaTypes;
@@ -118,6 +121,13 @@ public class Config implements Serializable {
     maxAverageSchemaVersionsPerType = builder.maxAverageSchemaVersionsPerType;
     maxGraphMemoryBytes = builder.maxGraphMemoryBytes;
     maxUnbackedContainerItems = builder.maxUnbackedContainerItems;
+    stringDictionarySize = builder.stringDictionarySize;
+    if (stringDictionarySize > 0) {
+      Preconditions.checkArgument(
+          metaShareEnabled && !xlang,
+          "Configuration error: string dictionary requires meta share enabled "
+              + "and is unsupported in xlang mode.");
+    }
     mapRefLoadFactor = builder.mapRefLoadFactor;
     forVirtualThread = builder.forVirtualThread;
   }
@@ -225,6 +235,14 @@ public class Config implements Serializable {
     return compressLongArray;
   }
 
+  /**
+   * Returns true if compressed int and long arrays may use the frame of reference, delta and
+   * bit-packed encodings.
+   */
+  public boolean bitPackArray() {
+    return bitPackArray;
+  }
+
   public int bufferSizeLimitBytes() {
     return bufferSizeLimitBytes;
   }
@@ -334,6 +352,14 @@ public class Config implements Serializable {
     return maxUnbackedContainerItems;
   }
 
+  /**
+   * Returns the max number of strings in the string dictionary of a meta share session, 0 if the
+   * string dictionary is disabled.
+   */
+  public int stringDictionarySize() {
+    return stringDictionarySize;
+  }
+
   /** Returns loadFactor of MacRef's writtenObjects. */
   public float mapRefLoadFactor() {
     return mapRefLoadFactor;
@@ -367,6 +393,7 @@ public class Config implements Serializable {
         && compressLong == config.compressLong
         && compressIntArray == config.compressIntArray
         && compressLongArray == config.compressLongArray
+        && bitPackArray == config.bitPackArray
         && bufferSizeLimitBytes == config.bufferSizeLimitBytes
         && requireClassRegistration == config.requireClassRegistration
         && suppressClassRegistrationWarnings == config.suppressClassRegistrationWarnings
@@ -384,6 +411,7 @@ public class Config implements Serializable {
         && maxAverageSchemaVersionsPerType == config.maxAverageSchemaVersionsPerType
         && maxGraphMemoryBytes == config.maxGraphMemoryBytes
         && maxUnbackedContainerItems == config.maxUnbackedContainerItems
+        && stringDictionarySize == config.stringDictionarySize
         && Objects.equals(defaultJDKStreamSerializerType, config.defaultJDKStreamSerializerType)
         && longEncoding == config.longEncoding
         && forVirtualThread == config.forVirtualThread;
@@ -411,6 +439,7 @@ public class Config implements Serializable {
         longEncoding,
         compressIntArray,
         compressLongArray,
+        bitPackArray,
         bufferSizeLimitBytes,
         requireClassRegistration,
         suppressClassRegistrationWarnings,
@@ -421,6 +450,7 @@ public class Config implements Serializable {
         maxAverageSchemaVersionsPerType,
         maxGraphMemoryBytes,
         maxUnbackedContainerItems,
+        stringDictionarySize,
         metaShareEnabled,
         scopedMetaShareEnabled,
         metaCompressor,
@@ -31,6 +31,7 @@ import org.apache.fory.ThreadLocalFory;
 import org.apache.fory.ThreadSafeFory;
 import org.apache.fory.logging.Logger;
 import org.apache.fory.logging.LoggerFactory;
+import org.apache.fory.memory.BufferPool;
 import org.apache.fory.meta.DeflaterMetaCompressor;
 import org.apache.fory.meta.MetaCompressor;
 import org.apache.fory.platform.AndroidSupport;
@@ -81,6 +82,7 @@ public final class ForyBuilder {
   public Int64Encoding longEncoding = Int64Encoding.TAGGED;
   boolean compressIntArray = false;
   boolean compressLongArray = false;
+  boolean bitPackArray = false;
   boolean compressString = false;
   Boolean writeNumUtf16BytesForUtf8Encoding;
   Boolean compatible;
@@ -105,9 +107,11 @@ public final class ForyBuilder {
   int maxAverageSchemaVersionsPerType = 3;
   long maxGraphMemoryBytes = 128L * 1024 * 1024;
   int maxUnbackedContainerItems = 8192;
+  int stringDictionarySize = 0;
   float mapRefLoadFactor = 0.51f;
   boolean forVirtualThread = false;
   TypeChecker typeChecker;
+  BufferPool bufferPool;
   private final List<SerializerFactory> serializerFactories = new ArrayList<>();
   private final List<ForyModule> modules = new ArrayList<>();
   private List<Consumer<ForyBuilder>> actions = new ArrayList<>();
@@ -263,6 +267,20 @@ public final class ForyBuilder {
     return this;
   }
 
+  /**
+   * Whether compressed int and long arrays may use the frame of reference, delta and bit-packed
+   * encodings in addition to the narrowing ones. It only takes effect when array compression is
+   * enabled.
+   *
+   * <p>Readers always accept these encodings, but readers from older Fory versions don't, so this
+   * is disabled by default. Enable it only when all readers have been upgraded.
+   */
+  public ForyBuilder withBitPackedArrayCompressed(boolean bitPackedArrayCompressed) {
+    this.bitPackArray = bitPackedArrayCompressed;
+    recordAction(b -> b.withBitPackedArrayCompressed(bitPackedArrayCompressed));
+    return this;
+  }
+
   /** Whether compress string for small size. */
   public ForyBuilder withStringCompressed(boolean stringCompressed) {
     this.compressString = stringCompressed;
@@ -294,6 +312,25 @@ public final class ForyBuilder {
     return this;
   }
 
+  /**
+   * Sets a pool which Fory's internal buffer borrows memory from when it grows beyond {@link
+   * #withBufferSizeLimitBytes}, and returns memory to after every call. The same pool is shared by
+   * every {@link Fory} created by a thread-safe Fory built from this builder, which avoids
+   * allocating new memory for every large message. Use {@link BufferPool#getHitCount} and related
+   * counters to size the pool.
+   *
+   * <p>For virtual threads, create the pool without thread local cache.
+   */
+  public ForyBuilder withBufferPool(BufferPool bufferPool) {
+    this.bufferPool = bufferPool;
+    recordAction(b -> b.withBufferPool(bufferPool));
+    return this;
+  }
+
+  public BufferPool getBufferPool() {
+    return bufferPool;
+  }
+
   /**
    * Set classloader for fory to load classes, this classloader can't up updated. Fory will cache
    * the class meta data, if classloader can be updated, there may be class meta collision if
@@ -620,6 +657,29 @@ public final class ForyBuilder {
     return this;
   }
 
+  /**
+   * Enables the string dictionary of meta share sessions. A string of at most {@link
+   * org.apache.fory.serializer.StringSerializer#MAX_DICTIONARY_STRING_LENGTH} chars is written in
+   * full only the first time in a session, later occurrences are written as a varint id. The
+   * dictionary is scoped like shared meta: it lives in {@link
+   * org.apache.fory.context.MetaWriteContext} and {@link org.apache.fory.context.MetaReadContext},
+   * so it covers one serialization with scoped meta share, and all payloads written with the same
+   * meta contexts otherwise. When the dictionary is full, the least recently used string is
+   * evicted. The writer sends the id of every new entry, so the reader stays in sync without
+   * tracking recency.
+   *
+   * <p>Reader and writer must use the same size. It requires meta share and native mode, and is
+   * disabled by default.
+   *
+   * @param size max number of strings kept per session, 0 to disable the dictionary.
+   */
+  public ForyBuilder withStringDictionary(int size) {
+    Preconditions.checkArgument(size >= 0, "string dictionary size must be non-negative");
+    this.stringDictionarySize = size;
+    recordAction(b -> b.withStringDictionary(size));
+    return this;
+  }
+
   /** Set loadFactor of MapRefResolver writtenObjects. Default value is 0.51 */
   public ForyBuilder withMapRefLoadFactor(float loadFactor) {
     Preconditions.checkArgument(
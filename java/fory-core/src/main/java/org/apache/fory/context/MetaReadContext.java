@@ -34,4 +34,7 @@ public class MetaReadContext {
    * shared meta-share session.
    */
   public final ObjectArray<TypeInfo> readTypeInfos = new ObjectArray<>();
+
+  /** Strings announced by the peer, created on first use if the string dictionary is enabled. */
+  public StringReadDictionary stringDictionary;
 }
@@ -33,4 +33,10 @@ public class MetaWriteContext {
    * used by the current or shared meta-share session.
    */
   public final IdentityObjectIntMap<Class<?>> classMap = new IdentityObjectIntMap<>(1, 0.5f);
+
+  /**
+   * Strings already announced to the peer, created on first use if the string dictionary is
+   * enabled.
+   */
+  public StringWriteDictionary stringDictionary;
 }
@@ -93,6 +93,9 @@ public final class ReadContext {
     rootTypeInfoHolder = typeResolver.nilTypeInfoHolder();
     this.metaStringReader = metaStringReader;
     stringSerializer = (StringSerializer) typeResolver.getSerializer(String.class);
+    if (config.stringDictionarySize() > 0) {
+      stringSerializer.setReadContext(this);
+    }
     crossLanguage = config.isXlang();
     trackingRef = config.trackingRef();
     compressInt = config.compressInt();
@@ -301,6 +304,9 @@ public final class ReadContext {
     }
     if (scopedMetaShareEnabled) {
       metaReadContext.readTypeInfos.size = 0;
+      if (metaReadContext.stringDictionary != null) {
+        metaReadContext.stringDictionary.clear();
+      }
     } else {
       metaReadContext = null;
     }
@@ -564,6 +570,11 @@ public final class ReadContext {
     return stringSerializer.readString(buffer);
   }
 
+  /** Skips a non-null string payload without decoding it. */
+  public void skipString() {
+    stringSerializer.skipString(buffer);
+  }
+
   /** Reads a nullable string using the runtime string-ref policy. */
   public String readStringRef() {
     MemoryBuffer buffer = this.buffer;
@@ -0,0 +1,59 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.fory.context;
+
+import java.util.Arrays;
+import org.apache.fory.exception.DeserializationException;
+
+/** Read-side string dictionary of a meta share session, see {@link StringWriteDictionary}. */
+public final class StringReadDictionary {
+  private final int capacity;
+  private String[] strings;
+
+  public StringReadDictionary(int capacity) {
+    this.capacity = capacity;
+    strings = new String[Math.min(capacity, 16)];
+  }
+
+  /** Returns the string of {@code id} announced by the peer. */
+  public String get(int id) {
+    String str = id < strings.length ? strings[id] : null;
+    if (str == null) {
+      throw new DeserializationException("Unknown string dictionary id " + id);
+    }
+    return str;
+  }
+
+  /** Binds {@code str} to {@code id}, replacing the string evicted by the peer if any. */
+  public void put(int id, String str) {
+    if (id >= capacity) {
+      throw new DeserializationException(
+          "String dictionary id " + id + " exceeds dictionary size " + capacity);
+    }
+    if (id >= strings.length) {
+      strings = Arrays.copyOf(strings, Math.min(capacity, Math.max(id + 1, strings.length << 1)));
+    }
+    strings[id] = str;
+  }
+
+  public void clear() {
+    Arrays.fill(strings, null);
+  }
+}
@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.fory.context;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Write-side string dictionary of a meta share session.
+ *
+ * <p>Strings are kept in least recently used order. When the dictionary is full, a new string takes
+ * the id of the least recently used one. The new id is always sent to the peer together with the
+ * string, so {@link StringReadDictionary} doesn't need to track recency.
+ */
+public final class StringWriteDictionary {
+  private final int capacity;
+  private final LinkedHashMap<String, Integer> ids;
+  private int addedCount;
+
+  public StringWriteDictionary(int capacity) {
+    this.capacity = capacity;
+    ids = new LinkedHashMap<>(16, 0.75f, true);
+  }
+
+  /** Returns id of {@code str} and marks it as most recently used, or -1 if it's absent. */
+  public int lookup(String str) {
+    Integer id = ids.get(str);
+    return id == null ? -1 : id;
+  }
+
+  /** Adds an absent {@code str} and returns its id, evicting the least recently used if full. */
+  public int add(String str) {
+    int id;
+    if (ids.size() < capacity) {
+      id = ids.size();
+    } else {
+      Iterator<Map.Entry<String, Integer>> iterator = ids.entrySet().iterator();
+      id = iterator.next().getValue();
+      iterator.remove();
+    }
+    ids.put(str, id);
+    addedCount++;
+    return id;
+  }
+
+  public int size() {
+    return ids.size();
+  }
+
+  /**
+   * Returns the number of strings added since the last {@link #clear()}, which keeps growing once
+   * the dictionary is full and new strings reuse evicted ids.
+   */
+  public int addedCount() {
+    return addedCount;
+  }
+
+  public void clear() {
+    ids.clear();
+    addedCount = 0;
+  }
+}
@@ -90,6 +90,9 @@ public final class WriteContext {
     rootTypeInfoHolder = typeResolver.nilTypeInfoHolder();
     this.metaStringWriter = metaStringWriter;
     stringSerializer = (StringSerializer) typeResolver.getSerializer(String.class);
+    if (config.stringDictionarySize() > 0) {
+      stringSerializer.setWriteContext(this);
+    }
     crossLanguage = config.isXlang();
     trackingRef = config.trackingRef();
     compressInt = config.compressInt();
@@ -300,6 +303,9 @@ public final class WriteContext {
     }
     if (scopedMetaShareEnabled) {
       metaWriteContext.classMap.clear();
+      if (metaWriteContext.stringDictionary != null) {
+        metaWriteContext.stringDictionary.clear();
+      }
     } else {
       metaWriteContext = null;
     }
@@ -0,0 +1,215 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.fory.io;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import javax.annotation.concurrent.NotThreadSafe;
+import org.apache.fory.exception.SerializationException;
+import org.apache.fory.memory.MemoryBuffer;
+import org.apache.fory.util.Preconditions;
+
+/**
+ * A buffered output stream by fory which flushes fixed-size windows of the underlying {@link
+ * MemoryBuffer} to the original stream when the buffer is full. Serializing into {@link
+ * #getBuffer()} or passing this stream to {@code Fory#serialize(OutputStream, Object)} keeps memory
+ * bounded by the window size instead of the size of the serialized object graph.
+ *
+ * <p>The window only grows when a serializer holds written bytes by {@link
+ * MemoryBuffer#holdFlush}, and is restored once those bytes are flushed.
+ */
+@NotThreadSafe
+public class ForyOutputStream extends OutputStream implements ForyStreamWriter {
+  private final OutputStream stream;
+  private final MemoryBuffer buffer;
+  private final byte[] window;
+  // Writer index of the buffer up to which bytes have been written to `stream`.
+  private int flushedIndex;
+  // Writer index of the buffer which maps to the first byte of current heap memory.
+  private int bufferStart;
+
+  public ForyOutputStream(OutputStream stream) {
+    this(stream, 4096);
+  }
+
+  public ForyOutputStream(OutputStream stream, int bufferSize) {
+    this(stream, MemoryBuffer.fromByteArray(new byte[bufferSize]));
+  }
+
+  public ForyOutputStream(WritableByteChannel channel) {
+    this(Channels.newOutputStream(channel));
+  }
+
+  public ForyOutputStream(WritableByteChannel channel, int bufferSize) {
+    this(Channels.newOutputStream(channel), bufferSize);
+  }
+
+  /**
+   * Create a stream which flushes the provided heap buffer to {@code stream}, the buffer size is
+   * used as the flush window. Invoke {@link #detach()} to restore the buffer for normal usage.
+   */
+  public ForyOutputStream(OutputStream stream, MemoryBuffer buffer) {
+    Preconditions.checkArgument(
+        buffer.isHeapFullyWriteable() && buffer.size() > 0,
+        "ForyOutputStream requires a non-empty heap buffer.");
+    Preconditions.checkArgument(
+        buffer.getStreamWriter() == null, "Buffer is already attached to a stream writer.");
+    this.stream = stream;
+    this.buffer = buffer;
+    this.window = buffer.getHeapMemory();
+    buffer.writerIndex(0);
+    buffer.setStreamWriter(this);
+  }
+
+  @Override
+  public void flushBuffer(int minCapacity) {
+    MemoryBuffer buffer = this.buffer;
+    int flushableIndex = buffer.flushableIndex();
+    if (flushableIndex > flushedIndex) {
+      writeToStream(flushableIndex);
+    }
+    byte[] heapMemory = buffer.getHeapMemory();
+    long capacity = (long) minCapacity - flushedIndex;
+    if ((long) flushedIndex + Math.max(capacity, window.length)
+        > ForyStreamReader.MAX_BUFFER_SIZE) {
+      throw new SerializationException("Stream buffer size exceeds supported range");
+    }
+    byte[] target;
+    if (capacity <= window.length) {
+      target = window;
+    } else if (capacity <= heapMemory.length) {
+      target = heapMemory;
+    } else {
+      // Only bytes held by a serializer remain in the buffer, grow geometrically to keep the
+      // copy of held bytes amortized O(1).
+      long newSize = Math.max(capacity, ForyStreamReader.nextBufferSize(heapMemory.length));
+      target = new byte[(int) Math.min(newSize, ForyStreamReader.MAX_BUFFER_SIZE - flushedIndex)];
+    }
+    int pending = buffer.writerIndex() - flushedIndex;
+    System.arraycopy(heapMemory, flushedIndex - bufferStart, target, 0, pending);
+    rebase(target, flushedIndex);
+  }
+
+  private void writeToStream(int endIndex) {
+    try {
+      stream.write(buffer.getHeapMemory(), flushedIndex - bufferStart, endIndex - flushedIndex);
+    } catch (IOException e) {
+      throw new SerializationException(e);
+    }
+    flushedIndex = endIndex;
+  }
+
+  /** Point heap memory start of the buffer to writer index {@code start}. */
+  private void rebase(byte[] target, int start) {
+    // Negative heap offset maps writer indices before `start` to flushed bytes which won't be
+    // accessed anymore, so that writer indices held by serializers are still valid.
+    buffer.initHeapBuffer(target, -start, start + target.length);
+    bufferStart = start;
+  }
+
+  /**
+   * Flushes all written bytes to the original stream and resets the buffer writer index to zero.
+   */
+  @Override
+  public void flush() {
+    MemoryBuffer buffer = this.buffer;
+    int writerIndex = buffer.writerIndex();
+    if (writerIndex > flushedIndex) {
+      writeToStream(writerIndex);
+    }
+    reset();
+    try {
+      stream.flush();
+    } catch (IOException e) {
+      throw new SerializationException(e);
+    }
+  }
+
+  /**
+   * Discards written bytes which are not flushed and resets the buffer writer index to zero. Bytes
+   * flushed already have been written into the original stream.
+   */
+  public void reset() {
+    MemoryBuffer buffer = this.buffer;
+    buffer.releaseFlush(Integer.MAX_VALUE);
+    buffer.initHeapBuffer(window, 0, window.length);
+    buffer.writerIndex(0);
+    flushedIndex = 0;
+    bufferStart = 0;
+  }
+
+  /**
+   * Discards written bytes which are not flushed and detaches the buffer from this stream. The
+   * buffer will grow on write again instead of flushing.
+   */
+  public void detach() {
+    reset();
+    buffer.setStreamWriter(null);
+  }
+
+  @Override
+  public MemoryBuffer getBuffer() {
+    return buffer;
+  }
+
+  public OutputStream getStream() {
+    return stream;
+  }
+
+  @Override
+  public void write(int b) {
+    buffer.writeByte(b);
+  }
+
+  @Override
+  public void write(byte[] b, int off, int len) {
+    MemoryBuffer buffer = this.buffer;
+    int writerIndex = buffer.writerIndex();
+    if (len < window.length || buffer.flushableIndex() != writerIndex) {
+      buffer.writeBytes(b, off, len);
+      return;
+    }
+    if ((long) writerIndex + len + window.length > ForyStreamReader.MAX_BUFFER_SIZE) {
+      throw new SerializationException("Stream buffer size exceeds supported range");
+    }
+    // Write big arrays to the original stream directly instead of copying them into the window.
+    if (writerIndex > flushedIndex) {
+      writeToStream(writerIndex);
+    }
+    try {
+      stream.write(b, off, len);
+    } catch (IOException e) {
+      throw new SerializationException(e);
+    }
+    int newIndex = writerIndex + len;
+    flushedIndex = newIndex;
+    rebase(window, newIndex);
+    buffer.writerIndex(newIndex);
+  }
+
+  @Override
+  public void close() throws IOException {
+    flush();
+    buffer.setStreamWriter(null);
+    stream.close();
+  }
+}
@@ -0,0 +1,321 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.fory.io;
+
+import static org.apache.fory.io.ForyRecordWriter.KIND_BITS;
+import static org.apache.fory.io.ForyRecordWriter.KIND_MASK;
+import static org.apache.fory.io.ForyRecordWriter.RECORD;
+import static org.apache.fory.io.ForyRecordWriter.RECORD_WITH_META;
+import static org.apache.fory.io.ForyRecordWriter.RESET_POINT;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.channels.SelectableChannel;
+import java.util.NoSuchElementException;
+import javax.annotation.concurrent.NotThreadSafe;
+import org.apache.fory.Fory;
+import org.apache.fory.context.MetaReadContext;
+import org.apache.fory.exception.DeserializationException;
+import org.apache.fory.memory.MemoryBuffer;
+
+/**
+ * Reads records written by {@link ForyRecordWriter} from a channel or stream.
+ *
+ * <p>The reader must use a {@link Fory} with the same meta share and string dictionary config as
+ * the writer. Type definitions and dictionary strings announced by earlier records of the stream
+ * are kept until the next reset point, so records must be read or {@link #skip() skipped} in order.
+ * Skipping a record which announces them still deserializes it to register them, other records are
+ * skipped without decoding.
+ */
+@NotThreadSafe
+public class ForyRecordReader implements Closeable {
+  private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+  private final Fory fory;
+  private final ReadableByteChannel channel;
+  private final boolean shareMeta;
+  private final MemoryBuffer recordBuffer = MemoryBuffer.fromByteArray(new byte[0]);
+  private MetaReadContext metaReadContext;
+  private byte[] heapMemory;
+  private ByteBuffer byteBuffer;
+  // Buffered bytes are `heapMemory[position, limit)`.
+  private int position;
+  private int limit;
+  // Stream offset of `heapMemory[0]`.
+  private long bufferOffset;
+  // Kind and length of the record frame whose header has been consumed, or -1 if none.
+  private int pendingKind = -1;
+  private int pendingLength;
+  private long recordCount;
+
+  public ForyRecordReader(Fory fory, InputStream stream) {
+    this(fory, Channels.newChannel(stream), DEFAULT_BUFFER_SIZE);
+  }
+
+  /**
+   * Create a record reader. Pass a {@link ForyReadableChannel} to read records after bytes already
+   * buffered by it, or a {@link SeekableByteChannel} to support {@link #seek}. The channel must be
+   * blocking.
+   */
+  public ForyRecordReader(Fory fory, ReadableByteChannel channel) {
+    this(fory, channel, DEFAULT_BUFFER_SIZE);
+  }
+
+  public ForyRecordReader(Fory fory, ReadableByteChannel channel, int bufferSize) {
+    if (channel instanceof SelectableChannel && !((SelectableChannel) channel).isBlocking()) {
+      throw new IllegalArgumentException("Record channel must be in blocking mode: " + channel);
+    }
+    this.fory = fory;
+    this.channel = channel;
+    shareMeta = ForyRecordWriter.isMetaShared(fory.getConfig());
+    if (shareMeta) {
+      metaReadContext = new MetaReadContext();
+    }
+    heapMemory = new byte[Math.max(bufferSize, 16)];
+    byteBuffer = ByteBuffer.wrap(heapMemory);
+  }
+
+  /** Returns whether another record is available, consuming reset points before it. */
+  public boolean hasNext() {
+    while (pendingKind < 0) {
+      if (!fill(1)) {
+        return false;
+      }
+      long header = readHeader();
+      int kind = (int) (header & KIND_MASK);
+      int length = (int) (header >>> KIND_BITS);
+      if (kind == RESET_POINT) {
+        if (length != 0) {
+          throw new DeserializationException("Invalid reset point frame of length " + length);
+        }
+        resetMeta();
+      } else if (kind == RECORD || kind == RECORD_WITH_META) {
+        pendingKind = kind;
+        pendingLength = length;
+      } else {
+        throw new DeserializationException("Unknown record frame kind " + kind);
+      }
+    }
+    return true;
+  }
+
+  /** Deserializes the next record. */
+  public Object read() {
+    MemoryBuffer buffer = nextRecord();
+    try {
+      return fory.deserialize(buffer);
+    } finally {
+      finishRecord();
+    }
+  }
+
+  /** Deserializes the next record as {@code type}. */
+  public <T> T read(Class<T> type) {
+    MemoryBuffer buffer = nextRecord();
+    try {
+      return fory.deserialize(buffer, type);
+    } finally {
+      finishRecord();
+    }
+  }
+
+  /** Skips the next record, only records which announce type definitions or strings are decoded. */
+  public void skip() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    if (pendingKind == RECORD_WITH_META) {
+      read();
+      return;
+    }
+    int length = pendingLength;
+    int buffered = Math.min(length, limit - position);
+    position += buffered;
+    long remaining = length - buffered;
+    if (remaining > 0) {
+      skipUnbuffered(remaining);
+    }
+    pendingKind = -1;
+    recordCount++;
+  }
+
+  /**
+   * Moves to stream offset {@code offset}, which must be the start of the stream or a reset point
+   * returned by {@link ForyRecordWriter#markResetPoint()}. Only supported for seekable channels.
+   */
+  public void seek(long offset) {
+    if (!(channel instanceof SeekableByteChannel)) {
+      throw new UnsupportedOperationException("Channel is not seekable: " + channel);
+    }
+    try {
+      ((SeekableByteChannel) channel).position(offset);
+    } catch (IOException e) {
+      throw new DeserializationException("Failed to seek the provided byte channel", e);
+    }
+    bufferOffset = offset;
+    position = limit = 0;
+    pendingKind = -1;
+    resetMeta();
+  }
+
+  /** Returns the stream offset of the next frame. */
+  public long position() {
+    return bufferOffset + position;
+  }
+
+  /** Returns the number of records read or skipped by this reader. */
+  public long getRecordCount() {
+    return recordCount;
+  }
+
+  private MemoryBuffer nextRecord() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    int length = pendingLength;
+    if (!fill(length)) {
+      throw new DeserializationException("Unexpected end of stream in record");
+    }
+    MemoryBuffer buffer = recordBuffer;
+    buffer.pointTo(heapMemory, position, length);
+    buffer.readerIndex(0);
+    if (shareMeta) {
+      fory.setMetaReadContext(metaReadContext);
+    }
+    return buffer;
+  }
+
+  private void finishRecord() {
+    position += pendingLength;
+    pendingKind = -1;
+    recordCount++;
+  }
+
+  private void resetMeta() {
+    if (shareMeta) {
+      metaReadContext = new MetaReadContext();
+    }
+  }
+
+  private long readHeader() {
+    long header = 0;
+    for (int shift = 0; ; shift += 7) {
+      if (shift > 28) {
+        throw new DeserializationException("Malformed record frame header");
+      }
+      if (!fill(1)) {
+        throw new DeserializationException("Unexpected end of stream in record header");
+      }
+      byte b = heapMemory[position++];
+      header |= (long) (b & 0x7F) << shift;
+      if (b >= 0) {
+        return header;
+      }
+    }
+  }
+
+  /** Ensures {@code numBytes} are buffered, returns false if the stream ends before any byte. */
+  private boolean fill(int numBytes) {
+    int buffered = limit - position;
+    if (buffered >= numBytes) {
+      return true;
+    }
+    byte[] heapMemory = this.heapMemory;
+    if (heapMemory.length - position < numBytes) {
+      byte[] target = heapMemory;
+      if (numBytes > heapMemory.length) {
+        target = new byte[Math.max(numBytes, ForyStreamReader.nextBufferSize(heapMemory.length))];
+        this.heapMemory = target;
+        byteBuffer = ByteBuffer.wrap(target);
+      }
+      System.arraycopy(heapMemory, position, target, 0, buffered);
+      bufferOffset += position;
+      position = 0;
+      limit = buffered;
+    }
+    ByteBuffer byteBuffer = this.byteBuffer;
+    byteBuffer.limit(this.heapMemory.length);
+    byteBuffer.position(limit);
+    try {
+      while (limit - position < numBytes) {
+        int read = readChannel(byteBuffer);
+        if (read < 0) {
+          if (limit == position) {
+            return false;
+          }
+          throw new DeserializationException("Unexpected end of stream in record frame");
+        }
+        limit += read;
+      }
+    } catch (IOException e) {
+      throw new DeserializationException("Failed to read the provided byte channel", e);
+    }
+    return true;
+  }
+
+  private void skipUnbuffered(long numBytes) {
+    bufferOffset += limit + numBytes;
+    position = limit = 0;
+    if (channel instanceof SeekableByteChannel) {
+      SeekableByteChannel seekableChannel = (SeekableByteChannel) channel;
+      try {
+        seekableChannel.position(seekableChannel.position() + numBytes);
+      } catch (IOException e) {
+        throw new DeserializationException("Failed to seek the provided byte channel", e);
+      }
+      return;
+    }
+    ByteBuffer byteBuffer = this.byteBuffer;
+    try {
+      while (numBytes > 0) {
+        byteBuffer.clear();
+        if (numBytes < byteBuffer.capacity()) {
+          byteBuffer.limit((int) numBytes);
+        }
+        int read = readChannel(byteBuffer);
+        if (read < 0) {
+          throw new DeserializationException("Unexpected end of stream in record");
+        }
+        numBytes -= read;
+      }
+    } catch (IOException e) {
+      throw new DeserializationException("Failed to read the provided byte channel", e);
+    }
+  }
+
+  private int readChannel(ByteBuffer byteBuffer) throws IOException {
+    int read = channel.read(byteBuffer);
+    if (read == 0) {
+      // A blocking channel never returns zero for a non-empty buffer, fail instead of spinning.
+      throw new DeserializationException("Record channel returned no bytes, it must be blocking");
+    }
+    return read;
+  }
+
+  @Override
+  public void close() throws IOException {
+    channel.close();
+  }
+}
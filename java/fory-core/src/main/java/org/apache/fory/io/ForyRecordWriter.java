@@ -0,0 +1,247 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.fory.io;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import javax.annotation.concurrent.NotThreadSafe;
+import org.apache.fory.Fory;
+import org.apache.fory.config.Config;
+import org.apache.fory.context.MetaWriteContext;
+import org.apache.fory.context.StringWriteDictionary;
+import org.apache.fory.exception.SerializationException;
+import org.apache.fory.memory.MemoryBuffer;
+
+/**
+ * Writes a sequence of objects to a stream as length-delimited records, which can be read back by
+ * {@link ForyRecordReader}.
+ *
+ * <p>Each frame starts with an unsigned varint32 header {@code (length << 2) | kind}, followed by
+ * {@code length} bytes of the record serialized by {@link Fory}. When meta share is enabled and
+ * scoped meta share is disabled, the writer keeps one {@link MetaWriteContext} for the whole
+ * stream, so every type definition and string dictionary entry is written only once, by the first
+ * record which uses it. Such records are flagged in the frame header so that the reader can still
+ * register their type definitions and strings when skipping them. With other configs every record
+ * is self-contained.
+ *
+ * <p>{@link #markResetPoint()} starts a new meta-share session. A reader can start reading at the
+ * returned offset without reading any byte before it, which makes reset points usable as seek
+ * targets of an index for log segments or spill files.
+ *
+ * <p>Records are buffered and written to the stream once the buffered bytes exceed the flush
+ * threshold, or when {@link #flush()} is called.
+ */
+@NotThreadSafe
+public class ForyRecordWriter implements Flushable, Closeable {
+  static final int RECORD = 0;
+  static final int RECORD_WITH_META = 1;
+  static final int RESET_POINT = 2;
+  static final int KIND_BITS = 2;
+  static final int KIND_MASK = (1 << KIND_BITS) - 1;
+  static final int MAX_RECORD_SIZE = Integer.MAX_VALUE >>> KIND_BITS;
+  private static final int MAX_HEADER_SIZE = 5;
+  private static final int DEFAULT_FLUSH_THRESHOLD = 64 * 1024;
+
+  private final Fory fory;
+  private final OutputStream stream;
+  private final MemoryBuffer buffer;
+  private final int flushThreshold;
+  private final int initialBufferSize;
+  private final boolean shareMeta;
+  // Package-private so that tests can exercise oversize records without writing 512 MiB.
+  int maxRecordSize = MAX_RECORD_SIZE;
+  private MetaWriteContext metaWriteContext;
+  private long flushedBytes;
+  private long recordCount;
+
+  public ForyRecordWriter(Fory fory, OutputStream stream) {
+    this(fory, stream, DEFAULT_FLUSH_THRESHOLD);
+  }
+
+  public ForyRecordWriter(Fory fory, WritableByteChannel channel) {
+    this(fory, Channels.newOutputStream(channel), DEFAULT_FLUSH_THRESHOLD);
+  }
+
+  /**
+   * Create a record writer.
+   *
+   * @param fory the fory to serialize records, which must not be used by other threads while a
+   *     record is being written
+   * @param stream the stream to write frames to
+   * @param flushThreshold buffered bytes after which frames are written to the stream
+   */
+  public ForyRecordWriter(Fory fory, OutputStream stream, int flushThreshold) {
+    this.fory = fory;
+    this.stream = stream;
+    this.flushThreshold = flushThreshold;
+    initialBufferSize = Math.max(flushThreshold, 64);
+    buffer = MemoryBuffer.newHeapBuffer(initialBufferSize);
+    shareMeta = isMetaShared(fory.getConfig());
+    if (shareMeta) {
+      metaWriteContext = new MetaWriteContext();
+    }
+  }
+
+  static boolean isMetaShared(Config config) {
+    return config.isMetaShareEnabled() && !config.isScopedMetaShareEnabled();
+  }
+
+  /**
+   * Serializes {@code record} as the next frame.
+   *
+   * @return the stream offset of the frame
+   */
+  public long write(Object record) {
+    MemoryBuffer buffer = this.buffer;
+    int start = buffer.writerIndex();
+    int payloadStart = start + MAX_HEADER_SIZE;
+    buffer.ensure(payloadStart);
+    buffer.writerIndex(payloadStart);
+    MetaWriteContext metaWriteContext = this.metaWriteContext;
+    int numAnnounced = 0;
+    try {
+      if (shareMeta) {
+        numAnnounced = announcedCount(metaWriteContext);
+        fory.setMetaWriteContext(metaWriteContext);
+      }
+      fory.serialize(buffer, record);
+    } catch (Throwable t) {
+      buffer.writerIndex(start);
+      if (shareMeta && announcedCount(metaWriteContext) != numAnnounced) {
+        // Type definitions and dictionary strings announced by the dropped record are unknown to
+        // readers, start a new session so that following records announce them again.
+        markResetPoint();
+      }
+      throw t;
+    }
+    int length = buffer.writerIndex() - payloadStart;
+    boolean newMeta = shareMeta && announcedCount(metaWriteContext) != numAnnounced;
+    if (length > maxRecordSize) {
+      buffer.writerIndex(start);
+      if (newMeta) {
+        markResetPoint();
+      }
+      throw new SerializationException("Record size " + length + " exceeds " + maxRecordSize);
+    }
+    int kind = newMeta ? RECORD_WITH_META : RECORD;
+    int headerSize = writeHeader(start, (length << KIND_BITS) | kind);
+    if (headerSize != MAX_HEADER_SIZE) {
+      byte[] heapMemory = buffer.getHeapMemory();
+      System.arraycopy(heapMemory, payloadStart, heapMemory, start + headerSize, length);
+    }
+    buffer.writerIndex(start + headerSize + length);
+    recordCount++;
+    long offset = flushedBytes + start;
+    if (buffer.writerIndex() >= flushThreshold) {
+      flushBuffer();
+    }
+    return offset;
+  }
+
+  /**
+   * Returns the number of type definitions and dictionary strings announced in the current session.
+   * The count only grows within a session, so a change means the record announced new meta.
+   */
+  private static int announcedCount(MetaWriteContext metaWriteContext) {
+    StringWriteDictionary dictionary = metaWriteContext.stringDictionary;
+    int numStrings = dictionary == null ? 0 : dictionary.addedCount();
+    return metaWriteContext.classMap.size + numStrings;
+  }
+
+  /**
+   * Writes a reset point frame and starts a new meta-share session, type definitions used after
+   * this point will be announced again.
+   *
+   * @return the stream offset of the reset point, from which a reader can start reading
+   */
+  public long markResetPoint() {
+    MemoryBuffer buffer = this.buffer;
+    int start = buffer.writerIndex();
+    buffer.ensure(start + MAX_HEADER_SIZE);
+    buffer.writerIndex(start + writeHeader(start, RESET_POINT));
+    if (shareMeta) {
+      metaWriteContext = new MetaWriteContext();
+    }
+    return flushedBytes + start;
+  }
+
+  private int writeHeader(int index, int header) {
+    MemoryBuffer buffer = this.buffer;
+    int size = 0;
+    while ((header & ~0x7F) != 0) {
+      buffer.putByte(index + size++, (byte) ((header & 0x7F) | 0x80));
+      header >>>= 7;
+    }
+    buffer.putByte(index + size++, (byte) header);
+    return size;
+  }
+
+  /** Returns the stream offset of the next frame. */
+  public long position() {
+    return flushedBytes + buffer.writerIndex();
+  }
+
+  /** Returns the number of records written by this writer. */
+  public long getRecordCount() {
+    return recordCount;
+  }
+
+  private void flushBuffer() {
+    MemoryBuffer buffer = this.buffer;
+    int size = buffer.writerIndex();
+    if (size == 0) {
+      return;
+    }
+    try {
+      stream.write(buffer.getHeapMemory(), 0, size);
+    } catch (IOException e) {
+      throw new SerializationException(e);
+    }
+    flushedBytes += size;
+    buffer.writerIndex(0);
+    if (buffer.size() > Math.max(initialBufferSize, fory.getConfig().bufferSizeLimitBytes())) {
+      buffer.initHeapBuffer(new byte[initialBufferSize], 0, initialBufferSize);
+    }
+  }
+
+  /** Writes all buffered frames to the stream and flushes it. */
+  @Override
+  public void flush() {
+    flushBuffer();
+    try {
+      stream.flush();
+    } catch (IOException e) {
+      throw new SerializationException(e);
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    try {
+      flush();
+    } finally {
+      stream.close();
+    }
+  }
+}
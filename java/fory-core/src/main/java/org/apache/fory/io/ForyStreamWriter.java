@@ -0,0 +1,72 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.fory.io;
+
+import java.io.OutputStream;
+import java.nio.channels.WritableByteChannel;
+import org.apache.fory.memory.MemoryBuffer;
+
+/**
+ * A streaming writer to make {@link MemoryBuffer} to support streaming writing. When a write
+ * exceeds the size of the buffer, the buffer flushes its written bytes to this writer instead of
+ * growing, so that serializing a large object graph only needs a bounded window of memory.
+ *
+ * <p>Flushed bytes can't be patched anymore, serializers which write a header and patch it after
+ * writing a payload of unbounded size must protect the header by {@link MemoryBuffer#holdFlush}.
+ */
+public interface ForyStreamWriter {
+
+  /**
+   * Flushes written bytes of the underlying {@link MemoryBuffer} which are not held by {@link
+   * MemoryBuffer#holdFlush}, and makes the buffer size at least {@code minCapacity}. Writer indices
+   * of the buffer are not changed.
+   */
+  void flushBuffer(int minCapacity);
+
+  /**
+   * Flushes all written bytes of the underlying {@link MemoryBuffer} and resets the buffer for next
+   * write.
+   */
+  void flush();
+
+  /**
+   * Returns the underlying {@link MemoryBuffer}. This method will return same instance of buffer
+   * for same {@link ForyStreamWriter} instance.
+   */
+  MemoryBuffer getBuffer();
+
+  /**
+   * Create a {@link ForyOutputStream} from the provided {@link OutputStream}. Note that the
+   * returned stream buffers written data, <bold>do not</bold> write the provided {@link
+   * OutputStream} until the returned stream is flushed.
+   */
+  static ForyOutputStream of(OutputStream stream) {
+    return new ForyOutputStream(stream);
+  }
+
+  /**
+   * Create a {@link ForyOutputStream} from the provided {@link WritableByteChannel}. Note that the
+   * returned stream buffers written data, <bold>do not</bold> write the provided {@link
+   * WritableByteChannel} until the returned stream is flushed.
+   */
+  static ForyOutputStream of(WritableByteChannel channel) {
+    return new ForyOutputStream(channel);
+  }
+}
@@ -175,4 +175,134 @@ public class BitUtils {
   public static int calculateBitmapWidthInBytes(int numFields) {
     return ((numFields + 63) / 64) * WORD_SIZE;
   }
+
+  /** Returns the number of bytes {@link #writePacked} writes for {@code count} values. */
+  public static long packedBytes(int count, int bitWidth) {
+    return ((long) count * bitWidth + 7) >>> 3;
+  }
+
+  /**
+   * Writes the low {@code bitWidth} bits of {@code values[from:]} back to back, filling every byte
+   * from the least significant bit. A width of zero writes nothing.
+   */
+  public static void writePacked(MemoryBuffer buffer, int[] values, int from, int bitWidth) {
+    if (bitWidth == 0) {
+      return;
+    }
+    long mask = (1L << bitWidth) - 1;
+    long bits = 0;
+    int numBits = 0;
+    for (int i = from; i < values.length; i++) {
+      bits |= (values[i] & mask) << numBits;
+      numBits += bitWidth;
+      if (numBits >= 32) {
+        buffer.writeInt32((int) bits);
+        bits >>>= 32;
+        numBits -= 32;
+      }
+    }
+    for (; numBits > 0; numBits -= 8) {
+      buffer.writeByte((byte) bits);
+      bits >>>= 8;
+    }
+  }
+
+  /**
+   * Reads values written by {@link #writePacked(MemoryBuffer, int[], int, int)} into {@code
+   * values[from:]} as unsigned values. The caller must check that {@link #packedBytes} bytes are
+   * readable.
+   */
+  public static void readPacked(MemoryBuffer buffer, int[] values, int from, int bitWidth) {
+    if (bitWidth == 0) {
+      return;
+    }
+    long mask = (1L << bitWidth) - 1;
+    long remaining = packedBytes(values.length - from, bitWidth);
+    long bits = 0;
+    int numBits = 0;
+    for (int i = from; i < values.length; i++) {
+      while (numBits < bitWidth) {
+        if (remaining >= 4) {
+          bits |= (buffer.readInt32() & 0xFFFFFFFFL) << numBits;
+          numBits += 32;
+          remaining -= 4;
+        } else {
+          bits |= (buffer.readByte() & 0xFFL) << numBits;
+          numBits += 8;
+          remaining--;
+        }
+      }
+      values[i] = (int) (bits & mask);
+      bits >>>= bitWidth;
+      numBits -= bitWidth;
+    }
+  }
+
+  /**
+   * Writes the low {@code bitWidth} bits of {@code values[from:]} back to back, filling every byte
+   * from the least significant bit. A width of zero writes nothing.
+   */
+  public static void writePacked(MemoryBuffer buffer, long[] values, int from, int bitWidth) {
+    if (bitWidth == 0) {
+      return;
+    }
+    long mask = bitWidth == 64 ? -1L : (1L << bitWidth) - 1;
+    long bits = 0;
+    int numBits = 0;
+    for (int i = from; i < values.length; i++) {
+      long value = values[i] & mask;
+      bits |= value << numBits;
+      numBits += bitWidth;
+      if (numBits >= 64) {
+        buffer.writeInt64(bits);
+        numBits -= 64;
+        // Keep the high bits of the value which didn't fit into the written word.
+        bits = numBits == 0 ? 0 : value >>> (bitWidth - numBits);
+      }
+    }
+    for (; numBits > 0; numBits -= 8) {
+      buffer.writeByte((byte) bits);
+      bits >>>= 8;
+    }
+  }
+
+  /**
+   * Reads values written by {@link #writePacked(MemoryBuffer, long[], int, int)} into {@code
+   * values[from:]} as unsigned values. The caller must check that {@link #packedBytes} bytes are
+   * readable.
+   */
+  public static void readPacked(MemoryBuffer buffer, long[] values, int from, int bitWidth) {
+    if (bitWidth == 0) {
+      return;
+    }
+    long mask = bitWidth == 64 ? -1L : (1L << bitWidth) - 1;
+    long remaining = packedBytes(values.length - from, bitWidth);
+    long bits = 0;
+    int numBits = 0;
+    for (int i = from; i < values.length; i++) {
+      if (numBits >= bitWidth) {
+        values[i] = bits & mask;
+        bits >>>= bitWidth;
+        numBits -= bitWidth;
+      } else {
+        long word = 0;
+        int wordBits;
+        if (remaining >= 8) {
+          word = buffer.readInt64();
+          wordBits = 64;
+          remaining -= 8;
+        } else {
+          wordBits = (int) remaining << 3;
+          for (int shift = 0; shift < wordBits; shift += 8) {
+            word |= (buffer.readByte() & 0xFFL) << shift;
+          }
+          remaining = 0;
+        }
+        int missingBits = bitWidth - numBits;
+        values[i] = (bits | (word << numBits)) & mask;
+        bits = missingBits == 64 ? 0 : word >>> missingBits;
+        numBits = wordBits - missingBits;
+      }
+    }
+  }
 }
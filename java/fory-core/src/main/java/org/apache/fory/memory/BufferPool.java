@@ -0,0 +1,309 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.fory.memory;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.concurrent.ThreadSafe;
+import org.apache.fory.util.Preconditions;
+
+/**
+ * A {@link MemoryAllocator} which recycles buffer memory in power-of-two size classes from {@link
+ * #MIN_POOLED_BYTES} to {@link #MAX_POOLED_BYTES}, so that buffers which grow to serialize large
+ * messages don't allocate new memory on every call.
+ *
+ * <p>Each thread keeps a small magazine of recently released memory for classes up to {@link
+ * #MAX_MAGAZINE_BYTES}, which is borrowed and released without any synchronization. Other memory
+ * goes to a lock-free queue per size class shared by all threads, bounded by {@code
+ * maxPooledBytes}. Memory smaller than {@link #MIN_POOLED_BYTES} or larger than {@link
+ * #MAX_POOLED_BYTES} is allocated directly and never pooled.
+ *
+ * <p>A pool is used by attaching it to buffers through {@link MemoryBuffer#setAllocator}, or by
+ * {@code ForyBuilder#withBufferPool} for the internal buffer of every Fory created by the builder,
+ * including all instances of a {@code ThreadPoolFory} or {@code ThreadLocalFory}. When such a
+ * buffer grows, its previous memory is returned to the pool, so the pool must only be attached to
+ * buffers whose memory is not referenced anywhere else.
+ */
+@ThreadSafe
+public final class BufferPool implements MemoryAllocator {
+  public static final int MIN_POOLED_BYTES = 64 * 1024;
+  public static final int MAX_POOLED_BYTES = 16 * 1024 * 1024;
+  public static final int MAX_MAGAZINE_BYTES = 1024 * 1024;
+  private static final int MIN_SIZE_CLASS_SHIFT = 16;
+  private static final int NUM_SIZE_CLASSES = 24 - MIN_SIZE_CLASS_SHIFT + 1;
+  private static final int NUM_MAGAZINE_CLASSES = 20 - MIN_SIZE_CLASS_SHIFT + 1;
+  private static final long DEFAULT_MAX_POOLED_BYTES = 256L * 1024 * 1024;
+  private static final byte[] EMPTY = new byte[0];
+
+  private final boolean direct;
+  private final long maxPooledBytes;
+  private final SizeClass[] sizeClasses;
+  private final ThreadLocal<Object[]> magazines;
+  private final AtomicLong pooledBytes = new AtomicLong();
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder allocatedBytes = new LongAdder();
+  private final LongAdder droppedBytes = new LongAdder();
+
+  /** Creates a heap pool which caches up to 256MB and keeps per-thread magazines. */
+  public BufferPool() {
+    this(false, DEFAULT_MAX_POOLED_BYTES, true);
+  }
+
+  /**
+   * Creates a buffer pool.
+   *
+   * @param direct whether pooled memory is allocated by {@link ByteBuffer#allocateDirect} instead
+   *     of on heap
+   * @param maxPooledBytes the max bytes of idle memory kept by the shared queues
+   * @param threadLocalCache whether each thread keeps a magazine of released memory. It should be
+   *     disabled for virtual threads, whose magazines would be created and dropped on every task
+   */
+  public BufferPool(boolean direct, long maxPooledBytes, boolean threadLocalCache) {
+    Preconditions.checkArgument(maxPooledBytes >= 0, "maxPooledBytes must be non-negative");
+    this.direct = direct;
+    this.maxPooledBytes = maxPooledBytes;
+    sizeClasses = new SizeClass[NUM_SIZE_CLASSES];
+    for (int i = 0; i < NUM_SIZE_CLASSES; i++) {
+      sizeClasses[i] = new SizeClass(1 << (MIN_SIZE_CLASS_SHIFT + i));
+    }
+    magazines =
+        threadLocalCache ? ThreadLocal.withInitial(() -> new Object[NUM_MAGAZINE_CLASSES]) : null;
+  }
+
+  public boolean isDirect() {
+    return direct;
+  }
+
+  /**
+   * Returns a buffer of {@code initialCapacity} bytes backed by pooled memory, which grows by this
+   * pool and returns memory to it.
+   */
+  @Override
+  public MemoryBuffer allocate(int initialCapacity) {
+    Preconditions.checkArgument(initialCapacity >= 0, "initialCapacity must be non-negative");
+    // Pooled memory may be larger than requested, expose only the requested bytes so that size
+    // limits checked by callers behave as with the default allocator.
+    MemoryBuffer buffer;
+    if (direct) {
+      ByteBuffer memory = borrowDirect(initialCapacity);
+      buffer = MemoryBuffer.fromDirectByteBuffer(memory, initialCapacity, null);
+    } else {
+      byte[] memory = borrowHeap(initialCapacity);
+      buffer = MemoryBuffer.fromByteArray(memory, 0, initialCapacity);
+    }
+    buffer.setAllocator(this);
+    return buffer;
+  }
+
+  @Override
+  public void grow(MemoryBuffer buffer, int newCapacity) {
+    int size = buffer.size();
+    if (newCapacity <= size) {
+      return;
+    }
+    int index = sizeClassIndex(newCapacity);
+    int newSize;
+    if (index >= 0) {
+      // Size classes are powers of two, so growth is still geometric without doubling first.
+      newSize = sizeClasses[index].size;
+    } else {
+      newSize =
+          newCapacity < MemoryBuffer.BUFFER_GROW_STEP_THRESHOLD
+              ? newCapacity << 1
+              : (int) Math.min(newCapacity * 1.5d, Integer.MAX_VALUE - 8);
+    }
+    if (direct) {
+      ByteBuffer memory = borrowDirect(newSize);
+      ByteBuffer target = memory.duplicate();
+      buffer.get(0, target, size);
+      recycle(buffer);
+      buffer.initByteBuffer(memory, memory.capacity());
+    } else {
+      byte[] memory = borrowHeap(newSize);
+      buffer.get(0, memory, 0, size);
+      recycle(buffer);
+      buffer.initHeapBuffer(memory, 0, memory.length);
+    }
+  }
+
+  /**
+   * Returns the memory of {@code buffer} to this pool if it was borrowed from a pool of the same
+   * kind, and points the buffer to an empty heap array. The buffer can still be used afterwards,
+   * and grows by its allocator on the next write.
+   */
+  public void release(MemoryBuffer buffer) {
+    recycle(buffer);
+    buffer.initHeapBuffer(EMPTY, 0, 0);
+  }
+
+  private byte[] borrowHeap(int capacity) {
+    int index = sizeClassIndex(capacity);
+    if (index < 0 || direct) {
+      return new byte[capacity];
+    }
+    Object memory = take(index);
+    if (memory == null) {
+      int size = sizeClasses[index].size;
+      allocatedBytes.add(size);
+      return new byte[size];
+    }
+    return (byte[]) memory;
+  }
+
+  private ByteBuffer borrowDirect(int capacity) {
+    int index = sizeClassIndex(capacity);
+    if (index < 0 || !direct) {
+      return ByteBuffer.allocateDirect(capacity);
+    }
+    Object memory = take(index);
+    if (memory == null) {
+      int size = sizeClasses[index].size;
+      allocatedBytes.add(size);
+      return ByteBuffer.allocateDirect(size);
+    }
+    return (ByteBuffer) memory;
+  }
+
+  /** Returns the number of borrows served by pooled memory. */
+  public long getHitCount() {
+    return hits.sum();
+  }
+
+  /** Returns the number of pooled size class borrows which had to allocate new memory. */
+  public long getMissCount() {
+    return misses.sum();
+  }
+
+  /** Returns the total bytes allocated for pooled size classes since this pool was created. */
+  public long getAllocatedBytes() {
+    return allocatedBytes.sum();
+  }
+
+  /** Returns the total bytes released to this pool which were dropped because it was full. */
+  public long getDroppedBytes() {
+    return droppedBytes.sum();
+  }
+
+  /**
+   * Returns the bytes of idle memory currently kept in the shared queues. Each thread magazine may
+   * additionally hold one buffer per size class up to {@link #MAX_MAGAZINE_BYTES}.
+   */
+  public long getPooledBytes() {
+    return pooledBytes.get();
+  }
+
+  private static int sizeClassIndex(int capacity) {
+    if (capacity < MIN_POOLED_BYTES || capacity > MAX_POOLED_BYTES) {
+      return -1;
+    }
+    return 32 - Integer.numberOfLeadingZeros(capacity - 1) - MIN_SIZE_CLASS_SHIFT;
+  }
+
+  private Object take(int index) {
+    Object[] magazine = magazines != null && index < NUM_MAGAZINE_CLASSES ? magazines.get() : null;
+    if (magazine != null) {
+      Object memory = magazine[index];
+      if (memory != null) {
+        magazine[index] = null;
+        hits.increment();
+        return memory;
+      }
+    }
+    SizeClass sizeClass = sizeClasses[index];
+    Object memory = sizeClass.queue.poll();
+    if (memory != null) {
+      pooledBytes.addAndGet(-sizeClass.size);
+      hits.increment();
+    } else {
+      misses.increment();
+    }
+    return memory;
+  }
+
+  private void recycle(MemoryBuffer buffer) {
+    Object memory;
+    int length;
+    if (direct) {
+      ByteBuffer offHeapBuffer = buffer.offHeapBuffer;
+      if (buffer.heapMemory != null || offHeapBuffer == null || offHeapBuffer.position() != 0) {
+        return;
+      }
+      memory = offHeapBuffer;
+      length = offHeapBuffer.capacity();
+    } else {
+      byte[] heapMemory = buffer.heapMemory;
+      if (heapMemory == null || buffer.heapOffset != 0) {
+        return;
+      }
+      memory = heapMemory;
+      length = heapMemory.length;
+    }
+    int index = sizeClassIndex(length);
+    if (index < 0 || sizeClasses[index].size != length) {
+      return;
+    }
+    if (magazines != null && index < NUM_MAGAZINE_CLASSES) {
+      Object[] magazine = magazines.get();
+      if (magazine[index] == null) {
+        magazine[index] = memory;
+        return;
+      }
+    }
+    long pooled;
+    do {
+      pooled = pooledBytes.get();
+      if (pooled + length > maxPooledBytes) {
+        droppedBytes.add(length);
+        return;
+      }
+    } while (!pooledBytes.compareAndSet(pooled, pooled + length));
+    sizeClasses[index].queue.offer(memory);
+  }
+
+  @Override
+  public String toString() {
+    return "BufferPool{"
+        + "direct="
+        + direct
+        + ", hits="
+        + getHitCount()
+        + ", misses="
+        + getMissCount()
+        + ", allocatedBytes="
+        + getAllocatedBytes()
+        + ", droppedBytes="
+        + getDroppedBytes()
+        + ", pooledBytes="
+        + getPooledBytes()
+        + '}';
+  }
+
+  private static final class SizeClass {
+    private final int size;
+    private final ConcurrentLinkedQueue<Object> queue = new ConcurrentLinkedQueue<>();
+
+    private SizeClass(int size) {
+      this.size = size;
+    }
+  }
+}
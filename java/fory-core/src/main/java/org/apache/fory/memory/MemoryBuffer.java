@@ -28,6 +28,7 @@ import java.util.Arrays;
 import org.apache.fory.annotation.CodegenInvoke;
 import org.apache.fory.io.AbstractStreamReader;
 import org.apache.fory.io.ForyStreamReader;
+import org.apache.fory.io.ForyStreamWriter;
 import org.apache.fory.platform.AndroidSupport;
 import org.apache.fory.platform.JdkVersion;
 import org.apache.fory.platform.internal._UnsafeUtils;
@@ -179,6 +180,13 @@ public final class MemoryBuffer {
   int readerIndex;
   int writerIndex;
   final ForyStreamReader streamReader;
+  // Non-null only while this buffer is attached to a stream writer, which flushes written bytes
+  // instead of growing the buffer when it is full.
+  ForyStreamWriter streamWriter;
+  // Bytes at or after this index may still be patched by a serializer and must not be flushed.
+  int flushBarrier = Integer.MAX_VALUE;
+  // Allocator used to grow this buffer, the global allocator is used if null.
+  MemoryAllocator allocator;
 
   // Android branches in this class are intentional method-boundary exits.
   // Do not delete them or fold them into the JVM Unsafe path: each branch must make exactly one
@@ -960,7 +968,7 @@ public final class MemoryBuffer {
       final int writerIdx = writerIndex;
       final int newIdx = writerIdx + 1;
       if (newIdx > size) {
-        globalAllocator.grow(this, newIdx);
+        growBuffer(newIdx);
       }
       final long pos = address + writerIdx;
       UNSAFE.putByte(heapMemory, pos, value);
@@ -1962,17 +1970,81 @@ public final class MemoryBuffer {
   public void grow(int neededSize) {
     int length = writerIndex + neededSize;
     if (length > size) {
-      globalAllocator.grow(this, length);
+      growBuffer(length);
     }
   }
 
   /** For off-heap buffer, this will make a heap buffer internally. */
   public void ensure(int length) {
     if (length > size) {
-      globalAllocator.grow(this, length);
+      growBuffer(length);
     }
   }
 
+  private void growBuffer(int length) {
+    ForyStreamWriter writer = streamWriter;
+    if (writer != null) {
+      writer.flushBuffer(length);
+    } else {
+      MemoryAllocator allocator = this.allocator;
+      (allocator != null ? allocator : globalAllocator).grow(this, length);
+    }
+  }
+
+  /** Returns the allocator used to grow this buffer, or null if the global allocator is used. */
+  public MemoryAllocator getAllocator() {
+    return allocator;
+  }
+
+  /**
+   * Sets the allocator used to grow this buffer instead of the global allocator. Pass null to use
+   * the global allocator again.
+   */
+  public void setAllocator(MemoryAllocator allocator) {
+    this.allocator = allocator;
+  }
+
+  /** Returns the stream writer this buffer flushes to when it is full, or null if not attached. */
+  public ForyStreamWriter getStreamWriter() {
+    return streamWriter;
+  }
+
+  /**
+   * Attach this heap buffer to a stream writer, or detach it by passing null. When attached, a
+   * write which exceeds the buffer size flushes written bytes to the stream writer instead of
+   * growing the buffer. Flushed bytes must not be accessed anymore, but writer indices stay
+   * unchanged so that serializers are unaware of the flush.
+   */
+  public void setStreamWriter(ForyStreamWriter streamWriter) {
+    this.streamWriter = streamWriter;
+    this.flushBarrier = Integer.MAX_VALUE;
+  }
+
+  /**
+   * Prevents bytes at or after {@code index} from being flushed to the attached {@link
+   * ForyStreamWriter} until {@link #releaseFlush} is invoked with the returned value. Serializers
+   * which patch a header after writing a payload of unbounded size must hold the header.
+   *
+   * @return the previous flush barrier, which must be passed to {@link #releaseFlush}
+   */
+  public int holdFlush(int index) {
+    int barrier = flushBarrier;
+    if (index < barrier) {
+      flushBarrier = index;
+    }
+    return barrier;
+  }
+
+  /** Restores the flush barrier returned by {@link #holdFlush}. */
+  public void releaseFlush(int barrier) {
+    flushBarrier = barrier;
+  }
+
+  /** Returns the index before which written bytes can be flushed to a stream writer. */
+  public int flushableIndex() {
+    return Math.min(writerIndex, flushBarrier);
+  }
+
   // -------------------------------------------------------------------------
   //                          Read Methods
   // -------------------------------------------------------------------------
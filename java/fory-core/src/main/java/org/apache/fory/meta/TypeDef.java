@@ -24,10 +24,13 @@ import java.io.Serializable;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.stream.Collectors;
 import org.apache.fory.annotation.Internal;
 import org.apache.fory.builder.CompatibleCodecBuilder;
@@ -45,6 +48,7 @@ import org.apache.fory.serializer.UnknownClass;
 import org.apache.fory.type.Descriptor;
 import org.apache.fory.type.DescriptorBuilder;
 import org.apache.fory.type.Types;
+import org.apache.fory.util.MurmurHash3;
 import org.apache.fory.util.Preconditions;
 import org.apache.fory.util.StringUtils;
 
@@ -80,12 +84,24 @@ public class TypeDef implements Serializable {
   private final long id;
   private final byte[] encoded;
   private final boolean readDataAlwaysAdvances;
+  // Local field names bound by a projected read-side view, null for wire schemas.
+  private final Set<String> projection;
 
   TypeDef(ClassSpec classSpec, List<FieldInfo> fieldsInfo, long id, byte[] encoded) {
+    this(classSpec, fieldsInfo, id, encoded, null);
+  }
+
+  private TypeDef(
+      ClassSpec classSpec,
+      List<FieldInfo> fieldsInfo,
+      long id,
+      byte[] encoded,
+      Set<String> projection) {
     this.classSpec = classSpec;
     this.fieldsInfo = fieldsInfo;
     this.id = id;
     this.encoded = encoded;
+    this.projection = projection;
     boolean readDataAlwaysAdvances = false;
     for (FieldInfo fieldInfo : fieldsInfo) {
       if (fieldInfo.getFieldType().fieldReadAlwaysAdvances()) {
@@ -147,7 +163,31 @@ public class TypeDef implements Serializable {
             classSpec.typeId,
             classSpec.userTypeId);
     boundClassSpec.type = rootClass;
-    return new TypeDef(boundClassSpec, fieldsInfo, id, encoded);
+    return new TypeDef(boundClassSpec, fieldsInfo, id, encoded, projection);
+  }
+
+  /**
+   * Returns a read-side view of this schema which binds only the local fields named in {@code
+   * fieldNames}. Serializers created for the view skip all other fields of the payload without
+   * setting them. The view has its own id so that descriptor and codec caches don't mix it with
+   * the full schema, it must never be written to peers.
+   */
+  @Internal
+  public TypeDef project(Collection<String> fieldNames) {
+    Set<String> projection = Collections.unmodifiableSet(new TreeSet<>(fieldNames));
+    long hash = headerHash(id);
+    for (String fieldName : projection) {
+      hash = MurmurHash3.fmix64(hash * 31 + fieldName.hashCode());
+    }
+    int frameBits = Long.SIZE - NUM_HASH_BITS;
+    long projectedId = (hash << frameBits) | (id & ((1L << frameBits) - 1));
+    return new TypeDef(classSpec, fieldsInfo, projectedId, encoded, projection);
+  }
+
+  /** Returns the local field names bound by a {@link #project projected} view, or null. */
+  @Internal
+  public Set<String> getProjection() {
+    return projection;
   }
 
   /** Contain all fields info including all parent classes. */
@@ -522,7 +562,10 @@ public class TypeDef implements Serializable {
         }
       }
       Descriptor resolved = fieldInfo.toDescriptor(resolver, descriptor);
-      if (remoteOnly) {
+      if (remoteOnly
+          || (projection != null
+              && descriptor != null
+              && !projection.contains(descriptor.getName()))) {
         resolved =
             new DescriptorBuilder(resolved)
                 .field(null)
@@ -626,6 +669,6 @@ public class TypeDef implements Serializable {
     // Keep the remote class spec/id/encoded metadata. Compatible readers still need the remote
     // schema identity to rebuild descriptor order; only root field ownership is rewritten so local
     // field matching by declaring class keeps the existing target-class semantics.
-    return new TypeDef(classSpec, fieldInfos, id, encoded);
+    return new TypeDef(classSpec, fieldInfos, id, encoded, projection);
   }
 }
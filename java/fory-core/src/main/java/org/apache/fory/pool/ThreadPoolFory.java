@@ -254,6 +254,26 @@ public class ThreadPoolFory extends AbstractThreadSafeFory {
     }
   }
 
+  @Override
+  public <T> T deserializeProjection(byte[] bytes, Class<T> type, String... fields) {
+    PooledEntry entry = acquire();
+    try {
+      return entry.fory.deserializeProjection(bytes, type, fields);
+    } finally {
+      release(entry);
+    }
+  }
+
+  @Override
+  public <T> T deserializeProjection(MemoryBuffer buffer, Class<T> type, String... fields) {
+    PooledEntry entry = acquire();
+    try {
+      return entry.fory.deserializeProjection(buffer, type, fields);
+    } finally {
+      release(entry);
+    }
+  }
+
   @Override
   public <T> T deserialize(ForyInputStream inputStream, Class<T> type) {
     PooledEntry entry = acquire();
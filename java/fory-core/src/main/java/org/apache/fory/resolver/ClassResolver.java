@@ -1614,6 +1614,10 @@ public class ClassResolver extends TypeResolver {
       return staticSerializerClass;
     }
     if (codegen) {
+      Class<? extends Serializer> warmedUpClass = sharedRegistry.getWarmedUpSerializerClass(cls);
+      if (warmedUpClass != null) {
+        return warmedUpClass;
+      }
       if (extRegistry.getClassCtx.contains(cls)) {
         // avoid potential recursive call for seq codec generation.
         return LazyInitBeanSerializer.class;
@@ -25,6 +25,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.SortedMap;
 import java.util.concurrent.ConcurrentHashMap;
@@ -108,6 +109,10 @@ public final class SharedRegistry {
   private int totalAcceptedSchemaVersions;
   volatile IdentityHashMap<Class<?>, Integer> registeredClassIdMap;
   volatile BiMap<String, Class<?>> registeredClasses;
+  // JIT serializer classes compiled ahead by a warm up, replaced as a whole so readers never see a
+  // partially published warm up.
+  private volatile Map<Class<?>, Class<? extends Serializer>> warmedUpSerializerClasses =
+      Collections.emptyMap();
 
   public SharedRegistry() {}
 
@@ -154,6 +159,26 @@ public final class SharedRegistry {
     return Objects.requireNonNull(registeredClasses);
   }
 
+  /**
+   * Returns the JIT object serializer class published for {@code type} by a warm up, or null if
+   * {@code type} wasn't warmed up.
+   */
+  public Class<? extends Serializer> getWarmedUpSerializerClass(Class<?> type) {
+    return warmedUpSerializerClasses.get(type);
+  }
+
+  /**
+   * Publishes JIT object serializer classes compiled by a warm up. All classes become visible to
+   * the Fory instances sharing this registry at once.
+   */
+  public synchronized void publishWarmedUpSerializerClasses(
+      Map<Class<?>, Class<? extends Serializer>> serializerClasses) {
+    IdentityHashMap<Class<?>, Class<? extends Serializer>> newClasses =
+        new IdentityHashMap<>(warmedUpSerializerClasses);
+    newClasses.putAll(serializerClasses);
+    warmedUpSerializerClasses = newClasses;
+  }
+
   Serializer<?> getRegisteredSerializer(Class<?> type) {
     return registeredSerializerCache.get(type);
   }
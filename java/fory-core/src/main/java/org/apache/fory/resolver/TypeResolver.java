@@ -32,6 +32,7 @@ import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -126,6 +127,8 @@ public abstract class TypeResolver {
   private static final GenericType OBJECT_GENERIC_TYPE = GenericType.build(Object.class);
   private static final float TYPE_ID_MAP_LOAD_FACTOR = 0.5f;
   static final int TYPE_INFO_CACHE_DEPTH_SLACK = 10;
+  // Each cached projection may hold a generated serializer class.
+  static final int MAX_PROJECTIONS_PER_TYPE = 64;
   static final long MAX_USER_TYPE_ID = 0xffff_fffEL;
 
   private static final class TransformedTypeInfo {
@@ -1139,6 +1142,56 @@ public abstract class TypeResolver {
     return userTypeIdToTypeInfo.containsKey(userId);
   }
 
+  /**
+   * Returns type info whose serializer reads only the fields named {@code fieldNames} of the struct
+   * described by {@code typeInfo}. Other fields of the payload are skipped and left unset.
+   */
+  @Internal
+  public final TypeInfo getProjectedTypeInfo(TypeInfo typeInfo, String[] fieldNames) {
+    Map<List<String>, TypeInfo> projections = extRegistry.projectedTypeInfo.get(typeInfo);
+    // Key on the sorted names, so that every order of the same fields shares one serializer. This
+    // also copies the names, the caller may reuse its array.
+    String[] sortedNames = fieldNames.clone();
+    Arrays.sort(sortedNames);
+    List<String> key = Arrays.asList(sortedNames);
+    TypeInfo projectedTypeInfo = projections == null ? null : projections.get(key);
+    if (projectedTypeInfo != null) {
+      return projectedTypeInfo;
+    }
+    Class<?> cls = typeInfo.getType();
+    TypeDef typeDef = typeInfo.getTypeDef();
+    if (typeDef == null
+        || !typeDef.isStructSchemaKind()
+        || !isStructSerializer(typeInfo.getSerializer())) {
+      throw new ForyException(
+          "Projection is only supported for compatible struct types, but got " + cls.getName());
+    }
+    Set<String> names = new HashSet<>();
+    for (Descriptor descriptor : getFieldDescriptors(cls, true)) {
+      names.add(descriptor.getName());
+    }
+    for (String fieldName : fieldNames) {
+      if (!names.contains(fieldName)) {
+        throw new IllegalArgumentException(
+            "Field " + fieldName + " doesn't exist in " + cls.getName());
+      }
+    }
+    projectedTypeInfo = getMetaSharedTypeInfo(typeDef.project(key), cls);
+    if (projections == null) {
+      // Field lists may come from callers, keep only the most recently used projections of a type.
+      projections =
+          new LinkedHashMap<List<String>, TypeInfo>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<List<String>, TypeInfo> eldest) {
+              return size() > MAX_PROJECTIONS_PER_TYPE;
+            }
+          };
+      extRegistry.projectedTypeInfo.put(typeInfo, projections);
+    }
+    projections.put(key, projectedTypeInfo);
+    return projectedTypeInfo;
+  }
+
   final TypeInfo buildMetaSharedTypeInfo(TypeDef typeDef) {
     long headerHash = TypeDef.headerHash(typeDef.getId());
     Class<?> cls = loadClass(typeDef.getClassSpec());
@@ -1752,6 +1805,10 @@ public abstract class TypeResolver {
       throw missingStaticGeneratedSerializer(cls);
     }
     if (codegen) {
+      Class<? extends Serializer> warmedUpClass = sharedRegistry.getWarmedUpSerializerClass(cls);
+      if (warmedUpClass != null) {
+        return warmedUpClass;
+      }
       if (extRegistry.getClassCtx.contains(cls)) {
         // avoid potential recursive call for seq codec generation.
         return CodegenSerializer.LazyInitBeanSerializer.class;
@@ -2504,6 +2561,9 @@ public abstract class TypeResolver {
     final IdentityHashMap<Class<?>, TypeInfo> abstractTypeInfo = new IdentityHashMap<>();
     final IdentityHashMap<Class<?>, TransformedTypeInfo[]> transformedTypeInfo =
         new IdentityHashMap<>();
+    // projected serializers keyed by the full struct type info and the sorted field names.
+    final IdentityHashMap<TypeInfo, Map<List<String>, TypeInfo>> projectedTypeInfo =
+        new IdentityHashMap<>();
     // avoid potential recursive call for seq codec generation.
     // ex. A->field1: B, B.field1: A
     final Set<Class<?>> getClassCtx = new HashSet<>();
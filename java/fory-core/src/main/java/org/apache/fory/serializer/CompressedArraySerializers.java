@@ -26,6 +26,7 @@ import org.apache.fory.context.CopyContext;
 import org.apache.fory.context.ReadContext;
 import org.apache.fory.context.WriteContext;
 import org.apache.fory.exception.DeserializationException;
+import org.apache.fory.memory.BitUtils;
 import org.apache.fory.memory.MemoryBuffer;
 import org.apache.fory.resolver.ClassResolver;
 import org.apache.fory.resolver.TypeResolver;
@@ -37,13 +38,21 @@ import org.apache.fory.util.PrimitiveArrayCompressionType;
 
 /**
  * Compressed serializers for {@code int[]} and {@code long[]} values that fit in narrower primitive
- * types.
+ * types or in fewer bits.
  *
  * <p>To use these serializers, simply call {@code CompressedArraySerializers.register(fory)} on
  * your Fory instance. These will override the default array serializers for {@code int[]} and
  * {@code long[]} arrays with compressed versions that can significantly reduce serialization size
  * when arrays contain values that fit in smaller primitive types.
  *
+ * <p>By default, values are only narrowed to a smaller primitive type. With {@code
+ * ForyBuilder#withBitPackedArrayCompressed(true)}, every array is written with the {@link
+ * PrimitiveArrayCompressionType} of the smallest payload, and values can also be bit-packed as they
+ * are, as distance to their minimum, or as difference to their predecessor. The latter two shrink
+ * sorted ids, timestamps and counters, whose values need the full width but are close to each
+ * other. Readers from older Fory versions can't read these encodings, so enable it only when all
+ * readers have been upgraded.
+ *
  * <p>Fory selects the range-analysis implementation automatically. JDK 8 through 15 use the scalar
  * implementation, while JDK 16 and later use the Vector API implementation from the multi-release
  * {@code fory-core} JAR. Applications running on JDK 16 or later must resolve the incubator module
@@ -66,6 +75,50 @@ public final class CompressedArraySerializers {
     }
   }
 
+  private static int readLength(MemoryBuffer buffer) {
+    int length = buffer.readVarUInt32Small7();
+    if (length < 0) {
+      throw new DeserializationException("Array length must be non-negative: " + length);
+    }
+    return length;
+  }
+
+  private static void writePacked(MemoryBuffer buffer, int[] values, int from) {
+    int bitWidth = ArrayCompressionUtils.bitWidth(values, from);
+    buffer.writeByte(bitWidth);
+    BitUtils.writePacked(buffer, values, from, bitWidth);
+  }
+
+  private static void writePacked(MemoryBuffer buffer, long[] values, int from) {
+    int bitWidth = ArrayCompressionUtils.bitWidth(values, from);
+    buffer.writeByte(bitWidth);
+    BitUtils.writePacked(buffer, values, from, bitWidth);
+  }
+
+  private static void readPacked(MemoryBuffer buffer, int[] values, int from) {
+    int bitWidth = readBitWidth(buffer, values.length - from, 32);
+    BitUtils.readPacked(buffer, values, from, bitWidth);
+  }
+
+  private static void readPacked(MemoryBuffer buffer, long[] values, int from) {
+    int bitWidth = readBitWidth(buffer, values.length - from, 64);
+    BitUtils.readPacked(buffer, values, from, bitWidth);
+  }
+
+  private static int readBitWidth(MemoryBuffer buffer, int count, int maxBitWidth) {
+    int bitWidth = buffer.readByte() & 0xFF;
+    if (bitWidth > maxBitWidth) {
+      throw new DeserializationException(
+          "Bit width " + bitWidth + " exceeds the element width " + maxBitWidth);
+    }
+    long size = BitUtils.packedBytes(count, bitWidth);
+    if (size > Integer.MAX_VALUE) {
+      throw new DeserializationException("Bit-packed body size is too large: " + size);
+    }
+    buffer.checkReadableBytes((int) size);
+    return bitWidth;
+  }
+
   /**
    * Register compressed array serializers with the given Fory instance.
    *
@@ -146,8 +199,11 @@ public final class CompressedArraySerializers {
 
   public static final class CompressedIntArraySerializer extends PrimitiveArraySerializer<int[]> {
 
+    private final boolean bitPack;
+
     public CompressedIntArraySerializer(TypeResolver typeResolver) {
       super(typeResolver, int[].class);
+      bitPack = typeResolver.getConfig().bitPackArray();
     }
 
     @Override
@@ -160,7 +216,9 @@ public final class CompressedArraySerializers {
       }
 
       final PrimitiveArrayCompressionType compressionType =
-          PrimitiveArrayCompressionType.IntArrayCompression.determine(value);
+          bitPack
+              ? PrimitiveArrayCompressionType.IntArrayCompression.choose(value)
+              : PrimitiveArrayCompressionType.IntArrayCompression.determine(value);
       buffer.writeByte((byte) compressionType.getValue());
 
       switch (compressionType) {
@@ -173,6 +231,15 @@ public final class CompressedArraySerializers {
         case INT_TO_SHORT:
           writeCompressedShorts(buffer, value);
           break;
+        case FRAME_OF_REFERENCE:
+          writeFrameOfReference(buffer, value);
+          break;
+        case DELTA:
+          writeDeltas(buffer, value);
+          break;
+        case BIT_PACKED:
+          writeBitPacked(buffer, value);
+          break;
         default:
           throw new IllegalStateException("Unsupported compression type: " + compressionType);
       }
@@ -192,6 +259,25 @@ public final class CompressedArraySerializers {
       buffer.writeShortsWithSize(compressed);
     }
 
+    private void writeFrameOfReference(MemoryBuffer buffer, int[] value) {
+      int reference = ArrayCompressionUtils.minValue(value);
+      buffer.writeVarUInt32Small7(value.length);
+      buffer.writeVarInt32(reference);
+      writePacked(buffer, ArrayCompressionUtils.encodeFrameOfReference(value, reference), 0);
+    }
+
+    private void writeDeltas(MemoryBuffer buffer, int[] value) {
+      int[] deltas = ArrayCompressionUtils.encodeDeltas(value);
+      buffer.writeVarUInt32Small7(value.length);
+      buffer.writeVarInt32(deltas[0]);
+      writePacked(buffer, deltas, 1);
+    }
+
+    private void writeBitPacked(MemoryBuffer buffer, int[] value) {
+      buffer.writeVarUInt32Small7(value.length);
+      writePacked(buffer, value, 0);
+    }
+
     @Override
     public int[] copy(CopyContext copyContext, int[] originArray) {
       return Arrays.copyOf(originArray, originArray.length);
@@ -217,6 +303,12 @@ public final class CompressedArraySerializers {
           return readCompressedFromBytes(readContext);
         case INT_TO_SHORT:
           return readCompressedFromShorts(readContext);
+        case FRAME_OF_REFERENCE:
+          return readFrameOfReference(readContext);
+        case DELTA:
+          return readDeltas(readContext);
+        case BIT_PACKED:
+          return readBitPacked(readContext);
         case NONE:
           return readUncompressed(readContext);
         default:
@@ -259,6 +351,41 @@ public final class CompressedArraySerializers {
       return ArrayCompressionUtils.decompressFromShorts(values);
     }
 
+    private int[] readFrameOfReference(ReadContext readContext) {
+      MemoryBuffer buffer = readContext.getBuffer();
+      int length = readLength(buffer);
+      int reference = buffer.readVarInt32();
+      reserveArray(readContext, length, 4);
+      int[] values = new int[length];
+      readPacked(buffer, values, 0);
+      ArrayCompressionUtils.decodeFrameOfReference(values, reference);
+      return values;
+    }
+
+    private int[] readDeltas(ReadContext readContext) {
+      MemoryBuffer buffer = readContext.getBuffer();
+      int length = readLength(buffer);
+      if (length == 0) {
+        throw new DeserializationException("Delta encoded int[] must not be empty");
+      }
+      int first = buffer.readVarInt32();
+      reserveArray(readContext, length, 4);
+      int[] values = new int[length];
+      values[0] = first;
+      readPacked(buffer, values, 1);
+      ArrayCompressionUtils.decodeDeltas(values);
+      return values;
+    }
+
+    private int[] readBitPacked(ReadContext readContext) {
+      MemoryBuffer buffer = readContext.getBuffer();
+      int length = readLength(buffer);
+      reserveArray(readContext, length, 4);
+      int[] values = new int[length];
+      readPacked(buffer, values, 0);
+      return values;
+    }
+
     private int[] readUncompressed(ReadContext readContext) {
       MemoryBuffer buffer = readContext.getBuffer();
       int size = buffer.readVarUInt32Small7();
@@ -274,8 +401,11 @@ public final class CompressedArraySerializers {
 
   public static final class CompressedLongArraySerializer extends PrimitiveArraySerializer<long[]> {
 
+    private final boolean bitPack;
+
     public CompressedLongArraySerializer(TypeResolver typeResolver) {
       super(typeResolver, long[].class);
+      bitPack = typeResolver.getConfig().bitPackArray();
     }
 
     @Override
@@ -288,13 +418,24 @@ public final class CompressedArraySerializers {
       }
 
       final PrimitiveArrayCompressionType compressionType =
-          PrimitiveArrayCompressionType.LongArrayCompression.determine(value);
+          bitPack
+              ? PrimitiveArrayCompressionType.LongArrayCompression.choose(value)
+              : PrimitiveArrayCompressionType.LongArrayCompression.determine(value);
       buffer.writeByte((byte) compressionType.getValue());
 
       switch (compressionType) {
         case LONG_TO_INT:
           writeCompressedInts(buffer, value);
           break;
+        case FRAME_OF_REFERENCE:
+          writeFrameOfReference(buffer, value);
+          break;
+        case DELTA:
+          writeDeltas(buffer, value);
+          break;
+        case BIT_PACKED:
+          writeBitPacked(buffer, value);
+          break;
         case NONE:
           writeUncompressed(buffer, value);
           break;
@@ -308,6 +449,25 @@ public final class CompressedArraySerializers {
       buffer.writeIntsWithSize(compressed);
     }
 
+    private void writeFrameOfReference(MemoryBuffer buffer, long[] value) {
+      long reference = ArrayCompressionUtils.minValue(value);
+      buffer.writeVarUInt32Small7(value.length);
+      buffer.writeVarInt64(reference);
+      writePacked(buffer, ArrayCompressionUtils.encodeFrameOfReference(value, reference), 0);
+    }
+
+    private void writeDeltas(MemoryBuffer buffer, long[] value) {
+      long[] deltas = ArrayCompressionUtils.encodeDeltas(value);
+      buffer.writeVarUInt32Small7(value.length);
+      buffer.writeVarInt64(deltas[0]);
+      writePacked(buffer, deltas, 1);
+    }
+
+    private void writeBitPacked(MemoryBuffer buffer, long[] value) {
+      buffer.writeVarUInt32Small7(value.length);
+      writePacked(buffer, value, 0);
+    }
+
     private void writeUncompressed(MemoryBuffer buffer, long[] value) {
       buffer.writeLongsWithSize(value);
     }
@@ -335,6 +495,12 @@ public final class CompressedArraySerializers {
       switch (compressionType) {
         case LONG_TO_INT:
           return readCompressedFromInts(readContext);
+        case FRAME_OF_REFERENCE:
+          return readFrameOfReference(readContext);
+        case DELTA:
+          return readDeltas(readContext);
+        case BIT_PACKED:
+          return readBitPacked(readContext);
         case NONE:
           return readUncompressed(readContext);
         default:
@@ -366,6 +532,41 @@ public final class CompressedArraySerializers {
       return ArrayCompressionUtils.decompressFromInts(values);
     }
 
+    private long[] readFrameOfReference(ReadContext readContext) {
+      MemoryBuffer buffer = readContext.getBuffer();
+      int length = readLength(buffer);
+      long reference = buffer.readVarInt64();
+      reserveArray(readContext, length, 8);
+      long[] values = new long[length];
+      readPacked(buffer, values, 0);
+      ArrayCompressionUtils.decodeFrameOfReference(values, reference);
+      return values;
+    }
+
+    private long[] readDeltas(ReadContext readContext) {
+      MemoryBuffer buffer = readContext.getBuffer();
+      int length = readLength(buffer);
+      if (length == 0) {
+        throw new DeserializationException("Delta encoded long[] must not be empty");
+      }
+      long first = buffer.readVarInt64();
+      reserveArray(readContext, length, 8);
+      long[] values = new long[length];
+      values[0] = first;
+      readPacked(buffer, values, 1);
+      ArrayCompressionUtils.decodeDeltas(values);
+      return values;
+    }
+
+    private long[] readBitPacked(ReadContext readContext) {
+      MemoryBuffer buffer = readContext.getBuffer();
+      int length = readLength(buffer);
+      reserveArray(readContext, length, 8);
+      long[] values = new long[length];
+      readPacked(buffer, values, 0);
+      return values;
+    }
+
     private long[] readUncompressed(ReadContext readContext) {
       MemoryBuffer buffer = readContext.getBuffer();
       int size = buffer.readVarUInt32Small7();
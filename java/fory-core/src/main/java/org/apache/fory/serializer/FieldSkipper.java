@@ -134,7 +134,7 @@ public class FieldSkipper {
         buffer.readTaggedUInt64();
         break;
       case DispatchId.STRING:
-        readContext.readString();
+        readContext.skipString();
         break;
       default:
         throw new IllegalStateException("Unexpected basic dispatchId: " + dispatchId);
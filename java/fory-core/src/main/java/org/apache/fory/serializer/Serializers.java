@@ -526,7 +526,7 @@ public class Serializers {
     public void write(WriteContext writeContext, T value) {
       MemoryBuffer buffer = writeContext.getBuffer();
       StringSerializer stringSerializer = writeContext.getStringSerializer();
-      if (config.isXlang()) {
+      if (config.isXlang() || config.stringDictionarySize() > 0) {
         stringSerializer.writeString(buffer, value.toString());
         return;
       }
@@ -38,7 +38,11 @@ import org.apache.fory.codegen.Expression;
 import org.apache.fory.codegen.Expression.Invoke;
 import org.apache.fory.codegen.Expression.StaticInvoke;
 import org.apache.fory.config.Config;
+import org.apache.fory.context.MetaReadContext;
+import org.apache.fory.context.MetaWriteContext;
 import org.apache.fory.context.ReadContext;
+import org.apache.fory.context.StringReadDictionary;
+import org.apache.fory.context.StringWriteDictionary;
 import org.apache.fory.context.WriteContext;
 import org.apache.fory.exception.DeserializationException;
 import org.apache.fory.memory.LittleEndian;
@@ -72,6 +76,9 @@ public final class StringSerializer extends ImmutableSerializer<String> {
   private static final byte UTF8 = 2;
   private static final int DEFAULT_BUFFER_SIZE = 1024;
 
+  /** Max length of strings kept in the string dictionary, longer strings are always written. */
+  public static final int MAX_DICTIONARY_STRING_LENGTH = 256;
+
   private static final boolean STRING_HAS_COUNT_OFFSET =
       PlatformStringUtils.STRING_HAS_COUNT_OFFSET;
   private static final Lookup STRING_LOOKUP =
@@ -86,6 +93,10 @@ public final class StringSerializer extends ImmutableSerializer<String> {
   private final boolean compressString;
   private final boolean writeNumUtf16BytesForUtf8Encoding;
   private final boolean xlang;
+  private final int stringDictionarySize;
+  // Set only when the string dictionary is enabled, used to access the meta share session.
+  private WriteContext writeContext;
+  private ReadContext readContext;
 
   // set default length to 0, since char array and bytes array won't be used at the same time.
   private static final byte[] EMPTY_BYTES_STUB = new byte[0];
@@ -104,6 +115,17 @@ public final class StringSerializer extends ImmutableSerializer<String> {
       Preconditions.checkArgument(compressString, "compress string muse be enabled for xlang mode");
     }
     writeNumUtf16BytesForUtf8Encoding = config.writeNumUtf16BytesForUtf8Encoding();
+    stringDictionarySize = config.stringDictionarySize();
+  }
+
+  @Internal
+  public void setWriteContext(WriteContext writeContext) {
+    this.writeContext = writeContext;
+  }
+
+  @Internal
+  public void setReadContext(ReadContext readContext) {
+    this.readContext = readContext;
   }
 
   @Override
@@ -116,6 +138,15 @@ public final class StringSerializer extends ImmutableSerializer<String> {
     return readString(readContext.getBuffer());
   }
 
+  public static Expression writeStringExpr(
+      Expression strSerializer, Expression buffer, Expression str, Config config) {
+    if (config.stringDictionarySize() > 0) {
+      // Dictionary strings need the meta share session, which only `writeString` looks up.
+      return new Invoke(strSerializer, "writeString", buffer, str);
+    }
+    return writeStringExpr(strSerializer, buffer, str, config.compressString());
+  }
+
   public static Expression writeStringExpr(
       Expression strSerializer, Expression buffer, Expression str, boolean compressString) {
     if (!JDK_INTERNAL_FIELD_ACCESS) {
@@ -147,6 +178,14 @@ public final class StringSerializer extends ImmutableSerializer<String> {
     }
   }
 
+  public static Expression readStringExpr(
+      Expression strSerializer, Expression buffer, Config config) {
+    if (config.stringDictionarySize() > 0) {
+      return new Invoke(strSerializer, "readString", STRING_TYPE, buffer);
+    }
+    return readStringExpr(strSerializer, buffer, config.compressString());
+  }
+
   public static Expression readStringExpr(
       Expression strSerializer, Expression buffer, boolean compressString) {
     if (!JDK_INTERNAL_FIELD_ACCESS) {
@@ -322,6 +361,13 @@ public final class StringSerializer extends ImmutableSerializer<String> {
 
   // Invoked by fory JIT
   public void writeString(MemoryBuffer buffer, String value) {
+    if (writeContext != null && writeDictionaryString(buffer, value)) {
+      return;
+    }
+    writeStringData(buffer, value);
+  }
+
+  private void writeStringData(MemoryBuffer buffer, String value) {
     if (!JDK_INTERNAL_FIELD_ACCESS) {
       writeStringSlow(buffer, value);
       return;
@@ -356,6 +402,13 @@ public final class StringSerializer extends ImmutableSerializer<String> {
 
   // Invoked by fory JIT
   public String readString(MemoryBuffer buffer) {
+    if (readContext != null) {
+      return readDictionaryString(buffer);
+    }
+    return readStringData(buffer);
+  }
+
+  private String readStringData(MemoryBuffer buffer) {
     if (!JDK_INTERNAL_FIELD_ACCESS) {
       return readStringSlow(buffer);
     }
@@ -375,6 +428,72 @@ public final class StringSerializer extends ImmutableSerializer<String> {
     }
   }
 
+  /** Skips a string written by {@link #writeString} by its encoded size without decoding it. */
+  public void skipString(MemoryBuffer buffer) {
+    if (readContext != null) {
+      // A new dictionary string must still be recorded, later payloads may refer to it.
+      readDictionaryString(buffer);
+      return;
+    }
+    long header = buffer.readVarUint36Small();
+    byte coder = (byte) (header & 0b11);
+    int numBytes = readStringSize(header);
+    if (coder == UTF8 && writeNumUtf16BytesForUtf8Encoding) {
+      numBytes = buffer.readInt32();
+      checkStringSize(numBytes);
+    }
+    buffer.checkReadableBytes(numBytes);
+    buffer.increaseReaderIndex(numBytes);
+  }
+
+  /**
+   * Writes the dictionary header of {@code value}: 0 for a string kept out of the dictionary,
+   * {@code (id << 1) | 1} for a string already announced in the session, and {@code (id + 1) << 1}
+   * for a new dictionary string. Returns true if the string data doesn't need to be written.
+   */
+  private boolean writeDictionaryString(MemoryBuffer buffer, String value) {
+    MetaWriteContext metaWriteContext = writeContext.getMetaWriteContext();
+    if (metaWriteContext == null || value.length() > MAX_DICTIONARY_STRING_LENGTH) {
+      buffer.writeVarUInt32Small7(0);
+      return false;
+    }
+    StringWriteDictionary dictionary = metaWriteContext.stringDictionary;
+    if (dictionary == null) {
+      dictionary = new StringWriteDictionary(stringDictionarySize);
+      metaWriteContext.stringDictionary = dictionary;
+    }
+    int id = dictionary.lookup(value);
+    if (id >= 0) {
+      buffer.writeVarUInt32Small7((id << 1) | 1);
+      return true;
+    }
+    id = dictionary.add(value);
+    buffer.writeVarUInt32Small7((id + 1) << 1);
+    return false;
+  }
+
+  private String readDictionaryString(MemoryBuffer buffer) {
+    int header = buffer.readVarUInt32Small7();
+    if (header == 0) {
+      return readStringData(buffer);
+    }
+    MetaReadContext metaReadContext = readContext.getMetaReadContext();
+    if (metaReadContext == null) {
+      throw new DeserializationException("String dictionary requires a meta read context");
+    }
+    StringReadDictionary dictionary = metaReadContext.stringDictionary;
+    if (dictionary == null) {
+      dictionary = new StringReadDictionary(stringDictionarySize);
+      metaReadContext.stringDictionary = dictionary;
+    }
+    if ((header & 1) == 1) {
+      return dictionary.get(header >>> 1);
+    }
+    String value = readStringData(buffer);
+    dictionary.put((header >>> 1) - 1, value);
+    return value;
+  }
+
   private void writeStringSlow(MemoryBuffer buffer, String value) {
     char[] chars = value.toCharArray();
     if (StringEncodingUtils.isLatin(chars)) {
@@ -374,6 +374,8 @@ public abstract class MapLikeSerializer<T> extends Serializer<T> {
     // place holder for chunk header and size.
     buffer.writeInt16((short) -1);
     int chunkSizeOffset = buffer.writerIndex() - 1;
+    // chunk header and size are patched after writing entries, don't flush them to stream.
+    int flushBarrier = buffer.holdFlush(chunkSizeOffset - 1);
     int chunkHeader = 0;
     if (keySerializer != null) {
       chunkHeader |= KEY_DECL_TYPE;
@@ -425,6 +427,7 @@ public abstract class MapLikeSerializer<T> extends Serializer<T> {
       }
     }
     buffer.putByte(chunkSizeOffset, (byte) chunkSize);
+    buffer.releaseFlush(flushBarrier);
     return entry;
   }
 
@@ -473,6 +476,8 @@ public abstract class MapLikeSerializer<T> extends Serializer<T> {
     // place holder for chunk header and size.
     buffer.writeInt16((short) -1);
     int chunkSizeOffset = buffer.writerIndex() - 1;
+    // chunk header and size are patched after writing entries, don't flush them to stream.
+    int flushBarrier = buffer.holdFlush(chunkSizeOffset - 1);
     int chunkHeader = 0;
     // noinspection Duplicates
     if (keyGenericTypeFinal) {
@@ -536,6 +541,7 @@ public abstract class MapLikeSerializer<T> extends Serializer<T> {
       }
     }
     buffer.putByte(chunkSizeOffset, (byte) chunkSize);
+    buffer.releaseFlush(flushBarrier);
     return entry;
   }
 
@@ -31,6 +31,10 @@ package org.apache.fory.util;
  *   <li>{@code long[]} to {@code int[]} when all values are in int range.
  * </ul>
  *
+ * <p>They also provide the value transforms of the bit-packed {@link
+ * PrimitiveArrayCompressionType#FRAME_OF_REFERENCE} and {@link PrimitiveArrayCompressionType#DELTA}
+ * types, and choose the cheapest type for an array.
+ *
  * <p>This base implementation performs scalar range analysis on JDK 8 through 15. On JDK 16 and
  * later, the multi-release {@code fory-core} JAR automatically replaces this class with the Vector
  * API implementation; applications must resolve the incubator module with {@code
@@ -99,6 +103,236 @@ public final class ArrayCompressionUtils {
     return PrimitiveArrayCompressionType.LONG_TO_INT;
   }
 
+  /**
+   * Chooses the compression type with the smallest payload for an int array.
+   *
+   * @param array the array to analyze
+   * @return the cheapest {@link PrimitiveArrayCompressionType} for {@code int[]}
+   * @throws NullPointerException if {@code array} is null
+   */
+  public static PrimitiveArrayCompressionType chooseIntCompressionType(int[] array) {
+    if (array == null) {
+      throw new NullPointerException("Input array cannot be null");
+    }
+    if (array.length < MIN_COMPRESSION_SIZE) {
+      return PrimitiveArrayCompressionType.NONE;
+    }
+    int min = array[0];
+    int max = array[0];
+    int valueBits = array[0];
+    int deltaBits = 0;
+    for (int i = 1; i < array.length; i++) {
+      int value = array[i];
+      min = Math.min(min, value);
+      max = Math.max(max, value);
+      valueBits |= value;
+      int delta = value - array[i - 1];
+      deltaBits |= (delta << 1) ^ (delta >> 31);
+    }
+    return PrimitiveArrayCompressionType.cheapestIntType(
+        array.length, min, max, valueBits, deltaBits);
+  }
+
+  /**
+   * Chooses the compression type with the smallest payload for a long array.
+   *
+   * @param array the array to analyze
+   * @return the cheapest {@link PrimitiveArrayCompressionType} for {@code long[]}
+   * @throws NullPointerException if {@code array} is null
+   */
+  public static PrimitiveArrayCompressionType chooseLongCompressionType(long[] array) {
+    if (array == null) {
+      throw new NullPointerException("Input array cannot be null");
+    }
+    if (array.length < MIN_COMPRESSION_SIZE) {
+      return PrimitiveArrayCompressionType.NONE;
+    }
+    long min = array[0];
+    long max = array[0];
+    long valueBits = array[0];
+    long deltaBits = 0;
+    for (int i = 1; i < array.length; i++) {
+      long value = array[i];
+      min = Math.min(min, value);
+      max = Math.max(max, value);
+      valueBits |= value;
+      long delta = value - array[i - 1];
+      deltaBits |= (delta << 1) ^ (delta >> 63);
+    }
+    return PrimitiveArrayCompressionType.cheapestLongType(
+        array.length, min, max, valueBits, deltaBits);
+  }
+
+  /**
+   * Returns the minimum value of a non-empty int array.
+   *
+   * @param array the array to analyze
+   * @return the minimum value
+   */
+  public static int minValue(int[] array) {
+    int min = array[0];
+    for (int i = 1; i < array.length; i++) {
+      min = Math.min(min, array[i]);
+    }
+    return min;
+  }
+
+  /**
+   * Returns the minimum value of a non-empty long array.
+   *
+   * @param array the array to analyze
+   * @return the minimum value
+   */
+  public static long minValue(long[] array) {
+    long min = array[0];
+    for (int i = 1; i < array.length; i++) {
+      min = Math.min(min, array[i]);
+    }
+    return min;
+  }
+
+  /**
+   * Returns the number of bits needed to store every value from {@code from} as unsigned value.
+   *
+   * @param array the values to analyze
+   * @param from the index of the first value
+   * @return the bit width, between 0 and 32
+   */
+  public static int bitWidth(int[] array, int from) {
+    int bits = 0;
+    for (int i = from; i < array.length; i++) {
+      bits |= array[i];
+    }
+    return 32 - Integer.numberOfLeadingZeros(bits);
+  }
+
+  /**
+   * Returns the number of bits needed to store every value from {@code from} as unsigned value.
+   *
+   * @param array the values to analyze
+   * @param from the index of the first value
+   * @return the bit width, between 0 and 64
+   */
+  public static int bitWidth(long[] array, int from) {
+    long bits = 0;
+    for (int i = from; i < array.length; i++) {
+      bits |= array[i];
+    }
+    return 64 - Long.numberOfLeadingZeros(bits);
+  }
+
+  /**
+   * Subtracts {@code reference} from every value of an int array.
+   *
+   * @param array the array to encode
+   * @param reference the minimum value of {@code array}
+   * @return the unsigned distances of the values to {@code reference}
+   */
+  public static int[] encodeFrameOfReference(int[] array, int reference) {
+    int[] encoded = new int[array.length];
+    for (int i = 0; i < array.length; i++) {
+      encoded[i] = array[i] - reference;
+    }
+    return encoded;
+  }
+
+  /**
+   * Subtracts {@code reference} from every value of a long array.
+   *
+   * @param array the array to encode
+   * @param reference the minimum value of {@code array}
+   * @return the unsigned distances of the values to {@code reference}
+   */
+  public static long[] encodeFrameOfReference(long[] array, long reference) {
+    long[] encoded = new long[array.length];
+    for (int i = 0; i < array.length; i++) {
+      encoded[i] = array[i] - reference;
+    }
+    return encoded;
+  }
+
+  /**
+   * Adds {@code reference} to every value of an int array in place.
+   *
+   * @param values the values produced by {@link #encodeFrameOfReference(int[], int)}
+   * @param reference the reference used for encoding
+   */
+  public static void decodeFrameOfReference(int[] values, int reference) {
+    for (int i = 0; i < values.length; i++) {
+      values[i] += reference;
+    }
+  }
+
+  /**
+   * Adds {@code reference} to every value of a long array in place.
+   *
+   * @param values the values produced by {@link #encodeFrameOfReference(long[], long)}
+   * @param reference the reference used for encoding
+   */
+  public static void decodeFrameOfReference(long[] values, long reference) {
+    for (int i = 0; i < values.length; i++) {
+      values[i] += reference;
+    }
+  }
+
+  /**
+   * Encodes every value of a non-empty int array except the first one as the zigzag encoded
+   * difference to its predecessor.
+   *
+   * @param array the array to encode
+   * @return the first value followed by the zigzag encoded differences
+   */
+  public static int[] encodeDeltas(int[] array) {
+    int[] encoded = new int[array.length];
+    encoded[0] = array[0];
+    for (int i = 1; i < array.length; i++) {
+      int delta = array[i] - array[i - 1];
+      encoded[i] = (delta << 1) ^ (delta >> 31);
+    }
+    return encoded;
+  }
+
+  /**
+   * Encodes every value of a non-empty long array except the first one as the zigzag encoded
+   * difference to its predecessor.
+   *
+   * @param array the array to encode
+   * @return the first value followed by the zigzag encoded differences
+   */
+  public static long[] encodeDeltas(long[] array) {
+    long[] encoded = new long[array.length];
+    encoded[0] = array[0];
+    for (int i = 1; i < array.length; i++) {
+      long delta = array[i] - array[i - 1];
+      encoded[i] = (delta << 1) ^ (delta >> 63);
+    }
+    return encoded;
+  }
+
+  /**
+   * Restores the values of an int array produced by {@link #encodeDeltas(int[])} in place.
+   *
+   * @param values the encoded values
+   */
+  public static void decodeDeltas(int[] values) {
+    for (int i = 1; i < values.length; i++) {
+      int delta = values[i];
+      values[i] = values[i - 1] + ((delta >>> 1) ^ -(delta & 1));
+    }
+  }
+
+  /**
+   * Restores the values of a long array produced by {@link #encodeDeltas(long[])} in place.
+   *
+   * @param values the encoded values
+   */
+  public static void decodeDeltas(long[] values) {
+    for (int i = 1; i < values.length; i++) {
+      long delta = values[i];
+      values[i] = values[i - 1] + ((delta >>> 1) ^ -(delta & 1));
+    }
+  }
+
   /**
    * Compresses an int array to a byte array.
    *
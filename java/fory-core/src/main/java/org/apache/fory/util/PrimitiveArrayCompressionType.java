@@ -22,8 +22,11 @@ package org.apache.fory.util;
 /**
  * Compression types for primitive arrays.
  *
- * <p>Defines the available compression strategies for reducing the size of primitive arrays by
- * detecting when values can be stored with a narrower primitive type.
+ * <p>Defines the available compression strategies for reducing the size of primitive arrays. The
+ * narrowing types store values with a narrower primitive type when every value fits. The
+ * bit-packed types store values, their distance to the minimum, or the difference to the previous
+ * value with the fewest bits that hold every stored value, which also compresses sorted ids,
+ * timestamps and counters whose values are large but close to each other.
  *
  * <p>Compression detection uses the scalar implementation on JDK 8 through 15. JDK 16 and later
  * automatically use the Vector API implementation from the multi-release {@code fory-core} JAR;
@@ -40,7 +43,22 @@ public enum PrimitiveArrayCompressionType {
   INT_TO_SHORT(2),
 
   /** Compresses {@code long[]} values to {@code int[]} when every value fits in int range. */
-  LONG_TO_INT(3);
+  LONG_TO_INT(3),
+
+  /**
+   * Stores the minimum value as a reference and bit-packs the distance of every value to it with
+   * the bit width of {@code max - min}.
+   */
+  FRAME_OF_REFERENCE(4),
+
+  /**
+   * Stores the first value and bit-packs the zigzag encoded difference of every following value to
+   * its predecessor with the bit width of the largest difference.
+   */
+  DELTA(5),
+
+  /** Bit-packs non-negative values with the bit width of the largest value. */
+  BIT_PACKED(6);
 
   private final int value;
 
@@ -74,25 +92,125 @@ public enum PrimitiveArrayCompressionType {
         return INT_TO_SHORT;
       case 3:
         return LONG_TO_INT;
+      case 4:
+        return FRAME_OF_REFERENCE;
+      case 5:
+        return DELTA;
+      case 6:
+        return BIT_PACKED;
       default:
         throw new IllegalArgumentException("Unknown compression type value: " + value);
     }
   }
 
-  /** Compression utilities for int arrays. Supports compression to byte[] and short[] formats. */
+  /**
+   * Returns the type with the smallest payload for an int array, preferring narrowing types over
+   * bit-packed types of the same size since they decode faster.
+   */
+  static PrimitiveArrayCompressionType cheapestIntType(
+      int length, int min, int max, int valueBits, int deltaBits) {
+    PrimitiveArrayCompressionType type = NONE;
+    long cost = 4L * length;
+    if (min >= Byte.MIN_VALUE && max <= Byte.MAX_VALUE) {
+      type = INT_TO_BYTE;
+      cost = length;
+    } else if (min >= Short.MIN_VALUE && max <= Short.MAX_VALUE) {
+      type = INT_TO_SHORT;
+      cost = 2L * length;
+    }
+    return cheapestPackedType(
+        type,
+        cost,
+        length,
+        min >= 0 ? 32 - Integer.numberOfLeadingZeros(valueBits) : -1,
+        32 - Integer.numberOfLeadingZeros(max - min),
+        32 - Integer.numberOfLeadingZeros(deltaBits),
+        5);
+  }
+
+  /**
+   * Returns the type with the smallest payload for a long array, preferring narrowing types over
+   * bit-packed types of the same size since they decode faster.
+   */
+  static PrimitiveArrayCompressionType cheapestLongType(
+      int length, long min, long max, long valueBits, long deltaBits) {
+    PrimitiveArrayCompressionType type = NONE;
+    long cost = 8L * length;
+    if (min >= Integer.MIN_VALUE && max <= Integer.MAX_VALUE) {
+      type = LONG_TO_INT;
+      cost = 4L * length;
+    }
+    return cheapestPackedType(
+        type,
+        cost,
+        length,
+        min >= 0 ? 64 - Long.numberOfLeadingZeros(valueBits) : -1,
+        64 - Long.numberOfLeadingZeros(max - min),
+        64 - Long.numberOfLeadingZeros(deltaBits),
+        9);
+  }
+
+  private static PrimitiveArrayCompressionType cheapestPackedType(
+      PrimitiveArrayCompressionType type,
+      long cost,
+      int length,
+      int valueWidth,
+      int rangeWidth,
+      int deltaWidth,
+      int maxVarIntBytes) {
+    // Every bit-packed payload stores its bit width in one byte, the frame of reference and delta
+    // payloads also store a reference value as var int.
+    if (valueWidth >= 0) {
+      long packedCost = 1 + packedBytes(length, valueWidth);
+      if (packedCost < cost) {
+        type = BIT_PACKED;
+        cost = packedCost;
+      }
+    }
+    long frameCost = 1 + maxVarIntBytes + packedBytes(length, rangeWidth);
+    if (frameCost < cost) {
+      type = FRAME_OF_REFERENCE;
+      cost = frameCost;
+    }
+    long deltaCost = 1 + maxVarIntBytes + packedBytes(length - 1, deltaWidth);
+    if (deltaCost < cost) {
+      type = DELTA;
+    }
+    return type;
+  }
+
+  private static long packedBytes(long count, int width) {
+    return (count * width + 7) >>> 3;
+  }
+
+  /**
+   * Compression utilities for int arrays. Supports compression to byte[] and short[] formats and
+   * the bit-packed formats.
+   */
   public static final class IntArrayCompression {
     private IntArrayCompression() {}
 
     /**
-     * Determines the best compression type for the given int array.
+     * Determines the best narrowing compression type for the given int array.
      *
      * @param array the array to analyze
-     * @return the optimal compression type
+     * @return the optimal narrowing compression type
      */
     public static PrimitiveArrayCompressionType determine(int[] array) {
       return ArrayCompressionUtils.determineIntCompressionType(array);
     }
 
+    /**
+     * Chooses the compression type with the smallest payload for the given int array, including
+     * the bit-packed types.
+     *
+     * @param array the array to analyze
+     * @return the cheapest compression type
+     */
+    public static PrimitiveArrayCompressionType choose(int[] array) {
+      return ArrayCompressionUtils.chooseIntCompressionType(array);
+    }
+
     /**
      * Checks if the compression type is supported for int arrays.
      *
@@ -100,24 +218,43 @@ public enum PrimitiveArrayCompressionType {
      * @return true if supported
      */
     public static boolean isSupported(PrimitiveArrayCompressionType type) {
-      return type == NONE || type == INT_TO_BYTE || type == INT_TO_SHORT;
+      return type == NONE
+          || type == INT_TO_BYTE
+          || type == INT_TO_SHORT
+          || type == FRAME_OF_REFERENCE
+          || type == DELTA
+          || type == BIT_PACKED;
     }
   }
 
-  /** Compression utilities for long arrays. Supports compression to int[] format. */
+  /**
+   * Compression utilities for long arrays. Supports compression to int[] format and the bit-packed
+   * formats.
+   */
   public static final class LongArrayCompression {
     private LongArrayCompression() {}
 
     /**
-     * Determines the best compression type for the given long array.
+     * Determines the best narrowing compression type for the given long array.
      *
      * @param array the array to analyze
-     * @return the optimal compression type
+     * @return the optimal narrowing compression type
      */
     public static PrimitiveArrayCompressionType determine(long[] array) {
       return ArrayCompressionUtils.determineLongCompressionType(array);
     }
 
+    /**
+     * Chooses the compression type with the smallest payload for the given long array, including
+     * the bit-packed types.
+     *
+     * @param array the array to analyze
+     * @return the cheapest compression type
+     */
+    public static PrimitiveArrayCompressionType choose(long[] array) {
+      return ArrayCompressionUtils.chooseLongCompressionType(array);
+    }
+
     /**
      * Checks if the compression type is supported for long arrays.
      *
@@ -125,7 +262,11 @@ public enum PrimitiveArrayCompressionType {
      * @return true if supported
      */
     public static boolean isSupported(PrimitiveArrayCompressionType type) {
-      return type == NONE || type == LONG_TO_INT;
+      return type == NONE
+          || type == LONG_TO_INT
+          || type == FRAME_OF_REFERENCE
+          || type == DELTA
+          || type == BIT_PACKED;
     }
   }
 }
@@ -36,6 +36,10 @@ import jdk.incubator.vector.VectorSpecies;
  *   <li>{@code long[]} to {@code int[]} when all values are in int range.
  * </ul>
  *
+ * <p>They also provide the value transforms of the bit-packed {@link
+ * PrimitiveArrayCompressionType#FRAME_OF_REFERENCE} and {@link PrimitiveArrayCompressionType#DELTA}
+ * types, and choose the cheapest type for an array.
+ *
  * <p>The multi-release {@code fory-core} JAR selects this implementation automatically on JDK 16
  * and later; applications must resolve the incubator module with {@code
  * --add-modules=jdk.incubator.vector}. Earlier JDKs use the scalar base implementation with the
@@ -142,6 +146,346 @@ public final class ArrayCompressionUtils {
     return PrimitiveArrayCompressionType.LONG_TO_INT;
   }
 
+  /**
+   * Chooses the compression type with the smallest payload for an int array.
+   *
+   * @param array the array to analyze
+   * @return the cheapest {@link PrimitiveArrayCompressionType} for {@code int[]}
+   * @throws NullPointerException if {@code array} is null
+   */
+  public static PrimitiveArrayCompressionType chooseIntCompressionType(int[] array) {
+    if (array == null) {
+      throw new NullPointerException("Input array cannot be null");
+    }
+    if (array.length < MIN_COMPRESSION_SIZE) {
+      return PrimitiveArrayCompressionType.NONE;
+    }
+    IntVector minVector = IntVector.broadcast(INT_SPECIES, array[0]);
+    IntVector maxVector = minVector;
+    IntVector valueBitsVector = minVector;
+    IntVector deltaBitsVector = IntVector.zero(INT_SPECIES);
+    int i = 1;
+    int upperBound = 1 + INT_SPECIES.loopBound(array.length - 1);
+
+    // Vector loop: the previous values are loaded from the same array shifted by one lane.
+    for (; i < upperBound; i += INT_SPECIES.length()) {
+      IntVector vector = IntVector.fromArray(INT_SPECIES, array, i);
+      IntVector delta = vector.sub(IntVector.fromArray(INT_SPECIES, array, i - 1));
+      minVector = minVector.min(vector);
+      maxVector = maxVector.max(vector);
+      valueBitsVector = valueBitsVector.or(vector);
+      deltaBitsVector = deltaBitsVector.or(zigZag(delta));
+    }
+    int min = minVector.reduceLanes(VectorOperators.MIN);
+    int max = maxVector.reduceLanes(VectorOperators.MAX);
+    int valueBits = valueBitsVector.reduceLanes(VectorOperators.OR);
+    int deltaBits = deltaBitsVector.reduceLanes(VectorOperators.OR);
+
+    // Scalar tail for elements that do not fill a complete vector.
+    for (; i < array.length; i++) {
+      int value = array[i];
+      min = Math.min(min, value);
+      max = Math.max(max, value);
+      valueBits |= value;
+      int delta = value - array[i - 1];
+      deltaBits |= (delta << 1) ^ (delta >> 31);
+    }
+    return PrimitiveArrayCompressionType.cheapestIntType(
+        array.length, min, max, valueBits, deltaBits);
+  }
+
+  /**
+   * Chooses the compression type with the smallest payload for a long array.
+   *
+   * @param array the array to analyze
+   * @return the cheapest {@link PrimitiveArrayCompressionType} for {@code long[]}
+   * @throws NullPointerException if {@code array} is null
+   */
+  public static PrimitiveArrayCompressionType chooseLongCompressionType(long[] array) {
+    if (array == null) {
+      throw new NullPointerException("Input array cannot be null");
+    }
+    if (array.length < MIN_COMPRESSION_SIZE) {
+      return PrimitiveArrayCompressionType.NONE;
+    }
+    LongVector minVector = LongVector.broadcast(LONG_SPECIES, array[0]);
+    LongVector maxVector = minVector;
+    LongVector valueBitsVector = minVector;
+    LongVector deltaBitsVector = LongVector.zero(LONG_SPECIES);
+    int i = 1;
+    int upperBound = 1 + LONG_SPECIES.loopBound(array.length - 1);
+
+    // Vector loop: the previous values are loaded from the same array shifted by one lane.
+    for (; i < upperBound; i += LONG_SPECIES.length()) {
+      LongVector vector = LongVector.fromArray(LONG_SPECIES, array, i);
+      LongVector delta = vector.sub(LongVector.fromArray(LONG_SPECIES, array, i - 1));
+      minVector = minVector.min(vector);
+      maxVector = maxVector.max(vector);
+      valueBitsVector = valueBitsVector.or(vector);
+      deltaBitsVector = deltaBitsVector.or(zigZag(delta));
+    }
+    long min = minVector.reduceLanes(VectorOperators.MIN);
+    long max = maxVector.reduceLanes(VectorOperators.MAX);
+    long valueBits = valueBitsVector.reduceLanes(VectorOperators.OR);
+    long deltaBits = deltaBitsVector.reduceLanes(VectorOperators.OR);
+
+    // Scalar tail for elements that do not fill a complete vector.
+    for (; i < array.length; i++) {
+      long value = array[i];
+      min = Math.min(min, value);
+      max = Math.max(max, value);
+      valueBits |= value;
+      long delta = value - array[i - 1];
+      deltaBits |= (delta << 1) ^ (delta >> 63);
+    }
+    return PrimitiveArrayCompressionType.cheapestLongType(
+        array.length, min, max, valueBits, deltaBits);
+  }
+
+  /**
+   * Returns the minimum value of a non-empty int array.
+   *
+   * @param array the array to analyze
+   * @return the minimum value
+   */
+  public static int minValue(int[] array) {
+    IntVector minVector = IntVector.broadcast(INT_SPECIES, array[0]);
+    int i = 0;
+    int upperBound = INT_SPECIES.loopBound(array.length);
+    for (; i < upperBound; i += INT_SPECIES.length()) {
+      minVector = minVector.min(IntVector.fromArray(INT_SPECIES, array, i));
+    }
+    int min = minVector.reduceLanes(VectorOperators.MIN);
+    for (; i < array.length; i++) {
+      min = Math.min(min, array[i]);
+    }
+    return min;
+  }
+
+  /**
+   * Returns the minimum value of a non-empty long array.
+   *
+   * @param array the array to analyze
+   * @return the minimum value
+   */
+  public static long minValue(long[] array) {
+    LongVector minVector = LongVector.broadcast(LONG_SPECIES, array[0]);
+    int i = 0;
+    int upperBound = LONG_SPECIES.loopBound(array.length);
+    for (; i < upperBound; i += LONG_SPECIES.length()) {
+      minVector = minVector.min(LongVector.fromArray(LONG_SPECIES, array, i));
+    }
+    long min = minVector.reduceLanes(VectorOperators.MIN);
+    for (; i < array.length; i++) {
+      min = Math.min(min, array[i]);
+    }
+    return min;
+  }
+
+  /**
+   * Returns the number of bits needed to store every value from {@code from} as unsigned value.
+   *
+   * @param array the values to analyze
+   * @param from the index of the first value
+   * @return the bit width, between 0 and 32
+   */
+  public static int bitWidth(int[] array, int from) {
+    IntVector bitsVector = IntVector.zero(INT_SPECIES);
+    int i = from;
+    int upperBound = from + INT_SPECIES.loopBound(Math.max(array.length - from, 0));
+    for (; i < upperBound; i += INT_SPECIES.length()) {
+      bitsVector = bitsVector.or(IntVector.fromArray(INT_SPECIES, array, i));
+    }
+    int bits = bitsVector.reduceLanes(VectorOperators.OR);
+    for (; i < array.length; i++) {
+      bits |= array[i];
+    }
+    return 32 - Integer.numberOfLeadingZeros(bits);
+  }
+
+  /**
+   * Returns the number of bits needed to store every value from {@code from} as unsigned value.
+   *
+   * @param array the values to analyze
+   * @param from the index of the first value
+   * @return the bit width, between 0 and 64
+   */
+  public static int bitWidth(long[] array, int from) {
+    LongVector bitsVector = LongVector.zero(LONG_SPECIES);
+    int i = from;
+    int upperBound = from + LONG_SPECIES.loopBound(Math.max(array.length - from, 0));
+    for (; i < upperBound; i += LONG_SPECIES.length()) {
+      bitsVector = bitsVector.or(LongVector.fromArray(LONG_SPECIES, array, i));
+    }
+    long bits = bitsVector.reduceLanes(VectorOperators.OR);
+    for (; i < array.length; i++) {
+      bits |= array[i];
+    }
+    return 64 - Long.numberOfLeadingZeros(bits);
+  }
+
+  /**
+   * Subtracts {@code reference} from every value of an int array.
+   *
+   * @param array the array to encode
+   * @param reference the minimum value of {@code array}
+   * @return the unsigned distances of the values to {@code reference}
+   */
+  public static int[] encodeFrameOfReference(int[] array, int reference) {
+    int[] encoded = new int[array.length];
+    int i = 0;
+    int upperBound = INT_SPECIES.loopBound(array.length);
+    for (; i < upperBound; i += INT_SPECIES.length()) {
+      IntVector.fromArray(INT_SPECIES, array, i).sub(reference).intoArray(encoded, i);
+    }
+    for (; i < array.length; i++) {
+      encoded[i] = array[i] - reference;
+    }
+    return encoded;
+  }
+
+  /**
+   * Subtracts {@code reference} from every value of a long array.
+   *
+   * @param array the array to encode
+   * @param reference the minimum value of {@code array}
+   * @return the unsigned distances of the values to {@code reference}
+   */
+  public static long[] encodeFrameOfReference(long[] array, long reference) {
+    long[] encoded = new long[array.length];
+    int i = 0;
+    int upperBound = LONG_SPECIES.loopBound(array.length);
+    for (; i < upperBound; i += LONG_SPECIES.length()) {
+      LongVector.fromArray(LONG_SPECIES, array, i).sub(reference).intoArray(encoded, i);
+    }
+    for (; i < array.length; i++) {
+      encoded[i] = array[i] - reference;
+    }
+    return encoded;
+  }
+
+  /**
+   * Adds {@code reference} to every value of an int array in place.
+   *
+   * @param values the values produced by {@link #encodeFrameOfReference(int[], int)}
+   * @param reference the reference used for encoding
+   */
+  public static void decodeFrameOfReference(int[] values, int reference) {
+    int i = 0;
+    int upperBound = INT_SPECIES.loopBound(values.length);
+    for (; i < upperBound; i += INT_SPECIES.length()) {
+      IntVector.fromArray(INT_SPECIES, values, i).add(reference).intoArray(values, i);
+    }
+    for (; i < values.length; i++) {
+      values[i] += reference;
+    }
+  }
+
+  /**
+   * Adds {@code reference} to every value of a long array in place.
+   *
+   * @param values the values produced by {@link #encodeFrameOfReference(long[], long)}
+   * @param reference the reference used for encoding
+   */
+  public static void decodeFrameOfReference(long[] values, long reference) {
+    int i = 0;
+    int upperBound = LONG_SPECIES.loopBound(values.length);
+    for (; i < upperBound; i += LONG_SPECIES.length()) {
+      LongVector.fromArray(LONG_SPECIES, values, i).add(reference).intoArray(values, i);
+    }
+    for (; i < values.length; i++) {
+      values[i] += reference;
+    }
+  }
+
+  /**
+   * Encodes every value of a non-empty int array except the first one as the zigzag encoded
+   * difference to its predecessor.
+   *
+   * @param array the array to encode
+   * @return the first value followed by the zigzag encoded differences
+   */
+  public static int[] encodeDeltas(int[] array) {
+    int[] encoded = new int[array.length];
+    encoded[0] = array[0];
+    int i = 1;
+    int upperBound = 1 + INT_SPECIES.loopBound(array.length - 1);
+    for (; i < upperBound; i += INT_SPECIES.length()) {
+      IntVector delta =
+          IntVector.fromArray(INT_SPECIES, array, i)
+              .sub(IntVector.fromArray(INT_SPECIES, array, i - 1));
+      zigZag(delta).intoArray(encoded, i);
+    }
+    for (; i < array.length; i++) {
+      int delta = array[i] - array[i - 1];
+      encoded[i] = (delta << 1) ^ (delta >> 31);
+    }
+    return encoded;
+  }
+
+  /**
+   * Encodes every value of a non-empty long array except the first one as the zigzag encoded
+   * difference to its predecessor.
+   *
+   * @param array the array to encode
+   * @return the first value followed by the zigzag encoded differences
+   */
+  public static long[] encodeDeltas(long[] array) {
+    long[] encoded = new long[array.length];
+    encoded[0] = array[0];
+    int i = 1;
+    int upperBound = 1 + LONG_SPECIES.loopBound(array.length - 1);
+    for (; i < upperBound; i += LONG_SPECIES.length()) {
+      LongVector delta =
+          LongVector.fromArray(LONG_SPECIES, array, i)
+              .sub(LongVector.fromArray(LONG_SPECIES, array, i - 1));
+      zigZag(delta).intoArray(encoded, i);
+    }
+    for (; i < array.length; i++) {
+      long delta = array[i] - array[i - 1];
+      encoded[i] = (delta << 1) ^ (delta >> 63);
+    }
+    return encoded;
+  }
+
+  /**
+   * Restores the values of an int array produced by {@link #encodeDeltas(int[])} in place. The
+   * prefix sum carries a dependency from one value to the next, so it stays scalar.
+   *
+   * @param values the encoded values
+   */
+  public static void decodeDeltas(int[] values) {
+    for (int i = 1; i < values.length; i++) {
+      int delta = values[i];
+      values[i] = values[i - 1] + ((delta >>> 1) ^ -(delta & 1));
+    }
+  }
+
+  /**
+   * Restores the values of a long array produced by {@link #encodeDeltas(long[])} in place. The
+   * prefix sum carries a dependency from one value to the next, so it stays scalar.
+   *
+   * @param values the encoded values
+   */
+  public static void decodeDeltas(long[] values) {
+    for (int i = 1; i < values.length; i++) {
+      long delta = values[i];
+      values[i] = values[i - 1] + ((delta >>> 1) ^ -(delta & 1));
+    }
+  }
+
+  private static IntVector zigZag(IntVector delta) {
+    return delta
+        .lanewise(VectorOperators.LSHL, 1)
+        .lanewise(VectorOperators.XOR, delta.lanewise(VectorOperators.ASHR, 31));
+  }
+
+  private static LongVector zigZag(LongVector delta) {
+    return delta
+        .lanewise(VectorOperators.LSHL, 1)
+        .lanewise(VectorOperators.XOR, delta.lanewise(VectorOperators.ASHR, 63));
+  }
+
   /**
    * Compresses an int array to a byte array.
    *
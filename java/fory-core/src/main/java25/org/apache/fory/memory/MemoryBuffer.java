@@ -22,6 +22,9 @@ package org.apache.fory.memory;
 import static org.apache.fory.util.Preconditions.checkArgument;
 import static org.apache.fory.util.Preconditions.checkNotNull;
 
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
 import java.lang.invoke.MethodHandles;
 import java.lang.invoke.VarHandle;
 import java.nio.ByteBuffer;
@@ -30,6 +33,7 @@ import java.util.Arrays;
 import org.apache.fory.annotation.CodegenInvoke;
 import org.apache.fory.io.AbstractStreamReader;
 import org.apache.fory.io.ForyStreamReader;
+import org.apache.fory.io.ForyStreamWriter;
 
 /**
  * A class for operations on memory managed by Fory. The buffer may be backed by heap memory (byte
@@ -89,14 +93,18 @@ public final class MemoryBuffer {
       MethodHandles.byteArrayViewVarHandle(int[].class, NATIVE_ORDER);
   private static final VarHandle BYTE_ARRAY_LONG =
       MethodHandles.byteArrayViewVarHandle(long[].class, NATIVE_ORDER);
-  private static final VarHandle BYTE_BUFFER_CHAR =
-      MethodHandles.byteBufferViewVarHandle(char[].class, NATIVE_ORDER);
-  private static final VarHandle BYTE_BUFFER_SHORT =
-      MethodHandles.byteBufferViewVarHandle(short[].class, NATIVE_ORDER);
-  private static final VarHandle BYTE_BUFFER_INT =
-      MethodHandles.byteBufferViewVarHandle(int[].class, NATIVE_ORDER);
-  private static final VarHandle BYTE_BUFFER_LONG =
-      MethodHandles.byteBufferViewVarHandle(long[].class, NATIVE_ORDER);
+  private static final ValueLayout.OfChar SEGMENT_CHAR =
+      ValueLayout.JAVA_CHAR_UNALIGNED.withOrder(NATIVE_ORDER);
+  private static final ValueLayout.OfShort SEGMENT_SHORT =
+      ValueLayout.JAVA_SHORT_UNALIGNED.withOrder(NATIVE_ORDER);
+  private static final ValueLayout.OfInt SEGMENT_INT =
+      ValueLayout.JAVA_INT_UNALIGNED.withOrder(NATIVE_ORDER);
+  private static final ValueLayout.OfLong SEGMENT_LONG =
+      ValueLayout.JAVA_LONG_UNALIGNED.withOrder(NATIVE_ORDER);
+  private static final ValueLayout.OfFloat SEGMENT_FLOAT =
+      ValueLayout.JAVA_FLOAT_UNALIGNED.withOrder(NATIVE_ORDER);
+  private static final ValueLayout.OfDouble SEGMENT_DOUBLE =
+      ValueLayout.JAVA_DOUBLE_UNALIGNED.withOrder(NATIVE_ORDER);
   // Global allocator instance that can be customized
   private static volatile MemoryAllocator globalAllocator = new DefaultMemoryAllocator();
 
@@ -112,10 +120,12 @@ public final class MemoryBuffer {
   // This memory buffer holds a reference to that buffer, so as long as this memory buffer lives,
   // the memory will not be released.
   ByteBuffer offHeapBuffer;
-  ByteBuffer nativeOffHeapBuffer;
+  // Capacity-wide segment view of `offHeapBuffer`. All off-heap accesses go through this segment so
+  // that they are bounds and liveness checked, and bulk copies can be vectorized by the JIT.
+  MemorySegment offHeapSegment;
   // The readable/writeable range is [address, addressLimit).
   // If the data in on the heap, this is the relative offset to the `heapMemory` byte array.
-  // If the data is off the heap, this is the logical byte index into `offHeapBuffer`.
+  // If the data is off the heap, this is the logical byte index into `offHeapSegment`.
   long address;
   // The address one byte after the last addressable byte, i.e. `address + size` while the
   // buffer is not disposed.
@@ -125,6 +135,13 @@ public final class MemoryBuffer {
   int readerIndex;
   int writerIndex;
   final ForyStreamReader streamReader;
+  // Non-null only while this buffer is attached to a stream writer, which flushes written bytes
+  // instead of growing the buffer when it is full.
+  ForyStreamWriter streamWriter;
+  // Bytes at or after this index may still be patched by a serializer and must not be flushed.
+  int flushBarrier = Integer.MAX_VALUE;
+  // Allocator used to grow this buffer, the global allocator is used if null.
+  MemoryAllocator allocator;
 
   // Android branches in this class are intentional method-boundary exits.
   // Do not delete them or fold them into the JVM path: each branch must make exactly one MemoryOps
@@ -206,12 +223,12 @@ public final class MemoryBuffer {
     checkArgument(
         offHeapBuffer.isDirect(), "Only direct ByteBuffers can back off-heap MemoryBuffer");
     this.offHeapBuffer = offHeapBuffer;
-    ByteBuffer nativeBuffer = offHeapBuffer.duplicate().order(NATIVE_ORDER);
+    ByteBuffer nativeBuffer = offHeapBuffer.duplicate();
     // Stream readers can expand the owner buffer limit after this duplicate is created. Keep the
-    // absolute-access view capacity-wide so JDK25 public ByteBuffer checks match the logical buffer
-    // size tracked by MemoryBuffer.
+    // absolute-access view capacity-wide so JDK25 segment checks match the logical buffer size
+    // tracked by MemoryBuffer.
     nativeBuffer.clear();
-    this.nativeOffHeapBuffer = nativeBuffer;
+    this.offHeapSegment = MemorySegment.ofBuffer(nativeBuffer);
     this.heapMemory = null;
     this.address = offHeapAddress;
     this.addressLimit = this.address + size;
@@ -272,7 +289,7 @@ public final class MemoryBuffer {
     this.heapMemory = buffer;
     this.heapOffset = offset;
     this.offHeapBuffer = null;
-    this.nativeOffHeapBuffer = null;
+    this.offHeapSegment = null;
     final long startPos = BYTE_ARRAY_OFFSET + offset;
     this.address = startPos;
     this.size = length;
@@ -284,7 +301,7 @@ public final class MemoryBuffer {
     if (heap != null) {
       return heap[(int) pos];
     }
-    return nativeOffHeapBuffer.get((int) pos);
+    return offHeapSegment.get(ValueLayout.JAVA_BYTE, pos);
   }
 
   private void storeByte(long pos, byte value) {
@@ -292,7 +309,7 @@ public final class MemoryBuffer {
     if (heap != null) {
       heap[(int) pos] = value;
     } else {
-      nativeOffHeapBuffer.put((int) pos, value);
+      offHeapSegment.set(ValueLayout.JAVA_BYTE, pos, value);
     }
   }
 
@@ -301,7 +318,7 @@ public final class MemoryBuffer {
     if (heap != null) {
       return (char) BYTE_ARRAY_CHAR.get(heap, (int) pos);
     }
-    return (char) BYTE_BUFFER_CHAR.get(nativeOffHeapBuffer, (int) pos);
+    return (char) offHeapSegment.get(SEGMENT_CHAR, pos);
   }
 
   private void storeChar(long pos, char value) {
@@ -309,7 +326,7 @@ public final class MemoryBuffer {
     if (heap != null) {
       BYTE_ARRAY_CHAR.set(heap, (int) pos, value);
     } else {
-      BYTE_BUFFER_CHAR.set(nativeOffHeapBuffer, (int) pos, value);
+      offHeapSegment.set(SEGMENT_CHAR, pos, value);
     }
   }
 
@@ -318,7 +335,7 @@ public final class MemoryBuffer {
     if (heap != null) {
       return (short) BYTE_ARRAY_SHORT.get(heap, (int) pos);
     }
-    return (short) BYTE_BUFFER_SHORT.get(nativeOffHeapBuffer, (int) pos);
+    return (short) offHeapSegment.get(SEGMENT_SHORT, pos);
   }
 
   private void storeShort(long pos, short value) {
@@ -326,7 +343,7 @@ public final class MemoryBuffer {
     if (heap != null) {
       BYTE_ARRAY_SHORT.set(heap, (int) pos, value);
     } else {
-      BYTE_BUFFER_SHORT.set(nativeOffHeapBuffer, (int) pos, value);
+      offHeapSegment.set(SEGMENT_SHORT, pos, value);
     }
   }
 
@@ -335,7 +352,7 @@ public final class MemoryBuffer {
     if (heap != null) {
       return (int) BYTE_ARRAY_INT.get(heap, (int) pos);
     }
-    return (int) BYTE_BUFFER_INT.get(nativeOffHeapBuffer, (int) pos);
+    return (int) offHeapSegment.get(SEGMENT_INT, pos);
   }
 
   private void storeInt(long pos, int value) {
@@ -343,7 +360,7 @@ public final class MemoryBuffer {
     if (heap != null) {
       BYTE_ARRAY_INT.set(heap, (int) pos, value);
     } else {
-      BYTE_BUFFER_INT.set(nativeOffHeapBuffer, (int) pos, value);
+      offHeapSegment.set(SEGMENT_INT, pos, value);
     }
   }
 
@@ -352,7 +369,7 @@ public final class MemoryBuffer {
     if (heap != null) {
       return (long) BYTE_ARRAY_LONG.get(heap, (int) pos);
     }
-    return (long) BYTE_BUFFER_LONG.get(nativeOffHeapBuffer, (int) pos);
+    return (long) offHeapSegment.get(SEGMENT_LONG, pos);
   }
 
   private void storeLong(long pos, long value) {
@@ -360,7 +377,7 @@ public final class MemoryBuffer {
     if (heap != null) {
       BYTE_ARRAY_LONG.set(heap, (int) pos, value);
     } else {
-      BYTE_BUFFER_LONG.set(nativeOffHeapBuffer, (int) pos, value);
+      offHeapSegment.set(SEGMENT_LONG, pos, value);
     }
   }
 
@@ -369,7 +386,8 @@ public final class MemoryBuffer {
     if (heap != null) {
       System.arraycopy(heap, toIntIndex(srcOffset), target, targetOffset, numBytes);
     } else {
-      nativeOffHeapBuffer.get(toIntIndex(srcOffset), target, targetOffset, numBytes);
+      MemorySegment.copy(
+          offHeapSegment, ValueLayout.JAVA_BYTE, srcOffset, target, targetOffset, numBytes);
     }
   }
 
@@ -379,7 +397,8 @@ public final class MemoryBuffer {
     if (heap != null) {
       System.arraycopy(source, sourceOffset, heap, toIntIndex(targetOffset), numBytes);
     } else {
-      nativeOffHeapBuffer.put(toIntIndex(targetOffset), source, sourceOffset, numBytes);
+      MemorySegment.copy(
+          source, sourceOffset, offHeapSegment, ValueLayout.JAVA_BYTE, targetOffset, numBytes);
     }
   }
 
@@ -406,10 +425,7 @@ public final class MemoryBuffer {
         target[targetOffset + i] = (char) BYTE_ARRAY_CHAR.get(heap, pos);
       }
     } else {
-      ByteBuffer direct = nativeOffHeapBuffer;
-      for (int i = 0; i < elements; i++, pos += 2) {
-        target[targetOffset + i] = (char) BYTE_BUFFER_CHAR.get(direct, pos);
-      }
+      MemorySegment.copy(offHeapSegment, SEGMENT_CHAR, pos, target, targetOffset, elements);
     }
   }
 
@@ -423,10 +439,7 @@ public final class MemoryBuffer {
         BYTE_ARRAY_CHAR.set(heap, pos, source[sourceOffset + i]);
       }
     } else {
-      ByteBuffer direct = nativeOffHeapBuffer;
-      for (int i = 0; i < elements; i++, pos += 2) {
-        BYTE_BUFFER_CHAR.set(direct, pos, source[sourceOffset + i]);
-      }
+      MemorySegment.copy(source, sourceOffset, offHeapSegment, SEGMENT_CHAR, pos, elements);
     }
   }
 
@@ -439,10 +452,7 @@ public final class MemoryBuffer {
         target[targetOffset + i] = (short) BYTE_ARRAY_SHORT.get(heap, pos);
       }
     } else {
-      ByteBuffer direct = nativeOffHeapBuffer;
-      for (int i = 0; i < elements; i++, pos += 2) {
-        target[targetOffset + i] = (short) BYTE_BUFFER_SHORT.get(direct, pos);
-      }
+      MemorySegment.copy(offHeapSegment, SEGMENT_SHORT, pos, target, targetOffset, elements);
     }
   }
 
@@ -456,10 +466,7 @@ public final class MemoryBuffer {
         BYTE_ARRAY_SHORT.set(heap, pos, source[sourceOffset + i]);
       }
     } else {
-      ByteBuffer direct = nativeOffHeapBuffer;
-      for (int i = 0; i < elements; i++, pos += 2) {
-        BYTE_BUFFER_SHORT.set(direct, pos, source[sourceOffset + i]);
-      }
+      MemorySegment.copy(source, sourceOffset, offHeapSegment, SEGMENT_SHORT, pos, elements);
     }
   }
 
@@ -472,10 +479,7 @@ public final class MemoryBuffer {
         target[targetOffset + i] = (int) BYTE_ARRAY_INT.get(heap, pos);
       }
     } else {
-      ByteBuffer direct = nativeOffHeapBuffer;
-      for (int i = 0; i < elements; i++, pos += 4) {
-        target[targetOffset + i] = (int) BYTE_BUFFER_INT.get(direct, pos);
-      }
+      MemorySegment.copy(offHeapSegment, SEGMENT_INT, pos, target, targetOffset, elements);
     }
   }
 
@@ -488,10 +492,7 @@ public final class MemoryBuffer {
         BYTE_ARRAY_INT.set(heap, pos, source[sourceOffset + i]);
       }
     } else {
-      ByteBuffer direct = nativeOffHeapBuffer;
-      for (int i = 0; i < elements; i++, pos += 4) {
-        BYTE_BUFFER_INT.set(direct, pos, source[sourceOffset + i]);
-      }
+      MemorySegment.copy(source, sourceOffset, offHeapSegment, SEGMENT_INT, pos, elements);
     }
   }
 
@@ -504,10 +505,7 @@ public final class MemoryBuffer {
         target[targetOffset + i] = (long) BYTE_ARRAY_LONG.get(heap, pos);
       }
     } else {
-      ByteBuffer direct = nativeOffHeapBuffer;
-      for (int i = 0; i < elements; i++, pos += 8) {
-        target[targetOffset + i] = (long) BYTE_BUFFER_LONG.get(direct, pos);
-      }
+      MemorySegment.copy(offHeapSegment, SEGMENT_LONG, pos, target, targetOffset, elements);
     }
   }
 
@@ -521,10 +519,7 @@ public final class MemoryBuffer {
         BYTE_ARRAY_LONG.set(heap, pos, source[sourceOffset + i]);
       }
     } else {
-      ByteBuffer direct = nativeOffHeapBuffer;
-      for (int i = 0; i < elements; i++, pos += 8) {
-        BYTE_BUFFER_LONG.set(direct, pos, source[sourceOffset + i]);
-      }
+      MemorySegment.copy(source, sourceOffset, offHeapSegment, SEGMENT_LONG, pos, elements);
     }
   }
 
@@ -537,10 +532,7 @@ public final class MemoryBuffer {
         target[targetOffset + i] = Float.intBitsToFloat((int) BYTE_ARRAY_INT.get(heap, pos));
       }
     } else {
-      ByteBuffer direct = nativeOffHeapBuffer;
-      for (int i = 0; i < elements; i++, pos += 4) {
-        target[targetOffset + i] = Float.intBitsToFloat((int) BYTE_BUFFER_INT.get(direct, pos));
-      }
+      MemorySegment.copy(offHeapSegment, SEGMENT_FLOAT, pos, target, targetOffset, elements);
     }
   }
 
@@ -554,10 +546,7 @@ public final class MemoryBuffer {
         BYTE_ARRAY_INT.set(heap, pos, Float.floatToRawIntBits(source[sourceOffset + i]));
       }
     } else {
-      ByteBuffer direct = nativeOffHeapBuffer;
-      for (int i = 0; i < elements; i++, pos += 4) {
-        BYTE_BUFFER_INT.set(direct, pos, Float.floatToRawIntBits(source[sourceOffset + i]));
-      }
+      MemorySegment.copy(source, sourceOffset, offHeapSegment, SEGMENT_FLOAT, pos, elements);
     }
   }
 
@@ -570,11 +559,7 @@ public final class MemoryBuffer {
         target[targetOffset + i] = Double.longBitsToDouble((long) BYTE_ARRAY_LONG.get(heap, pos));
       }
     } else {
-      ByteBuffer direct = nativeOffHeapBuffer;
-      for (int i = 0; i < elements; i++, pos += 8) {
-        target[targetOffset + i] =
-            Double.longBitsToDouble((long) BYTE_BUFFER_LONG.get(direct, pos));
-      }
+      MemorySegment.copy(offHeapSegment, SEGMENT_DOUBLE, pos, target, targetOffset, elements);
     }
   }
 
@@ -588,10 +573,7 @@ public final class MemoryBuffer {
         BYTE_ARRAY_LONG.set(heap, pos, Double.doubleToRawLongBits(source[sourceOffset + i]));
       }
     } else {
-      ByteBuffer direct = nativeOffHeapBuffer;
-      for (int i = 0; i < elements; i++, pos += 8) {
-        BYTE_BUFFER_LONG.set(direct, pos, Double.doubleToRawLongBits(source[sourceOffset + i]));
-      }
+      MemorySegment.copy(source, sourceOffset, offHeapSegment, SEGMENT_DOUBLE, pos, elements);
     }
   }
 
@@ -685,6 +667,19 @@ public final class MemoryBuffer {
     }
   }
 
+  /**
+   * Gets the segment view of the off-heap memory of this memory buffer.
+   *
+   * @return The capacity-wide segment that backs this memory buffer.
+   */
+  public MemorySegment getOffHeapSegment() {
+    if (offHeapSegment != null) {
+      return offHeapSegment;
+    } else {
+      throw new IllegalStateException("Memory buffer does not represent off heap memory");
+    }
+  }
+
   /**
    * Returns the byte array of on-heap memory buffers.
    *
@@ -740,11 +735,8 @@ public final class MemoryBuffer {
       if (heapMemory != null) {
         duplicate.put(heapMemory, heapOffset + offset, numBytes);
       } else {
-        ByteBuffer source = nativeOffHeapBuffer.duplicate();
-        int sourcePos = toIntIndex(address + offset);
-        ByteBufferUtil.position(source, sourcePos);
-        source.limit(sourcePos + numBytes);
-        duplicate.put(source.slice());
+        MemorySegment.copy(
+            offHeapSegment, address + offset, MemorySegment.ofBuffer(duplicate), 0, numBytes);
       }
     } else {
       assert target.hasArray();
@@ -770,11 +762,8 @@ public final class MemoryBuffer {
       if (heapMemory != null) {
         duplicate.get(heapMemory, heapOffset + offset, numBytes);
       } else {
-        ByteBuffer target = nativeOffHeapBuffer.duplicate();
-        int targetPos = toIntIndex(address + offset);
-        ByteBufferUtil.position(target, targetPos);
-        target.limit(targetPos + numBytes);
-        target.slice().put(duplicate.slice());
+        MemorySegment.copy(
+            MemorySegment.ofBuffer(duplicate), 0, offHeapSegment, address + offset, numBytes);
       }
     } else {
       assert source.hasArray();
@@ -1109,7 +1098,7 @@ public final class MemoryBuffer {
     final int writerIdx = writerIndex;
     final int newIdx = writerIdx + 1;
     if (newIdx > size) {
-      globalAllocator.grow(this, newIdx);
+      growBuffer(newIdx);
     }
     final long pos = address + writerIdx;
     storeByte(pos, value);
@@ -1267,7 +1256,7 @@ public final class MemoryBuffer {
       writerIndex += diff;
       return diff;
     }
-    ByteBuffer direct = nativeOffHeapBuffer;
+    MemorySegment direct = offHeapSegment;
     if (direct != null) {
       int diff = putVarUInt32Direct(direct, writerIdx, value);
       writerIndex += diff;
@@ -1306,7 +1295,7 @@ public final class MemoryBuffer {
     if (heap != null) {
       return putVarUInt32Heap(heap, (int) (address + index), value);
     }
-    ByteBuffer direct = nativeOffHeapBuffer;
+    MemorySegment direct = offHeapSegment;
     if (direct != null) {
       return putVarUInt32Direct(direct, index, value);
     }
@@ -1328,11 +1317,11 @@ public final class MemoryBuffer {
     return continuePutVarUInt32(index, encoded, value);
   }
 
-  private int putVarUInt32Direct(ByteBuffer direct, int index, int value) {
-    int pos = (int) (address + index);
+  private int putVarUInt32Direct(MemorySegment direct, int index, int value) {
+    long pos = address + index;
     int encoded = (value & 0x7F);
     if (value >>> 7 == 0) {
-      direct.put(pos, (byte) value);
+      direct.set(ValueLayout.JAVA_BYTE, pos, (byte) value);
       return 1;
     }
     encoded |= (((value & 0x3f80) << 1) | 0x80);
@@ -1340,27 +1329,27 @@ public final class MemoryBuffer {
       return putVarUInt32BigEndian(index, encoded, value);
     }
     if (value >>> 14 == 0) {
-      BYTE_BUFFER_INT.set(direct, pos, encoded);
+      direct.set(SEGMENT_INT, pos, encoded);
       return 2;
     }
     return continuePutVarUInt32Direct(direct, pos, encoded, value);
   }
 
   private static int continuePutVarUInt32Direct(
-      ByteBuffer direct, int pos, int encoded, int value) {
+      MemorySegment direct, long pos, int encoded, int value) {
     encoded |= (((value & 0x1fc000) << 2) | 0x8000);
     if (value >>> 21 == 0) {
-      BYTE_BUFFER_INT.set(direct, pos, encoded);
+      direct.set(SEGMENT_INT, pos, encoded);
       return 3;
     }
     encoded |= ((value & 0xfe00000) << 3) | 0x800000;
     if (value >>> 28 == 0) {
-      BYTE_BUFFER_INT.set(direct, pos, encoded);
+      direct.set(SEGMENT_INT, pos, encoded);
       return 4;
     }
     long encodedLong = Integer.toUnsignedLong(encoded) | 0x80000000L;
     encodedLong |= (long) (value >>> 28) << 32;
-    BYTE_BUFFER_LONG.set(direct, pos, encodedLong);
+    direct.set(SEGMENT_LONG, pos, encodedLong);
     return 5;
   }
 
@@ -2009,15 +1998,79 @@ public final class MemoryBuffer {
   public void grow(int neededSize) {
     int length = writerIndex + neededSize;
     if (length > size) {
-      globalAllocator.grow(this, length);
+      growBuffer(length);
     }
   }
 
   /** For off-heap buffer, this will make a heap buffer internally. */
   public void ensure(int length) {
     if (length > size) {
-      globalAllocator.grow(this, length);
+      growBuffer(length);
+    }
+  }
+
+  private void growBuffer(int length) {
+    ForyStreamWriter writer = streamWriter;
+    if (writer != null) {
+      writer.flushBuffer(length);
+    } else {
+      MemoryAllocator allocator = this.allocator;
+      (allocator != null ? allocator : globalAllocator).grow(this, length);
+    }
+  }
+
+  /** Returns the allocator used to grow this buffer, or null if the global allocator is used. */
+  public MemoryAllocator getAllocator() {
+    return allocator;
+  }
+
+  /**
+   * Sets the allocator used to grow this buffer instead of the global allocator. Pass null to use
+   * the global allocator again.
+   */
+  public void setAllocator(MemoryAllocator allocator) {
+    this.allocator = allocator;
+  }
+
+  /** Returns the stream writer this buffer flushes to when it is full, or null if not attached. */
+  public ForyStreamWriter getStreamWriter() {
+    return streamWriter;
+  }
+
+  /**
+   * Attach this heap buffer to a stream writer, or detach it by passing null. When attached, a
+   * write which exceeds the buffer size flushes written bytes to the stream writer instead of
+   * growing the buffer. Flushed bytes must not be accessed anymore, but writer indices stay
+   * unchanged so that serializers are unaware of the flush.
+   */
+  public void setStreamWriter(ForyStreamWriter streamWriter) {
+    this.streamWriter = streamWriter;
+    this.flushBarrier = Integer.MAX_VALUE;
+  }
+
+  /**
+   * Prevents bytes at or after {@code index} from being flushed to the attached {@link
+   * ForyStreamWriter} until {@link #releaseFlush} is invoked with the returned value. Serializers
+   * which patch a header after writing a payload of unbounded size must hold the header.
+   *
+   * @return the previous flush barrier, which must be passed to {@link #releaseFlush}
+   */
+  public int holdFlush(int index) {
+    int barrier = flushBarrier;
+    if (index < barrier) {
+      flushBarrier = index;
     }
+    return barrier;
+  }
+
+  /** Restores the flush barrier returned by {@link #holdFlush}. */
+  public void releaseFlush(int barrier) {
+    flushBarrier = barrier;
+  }
+
+  /** Returns the index before which written bytes can be flushed to a stream writer. */
+  public int flushableIndex() {
+    return Math.min(writerIndex, flushBarrier);
   }
 
   // -------------------------------------------------------------------------
@@ -3924,6 +3977,46 @@ public final class MemoryBuffer {
     return new MemoryBuffer(offHeapAddress, size, buffer, streamReader);
   }
 
+  /**
+   * Creates a new memory buffer that represents the memory of the given segment. Native and mapped
+   * segments are accessed through bounds and liveness checked segment accessors, so reading or
+   * writing after the owning {@link Arena} is closed fails with an {@link IllegalStateException}
+   * instead of touching freed memory. Heap segments must be backed by a {@code byte[]}. Like {@link
+   * #fromByteBuffer}, the buffer will change into a heap buffer automatically if not enough.
+   *
+   * <p>This factory is only available when running on JDK 25 or later.
+   *
+   * @param segment a native, mapped or {@code byte[]} backed segment
+   */
+  public static MemoryBuffer fromSegment(MemorySegment segment) {
+    checkNotNull(segment, "segment is null");
+    long byteSize = segment.byteSize();
+    checkArgument(
+        byteSize <= Integer.MAX_VALUE, "Segment size %s exceeds MemoryBuffer limit", byteSize);
+    if (segment.isNative()) {
+      // `asByteBuffer` keeps the segment scope, so the segment view rebuilt from it stays bound to
+      // the arena lifetime.
+      return new MemoryBuffer(0, (int) byteSize, segment.asByteBuffer());
+    }
+    Object base = segment.heapBase().orElse(null);
+    if (base instanceof byte[]) {
+      return new MemoryBuffer((byte[]) base, (int) segment.address(), (int) byteSize);
+    }
+    throw new IllegalArgumentException(
+        "Only native or writable byte[] backed segments are supported: " + segment);
+  }
+
+  /**
+   * Allocates a native segment of {@code size} bytes from {@code arena} and wraps it as a memory
+   * buffer. The memory is released when the arena is closed.
+   *
+   * <p>This factory is only available when running on JDK 25 or later.
+   */
+  public static MemoryBuffer newSegmentBuffer(Arena arena, int size) {
+    checkArgument(size >= 0, "size %s must be non-negative", size);
+    return fromSegment(arena.allocate(size, Long.BYTES));
+  }
+
   /**
    * Create a heap buffer of specified initial size. The buffer will grow automatically if not
    * enough.
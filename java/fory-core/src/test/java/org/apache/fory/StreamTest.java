@@ -22,6 +22,7 @@ package org.apache.fory;
 import static org.apache.fory.io.ForyStreamReader.of;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
 import static org.testng.Assert.assertTrue;
 
 import com.google.common.collect.Lists;
@@ -35,16 +36,21 @@ import java.nio.channels.ReadableByteChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import org.apache.fory.exception.DeserializationException;
 import org.apache.fory.io.ForyInputStream;
+import org.apache.fory.io.ForyOutputStream;
 import org.apache.fory.io.ForyReadableChannel;
 import org.apache.fory.io.ForyStreamReader;
+import org.apache.fory.io.ForyStreamWriter;
 import org.apache.fory.memory.MemoryBuffer;
 import org.apache.fory.reflect.ReflectionUtils;
 import org.apache.fory.test.bean.BeanA;
+import org.apache.fory.test.bean.BeanB;
+import org.apache.fory.test.bean.Cyclic;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
@@ -200,6 +206,121 @@ public class StreamTest extends ForyTestBase {
     assertEquals(newObj, beanA);
   }
 
+  @Test(dataProvider = "enableCodegen")
+  public void testStreamingOutputStream(boolean enableCodegen) throws IOException {
+    Fory fory =
+        Fory.builder()
+            .withXlang(false)
+            .withCodegen(enableCodegen)
+            .requireClassRegistration(false)
+            .withCompatible(false)
+            .withBufferSizeLimitBytes(256)
+            .build();
+    Map<String, BeanA> map = new HashMap<>();
+    for (int i = 0; i < 20; i++) {
+      map.put("k" + i, BeanA.createBeanA(i));
+    }
+    byte[] expected = fory.serialize(map);
+    assertTrue(expected.length > 256 * 4);
+    // Map chunk headers are patched after writing values, which must not be flushed early.
+    ByteArrayOutputStream bas = new ByteArrayOutputStream();
+    fory.serialize(bas, map);
+    assertEquals(bas.toByteArray(), expected);
+    assertTrue(fory.getBuffer().size() <= 256);
+
+    bas = new ByteArrayOutputStream();
+    ForyOutputStream stream = ForyStreamWriter.of(bas);
+    fory.serialize(stream, map);
+    stream.write(new byte[10000], 0, 10000);
+    fory.serialize(stream, map);
+    assertEquals(stream.getBuffer().size(), 4096);
+    assertEquals(stream.getBuffer().writerIndex(), 0);
+    ByteArrayOutputStream expectedStream = new ByteArrayOutputStream();
+    expectedStream.write(expected);
+    expectedStream.write(new byte[10000]);
+    expectedStream.write(expected);
+    assertEquals(bas.toByteArray(), expectedStream.toByteArray());
+    ForyInputStream input = of(new ByteArrayInputStream(bas.toByteArray()));
+    assertEquals(fory.deserialize(input), map);
+    assertEquals(input.skip(10000), 10000);
+    assertEquals(fory.deserialize(input), map);
+  }
+
+  @Test(dataProvider = "enableCodegen")
+  public void testStreamingOutputStreamMetaShare(boolean enableCodegen) throws IOException {
+    Fory fory =
+        Fory.builder()
+            .withXlang(false)
+            .withCodegen(enableCodegen)
+            .requireClassRegistration(false)
+            .withCompatible(true)
+            .withScopedMetaShare(true)
+            .withBufferSizeLimitBytes(256)
+            .build();
+    // Type definitions of nested beans are first written after earlier bytes have been flushed.
+    List<Object> list = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      list.add(BeanA.createBeanA(i));
+      list.add(BeanB.createBeanB(i));
+    }
+    byte[] expected = fory.serialize(list);
+    assertTrue(expected.length > 256 * 4);
+    ByteArrayOutputStream bas = new ByteArrayOutputStream();
+    fory.serialize(bas, list);
+    fory.serialize(bas, list);
+    assertEquals(Arrays.copyOf(bas.toByteArray(), expected.length), expected);
+    assertTrue(fory.getBuffer().size() <= 256);
+    Fory reader =
+        Fory.builder()
+            .withXlang(false)
+            .withCodegen(enableCodegen)
+            .requireClassRegistration(false)
+            .withCompatible(true)
+            .withScopedMetaShare(true)
+            .build();
+    ForyInputStream input = of(new ByteArrayInputStream(bas.toByteArray()));
+    assertEquals(reader.deserialize(input), list);
+    assertEquals(reader.deserialize(input), list);
+  }
+
+  @Test(dataProvider = "enableCodegen")
+  public void testStreamingOutputStreamRefTracking(boolean enableCodegen) throws IOException {
+    Fory fory =
+        Fory.builder()
+            .withXlang(false)
+            .withCodegen(enableCodegen)
+            .requireClassRegistration(false)
+            .withRefTracking(true)
+            .withBufferSizeLimitBytes(256)
+            .build();
+    BeanA shared = BeanA.createBeanA(2);
+    Cyclic cyclic = Cyclic.create(true);
+    List<Object> list = new ArrayList<>();
+    list.add(shared);
+    list.add(cyclic);
+    for (int i = 0; i < 20; i++) {
+      list.add(BeanA.createBeanA(i));
+    }
+    // Back references written after a flush point at objects whose bytes are already flushed.
+    list.add(shared);
+    list.add(cyclic);
+    list.add(list);
+    byte[] expected = fory.serialize(list);
+    assertTrue(expected.length > 256 * 4);
+    ByteArrayOutputStream bas = new ByteArrayOutputStream();
+    fory.serialize(bas, list);
+    assertEquals(bas.toByteArray(), expected);
+    assertTrue(fory.getBuffer().size() <= 256);
+    List<?> newList = (List<?>) fory.deserialize(of(new ByteArrayInputStream(bas.toByteArray())));
+    assertEquals(newList.size(), list.size());
+    assertEquals(newList.get(0), shared);
+    assertSame(newList.get(22), newList.get(0));
+    Cyclic newCyclic = (Cyclic) newList.get(1);
+    assertSame(newList.get(23), newCyclic);
+    assertSame(newCyclic.cyclic, newCyclic);
+    assertSame(newList.get(24), newList);
+  }
+
   @Test
   public void testBufferedStream() throws IOException {
     Fory fory =
@@ -71,6 +71,23 @@ public class ObjectCodecBuilderTest extends ForyTestBase {
         .genCode();
   }
 
+  @Test
+  public void testCodeCacheKey() {
+    Fory fory = Fory.builder().withXlang(false).requireClassRegistration(false).build();
+    String key = new ObjectCodecBuilder(BeanA.class, fory).codeCacheKey();
+    Assert.assertEquals(new ObjectCodecBuilder(BeanA.class, fory).codeCacheKey(), key);
+    Fory fory2 = Fory.builder().withXlang(false).requireClassRegistration(false).build();
+    Assert.assertEquals(new ObjectCodecBuilder(BeanA.class, fory2).codeCacheKey(), key);
+    Assert.assertNotEquals(new ObjectCodecBuilder(BeanB.class, fory).codeCacheKey(), key);
+    Fory fory3 =
+        Fory.builder()
+            .withXlang(false)
+            .withNumberCompressed(false)
+            .requireClassRegistration(false)
+            .build();
+    Assert.assertNotEquals(new ObjectCodecBuilder(BeanA.class, fory3).codeCacheKey(), key);
+  }
+
   @Test
   public void testDefaultPackage() throws Exception {
     CompileUnit unit =
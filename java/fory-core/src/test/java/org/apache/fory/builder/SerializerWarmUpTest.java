@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.fory.builder;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.apache.fory.Fory;
+import org.apache.fory.ThreadSafeFory;
+import org.apache.fory.exception.ForyException;
+import org.apache.fory.resolver.SharedRegistry;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class SerializerWarmUpTest {
+
+  public static final class Leaf {
+    private int value;
+    private String name;
+  }
+
+  public static final class Middle {
+    private Leaf leaf;
+    private Leaf[] leaves;
+    private long id;
+  }
+
+  public static class Root {
+    private Middle middle;
+    private Leaf leaf;
+    private Object any;
+  }
+
+  public static final class Cycle {
+    private Cycle self;
+    private CycleRef ref;
+  }
+
+  public static final class CycleRef {
+    private Cycle cycle;
+  }
+
+  @Test
+  public void testPlan() {
+    List<List<Class<?>>> levels = SerializerWarmUp.plan(Arrays.asList(Root.class, Middle.class));
+    assertEquals(levels.size(), 3);
+    assertEquals(levels.get(0), Collections.singletonList(Leaf.class));
+    assertEquals(levels.get(1), Collections.singletonList(Middle.class));
+    assertEquals(levels.get(2), Collections.singletonList(Root.class));
+    levels = SerializerWarmUp.plan(Collections.singletonList(Cycle.class));
+    assertEquals(levels.size(), 1);
+    assertEquals(levels.get(0), Arrays.asList(Cycle.class, CycleRef.class));
+  }
+
+  @Test
+  public void testWarmUp() {
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      ThreadSafeFory[] forys = {
+        Fory.builder().withXlang(false).requireClassRegistration(false).buildThreadLocalFory(),
+        Fory.builder()
+            .withXlang(false)
+            .requireClassRegistration(false)
+            .withAsyncCompilation(true)
+            .buildThreadSafeForyPool(2)
+      };
+      for (ThreadSafeFory fory : forys) {
+        fory.warmUp(Arrays.asList(Root.class, Cycle.class), executor);
+        SharedRegistry sharedRegistry = fory.execute(f -> f.getTypeResolver().getSharedRegistry());
+        for (Class<?> cls :
+            Arrays.asList(Root.class, Middle.class, Leaf.class, Cycle.class, CycleRef.class)) {
+          Class<?> serializerClass = sharedRegistry.getWarmedUpSerializerClass(cls);
+          assertNotNull(serializerClass, cls.toString());
+          assertTrue(Generated.class.isAssignableFrom(serializerClass));
+          // Instances which didn't take part in the warm up reuse the published class.
+          assertSame(
+              fory.execute(f -> f.getTypeResolver().getSerializer(cls).getClass()),
+              serializerClass);
+        }
+        assertNull(sharedRegistry.getWarmedUpSerializerClass(Object.class));
+        Root root = new Root();
+        root.middle = new Middle();
+        root.middle.leaf = new Leaf();
+        root.middle.leaf.value = 10;
+        root.middle.leaves = new Leaf[] {new Leaf()};
+        root.any = "abc";
+        Root newRoot = (Root) fory.deserialize(fory.serialize(root));
+        assertEquals(newRoot.middle.leaf.value, 10);
+        assertEquals(newRoot.middle.leaves.length, 1);
+        assertEquals(newRoot.any, "abc");
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testWarmUpFailure() {
+    ThreadSafeFory fory = Fory.builder().withXlang(true).buildThreadLocalFory();
+    Assert.assertThrows(
+        ForyException.class,
+        () -> fory.warmUp(Collections.singletonList(Leaf.class), Runnable::run));
+    assertNull(
+        fory.execute(f -> f.getTypeResolver().getSharedRegistry())
+            .getWarmedUpSerializerClass(Leaf.class));
+  }
+}
@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.fory.codegen;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import org.apache.fory.util.ClassLoaderUtils.ByteArrayClassLoader;
+import org.testng.annotations.Test;
+
+public class CompiledCodeCacheTest {
+
+  private static CompileUnit unit(String value) {
+    String code =
+        "package test.cache;\n"
+            + "public class CachedSupplier implements java.util.function.Supplier {\n"
+            + "  public Object get() { return \""
+            + value
+            + "\"; }\n"
+            + "}";
+    return new CompileUnit("test.cache", "CachedSupplier", code);
+  }
+
+  @Test
+  public void testStoreAndLoad() throws Exception {
+    Path dir = Files.createTempDirectory("fory_code_cache");
+    try {
+      ClassLoader loader = getClass().getClassLoader();
+      CompileUnit unit = unit("v1");
+      assertNull(CompiledCodeCache.load(dir, unit));
+      Map<String, byte[]> classes = JaninoUtils.toBytecode(loader, unit);
+      CompiledCodeCache.store(dir, classes, unit);
+      Map<String, byte[]> cached = CompiledCodeCache.load(dir, unit("v1"));
+      assertEquals(cached.keySet(), classes.keySet());
+      Class<?> cls =
+          new ByteArrayClassLoader(cached, loader).loadClass("test.cache.CachedSupplier");
+      assertEquals(((Supplier<?>) cls.getDeclaredConstructor().newInstance()).get(), "v1");
+      // A changed source maps to another entry.
+      assertNotEquals(
+          CompiledCodeCache.entryPath(dir, unit("v2")), CompiledCodeCache.entryPath(dir, unit));
+      assertNull(CompiledCodeCache.load(dir, unit("v2")));
+    } finally {
+      deleteDir(dir);
+    }
+  }
+
+  @Test
+  public void testLoadKeyedUnitWithoutGeneratingCode() throws Exception {
+    Path dir = Files.createTempDirectory("fory_code_cache");
+    try {
+      AtomicInteger generated = new AtomicInteger();
+      Supplier<String> genCode =
+          () -> {
+            generated.incrementAndGet();
+            return unit("v1").getCode();
+          };
+      CompileUnit unit = new CompileUnit("test.cache", "CachedSupplier", genCode, () -> "k1");
+      assertNull(CompiledCodeCache.load(dir, unit));
+      assertEquals(generated.get(), 0);
+      CompiledCodeCache.store(dir, JaninoUtils.toBytecode(getClass().getClassLoader(), unit), unit);
+      assertEquals(generated.get(), 1);
+      CompileUnit restarted = new CompileUnit("test.cache", "CachedSupplier", genCode, () -> "k1");
+      assertNotNull(CompiledCodeCache.load(dir, restarted));
+      assertEquals(generated.get(), 1);
+      // A changed key maps to another entry.
+      assertNull(
+          CompiledCodeCache.load(
+              dir, new CompileUnit("test.cache", "CachedSupplier", genCode, () -> "k2")));
+      assertEquals(generated.get(), 1);
+    } finally {
+      deleteDir(dir);
+    }
+  }
+
+  @Test
+  public void testCorruptedEntry() throws Exception {
+    Path dir = Files.createTempDirectory("fory_code_cache");
+    try {
+      CompileUnit unit = unit("v1");
+      Path path = CompiledCodeCache.entryPath(dir, unit);
+      Files.write(path, new byte[] {1, 2, 3});
+      assertNull(CompiledCodeCache.load(dir, unit));
+      assertFalse(Files.exists(path));
+      CompiledCodeCache.store(dir, JaninoUtils.toBytecode(getClass().getClassLoader(), unit), unit);
+      assertTrue(Files.exists(path));
+      byte[] bytes = Files.readAllBytes(path);
+      Files.write(path, Arrays.copyOf(bytes, bytes.length - 1));
+      assertNull(CompiledCodeCache.load(dir, unit));
+      assertFalse(Files.exists(path));
+    } finally {
+      deleteDir(dir);
+    }
+  }
+
+  private static void deleteDir(Path dir) throws IOException {
+    try (Stream<Path> files = Files.list(dir)) {
+      for (Path file : (Iterable<Path>) files::iterator) {
+        Files.delete(file);
+      }
+    }
+    Files.delete(dir);
+  }
+}
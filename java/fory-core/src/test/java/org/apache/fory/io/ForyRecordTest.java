@@ -0,0 +1,306 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.fory.io;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertThrows;
+import static org.testng.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.Pipe;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import org.apache.fory.Fory;
+import org.apache.fory.ForyTestBase;
+import org.apache.fory.config.CompatibleMode;
+import org.apache.fory.exception.DeserializationException;
+import org.apache.fory.exception.SerializationException;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+public class ForyRecordTest extends ForyTestBase {
+
+  public static class Event {
+    public long id;
+    public String name;
+    public List<String> tags;
+
+    public Event() {}
+
+    public Event(long id) {
+      this.id = id;
+      this.name = "event" + id;
+      this.tags = new ArrayList<>();
+      tags.add("tag" + (id % 3));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      Event event = (Event) o;
+      return id == event.id && Objects.equals(name, event.name) && Objects.equals(tags, event.tags);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(id, name, tags);
+    }
+  }
+
+  public static class Note {
+    public String text;
+
+    public Note() {}
+
+    public Note(String text) {
+      this.text = text;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      return o instanceof Note && Objects.equals(text, ((Note) o).text);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hashCode(text);
+    }
+  }
+
+  private static Fory metaShareFory() {
+    return builder()
+        .withCompatibleMode(CompatibleMode.COMPATIBLE)
+        .withMetaShare(true)
+        .withScopedMetaShare(false)
+        .withCodegen(false)
+        .build();
+  }
+
+  private static Fory dictionaryFory(int dictionarySize) {
+    return builder()
+        .withCompatibleMode(CompatibleMode.COMPATIBLE)
+        .withMetaShare(true)
+        .withScopedMetaShare(false)
+        .withStringDictionary(dictionarySize)
+        .withCodegen(false)
+        .build();
+  }
+
+  @DataProvider
+  public static Object[][] foryConfigs() {
+    return new Object[][] {
+      {true}, {false},
+    };
+  }
+
+  @Test(dataProvider = "foryConfigs")
+  public void testRoundTrip(boolean metaShare) throws IOException {
+    Fory fory = metaShare ? metaShareFory() : builder().withCodegen(false).build();
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    // A small flush threshold to write frames to the stream across several flushes.
+    try (ForyRecordWriter writer = new ForyRecordWriter(fory, out, 128)) {
+      for (int i = 0; i < 100; i++) {
+        writer.write(new Event(i));
+      }
+      assertEquals(writer.getRecordCount(), 100);
+    }
+    Fory readFory = metaShare ? metaShareFory() : builder().withCodegen(false).build();
+    // A small buffer to exercise buffer growth and compaction.
+    try (ForyRecordReader reader =
+        new ForyRecordReader(
+            readFory,
+            Channels.newChannel(new ByteArrayInputStream(out.toByteArray())),
+            16)) {
+      for (int i = 0; i < 100; i++) {
+        assertTrue(reader.hasNext());
+        assertEquals(reader.read(Event.class), new Event(i));
+      }
+      assertFalse(reader.hasNext());
+      assertEquals(reader.position(), out.size());
+      assertThrows(NoSuchElementException.class, reader::read);
+    }
+  }
+
+  @Test
+  public void testMetaWrittenOnce() {
+    Fory fory = metaShareFory();
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    ForyRecordWriter writer = new ForyRecordWriter(fory, out);
+    writer.write(new Event(0));
+    long firstRecordSize = writer.position();
+    long offset = writer.write(new Event(1));
+    writer.flush();
+    // The second record refers to the type definition announced by the first one.
+    assertTrue(out.size() - offset < firstRecordSize / 2, out.size() + " " + firstRecordSize);
+  }
+
+  @Test
+  public void testSkipAndResetPoint() throws IOException {
+    Fory fory = metaShareFory();
+    Path file = Files.createTempFile("fory_records", ".bin");
+    try {
+      long resetPoint;
+      try (ForyRecordWriter writer =
+          new ForyRecordWriter(fory, Files.newOutputStream(file), 256)) {
+        for (int i = 0; i < 10; i++) {
+          writer.write(new Event(i));
+        }
+        resetPoint = writer.markResetPoint();
+        for (int i = 10; i < 20; i++) {
+          writer.write(new Event(i));
+        }
+      }
+      try (ForyRecordReader reader =
+          new ForyRecordReader(metaShareFory(), FileChannel.open(file, StandardOpenOption.READ))) {
+        // Skipping the first record still registers its type definition.
+        reader.skip();
+        reader.skip();
+        assertEquals(reader.read(), new Event(2));
+        while (reader.getRecordCount() < 10) {
+          reader.skip();
+        }
+        assertEquals(reader.position(), resetPoint);
+        assertEquals(reader.read(), new Event(10));
+      }
+      try (ForyRecordReader reader =
+          new ForyRecordReader(metaShareFory(), FileChannel.open(file, StandardOpenOption.READ))) {
+        reader.seek(resetPoint);
+        for (int i = 10; i < 20; i++) {
+          assertEquals(reader.read(), new Event(i));
+        }
+        assertFalse(reader.hasNext());
+        reader.seek(0);
+        assertEquals(reader.read(), new Event(0));
+      }
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  @Test
+  public void testSkipRecordsWithStringDictionary() {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    ForyRecordWriter writer = new ForyRecordWriter(dictionaryFory(2), out);
+    // "gamma" evicts "alpha" and reuses its id, so the dictionary size stays the same.
+    for (String str : new String[] {"alpha", "alpha", "beta", "gamma", "beta", "gamma"}) {
+      writer.write(str);
+    }
+    writer.flush();
+    ForyRecordReader reader =
+        new ForyRecordReader(dictionaryFory(2), new ByteArrayInputStream(out.toByteArray()));
+    // Skipped records which add dictionary strings are still decoded to register them.
+    reader.skip();
+    assertEquals(reader.read(), "alpha");
+    reader.skip();
+    reader.skip();
+    assertEquals(reader.read(), "beta");
+    assertEquals(reader.read(), "gamma");
+    assertFalse(reader.hasNext());
+  }
+
+  @Test
+  public void testOversizeRecordWithNewType() {
+    Fory fory = metaShareFory();
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    ForyRecordWriter writer = new ForyRecordWriter(fory, out);
+    writer.maxRecordSize = 256;
+    writer.write(new Event(0));
+    StringBuilder text = new StringBuilder();
+    for (int i = 0; i < 1000; i++) {
+      text.append(i);
+    }
+    // The dropped record is the first one using `Note`, so its type definition must be announced
+    // again by the next record which uses it.
+    assertThrows(SerializationException.class, () -> writer.write(new Note(text.toString())));
+    writer.write(new Note("small"));
+    writer.write(new Event(1));
+    writer.flush();
+    ForyRecordReader reader =
+        new ForyRecordReader(metaShareFory(), new ByteArrayInputStream(out.toByteArray()));
+    assertEquals(reader.read(), new Event(0));
+    assertEquals(reader.read(), new Note("small"));
+    assertEquals(reader.read(), new Event(1));
+    assertFalse(reader.hasNext());
+  }
+
+  @Test
+  public void testTruncatedStream() {
+    Fory fory = metaShareFory();
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    ForyRecordWriter writer = new ForyRecordWriter(fory, out);
+    writer.write(new Event(0));
+    writer.flush();
+    byte[] bytes = out.toByteArray();
+    byte[] truncated = new byte[bytes.length - 1];
+    System.arraycopy(bytes, 0, truncated, 0, truncated.length);
+    ForyRecordReader reader =
+        new ForyRecordReader(metaShareFory(), new ByteArrayInputStream(truncated));
+    assertTrue(reader.hasNext());
+    assertThrows(DeserializationException.class, reader::read);
+  }
+
+  @Test
+  public void testNonBlockingChannel() throws IOException {
+    Pipe pipe = Pipe.open();
+    try {
+      pipe.source().configureBlocking(false);
+      assertThrows(
+          IllegalArgumentException.class,
+          () -> new ForyRecordReader(metaShareFory(), pipe.source()));
+    } finally {
+      pipe.source().close();
+      pipe.sink().close();
+    }
+    ReadableByteChannel empty =
+        new ReadableByteChannel() {
+          @Override
+          public int read(ByteBuffer dst) {
+            return 0;
+          }
+
+          @Override
+          public boolean isOpen() {
+            return true;
+          }
+
+          @Override
+          public void close() {}
+        };
+    ForyRecordReader reader = new ForyRecordReader(metaShareFory(), empty);
+    assertThrows(DeserializationException.class, reader::hasNext);
+  }
+}
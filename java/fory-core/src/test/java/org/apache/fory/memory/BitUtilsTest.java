@@ -22,6 +22,7 @@ package org.apache.fory.memory;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
 
+import java.util.Random;
 import org.apache.fory.util.StringUtils;
 import org.testng.annotations.Test;
 
@@ -62,4 +63,38 @@ public class BitUtilsTest {
     assertEquals(BitUtils.getNullCount(buffer, 0, valueCount), 0);
     assertEquals("ff03000000000000", StringUtils.encodeHexString(buffer.getRemainingBytes()));
   }
+
+  @Test
+  public void testPacked() {
+    Random random = new Random(7);
+    for (int bitWidth = 0; bitWidth <= 64; bitWidth++) {
+      for (int count : new int[] {0, 1, 7, 8, 9, 63, 100}) {
+        long mask = bitWidth == 64 ? -1L : (1L << bitWidth) - 1;
+        long[] longs = new long[count + 1];
+        int[] ints = new int[count + 1];
+        for (int i = 1; i < longs.length; i++) {
+          longs[i] = random.nextLong() & mask;
+          ints[i] = (int) longs[i];
+        }
+        MemoryBuffer buffer = MemoryUtils.buffer(16);
+        BitUtils.writePacked(buffer, longs, 1, bitWidth);
+        assertEquals(buffer.writerIndex(), BitUtils.packedBytes(count, bitWidth));
+        buffer.writeByte(-1);
+        long[] newLongs = new long[count + 1];
+        BitUtils.readPacked(buffer, newLongs, 1, bitWidth);
+        assertEquals(newLongs, longs);
+        assertEquals(buffer.readByte(), -1);
+        if (bitWidth <= 32) {
+          buffer = MemoryUtils.buffer(16);
+          BitUtils.writePacked(buffer, ints, 1, bitWidth);
+          assertEquals(buffer.writerIndex(), BitUtils.packedBytes(count, bitWidth));
+          buffer.writeByte(-1);
+          int[] newInts = new int[count + 1];
+          BitUtils.readPacked(buffer, newInts, 1, bitWidth);
+          assertEquals(newInts, ints);
+          assertEquals(buffer.readByte(), -1);
+        }
+      }
+    }
+  }
 }
@@ -0,0 +1,177 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.fory.memory;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import org.apache.fory.Fory;
+import org.apache.fory.ThreadSafeFory;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+public class BufferPoolTest {
+
+  @DataProvider
+  public static Object[][] threadLocalCache() {
+    return new Object[][] {{true}, {false}};
+  }
+
+  @Test(dataProvider = "threadLocalCache")
+  public void testGrowRecyclesMemory(boolean threadLocalCache) {
+    BufferPool pool = new BufferPool(false, 64L * 1024 * 1024, threadLocalCache);
+    MemoryBuffer buffer = pool.allocate(100);
+    assertSame(buffer.getAllocator(), pool);
+    assertEquals(buffer.size(), 100);
+    for (int i = 0; i < 100_000; i++) {
+      buffer.writeInt32(i);
+    }
+    assertEquals(buffer.size(), 512 * 1024);
+    for (int i = 0; i < 100_000; i++) {
+      assertEquals(buffer.readInt32(), i);
+    }
+    // 128KB, 256KB and 512KB classes are allocated once.
+    assertEquals(pool.getMissCount(), 3);
+    assertEquals(pool.getAllocatedBytes(), (128 + 256 + 512) * 1024);
+    byte[] grown = buffer.getHeapMemory();
+    pool.release(buffer);
+    assertEquals(buffer.size(), 0);
+
+    MemoryBuffer buffer2 = pool.allocate(100);
+    for (int i = 0; i < 100_000; i++) {
+      buffer2.writeInt32(i);
+    }
+    assertEquals(pool.getMissCount(), 3);
+    assertEquals(pool.getHitCount(), 3);
+    assertSame(buffer2.getHeapMemory(), grown);
+    if (!threadLocalCache) {
+      assertEquals(pool.getPooledBytes(), (128 + 256) * 1024);
+    }
+  }
+
+  @Test
+  public void testAllocateKeepsRequestedSize() {
+    BufferPool pool = new BufferPool();
+    MemoryBuffer buffer = pool.allocate(100 * 1024);
+    assertEquals(buffer.size(), 100 * 1024);
+    assertEquals(buffer.getHeapMemory().length, 128 * 1024);
+    pool.release(buffer);
+    MemoryBuffer buffer2 = pool.allocate(70 * 1024);
+    assertEquals(pool.getHitCount(), 1);
+    assertEquals(buffer2.size(), 70 * 1024);
+  }
+
+  @Test
+  public void testUnpooledSizes() {
+    BufferPool pool = new BufferPool(false, 0, false);
+    MemoryBuffer small = pool.allocate(1024);
+    assertEquals(small.getHeapMemory().length, 1024);
+    MemoryBuffer large = pool.allocate(BufferPool.MAX_POOLED_BYTES + 1);
+    assertEquals(large.size(), BufferPool.MAX_POOLED_BYTES + 1);
+    assertEquals(pool.getMissCount(), 0);
+    // A full pool drops released memory.
+    MemoryBuffer pooled = pool.allocate(BufferPool.MIN_POOLED_BYTES);
+    pool.release(pooled);
+    assertEquals(pool.getDroppedBytes(), BufferPool.MIN_POOLED_BYTES);
+    assertEquals(pool.getPooledBytes(), 0);
+  }
+
+  @Test
+  public void testForeignMemoryNotRecycled() {
+    BufferPool pool = new BufferPool(false, 64L * 1024 * 1024, false);
+    byte[] bytes = new byte[BufferPool.MIN_POOLED_BYTES];
+    MemoryBuffer buffer = MemoryBuffer.fromByteArray(bytes, 1, 1024);
+    buffer.setAllocator(pool);
+    buffer.writerIndex(1024);
+    buffer.writeInt64(1);
+    assertNotSame(buffer.getHeapMemory(), bytes);
+    assertEquals(pool.getPooledBytes(), 0);
+  }
+
+  @Test
+  public void testDirectPool() {
+    BufferPool pool = new BufferPool(true, 64L * 1024 * 1024, true);
+    MemoryBuffer buffer = pool.allocate(BufferPool.MIN_POOLED_BYTES);
+    assertTrue(buffer.isOffHeap());
+    for (int i = 0; i < 50_000; i++) {
+      buffer.writeInt64(i);
+    }
+    assertTrue(buffer.isOffHeap());
+    for (int i = 0; i < 50_000; i++) {
+      assertEquals(buffer.readInt64(), i);
+    }
+    pool.release(buffer);
+    assertFalse(buffer.isOffHeap());
+    pool.allocate(BufferPool.MIN_POOLED_BYTES * 8);
+    assertEquals(pool.getHitCount(), 1);
+  }
+
+  @Test
+  public void testThreadSafeForyReturnsBuffers() {
+    BufferPool pool = new BufferPool();
+    ThreadSafeFory fory =
+        Fory.builder()
+            .withXlang(false)
+            .requireClassRegistration(false)
+            .withBufferPool(pool)
+            .buildThreadSafeForyPool(2);
+    byte[] data = new byte[1024 * 1024];
+    data[data.length - 1] = 1;
+    for (int i = 0; i < 10; i++) {
+      byte[] bytes = fory.serialize(data);
+      assertEquals(fory.deserialize(bytes), data);
+    }
+    assertTrue(pool.getHitCount() > pool.getMissCount(), pool.toString());
+    fory.execute(
+        f -> {
+          assertSame(f.getBuffer().getAllocator(), pool);
+          return null;
+        });
+  }
+
+  @Test
+  public void testStreamWindowBorrowedFromPool() {
+    BufferPool pool = new BufferPool();
+    Fory fory =
+        Fory.builder()
+            .withXlang(false)
+            .requireClassRegistration(false)
+            .withBufferSizeLimitBytes(BufferPool.MIN_POOLED_BYTES * 2)
+            .withBufferPool(pool)
+            .build();
+    byte[] data = new byte[BufferPool.MIN_POOLED_BYTES * 8];
+    data[data.length - 1] = 1;
+    for (int i = 0; i < 10; i++) {
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      fory.serialize(out, data);
+      assertEquals(fory.deserialize(out.toByteArray()), data);
+    }
+    long allocated = pool.getAllocatedBytes();
+    long hits = pool.getHitCount();
+    fory.serialize(new ByteArrayOutputStream(), data);
+    // The window is returned after each call, so the next call reuses it.
+    assertEquals(pool.getAllocatedBytes(), allocated);
+    assertTrue(pool.getHitCount() > hits, pool.toString());
+  }
+}
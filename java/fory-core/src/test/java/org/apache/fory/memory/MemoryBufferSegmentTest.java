@@ -0,0 +1,176 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.fory.memory;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertThrows;
+import static org.testng.Assert.assertTrue;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.nio.ByteBuffer;
+import org.apache.fory.platform.JdkVersion;
+import org.testng.SkipException;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * Tests the MemorySegment entry points of the JDK 25 {@link MemoryBuffer}. The tests run when the
+ * {@code jdk25-multi-release} profile overlays the versioned classes, and reach the JDK 25 only
+ * methods through method handles since test sources are compiled for older releases.
+ */
+public class MemoryBufferSegmentTest {
+  private static final MethodHandles.Lookup LOOKUP = MethodHandles.publicLookup();
+
+  private Class<?> arenaClass;
+  private Class<?> segmentClass;
+  private MethodHandle ofConfined;
+  private MethodHandle ofShared;
+  private MethodHandle closeArena;
+  private MethodHandle ofArray;
+  private MethodHandle asSlice;
+  private MethodHandle asReadOnly;
+  private MethodHandle byteSize;
+  private MethodHandle isNative;
+  private MethodHandle fromSegment;
+  private MethodHandle newSegmentBuffer;
+  private MethodHandle getOffHeapSegment;
+
+  @BeforeClass
+  public void setUp() throws Exception {
+    if (JdkVersion.MAJOR_VERSION < 25) {
+      throw new SkipException("Skip on jdk" + JdkVersion.MAJOR_VERSION);
+    }
+    arenaClass = Class.forName("java.lang.foreign.Arena");
+    segmentClass = Class.forName("java.lang.foreign.MemorySegment");
+    ofConfined = LOOKUP.findStatic(arenaClass, "ofConfined", MethodType.methodType(arenaClass));
+    ofShared = LOOKUP.findStatic(arenaClass, "ofShared", MethodType.methodType(arenaClass));
+    closeArena = LOOKUP.findVirtual(arenaClass, "close", MethodType.methodType(void.class));
+    ofArray =
+        LOOKUP.findStatic(
+            segmentClass, "ofArray", MethodType.methodType(segmentClass, byte[].class));
+    asSlice =
+        LOOKUP.findVirtual(
+            segmentClass, "asSlice", MethodType.methodType(segmentClass, long.class, long.class));
+    asReadOnly =
+        LOOKUP.findVirtual(segmentClass, "asReadOnly", MethodType.methodType(segmentClass));
+    byteSize = LOOKUP.findVirtual(segmentClass, "byteSize", MethodType.methodType(long.class));
+    isNative = LOOKUP.findVirtual(segmentClass, "isNative", MethodType.methodType(boolean.class));
+    fromSegment =
+        LOOKUP.findStatic(
+            MemoryBuffer.class,
+            "fromSegment",
+            MethodType.methodType(MemoryBuffer.class, segmentClass));
+    newSegmentBuffer =
+        LOOKUP.findStatic(
+            MemoryBuffer.class,
+            "newSegmentBuffer",
+            MethodType.methodType(MemoryBuffer.class, arenaClass, int.class));
+    getOffHeapSegment =
+        LOOKUP.findVirtual(
+            MemoryBuffer.class, "getOffHeapSegment", MethodType.methodType(segmentClass));
+  }
+
+  @Test
+  public void testNewSegmentBuffer() throws Throwable {
+    Object arena = ofConfined.invoke();
+    try {
+      MemoryBuffer buffer = (MemoryBuffer) newSegmentBuffer.invoke(arena, 256);
+      assertTrue(buffer.isOffHeap());
+      assertEquals(buffer.size(), 256);
+      Object segment = getOffHeapSegment.invoke(buffer);
+      assertTrue((boolean) isNative.invoke(segment));
+      assertEquals((long) byteSize.invoke(segment), 256L);
+      checkReadWrite(buffer);
+      // Growth switches to heap memory, as it does for direct ByteBuffers.
+      buffer.writerIndex(buffer.size());
+      buffer.writeInt64(Long.MIN_VALUE);
+      assertFalse(buffer.isOffHeap());
+      assertEquals(buffer.getInt64(buffer.writerIndex() - 8), Long.MIN_VALUE);
+      assertEquals(buffer.getInt32(0), 7);
+    } finally {
+      closeArena.invoke(arena);
+    }
+    assertThrows(IllegalArgumentException.class, () -> newSegmentBuffer.invoke(arena, -1));
+  }
+
+  @Test
+  public void testFromNativeSegmentKeepsArenaScope() throws Throwable {
+    Object arena = ofShared.invoke();
+    MemoryBuffer buffer = (MemoryBuffer) newSegmentBuffer.invoke(arena, 64);
+    MemoryBuffer view = (MemoryBuffer) fromSegment.invoke(getOffHeapSegment.invoke(buffer));
+    view.putInt64(8, 42L);
+    assertEquals(buffer.getInt64(8), 42L);
+    closeArena.invoke(arena);
+    // Closed arena memory must fail instead of reading freed memory.
+    assertThrows(IllegalStateException.class, () -> buffer.getInt64(8));
+    assertThrows(IllegalStateException.class, () -> view.getBytes(0, 16));
+  }
+
+  @Test
+  public void testFromHeapSegment() throws Throwable {
+    byte[] bytes = new byte[64];
+    Object segment = asSlice.invoke(ofArray.invoke(bytes), 8L, 32L);
+    MemoryBuffer buffer = (MemoryBuffer) fromSegment.invoke(segment);
+    assertFalse(buffer.isOffHeap());
+    assertSame(buffer.getHeapMemory(), bytes);
+    assertEquals(buffer.size(), 32);
+    buffer.putInt32(0, 0x01020304);
+    assertEquals(bytes[8], (byte) 0x04);
+    assertEquals(bytes[11], (byte) 0x01);
+    checkReadWrite(buffer);
+    assertThrows(IllegalStateException.class, () -> getOffHeapSegment.invoke(buffer));
+  }
+
+  @Test
+  public void testFromUnsupportedSegment() throws Throwable {
+    Object readOnly = asReadOnly.invoke(ofArray.invoke(new byte[16]));
+    assertThrows(IllegalArgumentException.class, () -> fromSegment.invoke(readOnly));
+    assertThrows(NullPointerException.class, () -> fromSegment.invoke((Object) null));
+  }
+
+  private static void checkReadWrite(MemoryBuffer buffer) {
+    buffer.writerIndex(0);
+    buffer.writeInt32(7);
+    buffer.writeVarInt32(Integer.MIN_VALUE);
+    buffer.writeVarUInt64(Long.MAX_VALUE);
+    buffer.writeFloat64(Math.PI);
+    buffer.writeInts(new int[] {1, -2, 3});
+    buffer.writeLongs(new long[] {Long.MIN_VALUE, 0, Long.MAX_VALUE});
+    ByteBuffer heap = ByteBuffer.allocate(4);
+    heap.put(0, (byte) 9);
+    buffer.write(heap, 4);
+    buffer.readerIndex(0);
+    assertEquals(buffer.readInt32(), 7);
+    assertEquals(buffer.readVarInt32(), Integer.MIN_VALUE);
+    assertEquals(buffer.readVarUInt64(), Long.MAX_VALUE);
+    assertEquals(buffer.readFloat64(), Math.PI);
+    int[] ints = new int[3];
+    buffer.readInts(ints, 0, 3);
+    assertEquals(ints, new int[] {1, -2, 3});
+    long[] longs = new long[3];
+    buffer.readLongs(longs, 0, 3);
+    assertEquals(longs, new long[] {Long.MIN_VALUE, 0, Long.MAX_VALUE});
+    assertEquals(buffer.readByte(), 9);
+  }
+}
@@ -0,0 +1,159 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.fory.serializer;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.fory.Fory;
+import org.apache.fory.ForyTestBase;
+import org.apache.fory.builder.Generated;
+import org.testng.annotations.Test;
+
+public class CodegenCopyTest extends ForyTestBase {
+
+  public enum Color {
+    RED,
+    GREEN
+  }
+
+  public static final class Point {
+    public int x;
+    public int y;
+
+    public Point() {}
+
+    public Point(int x, int y) {
+      this.x = x;
+      this.y = y;
+    }
+  }
+
+  public static class Struct {
+    public int intValue;
+    private long longValue;
+    private double doubleValue;
+    private boolean boolValue;
+    public Integer boxed;
+    public String str;
+    public Color color;
+    public BigDecimal decimal;
+    public LocalDate date;
+    public int[] ints;
+    private byte[] bytes;
+    public long[] nullLongs;
+    public String[] strings;
+    public List<String> list;
+    public Map<String, Integer> map;
+    public Point point;
+    public Object object;
+    public Struct self;
+
+    static Struct create() {
+      Struct struct = new Struct();
+      struct.intValue = 1;
+      struct.longValue = 2;
+      struct.doubleValue = 3.5;
+      struct.boolValue = true;
+      struct.boxed = 4;
+      struct.str = "str";
+      struct.color = Color.GREEN;
+      struct.decimal = new BigDecimal("1.25");
+      struct.date = LocalDate.of(2024, 1, 2);
+      struct.ints = new int[] {1, 2, 3};
+      struct.bytes = new byte[] {4, 5};
+      struct.strings = new String[] {"a", "b"};
+      struct.list = new ArrayList<>(Arrays.asList("x", "y"));
+      struct.map = new HashMap<>();
+      struct.map.put("k", 1);
+      struct.point = new Point(7, 8);
+      struct.object = new Point(9, 10);
+      return struct;
+    }
+  }
+
+  private static Fory fory(boolean codegen, boolean refCopy) {
+    return builder()
+        .withCodegen(codegen)
+        .withRefCopy(refCopy)
+        .requireClassRegistration(false)
+        .build();
+  }
+
+  @Test(dataProvider = "enableCodegen")
+  public void testCopy(boolean codegen) {
+    Fory fory = fory(codegen, false);
+    Struct struct = Struct.create();
+    Struct copy = fory.copy(struct);
+    assertNotSame(copy, struct);
+    assertEquals(copy.intValue, 1);
+    assertEquals(copy.longValue, 2);
+    assertEquals(copy.doubleValue, 3.5);
+    assertTrue(copy.boolValue);
+    assertEquals(copy.boxed, struct.boxed);
+    assertSame(copy.str, struct.str);
+    assertSame(copy.color, Color.GREEN);
+    assertSame(copy.decimal, struct.decimal);
+    assertSame(copy.date, struct.date);
+    assertEquals(copy.ints, struct.ints);
+    assertNotSame(copy.ints, struct.ints);
+    assertEquals(copy.bytes, struct.bytes);
+    assertNotSame(copy.bytes, struct.bytes);
+    assertNull(copy.nullLongs);
+    assertEquals(copy.strings, struct.strings);
+    assertNotSame(copy.strings, struct.strings);
+    assertEquals(copy.list, struct.list);
+    assertNotSame(copy.list, struct.list);
+    assertEquals(copy.map, struct.map);
+    assertNotSame(copy.map, struct.map);
+    assertNotSame(copy.point, struct.point);
+    assertEquals(copy.point.x, 7);
+    assertEquals(copy.point.y, 8);
+    assertNotSame(copy.object, struct.object);
+    assertEquals(((Point) copy.object).x, 9);
+    assertNull(copy.self);
+    if (codegen) {
+      assertTrue(fory.getTypeResolver().getSerializer(Struct.class) instanceof Generated);
+    }
+  }
+
+  @Test(dataProvider = "enableCodegen")
+  public void testCopyRef(boolean codegen) {
+    Fory fory = fory(codegen, true);
+    Struct struct = Struct.create();
+    struct.self = struct;
+    struct.object = struct.point;
+    Struct copy = fory.copy(struct);
+    assertNotSame(copy, struct);
+    assertSame(copy.self, copy);
+    assertNotSame(copy.point, struct.point);
+    assertSame(copy.object, copy.point);
+  }
+}
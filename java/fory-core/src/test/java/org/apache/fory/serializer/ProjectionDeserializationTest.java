@@ -0,0 +1,185 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.fory.serializer;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertThrows;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.fory.Fory;
+import org.apache.fory.ForyTestBase;
+import org.apache.fory.config.CompatibleMode;
+import org.apache.fory.exception.ForyException;
+import org.apache.fory.memory.MemoryBuffer;
+import org.apache.fory.reflect.ReflectionUtils;
+import org.testng.annotations.Test;
+
+public class ProjectionDeserializationTest extends ForyTestBase {
+
+  public static class Inner {
+    public String value;
+    public int count;
+  }
+
+  public static class Message {
+    public long id;
+    public String routingKey;
+    public long timestamp;
+    public String payload;
+    public String nullablePayload;
+    public List<String> tags;
+    public Map<String, Integer> attributes;
+    public Inner inner;
+    public int[] values;
+    public double score;
+
+    static Message create() {
+      Message message = new Message();
+      message.id = 42;
+      message.routingKey = "orders.eu";
+      message.timestamp = 1700000000000L;
+      message.payload = "payload 你好 with non latin chars";
+      message.tags = new ArrayList<>();
+      message.tags.add("a");
+      message.tags.add("b");
+      message.attributes = new HashMap<>();
+      message.attributes.put("k", 1);
+      message.inner = new Inner();
+      message.inner.value = "inner";
+      message.inner.count = 3;
+      message.values = new int[] {1, 2, 3};
+      message.score = 0.5;
+      return message;
+    }
+  }
+
+  private static Fory compatibleFory(boolean codegen) {
+    return builder()
+        .withCompatibleMode(CompatibleMode.COMPATIBLE)
+        .withCodegen(codegen)
+        .requireClassRegistration(false)
+        .build();
+  }
+
+  @Test(dataProvider = "enableCodegen")
+  public void testProjection(boolean codegen) {
+    Fory fory = compatibleFory(codegen);
+    Message message = Message.create();
+    byte[] bytes = fory.serialize(message);
+    for (int i = 0; i < 2; i++) {
+      Message projected =
+          fory.deserializeProjection(bytes, Message.class, "routingKey", "timestamp");
+      assertEquals(projected.routingKey, message.routingKey);
+      assertEquals(projected.timestamp, message.timestamp);
+      assertEquals(projected.id, 0);
+      assertNull(projected.payload);
+      assertNull(projected.tags);
+      assertNull(projected.attributes);
+      assertNull(projected.inner);
+      assertNull(projected.values);
+      assertEquals(projected.score, 0.0);
+    }
+    Message projected = fory.deserializeProjection(bytes, Message.class, "inner", "tags");
+    assertEquals(projected.inner.value, "inner");
+    assertEquals(projected.tags, message.tags);
+    assertNull(projected.routingKey);
+    Message full = fory.deserialize(bytes, Message.class);
+    assertEquals(full.payload, message.payload);
+    assertEquals(full.attributes, message.attributes);
+  }
+
+  @Test(dataProvider = "enableCodegen")
+  public void testProjectionConsumesWholeObject(boolean codegen) {
+    Fory fory = compatibleFory(codegen);
+    MemoryBuffer buffer = MemoryBuffer.newHeapBuffer(64);
+    Message message = Message.create();
+    fory.serialize(buffer, message);
+    message.routingKey = "orders.us";
+    fory.serialize(buffer, message);
+    assertEquals(
+        fory.deserializeProjection(buffer, Message.class, "routingKey").routingKey, "orders.eu");
+    Message second = fory.deserialize(buffer, Message.class);
+    assertEquals(second.routingKey, "orders.us");
+    assertEquals(second.payload, message.payload);
+    assertEquals(buffer.readerIndex(), buffer.writerIndex());
+  }
+
+  @Test
+  public void testProjectionFromEvolvedSchema() {
+    Fory fory = compatibleFory(false);
+    byte[] bytes = fory.serialize(Message.create());
+    Fory fory2 = compatibleFory(false);
+    Message projected = fory2.deserializeProjection(bytes, Message.class, "score");
+    assertEquals(projected.score, 0.5);
+    assertNull(projected.payload);
+  }
+
+  @Test
+  public void testProjectionCacheIsBounded() {
+    Fory fory = compatibleFory(false);
+    byte[] bytes = fory.serialize(Message.create());
+    fory.deserializeProjection(bytes, Message.class, "routingKey", "timestamp");
+    fory.deserializeProjection(bytes, Message.class, "timestamp", "routingKey");
+    Map<?, Map<?, ?>> cache = projectionCache(fory);
+    assertEquals(cache.size(), 1);
+    // Field order doesn't create another projection.
+    assertEquals(cache.values().iterator().next().size(), 1);
+    String[] names = {
+      "id", "routingKey", "timestamp", "payload", "nullablePayload", "tags", "attributes", "inner"
+    };
+    for (int mask = 1; mask < 1 << names.length; mask++) {
+      List<String> fields = new ArrayList<>();
+      for (int i = 0; i < names.length; i++) {
+        if ((mask & (1 << i)) != 0) {
+          fields.add(names[i]);
+        }
+      }
+      Message projected =
+          fory.deserializeProjection(bytes, Message.class, fields.toArray(new String[0]));
+      assertEquals(projected.routingKey, (mask & 2) != 0 ? "orders.eu" : null);
+    }
+    assertTrue(cache.values().iterator().next().size() <= 64);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Map<?, Map<?, ?>> projectionCache(Fory fory) {
+    Object extRegistry = ReflectionUtils.getObjectFieldValue(fory.getTypeResolver(), "extRegistry");
+    Object cache = ReflectionUtils.getObjectFieldValue(extRegistry, "projectedTypeInfo");
+    return (Map<?, Map<?, ?>>) cache;
+  }
+
+  @Test
+  public void testInvalidProjection() {
+    Fory fory = compatibleFory(false);
+    byte[] bytes = fory.serialize(Message.create());
+    assertThrows(
+        ForyException.class, () -> fory.deserializeProjection(bytes, Message.class, "missing"));
+    Fory schemaConsistent = builder().requireClassRegistration(false).withCodegen(false).build();
+    byte[] bytes2 = schemaConsistent.serialize(Message.create());
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> schemaConsistent.deserializeProjection(bytes2, Message.class, "id"));
+  }
+}
@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.fory.serializer;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.apache.fory.Fory;
+import org.apache.fory.ForyTestBase;
+import org.apache.fory.context.MetaReadContext;
+import org.apache.fory.context.MetaWriteContext;
+import org.apache.fory.exception.DeserializationException;
+import org.apache.fory.util.StringUtils;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class StringDictionaryTest extends ForyTestBase {
+
+  public static class Event {
+    public String tenant;
+    public String type;
+    public String payload;
+    public List<String> tags;
+    public StringBuilder note;
+  }
+
+  private static Event event(String tenant, String type, String payload) {
+    Event event = new Event();
+    event.tenant = tenant;
+    event.type = type;
+    event.payload = payload;
+    event.tags = new ArrayList<>(Arrays.asList(type, tenant, "tag"));
+    event.note = new StringBuilder(type);
+    return event;
+  }
+
+  private static Fory fory(boolean codegen, boolean scoped, int dictionarySize) {
+    return builder()
+        .withCodegen(codegen)
+        .withXlang(false)
+        .withCompatible(true)
+        .withMetaShare(true)
+        .withScopedMetaShare(scoped)
+        .withStringDictionary(dictionarySize)
+        .requireClassRegistration(false)
+        .build();
+  }
+
+  private static void assertEvent(Event event, Event expected) {
+    assertEquals(event.tenant, expected.tenant);
+    assertEquals(event.type, expected.type);
+    assertEquals(event.payload, expected.payload);
+    assertEquals(event.tags, expected.tags);
+    assertEquals(event.note.toString(), expected.note.toString());
+  }
+
+  @Test(dataProvider = "enableCodegen")
+  public void testSession(boolean codegen) {
+    Fory writer = fory(codegen, false, 2);
+    Fory reader = fory(codegen, false, 2);
+    MetaWriteContext writeContext = new MetaWriteContext();
+    MetaReadContext readContext = new MetaReadContext();
+    String longString = StringUtils.random(StringSerializer.MAX_DICTIONARY_STRING_LENGTH + 1, 7);
+    // Distinct payloads keep evicting the least recently used dictionary strings.
+    Event[] events = {
+      event("tenant-a", "click", "p1"),
+      event("tenant-a", "click", "p2"),
+      event("tenant-b", "view", longString),
+      event("tenant-a", "click", "p3"),
+      event("tenant-a", "click", "p4"),
+    };
+    List<byte[]> payloads = new ArrayList<>();
+    for (Event event : events) {
+      writer.setMetaWriteContext(writeContext);
+      payloads.add(writer.serialize(event));
+    }
+    assertTrue(payloads.get(1).length < payloads.get(0).length);
+    for (int i = 0; i < events.length; i++) {
+      reader.setMetaReadContext(readContext);
+      assertEvent((Event) reader.deserialize(payloads.get(i)), events[i]);
+    }
+  }
+
+  @Test(dataProvider = "enableCodegen")
+  public void testScoped(boolean codegen) {
+    List<Event> events = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      events.add(event("tenant-" + (i % 3), "type-" + (i % 2), "payload" + i));
+    }
+    Fory fory = fory(codegen, true, 16);
+    byte[] bytes = fory.serialize(events);
+    assertTrue(bytes.length < fory(codegen, true, 0).serialize(events).length);
+    for (int i = 0; i < 2; i++) {
+      @SuppressWarnings("unchecked")
+      List<Event> newEvents = (List<Event>) fory.deserialize(bytes);
+      for (int j = 0; j < events.size(); j++) {
+        assertEvent(newEvents.get(j), events.get(j));
+      }
+    }
+  }
+
+  @Test
+  public void testUnknownId() {
+    Fory writer = fory(false, false, 4);
+    Fory reader = fory(false, false, 4);
+    writer.setMetaWriteContext(new MetaWriteContext());
+    byte[] bytes = writer.serialize("abc");
+    MetaWriteContext writeContext = new MetaWriteContext();
+    writer.setMetaWriteContext(writeContext);
+    writer.serialize("abc");
+    writer.setMetaWriteContext(writeContext);
+    byte[] refBytes = writer.serialize("abc");
+    reader.setMetaReadContext(new MetaReadContext());
+    assertEquals(reader.deserialize(bytes), "abc");
+    reader.setMetaReadContext(new MetaReadContext());
+    Assert.assertThrows(DeserializationException.class, () -> reader.deserialize(refBytes));
+  }
+}
@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.fory.format.encoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.fory.format.row.binary.BinaryRow;
+import org.apache.fory.format.row.binary.writer.BinaryRowWriter;
+import org.apache.fory.format.type.Field;
+import org.apache.fory.format.type.Schema;
+import org.apache.fory.format.vectorized.ArrowRow;
+
+/**
+ * Decoder which reads java beans from the vectors of an arrow {@link VectorSchemaRoot}, such as a
+ * record batch written by {@link ArrowBatchEncoder} or by another language. Vectors are matched to
+ * bean fields by name.
+ *
+ * <p>Create decoders by {@link RowCodecBuilder#buildArrowDecoder()}. The decoder doesn't own the
+ * root and never closes it. Use {@link #row(int)} to filter rows by lazily read values before
+ * reading them as beans. Decoders are not thread-safe.
+ */
+public class ArrowBatchDecoder<T> {
+  private final Schema schema;
+  private final VectorSchemaRoot root;
+  private final FieldVector[] vectors;
+  private final GeneratedArrowEncoder codec;
+  private final BinaryRowWriter rowWriter;
+  private final ArrowRow stagedRow;
+
+  /**
+   * @param vectors vectors of <code>root</code> in the order of <code>schema</code> fields.
+   * @param directFields whether a field is read from its vector by <code>codec</code>, vectors of
+   *     fields which aren't are copied to a row by <code>rowWriter</code> for <code>codec</code>.
+   */
+  ArrowBatchDecoder(
+      Schema schema,
+      VectorSchemaRoot root,
+      FieldVector[] vectors,
+      boolean[] directFields,
+      GeneratedArrowEncoder codec,
+      BinaryRowWriter rowWriter) {
+    this.schema = schema;
+    this.root = root;
+    this.vectors = vectors;
+    this.codec = codec;
+    this.rowWriter = rowWriter;
+    List<FieldVector> rowVectors = new ArrayList<>();
+    for (int i = 0; i < directFields.length; i++) {
+      if (!directFields[i]) {
+        rowVectors.add(vectors[i]);
+      }
+    }
+    this.stagedRow =
+        rowVectors.isEmpty()
+            ? null
+            : new ArrowRow(rowWriter.getSchema(), rowVectors.toArray(new FieldVector[0]));
+  }
+
+  /** Returns vectors of <code>root</code> which hold fields of <code>schema</code> in order. */
+  static FieldVector[] vectors(VectorSchemaRoot root, Schema schema) {
+    FieldVector[] vectors = new FieldVector[schema.numFields()];
+    for (int i = 0; i < vectors.length; i++) {
+      Field field = schema.field(i);
+      FieldVector vector = root.getVector(field.name());
+      if (vector == null) {
+        throw new EncoderException(
+            "Vector of field " + field.name() + " doesn't exist in " + root.getSchema());
+      }
+      vectors[i] = vector;
+    }
+    return vectors;
+  }
+
+  public Schema schema() {
+    return schema;
+  }
+
+  public VectorSchemaRoot root() {
+    return root;
+  }
+
+  public int rowCount() {
+    return root.getRowCount();
+  }
+
+  /** Read the row at <code>rowIndex</code> as a java bean. */
+  @SuppressWarnings("unchecked")
+  public T read(int rowIndex) {
+    checkRowIndex(rowIndex);
+    BinaryRow row = null;
+    if (stagedRow != null) {
+      stagedRow.pointTo(rowIndex);
+      rowWriter.getBuffer().writerIndex(0);
+      rowWriter.reset();
+      stagedRow.copyTo(rowWriter);
+      // Collections may be read from the row lazily, so the row can't share the writer buffer.
+      row = rowWriter.copyToRow();
+    }
+    return (T) codec.read(rowIndex, row);
+  }
+
+  /** Read all rows of the root as java beans. */
+  public List<T> readAll() {
+    int rowCount = rowCount();
+    List<T> objs = new ArrayList<>(rowCount);
+    for (int i = 0; i < rowCount; i++) {
+      objs.add(read(i));
+    }
+    return objs;
+  }
+
+  /**
+   * Returns a {@link ArrowRow} view which points at <code>rowIndex</code>, values are read from the
+   * vectors only when accessed. The view can be moved to other rows by {@link
+   * ArrowRow#pointTo(int)}.
+   */
+  public ArrowRow row(int rowIndex) {
+    checkRowIndex(rowIndex);
+    ArrowRow row = new ArrowRow(schema, vectors);
+    row.pointTo(rowIndex);
+    return row;
+  }
+
+  private void checkRowIndex(int rowIndex) {
+    if (rowIndex < 0 || rowIndex >= root.getRowCount()) {
+      throw new IndexOutOfBoundsException(
+          "Row index " + rowIndex + " out of bounds for row count " + root.getRowCount());
+    }
+  }
+}
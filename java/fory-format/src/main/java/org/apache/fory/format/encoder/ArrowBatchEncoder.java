@@ -0,0 +1,155 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.fory.format.encoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.VectorUnloader;
+import org.apache.arrow.vector.ipc.message.ArrowRecordBatch;
+import org.apache.fory.format.row.binary.writer.BaseBinaryRowWriter;
+import org.apache.fory.format.type.Schema;
+import org.apache.fory.format.vectorized.ArrowWriter;
+
+/**
+ * Encoder which appends java beans to the vectors of an arrow {@link VectorSchemaRoot} batch by
+ * batch, without encoding every bean as a {@link org.apache.fory.format.row.binary.BinaryRow} and
+ * copying the row to vectors afterwards.
+ *
+ * <p>Create encoders by {@link RowCodecBuilder#buildArrowEncoder()}. The encoder owns its vectors,
+ * call {@link #reset()} to reuse them for the next batch and {@link #close()} to release them.
+ * Encoders are not thread-safe.
+ */
+public class ArrowBatchEncoder<T> implements AutoCloseable {
+  private final Schema schema;
+  private final VectorSchemaRoot root;
+  private final VectorUnloader unloader;
+  private final GeneratedArrowEncoder codec;
+  private final FieldVector[] directVectors;
+  private final BaseBinaryRowWriter rowWriter;
+  private final ArrowWriter rowArrowWriter;
+  private int rowCount;
+
+  /**
+   * @param directFields whether a field is appended to its vector by <code>codec</code>, fields
+   *     which aren't are written by <code>codec</code> to <code>rowWriter</code> in order.
+   */
+  ArrowBatchEncoder(
+      Schema schema,
+      VectorSchemaRoot root,
+      boolean[] directFields,
+      GeneratedArrowEncoder codec,
+      BaseBinaryRowWriter rowWriter) {
+    this.schema = schema;
+    this.root = root;
+    this.unloader = new VectorUnloader(root);
+    this.codec = codec;
+    this.rowWriter = rowWriter;
+    List<FieldVector> directVectors = new ArrayList<>();
+    List<FieldVector> rowVectors = new ArrayList<>();
+    for (int i = 0; i < directFields.length; i++) {
+      FieldVector vector = root.getVector(i);
+      if (directFields[i]) {
+        vector.allocateNew();
+        directVectors.add(vector);
+      } else {
+        rowVectors.add(vector);
+      }
+    }
+    this.directVectors = directVectors.toArray(new FieldVector[0]);
+    // The vectors are owned by `root`, the view root is never closed.
+    this.rowArrowWriter =
+        rowVectors.isEmpty() ? null : new ArrowWriter(new VectorSchemaRoot(rowVectors));
+  }
+
+  public Schema schema() {
+    return schema;
+  }
+
+  /** Returns the root which holds vectors of this encoder. */
+  public VectorSchemaRoot root() {
+    return root;
+  }
+
+  /** Returns the number of beans written since the last {@link #reset()}. */
+  public int rowCount() {
+    return rowCount;
+  }
+
+  /** Append <code>obj</code> as the next row of current batch. */
+  public void write(T obj) {
+    if (rowWriter != null) {
+      rowWriter.getBuffer().writerIndex(0);
+      rowWriter.reset();
+    }
+    codec.write(obj, rowCount);
+    if (rowArrowWriter != null) {
+      rowArrowWriter.write(rowWriter.getRow());
+    }
+    rowCount++;
+  }
+
+  /** Append all <code>objs</code> to current batch. */
+  public void writeAll(Iterable<? extends T> objs) {
+    for (T obj : objs) {
+      write(obj);
+    }
+  }
+
+  /** Finish current batch and returns the root which holds the written rows. */
+  public VectorSchemaRoot finish() {
+    setValueCount();
+    return root;
+  }
+
+  /** Finish current batch and unload the written rows as a record batch. */
+  public ArrowRecordBatch finishAsRecordBatch() {
+    setValueCount();
+    return unloader.getRecordBatch();
+  }
+
+  /** Reset vectors to start a new batch, the allocated memory is reused. */
+  public void reset() {
+    for (FieldVector vector : directVectors) {
+      vector.reset();
+    }
+    if (rowArrowWriter != null) {
+      rowArrowWriter.reset();
+    }
+    root.setRowCount(0);
+    rowCount = 0;
+  }
+
+  @Override
+  public void close() {
+    root.close();
+  }
+
+  private void setValueCount() {
+    for (FieldVector vector : directVectors) {
+      vector.setValueCount(rowCount);
+    }
+    if (rowArrowWriter != null) {
+      rowArrowWriter.finish();
+    }
+    root.setRowCount(rowCount);
+  }
+}
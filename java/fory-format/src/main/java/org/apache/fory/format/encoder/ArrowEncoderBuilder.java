@@ -0,0 +1,520 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.fory.format.encoder;
+
+import static org.apache.fory.type.TypeUtils.CLASS_TYPE;
+import static org.apache.fory.type.TypeUtils.getRawType;
+
+import java.lang.reflect.Modifier;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.DateDayVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.Float4Vector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.SmallIntVector;
+import org.apache.arrow.vector.TimeStampVector;
+import org.apache.arrow.vector.TinyIntVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.fory.Fory;
+import org.apache.fory.codegen.CodeGenerator;
+import org.apache.fory.codegen.CodegenContext;
+import org.apache.fory.codegen.Expression;
+import org.apache.fory.codegen.Expression.Literal;
+import org.apache.fory.codegen.Expression.Reference;
+import org.apache.fory.codegen.ExpressionUtils;
+import org.apache.fory.format.row.binary.BinaryRow;
+import org.apache.fory.format.row.binary.BinaryUtils;
+import org.apache.fory.format.type.CustomTypeEncoderRegistry;
+import org.apache.fory.format.type.CustomTypeHandler;
+import org.apache.fory.format.type.DataTypes;
+import org.apache.fory.format.type.Field;
+import org.apache.fory.format.type.Schema;
+import org.apache.fory.format.type.TypeInference;
+import org.apache.fory.logging.Logger;
+import org.apache.fory.logging.LoggerFactory;
+import org.apache.fory.platform.GraalvmSupport;
+import org.apache.fory.reflect.TypeRef;
+import org.apache.fory.type.Descriptor;
+import org.apache.fory.type.TypeUtils;
+import org.apache.fory.util.DateTimeUtils;
+import org.apache.fory.util.Preconditions;
+import org.apache.fory.util.StringUtils;
+import org.apache.fory.util.record.RecordUtils;
+
+/**
+ * Expression builder for building jit arrow encoder class, which appends java bean fields to the
+ * vectors of an arrow {@link org.apache.arrow.vector.VectorSchemaRoot} without encoding a row
+ * first, and reads java beans back from the vectors.
+ *
+ * <p>Fields of primitive, boxed, string, enum and date/time types are written to and read from
+ * their vectors by generated code directly. Other fields such as collections, maps, nested beans
+ * and fields handled by a custom codec are written to a row of the remaining fields, see {@link
+ * #stagedSchema}, which is appended to the vectors of those fields by an {@link
+ * org.apache.fory.format.vectorized.ArrowWriter}. When reading, those vectors are copied to such a
+ * row by {@link org.apache.fory.format.vectorized.ArrowRow#copyTo} first.
+ */
+@SuppressWarnings("UnstableApiUsage")
+class ArrowEncoderBuilder extends BaseBinaryEncoderBuilder {
+  private static final Logger LOG = LoggerFactory.getLogger(ArrowEncoderBuilder.class);
+  static final String SCHEMA_NAME = "schema";
+  static final String ROW_WRITER_NAME = "rowWriter";
+  static final String VECTORS_NAME = "vectors";
+  static final String ROW_INDEX_NAME = "rowIndex";
+  static final String ROW_NAME = "row";
+  // Nested beans are written by row codecs, so keep the row codec suffix and prefix arrow codecs.
+  static final String CODEC_PREFIX = "Arrow";
+  private static final String BEAN_CLASS_NAME = "beanClass";
+  private static final Map<Class<?>, Class<?>> VECTOR_TYPES = new HashMap<>();
+
+  static {
+    VECTOR_TYPES.put(boolean.class, BitVector.class);
+    VECTOR_TYPES.put(Boolean.class, BitVector.class);
+    VECTOR_TYPES.put(byte.class, TinyIntVector.class);
+    VECTOR_TYPES.put(Byte.class, TinyIntVector.class);
+    VECTOR_TYPES.put(short.class, SmallIntVector.class);
+    VECTOR_TYPES.put(Short.class, SmallIntVector.class);
+    VECTOR_TYPES.put(int.class, IntVector.class);
+    VECTOR_TYPES.put(Integer.class, IntVector.class);
+    VECTOR_TYPES.put(long.class, BigIntVector.class);
+    VECTOR_TYPES.put(Long.class, BigIntVector.class);
+    VECTOR_TYPES.put(float.class, Float4Vector.class);
+    VECTOR_TYPES.put(Float.class, Float4Vector.class);
+    VECTOR_TYPES.put(double.class, Float8Vector.class);
+    VECTOR_TYPES.put(Double.class, Float8Vector.class);
+    VECTOR_TYPES.put(String.class, VarCharVector.class);
+    VECTOR_TYPES.put(java.time.LocalDate.class, DateDayVector.class);
+    VECTOR_TYPES.put(java.sql.Date.class, DateDayVector.class);
+    VECTOR_TYPES.put(java.sql.Timestamp.class, TimeStampVector.class);
+    VECTOR_TYPES.put(java.time.Instant.class, TimeStampVector.class);
+  }
+
+  private final String className;
+  private final Schema schema;
+  private final Descriptor[] descriptors;
+  private final boolean[] directFields;
+  private final Schema stagedSchema;
+  private final Reference beanClassRef = new Reference(BEAN_CLASS_NAME, CLASS_TYPE);
+
+  ArrowEncoderBuilder(TypeRef<?> beanType) {
+    super(new CodegenContext(), beanType);
+    Preconditions.checkArgument(beanClass.isInterface() || TypeUtils.isBean(beanType, typeCtx));
+    className = codecClassName(beanClass, CODEC_PREFIX);
+    schema = TypeInference.inferSchema(beanClass);
+    descriptors = descriptors(beanClass, schema);
+    directFields = directFields(beanClass, schema);
+    stagedSchema = stagedSchema(beanClass, schema);
+    ctx.reserveName(SCHEMA_NAME);
+    ctx.reserveName(ROW_WRITER_NAME);
+    ctx.reserveName(VECTORS_NAME);
+    ctx.reserveName(ROW_INDEX_NAME);
+    ctx.reserveName(ROW_NAME);
+    ctx.reserveName(BEAN_CLASS_NAME);
+    Expression clsExpr;
+    if (Modifier.isPublic(beanClass.getModifiers())) {
+      clsExpr = Literal.ofClass(beanClass);
+    } else {
+      // non-public class is not accessible in other class.
+      clsExpr =
+          new Expression.StaticInvoke(
+              Class.class, "forName", CLASS_TYPE, false, Literal.ofString(beanClass.getName()));
+    }
+    ctx.addField(Class.class, BEAN_CLASS_NAME, clsExpr);
+    ctx.addImports(Field.class, Schema.class, FieldVector.class);
+  }
+
+  @Override
+  protected boolean fieldNullable(Descriptor descriptor) {
+    return descriptor.isNullable();
+  }
+
+  @Override
+  public String genCode() {
+    ctx.setPackage(CodeGenerator.getPackage(beanClass));
+    ctx.setClassName(className);
+    // don't addImport(beanClass), because user class may name collide.
+    ctx.implementsInterfaces(ctx.type(GeneratedArrowEncoder.class));
+    String rowWriterType = ctx.type(rowWriterType());
+    StringBuilder constructorCode =
+        new StringBuilder(
+            StringUtils.format(
+                "${schema} = (${schemaType})${references}[0];\n"
+                    + "${rowWriter} = (${rowWriterType})${references}[1];\n"
+                    + "${fory} = (${foryType})${references}[2];\n"
+                    + "${vectorsType} ${vectors} = (${vectorsType})${references}[3];\n",
+                "references",
+                REFERENCES_NAME,
+                "schema",
+                SCHEMA_NAME,
+                "schemaType",
+                ctx.type(Schema.class),
+                "rowWriter",
+                ROW_WRITER_NAME,
+                "rowWriterType",
+                rowWriterType,
+                "fory",
+                FORY_NAME,
+                "foryType",
+                ctx.type(Fory.class),
+                "vectors",
+                VECTORS_NAME,
+                "vectorsType",
+                ctx.type(FieldVector[].class)));
+    ctx.addField(ctx.type(Schema.class), SCHEMA_NAME);
+    ctx.addField(rowWriterType, ROW_WRITER_NAME);
+    ctx.addField(ctx.type(Fory.class), FORY_NAME);
+    for (int i = 0; i < directFields.length; i++) {
+      if (directFields[i]) {
+        String vectorType = ctx.type(vectorType(descriptors[i].getRawType()));
+        ctx.addField(vectorType, vectorName(i));
+        constructorCode.append(
+            StringUtils.format(
+                "${vector} = (${vectorType})${vectors}[${index}];\n",
+                "vector",
+                vectorName(i),
+                "vectorType",
+                vectorType,
+                "vectors",
+                VECTORS_NAME,
+                "index",
+                i));
+      }
+    }
+
+    Expression encodeExpr = buildEncodeExpression();
+    String encodeCode = encodeExpr.genCode(ctx).code();
+    ctx.overrideMethod(
+        "write", encodeCode, void.class, Object.class, ROOT_OBJECT_NAME, int.class, ROW_INDEX_NAME);
+    String decodeCode;
+    if (beanClass.isInterface()) {
+      decodeCode =
+          "throw new UnsupportedOperationException(\"Can't read interface "
+              + beanClass.getName()
+              + "\");";
+    } else {
+      // Bean codecs of nested fields are added when building encode expression.
+      decodeCode = buildDecodeExpression().genCode(ctx).code();
+    }
+    ctx.overrideMethod(
+        "read",
+        decodeCode,
+        Object.class,
+        int.class,
+        ROW_INDEX_NAME,
+        BinaryRow.class,
+        ROW_NAME);
+    ctx.addConstructor(constructorCode.toString(), Object[].class, REFERENCES_NAME);
+
+    long startTime = System.nanoTime();
+    String code = ctx.genCode();
+    long durationMs = (System.nanoTime() - startTime) / 1000;
+    LOG.info("Generate arrow codec for class {} take {} us", beanClass, durationMs);
+    return code;
+  }
+
+  /**
+   * Returns an expression that appends java bean of type {@link #beanClass} to the vectors at
+   * <code>rowIndex</code>.
+   */
+  @Override
+  public Expression buildEncodeExpression() {
+    Reference inputObject = new Reference(ROOT_OBJECT_NAME, TypeUtils.OBJECT_TYPE, false);
+    Expression bean = tryCastIfPublic(inputObject, beanType);
+    Reference rowIndex = new Reference(ROW_INDEX_NAME, TypeUtils.PRIMITIVE_INT_TYPE, false);
+    Reference writer = new Reference(ROW_WRITER_NAME, rowWriterType(), false);
+    Reference schemaExpr = new Reference(SCHEMA_NAME, schemaTypeToken, false);
+
+    Expression.ListExpression expressions = new Expression.ListExpression();
+    int stagedOrdinal = 0;
+    for (int i = 0; i < descriptors.length; i++) {
+      Descriptor d = descriptors[i];
+      Expression fieldValue = getFieldValue(bean, d);
+      if (directFields[i]) {
+        Reference vector = new Reference(vectorName(i), TypeRef.of(vectorType(d.getRawType())));
+        expressions.add(appendValue(vector, rowIndex, fieldValue, d.getRawType()));
+      } else {
+        Literal ordinal = Literal.ofInt(stagedOrdinal);
+        Expression.StaticInvoke foryField =
+            new Expression.StaticInvoke(
+                DataTypes.class, "fieldOfSchema", FORY_FIELD_TYPE, false, schemaExpr, ordinal);
+        expressions.add(
+            serializeFor(
+                ordinal,
+                fieldValue,
+                writer,
+                d.getTypeRef(),
+                stagedSchema.field(stagedOrdinal),
+                foryField,
+                new HashSet<>()));
+        stagedOrdinal++;
+      }
+    }
+    return expressions;
+  }
+
+  /**
+   * Returns an expression that reads java bean of type {@link #beanClass} at <code>rowIndex</code>
+   * of the vectors. Fields which aren't read from vectors directly are read from <code>row</code>
+   * of {@link #stagedSchema}.
+   */
+  @Override
+  public Expression buildDecodeExpression() {
+    Reference rowIndex = new Reference(ROW_INDEX_NAME, TypeUtils.PRIMITIVE_INT_TYPE, false);
+    Reference row = new Reference(ROW_NAME, binaryRowTypeToken, false);
+
+    addDecoderMethods();
+
+    Expression.ListExpression expressions = new Expression.ListExpression();
+    List<String> fieldNames = new ArrayList<>(descriptors.length);
+    Expression[] values = new Expression[descriptors.length];
+    int stagedOrdinal = 0;
+    for (int i = 0; i < descriptors.length; i++) {
+      Descriptor d = descriptors[i];
+      fieldNames.add(d.getName());
+      TypeRef<?> fieldType = d.getTypeRef();
+      Expression.Variable value =
+          new Expression.Variable("value_" + d.getName(), RowEncoderBuilder.nullValue(fieldType));
+      values[i] = value;
+      expressions.add(value);
+      Expression isNull;
+      if (directFields[i]) {
+        Reference vector = new Reference(vectorName(i), TypeRef.of(vectorType(d.getRawType())));
+        isNull =
+            new Expression.Invoke(
+                vector,
+                "isNull",
+                "f" + i + "_" + d.getName() + "IsNull",
+                TypeUtils.PRIMITIVE_BOOLEAN_TYPE,
+                false,
+                rowIndex);
+      } else {
+        isNull =
+            new Expression.Invoke(
+                row,
+                "isNullAt",
+                "f" + i + "_" + d.getName() + "IsNull",
+                TypeUtils.PRIMITIVE_BOOLEAN_TYPE,
+                false,
+                Literal.ofInt(stagedOrdinal++));
+      }
+      Expression decode =
+          new Expression.If(
+              ExpressionUtils.not(isNull),
+              new Expression.Assign(
+                  value,
+                  new Expression.Reference(
+                      decodeMethodName(i) + "(" + ROW_INDEX_NAME + ", " + ROW_NAME + ")",
+                      fieldType)));
+      expressions.add(decode);
+    }
+    Expression bean;
+    if (RecordUtils.isRecord(beanClass)) {
+      int[] map = RecordUtils.buildRecordComponentMapping(beanClass, fieldNames);
+      Expression[] args = new Expression[values.length];
+      for (int i = 0; i < values.length; i++) {
+        args[i] = values[map[i]];
+      }
+      bean = new Expression.NewInstance(beanType, beanType.getRawType().getName(), args);
+    } else {
+      bean = newBean();
+      expressions.add(bean);
+      for (int i = 0; i < values.length; i++) {
+        expressions.add(setFieldValue(bean, descriptors[i], values[i]));
+      }
+    }
+    expressions.add(new Expression.Return(bean));
+    return expressions;
+  }
+
+  private void addDecoderMethods() {
+    Reference rowIndex = new Reference(ROW_INDEX_NAME, TypeUtils.PRIMITIVE_INT_TYPE, false);
+    Reference row = new Reference(ROW_NAME, binaryRowTypeToken, false);
+    int stagedOrdinal = 0;
+    for (int i = 0; i < descriptors.length; i++) {
+      Descriptor d = descriptors[i];
+      TypeRef<?> fieldType = d.getTypeRef();
+      Expression columnValue;
+      if (directFields[i]) {
+        Reference vector = new Reference(vectorName(i), TypeRef.of(vectorType(d.getRawType())));
+        columnValue = vectorValue(vector, rowIndex, d.getRawType());
+      } else {
+        TypeRef<?> columnAccessType = columnAccessType(fieldType);
+        TypeRef<?> colType = BinaryUtils.getElemReturnType(columnAccessType, typeCtx);
+        columnValue =
+            new Expression.Invoke(
+                row,
+                BinaryUtils.getElemAccessMethodName(columnAccessType, typeCtx),
+                ctx.newName(getRawType(colType)),
+                colType,
+                false,
+                Literal.ofInt(stagedOrdinal++));
+      }
+      Expression value =
+          new Expression.Return(deserializeFor(columnValue, fieldType, typeCtx, new HashSet<>()));
+      ctx.addMethod(
+          decodeMethodName(i),
+          value.doGenCode(ctx).code(),
+          fieldType.getRawType(),
+          int.class,
+          ROW_INDEX_NAME,
+          BinaryRow.class,
+          ROW_NAME);
+    }
+  }
+
+  /** Returns an expression which reads the value of <code>vector</code> at a row index. */
+  private static Expression vectorValue(Reference vector, Expression rowIndex, Class<?> rawType) {
+    if (rawType == boolean.class || rawType == Boolean.class) {
+      Expression bit =
+          new Expression.Invoke(vector, "get", TypeUtils.PRIMITIVE_INT_TYPE, false, rowIndex);
+      return ExpressionUtils.eq(bit, Literal.ofInt(1), "bool");
+    } else if (rawType == String.class || rawType.isEnum()) {
+      Expression bytes = new Expression.Invoke(vector, "get", TypeUtils.BINARY_TYPE, rowIndex);
+      Reference utf8 =
+          new Reference("java.nio.charset.StandardCharsets.UTF_8", TypeRef.of(Charset.class));
+      return new Expression.NewInstance(TypeUtils.STRING_TYPE, bytes, utf8);
+    } else {
+      Class<?> valueType = TypeUtils.isBoxed(rawType) ? TypeUtils.unwrap(rawType) : rawType;
+      if (rawType == java.time.LocalDate.class || rawType == java.sql.Date.class) {
+        valueType = int.class;
+      } else if (rawType == java.sql.Timestamp.class || rawType == java.time.Instant.class) {
+        valueType = long.class;
+      }
+      return new Expression.Invoke(vector, "get", TypeRef.of(valueType), false, rowIndex);
+    }
+  }
+
+  private static String decodeMethodName(int ordinal) {
+    return "decode" + ordinal;
+  }
+
+  private Expression appendValue(
+      Reference vector, Expression rowIndex, Expression value, Class<?> rawType) {
+    Expression vectorValue;
+    if (TypeUtils.isBoxed(rawType)) {
+      Class<?> primitiveType = TypeUtils.unwrap(rawType);
+      String unboxMethod = primitiveType.getName() + "Value";
+      vectorValue = new Expression.Invoke(value, unboxMethod, TypeRef.of(primitiveType));
+    } else {
+      vectorValue = value;
+    }
+    if (rawType == boolean.class || rawType == Boolean.class) {
+      vectorValue =
+          new Expression.If(
+              vectorValue,
+              Literal.ofInt(1),
+              Literal.ofInt(0),
+              false,
+              TypeUtils.PRIMITIVE_INT_TYPE);
+    } else if (rawType == String.class || rawType.isEnum()) {
+      if (rawType.isEnum()) {
+        vectorValue = new Expression.Invoke(value, "name", TypeUtils.STRING_TYPE);
+      }
+      Reference utf8 =
+          new Reference("java.nio.charset.StandardCharsets.UTF_8", TypeRef.of(Charset.class));
+      vectorValue =
+          new Expression.Invoke(
+              vectorValue, "getBytes", "", TypeUtils.BINARY_TYPE, false, false, utf8);
+    } else if (rawType == java.time.LocalDate.class) {
+      vectorValue = dateTimeValue("localDateToDays", TypeUtils.PRIMITIVE_INT_TYPE, value);
+    } else if (rawType == java.sql.Date.class) {
+      vectorValue = dateTimeValue("fromJavaDate", TypeUtils.PRIMITIVE_INT_TYPE, value);
+    } else if (rawType == java.sql.Timestamp.class) {
+      vectorValue = dateTimeValue("fromJavaTimestamp", TypeUtils.PRIMITIVE_LONG_TYPE, value);
+    } else if (rawType == java.time.Instant.class) {
+      vectorValue = dateTimeValue("instantToMicros", TypeUtils.PRIMITIVE_LONG_TYPE, value);
+    }
+    Expression setValue = new Expression.Invoke(vector, "setSafe", rowIndex, vectorValue);
+    if (rawType.isPrimitive()) {
+      return setValue;
+    }
+    return new Expression.If(
+        new Expression.IsNull(value), new Expression.Invoke(vector, "setNull", rowIndex), setValue);
+  }
+
+  private static Expression dateTimeValue(String method, TypeRef<?> type, Expression value) {
+    return new Expression.StaticInvoke(DateTimeUtils.class, method, type, false, value);
+  }
+
+  private static String vectorName(int ordinal) {
+    return "vector" + ordinal;
+  }
+
+  private static Class<?> vectorType(Class<?> rawType) {
+    return rawType.isEnum() ? VarCharVector.class : VECTOR_TYPES.get(rawType);
+  }
+
+  /** Returns the descriptors of java bean fields in the order of <code>schema</code> fields. */
+  static Descriptor[] descriptors(Class<?> beanClass, Schema schema) {
+    SortedMap<String, Descriptor> descriptorsMap = Descriptor.getDescriptorsMap(beanClass);
+    Descriptor[] descriptors = new Descriptor[schema.numFields()];
+    // schema field's name must correspond to descriptor's name.
+    for (int i = 0; i < descriptors.length; i++) {
+      String name = StringUtils.lowerUnderscoreToLowerCamelCase(schema.field(i).name());
+      descriptors[i] = Preconditions.checkNotNull(descriptorsMap.get(name));
+    }
+    return descriptors;
+  }
+
+  /**
+   * Returns whether each field of <code>schema</code> is appended to its vector by generated code
+   * directly.
+   */
+  static boolean[] directFields(Class<?> beanClass, Schema schema) {
+    CustomTypeHandler typeHandler = CustomTypeEncoderRegistry.customTypeHandler();
+    Descriptor[] descriptors = descriptors(beanClass, schema);
+    boolean[] directFields = new boolean[descriptors.length];
+    for (int i = 0; i < descriptors.length; i++) {
+      Class<?> rawType = descriptors[i].getRawType();
+      directFields[i] =
+          vectorType(rawType) != null
+              && typeHandler.replacementTypeFor(beanClass, rawType) == null;
+    }
+    return directFields;
+  }
+
+  /** Returns the schema of fields which are written as a row before appended to vectors. */
+  static Schema stagedSchema(Class<?> beanClass, Schema schema) {
+    boolean[] directFields = directFields(beanClass, schema);
+    List<Field> fields = new ArrayList<>();
+    for (int i = 0; i < directFields.length; i++) {
+      if (!directFields[i]) {
+        fields.add(schema.field(i));
+      }
+    }
+    return DataTypes.schema(fields);
+  }
+
+  @Override
+  protected Expression beanClassExpr() {
+    if (GraalvmSupport.isGraalBuildTime()) {
+      return staticBeanClassExpr();
+    }
+    return beanClassRef;
+  }
+}
@@ -635,6 +635,27 @@ public abstract class BaseBinaryEncoderBuilder extends CodecBuilder {
         new Expression.IsNull(inputObject), new Invoke(writer, "setNullAt", ordinal), action);
   }
 
+  /**
+   * Returns the type which the row column of a {@link #beanClass} field of <code>fieldType</code>
+   * is read as, a field handled by a custom codec is read as the codec's encoded type.
+   */
+  protected TypeRef<?> columnAccessType(TypeRef<?> fieldType) {
+    Class<?> rawFieldType = fieldType.getRawType();
+    // Resolve a codec on the raw field type before any Optional unwrap; keep in lockstep with the
+    // canonical ordering in TypeInference.inferField.
+    TypeRef<?> columnAccessType = fieldType;
+    TypeRef<?> replacementType = customTypeHandler.replacementTypeFor(beanClass, rawFieldType);
+    if (replacementType == null && rawFieldType == Optional.class) {
+      columnAccessType = TypeUtils.getTypeArguments(fieldType).get(0);
+      replacementType =
+          customTypeHandler.replacementTypeFor(beanClass, columnAccessType.getRawType());
+    }
+    if (replacementType != null) {
+      columnAccessType = replacementType;
+    }
+    return columnAccessType;
+  }
+
   /**
    * Returns an expression that deserialize <code>value</code> as a java object of type <code>
    * typeToken</code>.
@@ -720,8 +741,18 @@ public abstract class BaseBinaryEncoderBuilder extends CodecBuilder {
     return new Cast(beanObj, typeRef, "bean");
   }
 
-  /** Returns an expression that deserialize <code>mapData</code> as a java map. */
+  /**
+   * Returns an expression that deserialize <code>mapData</code> as a java map. Fields declared as
+   * {@link Map} are decoded lazily on first access.
+   */
   protected Expression deserializeForMap(Expression mapData, TypeRef<?> typeRef) {
+    if (typeRef.getRawType() == Map.class) {
+      return new LazyMapData(mapData, typeRef, map -> deserializeForMapEagerly(map, typeRef));
+    }
+    return deserializeForMapEagerly(mapData, typeRef);
+  }
+
+  private Expression deserializeForMapEagerly(Expression mapData, TypeRef<?> typeRef) {
     Expression javaMap = newMap(typeRef);
     @SuppressWarnings("unchecked")
     TypeRef<?> supertype = ((TypeRef<? extends Map<?, ?>>) typeRef).getSupertype(Map.class);
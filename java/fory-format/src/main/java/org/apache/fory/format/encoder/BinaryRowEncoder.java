@@ -19,6 +19,8 @@
 
 package org.apache.fory.format.encoder;
 
+import java.util.ArrayList;
+import java.util.List;
 import org.apache.fory.exception.ClassNotCompatibleException;
 import org.apache.fory.format.row.binary.BinaryRow;
 import org.apache.fory.format.row.binary.writer.BaseBinaryRowWriter;
@@ -69,7 +71,15 @@ class BinaryRowEncoder<T> implements RowEncoder<T> {
   }
 
   T decode(final MemoryBuffer buffer, final int size) {
-    final long peerSchemaHash = buffer.readInt64();
+    checkSchemaHash(buffer.readInt64());
+    final int rowSize = size - 8;
+    final BinaryRow row = writer.newRow();
+    row.pointTo(buffer, buffer.readerIndex(), rowSize);
+    buffer.increaseReaderIndex(rowSize);
+    return fromRow(row);
+  }
+
+  private void checkSchemaHash(final long peerSchemaHash) {
     if (peerSchemaHash != schemaHash) {
       throw new ClassNotCompatibleException(
           String.format(
@@ -78,11 +88,6 @@ class BinaryRowEncoder<T> implements RowEncoder<T> {
                   + "Please check writer schema.",
               schema, schemaHash, peerSchemaHash));
     }
-    final int rowSize = size - 8;
-    final BinaryRow row = writer.newRow();
-    row.pointTo(buffer, buffer.readerIndex(), rowSize);
-    buffer.increaseReaderIndex(rowSize);
-    return fromRow(row);
   }
 
   @Override
@@ -121,4 +126,64 @@ class BinaryRowEncoder<T> implements RowEncoder<T> {
       writer.setBuffer(this.buffer);
     }
   }
+
+  @Override
+  public int encodeBatch(final List<T> objs, final MemoryBuffer buffer) {
+    final int start = buffer.writerIndex();
+    final int numRows = objs.size();
+    final int tableIndex = start + 12;
+    // Keep rows 8-byte aligned relative to the batch start.
+    final int dataIndex = start + ((12 + (numRows + 1) * 4 + 7) & ~7);
+    buffer.ensure(dataIndex);
+    buffer.writeInt64(schemaHash);
+    buffer.writeInt32(numRows);
+    buffer.writerIndex(dataIndex);
+    writer.setBuffer(buffer);
+    try {
+      for (int i = 0; i < numRows; i++) {
+        final int rowIndex = buffer.writerIndex();
+        buffer.putInt32(tableIndex + i * 4, rowIndex - start);
+        writer.reset();
+        codec.toRow(objs.get(i));
+      }
+    } finally {
+      writer.setBuffer(this.buffer);
+    }
+    final int size = buffer.writerIndex() - start;
+    buffer.putInt32(tableIndex + numRows * 4, size);
+    return size;
+  }
+
+  @Override
+  public byte[] encodeBatch(final List<T> objs) {
+    buffer.writerIndex(0);
+    final int size = encodeBatch(objs, buffer);
+    return buffer.getBytes(0, size);
+  }
+
+  @Override
+  public List<T> decodeBatch(final MemoryBuffer buffer) {
+    final int start = buffer.readerIndex();
+    checkSchemaHash(buffer.readInt64());
+    final int numRows = buffer.readInt32();
+    RowBatchLayout.checkRowTable(buffer, start, numRows);
+    final int tableIndex = start + RowBatchLayout.HEADER_SIZE;
+    final List<T> objs = new ArrayList<>(numRows);
+    int rowOffset = buffer.getInt32(tableIndex);
+    for (int i = 0; i < numRows; i++) {
+      final int nextRowOffset = buffer.getInt32(tableIndex + (i + 1) * 4);
+      // Decoded objects such as interface beans may keep a reference to their rows.
+      final BinaryRow row = writer.newRow();
+      row.pointTo(buffer, start + rowOffset, nextRowOffset - rowOffset);
+      objs.add(fromRow(row));
+      rowOffset = nextRowOffset;
+    }
+    buffer.readerIndex(start + rowOffset);
+    return objs;
+  }
+
+  @Override
+  public List<T> decodeBatch(final byte[] bytes) {
+    return decodeBatch(MemoryUtils.wrap(bytes));
+  }
 }
@@ -19,6 +19,7 @@
 
 package org.apache.fory.format.encoder;
 
+import java.util.List;
 import org.apache.fory.format.row.binary.BinaryRow;
 import org.apache.fory.format.row.binary.writer.BaseBinaryRowWriter;
 import org.apache.fory.format.type.Schema;
@@ -75,4 +76,24 @@ class BufferResettingRowEncoder<T> implements RowEncoder<T> {
   public int encode(final MemoryBuffer buffer, final T obj) {
     return encoder.encode(buffer, obj);
   }
+
+  @Override
+  public int encodeBatch(final List<T> objs, final MemoryBuffer buffer) {
+    return encoder.encodeBatch(objs, buffer);
+  }
+
+  @Override
+  public byte[] encodeBatch(final List<T> objs) {
+    return encoder.encodeBatch(objs);
+  }
+
+  @Override
+  public List<T> decodeBatch(final MemoryBuffer buffer) {
+    return encoder.decodeBatch(buffer);
+  }
+
+  @Override
+  public List<T> decodeBatch(final byte[] bytes) {
+    return encoder.decodeBatch(bytes);
+  }
 }
@@ -22,9 +22,11 @@ package org.apache.fory.format.encoder;
 import static org.apache.fory.type.TypeUtils.OBJECT_TYPE;
 import static org.apache.fory.type.TypeUtils.getRawType;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import org.apache.fory.Fory;
@@ -334,6 +336,31 @@ public class Encoders {
     return loadCls(compileUnits);
   }
 
+  static Class<?> loadOrGenArrowCodecClass(Class<?> beanClass) {
+    Set<Class<?>> classes =
+        TypeUtils.listBeansRecursiveInclusive(
+            beanClass,
+            new TypeResolutionContext(CustomTypeEncoderRegistry.customTypeHandler(), true));
+    LOG.info("Create arrow codec for class {}", beanClass);
+    ArrowEncoderBuilder arrowCodecBuilder = new ArrowEncoderBuilder(TypeRef.of(beanClass));
+    List<CompileUnit> compileUnits = new ArrayList<>();
+    compileUnits.add(
+        new CompileUnit(
+            CodeGenerator.getPackage(beanClass),
+            arrowCodecBuilder.codecClassName(beanClass, ArrowEncoderBuilder.CODEC_PREFIX),
+            arrowCodecBuilder::genCode));
+    // Nested beans which aren't appended to vectors directly are written by row codecs.
+    for (Class<?> cls : classes) {
+      final CodecBuilder codecBuilder = DefaultCodecFormat.INSTANCE.newRowEncoder(TypeRef.of(cls));
+      compileUnits.add(
+          new CompileUnit(
+              CodeGenerator.getPackage(cls),
+              codecBuilder.codecClassName(cls),
+              codecBuilder::genCode));
+    }
+    return loadCls(compileUnits.toArray(new CompileUnit[0]));
+  }
+
   static <B> Class<?> loadOrGenArrayCodecClass(
       TypeRef<? extends Collection<?>> arrayCls, TypeRef<B> elementType, Encoding codecFactory) {
     LOG.info("Create ArrayCodec for classes {}", elementType);
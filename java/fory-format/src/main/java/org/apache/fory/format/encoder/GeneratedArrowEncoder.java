@@ -0,0 +1,37 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.fory.format.encoder;
+
+import org.apache.fory.annotation.Internal;
+import org.apache.fory.builder.Generated;
+import org.apache.fory.format.row.binary.BinaryRow;
+
+/** An arrow columnar codec for java bean. */
+@Internal
+public interface GeneratedArrowEncoder extends Generated {
+  /** Append fields of {@code obj} to the vectors at {@code rowIndex}. */
+  void write(Object obj, int rowIndex);
+
+  /**
+   * Read the bean at {@code rowIndex} of the vectors, fields which aren't read from vectors are
+   * read from {@code row}.
+   */
+  Object read(int rowIndex, BinaryRow row);
+}
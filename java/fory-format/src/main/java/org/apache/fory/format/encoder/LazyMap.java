@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.fory.format.encoder;
+
+import java.util.AbstractMap;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import org.apache.fory.annotation.Internal;
+import org.apache.fory.format.row.binary.BinaryMap;
+
+/**
+ * Map view of a {@link BinaryMap} which is decoded on first access, then all operations including
+ * updates are delegated to the decoded map.
+ */
+@Internal
+public abstract class LazyMap<K, V> extends AbstractMap<K, V> {
+  private BinaryMap map;
+  private Map<K, V> decoded;
+
+  public LazyMap(final BinaryMap map) {
+    this.map = map;
+  }
+
+  protected BinaryMap map() {
+    return map;
+  }
+
+  @SuppressWarnings("unchecked")
+  private Map<K, V> decoded() {
+    Map<K, V> decoded = this.decoded;
+    if (decoded == null) {
+      this.decoded = decoded = (Map<K, V>) deserialize();
+      map = null;
+    }
+    return decoded;
+  }
+
+  @Override
+  public int size() {
+    return decoded().size();
+  }
+
+  @Override
+  public boolean containsKey(final Object key) {
+    return decoded().containsKey(key);
+  }
+
+  @Override
+  public boolean containsValue(final Object value) {
+    return decoded().containsValue(value);
+  }
+
+  @Override
+  public V get(final Object key) {
+    return decoded().get(key);
+  }
+
+  @Override
+  public V put(final K key, final V value) {
+    return decoded().put(key, value);
+  }
+
+  @Override
+  public V remove(final Object key) {
+    return decoded().remove(key);
+  }
+
+  @Override
+  public void clear() {
+    decoded().clear();
+  }
+
+  @Override
+  public Set<K> keySet() {
+    return decoded().keySet();
+  }
+
+  @Override
+  public Collection<V> values() {
+    return decoded().values();
+  }
+
+  @Override
+  public Set<Entry<K, V>> entrySet() {
+    return decoded().entrySet();
+  }
+
+  protected abstract Map<?, ?> deserialize();
+}
@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.fory.format.encoder;
+
+import static org.apache.fory.type.TypeUtils.getRawType;
+
+import java.util.Map;
+import org.apache.fory.annotation.Internal;
+import org.apache.fory.codegen.ClosureVisitable;
+import org.apache.fory.codegen.Code;
+import org.apache.fory.codegen.CodeGenerator;
+import org.apache.fory.codegen.CodegenContext;
+import org.apache.fory.codegen.Expression;
+import org.apache.fory.codegen.Expression.AbstractExpression;
+import org.apache.fory.format.row.binary.BinaryMap;
+import org.apache.fory.reflect.TypeRef;
+import org.apache.fory.util.Preconditions;
+import org.apache.fory.util.StringUtils;
+import org.apache.fory.util.function.SerializableFunction;
+
+/**
+ * Expression to represent {@link org.apache.fory.format.row.MapData} as a lazy Map which is
+ * decoded by <code>decodeAction</code> on first access.
+ */
+@Internal
+public class LazyMapData extends AbstractExpression {
+  private final Expression inputMapData;
+  private final TypeRef<?> type;
+
+  @ClosureVisitable private final SerializableFunction<Expression, Expression> decodeAction;
+
+  public LazyMapData(
+      Expression inputMapData,
+      TypeRef<?> type,
+      SerializableFunction<Expression, Expression> decodeAction) {
+    super(inputMapData);
+    Preconditions.checkArgument(getRawType(inputMapData.type()) == BinaryMap.class);
+    this.inputMapData = inputMapData;
+    this.type = type;
+    this.decodeAction = decodeAction;
+  }
+
+  @Override
+  public TypeRef<?> type() {
+    return type;
+  }
+
+  @Override
+  public Code.ExprCode doGenCode(CodegenContext ctx) {
+    StringBuilder codeBuilder = new StringBuilder();
+    Code.ExprCode targetExprCode = inputMapData.genCode(ctx);
+    if (StringUtils.isNotBlank(targetExprCode.code())) {
+      codeBuilder.append(targetExprCode.code()).append("\n");
+    }
+    Code.ExprCode decodeExprCode =
+        new Expression.Return(
+                decodeAction.apply(new Reference("map()", TypeRef.of(BinaryMap.class))))
+            .genCode(ctx);
+    String result = ctx.newName("lazyMap");
+    String code =
+        StringUtils.format(
+            ""
+                + "java.util.Map ${result} = \n"
+                + "  new "
+                + LazyMap.class.getName()
+                + "(${map}) {\n"
+                + "    protected java.util.Map deserialize() {\n"
+                + "      ${decodeExprCode}\n"
+                + "    }\n"
+                + "  };",
+            "result",
+            result,
+            "map",
+            targetExprCode.value(),
+            "decodeExprCode",
+            CodeGenerator.alignIndent(decodeExprCode.code(), 6));
+    codeBuilder.append(code);
+    return new Code.ExprCode(codeBuilder.toString(), null, Code.variable(Map.class, result));
+  }
+}
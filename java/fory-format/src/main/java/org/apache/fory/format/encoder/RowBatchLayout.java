@@ -0,0 +1,60 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.fory.format.encoder;
+
+import org.apache.fory.memory.MemoryBuffer;
+
+/** Checks the header and row offset table of a batch written by {@link RowEncoder#encodeBatch}. */
+final class RowBatchLayout {
+  // Schema hash and number of rows.
+  static final int HEADER_SIZE = 12;
+
+  private RowBatchLayout() {}
+
+  /**
+   * Checks that the offset table of a batch starting at {@code start} fits in {@code buffer}, and
+   * that its <code>numRows + 1</code> offsets are non-decreasing and lie between the end of the
+   * table and the end of the buffer, so rows can be pointed at without further bounds checks.
+   *
+   * @throws EncoderException if the batch is corrupt or truncated
+   */
+  static void checkRowTable(MemoryBuffer buffer, int start, int numRows) {
+    long available = (long) buffer.size() - start;
+    long tableEnd = HEADER_SIZE + ((long) numRows + 1) * 4;
+    if (numRows < 0 || tableEnd > available) {
+      throw new EncoderException(
+          String.format(
+              "Corrupt row batch: offset table of %d rows exceeds %d available bytes",
+              numRows, available));
+    }
+    int tableIndex = start + HEADER_SIZE;
+    long previousOffset = tableEnd;
+    for (int i = 0; i <= numRows; i++) {
+      int offset = buffer.getInt32(tableIndex + i * 4);
+      if (offset < previousOffset || offset > available) {
+        throw new EncoderException(
+            String.format(
+                "Corrupt row batch: offset %d of row %d is outside [%d, %d]",
+                offset, i, previousOffset, available));
+      }
+      previousOffset = offset;
+    }
+  }
+}
@@ -24,9 +24,16 @@ import java.lang.invoke.MethodHandles;
 import java.lang.invoke.MethodType;
 import java.util.function.Function;
 import java.util.function.Supplier;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
 import org.apache.fory.format.row.binary.writer.BaseBinaryRowWriter;
+import org.apache.fory.format.row.binary.writer.BinaryRowWriter;
+import org.apache.fory.format.type.Schema;
 import org.apache.fory.format.type.TypeInference;
+import org.apache.fory.format.vectorized.ArrowUtils;
+import org.apache.fory.memory.MemoryUtils;
 import org.apache.fory.util.ExceptionUtils;
+import org.apache.fory.util.Preconditions;
 
 public class RowCodecBuilder<T> extends BaseCodecBuilder<RowCodecBuilder<T>> {
 
@@ -56,6 +63,91 @@ public class RowCodecBuilder<T> extends BaseCodecBuilder<RowCodecBuilder<T>> {
     };
   }
 
+  /**
+   * Create a factory of encoders which append beans to the vectors of an arrow {@link
+   * VectorSchemaRoot} directly. Every encoder owns a new root, and is not thread-safe either.
+   * Compact encoding is not supported by arrow encoders.
+   */
+  public Supplier<ArrowBatchEncoder<T>> buildArrowEncoder() {
+    Preconditions.checkArgument(
+        codecFormat == DefaultCodecFormat.INSTANCE,
+        "Compact encoding is not supported by arrow encoder");
+    final MethodHandle constructorHandle = arrowCodecConstructor();
+    final boolean[] directFields = ArrowEncoderBuilder.directFields(beanClass, schema);
+    final Schema stagedSchema = ArrowEncoderBuilder.stagedSchema(beanClass, schema);
+    return new Supplier<ArrowBatchEncoder<T>>() {
+      @Override
+      public ArrowBatchEncoder<T> get() {
+        final BaseBinaryRowWriter writer =
+            stagedSchema.numFields() == 0
+                ? null
+                : codecFormat.newWriter(stagedSchema, MemoryUtils.buffer(initialBufferSize));
+        final VectorSchemaRoot root = ArrowUtils.createVectorSchemaRoot(schema);
+        final FieldVector[] vectors = root.getFieldVectors().toArray(new FieldVector[0]);
+        final GeneratedArrowEncoder codec;
+        try {
+          final Object[] references = {stagedSchema, writer, fory, vectors};
+          codec = (GeneratedArrowEncoder) constructorHandle.invokeExact(references);
+        } catch (final Throwable e) {
+          root.close();
+          throw ExceptionUtils.throwException(e);
+        }
+        return new ArrowBatchEncoder<T>(schema, root, directFields, codec, writer);
+      }
+    };
+  }
+
+  /**
+   * Create a factory of decoders which read beans from the vectors of an arrow {@link
+   * VectorSchemaRoot} directly. Vectors of the root are matched to bean fields by name, and the
+   * root is not owned by the decoder. Decoders are not thread-safe. Compact encoding and interface
+   * beans are not supported by arrow decoders.
+   */
+  public Function<VectorSchemaRoot, ArrowBatchDecoder<T>> buildArrowDecoder() {
+    Preconditions.checkArgument(
+        codecFormat == DefaultCodecFormat.INSTANCE,
+        "Compact encoding is not supported by arrow decoder");
+    Preconditions.checkArgument(
+        !beanClass.isInterface(), "Interface %s is not supported by arrow decoder", beanClass);
+    final MethodHandle constructorHandle = arrowCodecConstructor();
+    final boolean[] directFields = ArrowEncoderBuilder.directFields(beanClass, schema);
+    final Schema stagedSchema = ArrowEncoderBuilder.stagedSchema(beanClass, schema);
+    return new Function<VectorSchemaRoot, ArrowBatchDecoder<T>>() {
+      @Override
+      public ArrowBatchDecoder<T> apply(final VectorSchemaRoot root) {
+        final BinaryRowWriter writer =
+            stagedSchema.numFields() == 0
+                ? null
+                : new BinaryRowWriter(stagedSchema, MemoryUtils.buffer(initialBufferSize));
+        final FieldVector[] vectors = ArrowBatchDecoder.vectors(root, schema);
+        final GeneratedArrowEncoder codec;
+        try {
+          final Object[] references = {stagedSchema, writer, fory, vectors};
+          codec = (GeneratedArrowEncoder) constructorHandle.invokeExact(references);
+        } catch (final ClassCastException e) {
+          throw new EncoderException(
+              "Vectors of " + root.getSchema() + " don't match schema " + schema, e);
+        } catch (final Throwable e) {
+          throw ExceptionUtils.throwException(e);
+        }
+        return new ArrowBatchDecoder<T>(schema, root, vectors, directFields, codec, writer);
+      }
+    };
+  }
+
+  private MethodHandle arrowCodecConstructor() {
+    final Class<?> arrowCodecClass = Encoders.loadOrGenArrowCodecClass(beanClass);
+    try {
+      final var constructor =
+          arrowCodecClass.asSubclass(GeneratedArrowEncoder.class).getConstructor(Object[].class);
+      return MethodHandles.lookup()
+          .unreflectConstructor(constructor)
+          .asType(MethodType.methodType(GeneratedArrowEncoder.class, Object[].class));
+    } catch (final NoSuchMethodException | IllegalAccessException e) {
+      throw new EncoderException("Failed to construct arrow codec for " + beanClass, e);
+    }
+  }
+
   Function<BaseBinaryRowWriter, RowEncoder<T>> buildForWriter() {
     final Function<BaseBinaryRowWriter, GeneratedRowEncoder> rowEncoderFactory =
         rowEncoderFactory();
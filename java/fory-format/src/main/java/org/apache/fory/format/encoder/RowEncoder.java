@@ -19,8 +19,14 @@
 
 package org.apache.fory.format.encoder;
 
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.fory.exception.ClassNotCompatibleException;
 import org.apache.fory.format.row.binary.BinaryRow;
+import org.apache.fory.format.type.DataTypes;
 import org.apache.fory.format.type.Schema;
+import org.apache.fory.memory.MemoryBuffer;
+import org.apache.fory.memory.MemoryUtils;
 
 /**
  * Encoder to encode/decode object to/from row. A RowEncoder instance is reusable but not
@@ -32,4 +38,85 @@ public interface RowEncoder<T> extends Encoder<T> {
   T fromRow(BinaryRow row);
 
   BinaryRow toRow(T obj);
+
+  /**
+   * Encode <code>objs</code> to <code>buffer</code> as a batch of rows in one contiguous region:
+   * the schema hash, the number of rows, an int32 offset table of <code>numRows + 1</code> row
+   * offsets relative to the batch start, then the 8-byte aligned rows. The batch is self-delimited,
+   * so no size is embedded. Returns number of bytes written to the buffer.
+   *
+   * <p>The default implementation copies every row returned by {@link #toRow} into the batch.
+   */
+  default int encodeBatch(List<T> objs, MemoryBuffer buffer) {
+    final int start = buffer.writerIndex();
+    final int numRows = objs.size();
+    final int tableIndex = start + 12;
+    final int dataIndex = start + ((12 + (numRows + 1) * 4 + 7) & ~7);
+    buffer.ensure(dataIndex);
+    buffer.writeInt64(DataTypes.computeSchemaHash(schema()));
+    buffer.writeInt32(numRows);
+    buffer.writerIndex(dataIndex);
+    for (int i = 0; i < numRows; i++) {
+      final BinaryRow row = toRow(objs.get(i));
+      final int rowIndex = buffer.writerIndex();
+      final int rowSize = row.getSizeInBytes();
+      buffer.putInt32(tableIndex + i * 4, rowIndex - start);
+      // Row sizes are multiples of 8, so rows stay aligned without padding.
+      buffer.ensure(rowIndex + rowSize);
+      row.getBuffer().copyTo(row.getBaseOffset(), buffer, rowIndex, rowSize);
+      buffer.writerIndex(rowIndex + rowSize);
+    }
+    final int size = buffer.writerIndex() - start;
+    buffer.putInt32(tableIndex + numRows * 4, size);
+    return size;
+  }
+
+  /** Encode <code>objs</code> to a byte array as a batch of rows, see {@link #encodeBatch}. */
+  default byte[] encodeBatch(List<T> objs) {
+    final MemoryBuffer buffer = MemoryUtils.buffer(16);
+    final int size = encodeBatch(objs, buffer);
+    return buffer.getBytes(0, size);
+  }
+
+  /**
+   * Decode a batch of rows written by {@link #encodeBatch}. The row count and offset table are
+   * validated against the buffer size before any row is decoded, and {@link EncoderException} is
+   * thrown for a corrupt or truncated batch.
+   *
+   * <p>The default implementation points a new row at every row of the batch and converts it with
+   * {@link #fromRow}.
+   */
+  default List<T> decodeBatch(MemoryBuffer buffer) {
+    final int start = buffer.readerIndex();
+    final Schema schema = schema();
+    final long schemaHash = DataTypes.computeSchemaHash(schema);
+    final long peerSchemaHash = buffer.readInt64();
+    if (peerSchemaHash != schemaHash) {
+      throw new ClassNotCompatibleException(
+          String.format(
+              "Schema is not consistent, encoder schema is %s. "
+                  + "self/peer schema hash are %s/%s. "
+                  + "Please check writer schema.",
+              schema, schemaHash, peerSchemaHash));
+    }
+    final int numRows = buffer.readInt32();
+    RowBatchLayout.checkRowTable(buffer, start, numRows);
+    final int tableIndex = start + RowBatchLayout.HEADER_SIZE;
+    final List<T> objs = new ArrayList<>(numRows);
+    int rowOffset = buffer.getInt32(tableIndex);
+    for (int i = 0; i < numRows; i++) {
+      final int nextRowOffset = buffer.getInt32(tableIndex + (i + 1) * 4);
+      final BinaryRow row = new BinaryRow(schema);
+      row.pointTo(buffer, start + rowOffset, nextRowOffset - rowOffset);
+      objs.add(fromRow(row));
+      rowOffset = nextRowOffset;
+    }
+    buffer.readerIndex(start + rowOffset);
+    return objs;
+  }
+
+  /** Decode a batch of rows written by {@link #encodeBatch(List)}. */
+  default List<T> decodeBatch(byte[] bytes) {
+    return decodeBatch(MemoryUtils.wrap(bytes));
+  }
 }
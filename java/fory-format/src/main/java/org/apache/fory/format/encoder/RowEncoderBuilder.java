@@ -30,7 +30,6 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import java.util.SortedMap;
 import org.apache.fory.Fory;
 import org.apache.fory.builder.CodecBuilder;
@@ -290,7 +289,7 @@ class RowEncoderBuilder extends BaseBinaryEncoderBuilder {
     return expressions;
   }
 
-  private static Expression nullValue(TypeRef<?> fieldType) {
+  static Expression nullValue(TypeRef<?> fieldType) {
     Class<?> rawType = fieldType.getRawType();
     if (TypeUtils.isOptionalType(rawType)) {
       return new Expression.StaticInvoke(rawType, "empty", "", fieldType, false, true);
@@ -305,19 +304,7 @@ class RowEncoderBuilder extends BaseBinaryEncoderBuilder {
       Literal ordinal = Literal.ofInt(i);
       Descriptor d = getDescriptorByFieldName(schema.field(i).name());
       TypeRef<?> fieldType = d.getTypeRef();
-      Class<?> rawFieldType = fieldType.getRawType();
-      // Resolve a codec on the raw field type before any Optional unwrap; keep in lockstep with the
-      // canonical ordering in TypeInference.inferField.
-      TypeRef<?> columnAccessType = fieldType;
-      TypeRef<?> replacementType = customTypeHandler.replacementTypeFor(beanClass, rawFieldType);
-      if (replacementType == null && rawFieldType == Optional.class) {
-        columnAccessType = TypeUtils.getTypeArguments(fieldType).get(0);
-        replacementType =
-            customTypeHandler.replacementTypeFor(beanClass, columnAccessType.getRawType());
-      }
-      if (replacementType != null) {
-        columnAccessType = replacementType;
-      }
+      TypeRef<?> columnAccessType = columnAccessType(fieldType);
       String columnAccessMethodName =
           BinaryUtils.getElemAccessMethodName(columnAccessType, typeCtx);
       TypeRef<?> colType = BinaryUtils.getElemReturnType(columnAccessType, typeCtx);
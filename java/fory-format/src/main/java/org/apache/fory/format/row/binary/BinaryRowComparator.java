@@ -0,0 +1,291 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.fory.format.row.binary;
+
+import java.util.Comparator;
+import org.apache.fory.format.type.DataTypes;
+import org.apache.fory.format.type.Field;
+import org.apache.fory.format.type.Schema;
+import org.apache.fory.memory.MemoryBuffer;
+import org.apache.fory.util.Preconditions;
+
+/**
+ * Compares {@link BinaryRow}s by key fields on their binary data, without deserializing the rows.
+ *
+ * <p>Nulls are smaller than other values, a descending key reverses the whole order of the field.
+ * Floating values are ordered as {@link Double#compare}, strings and binaries are compared by
+ * unsigned bytes, which is the code point order of utf8 strings.
+ *
+ * <p>A normalized key is an 8-byte prefix of the key fields which preserves this order when
+ * compared as unsigned longs: if the normalized key of a row is smaller than the one of another
+ * row, the row is smaller too. Rows with equal normalized keys need a full {@link #compare} unless
+ * {@link #isNormalizedKeyFull()}, which is the case when all key fields are fixed-width and fit in
+ * 8 bytes.
+ */
+public class BinaryRowComparator implements Comparator<BinaryRow> {
+  private static final int NORMALIZED_KEY_BYTES = 8;
+
+  private final Schema schema;
+  private final int[] ordinals;
+  private final boolean[] ascending;
+  private final boolean[] nullable;
+  private final int[] typeIds;
+  private final int[] widths;
+  private final boolean normalizedKeyFull;
+
+  /** Create a comparator which compares rows by <code>fieldNames</code> in ascending order. */
+  public BinaryRowComparator(Schema schema, String... fieldNames) {
+    this(schema, ordinals(schema, fieldNames), null);
+  }
+
+  /**
+   * Create a comparator which compares rows by fields at <code>ordinals</code>.
+   *
+   * @param ascending order of every key field, null for all ascending.
+   */
+  public BinaryRowComparator(Schema schema, int[] ordinals, boolean[] ascending) {
+    Preconditions.checkArgument(ordinals.length > 0, "No key fields");
+    Preconditions.checkArgument(
+        ascending == null || ascending.length == ordinals.length,
+        "Key fields and orders don't match");
+    this.schema = schema;
+    this.ordinals = ordinals.clone();
+    this.ascending = new boolean[ordinals.length];
+    nullable = new boolean[ordinals.length];
+    typeIds = new int[ordinals.length];
+    widths = new int[ordinals.length];
+    int keyBytes = 0;
+    boolean fixedWidth = true;
+    for (int i = 0; i < ordinals.length; i++) {
+      Field field = schema.field(ordinals[i]);
+      this.ascending[i] = ascending == null || ascending[i];
+      nullable[i] = field.nullable();
+      typeIds[i] = field.type().typeId();
+      widths[i] = keyWidth(field);
+      fixedWidth &= BinaryRow.isFixedLength(field.type());
+      keyBytes += widths[i] + (nullable[i] ? 1 : 0);
+    }
+    normalizedKeyFull = fixedWidth && keyBytes <= NORMALIZED_KEY_BYTES;
+  }
+
+  static int[] ordinals(Schema schema, String... fieldNames) {
+    int[] ordinals = new int[fieldNames.length];
+    for (int i = 0; i < fieldNames.length; i++) {
+      ordinals[i] = schema.getFieldIndex(fieldNames[i]);
+      Preconditions.checkArgument(
+          ordinals[i] >= 0, "Field %s doesn't exist in %s", fieldNames[i], schema);
+    }
+    return ordinals;
+  }
+
+  /** Returns width of a fixed-width key value, 0 for strings and binaries. */
+  private static int keyWidth(Field field) {
+    int typeId = field.type().typeId();
+    if (typeId == DataTypes.TYPE_BOOL || typeId == DataTypes.TYPE_INT8) {
+      return 1;
+    } else if (typeId == DataTypes.TYPE_INT16) {
+      return 2;
+    } else if (typeId == DataTypes.TYPE_INT32
+        || typeId == DataTypes.TYPE_FLOAT32
+        || typeId == DataTypes.TYPE_LOCAL_DATE) {
+      return 4;
+    } else if (typeId == DataTypes.TYPE_INT64
+        || typeId == DataTypes.TYPE_FLOAT64
+        || typeId == DataTypes.TYPE_TIMESTAMP
+        || typeId == DataTypes.TYPE_DURATION) {
+      return 8;
+    } else if (typeId == DataTypes.TYPE_DECIMAL) {
+      return 16;
+    } else if (typeId == DataTypes.TYPE_STRING || typeId == DataTypes.TYPE_BINARY) {
+      return 0;
+    } else {
+      throw new IllegalArgumentException("Unsupported key field: " + field);
+    }
+  }
+
+  public Schema getSchema() {
+    return schema;
+  }
+
+  /** Returns true if rows with equal normalized keys are always equal by this comparator. */
+  public boolean isNormalizedKeyFull() {
+    return normalizedKeyFull;
+  }
+
+  /** Returns the normalized key of <code>row</code>, compare it by {@link Long#compareUnsigned}. */
+  public long normalizedKey(BinaryRow row) {
+    long key = 0;
+    int remaining = NORMALIZED_KEY_BYTES;
+    for (int i = 0; i < ordinals.length && remaining > 0; i++) {
+      int ordinal = ordinals[i];
+      boolean isNull = row.isNullAt(ordinal);
+      // Inverting all bytes of a field reverses its order.
+      int flip = ascending[i] ? 0 : 0xFF;
+      if (nullable[i]) {
+        key = (key << 8) | ((isNull ? 0 : 1) ^ flip);
+        if (--remaining == 0) {
+          break;
+        }
+      }
+      int width = widths[i];
+      if (width == 0) {
+        int size = 0;
+        int offset = 0;
+        if (!isNull) {
+          long offsetAndSize = row.getInt64(ordinal);
+          offset = row.getBaseOffset() + (int) (offsetAndSize >> 32);
+          size = (int) offsetAndSize;
+        }
+        MemoryBuffer buffer = row.getBuffer();
+        for (int j = 0; j < remaining; j++) {
+          int b = j < size ? buffer.getByte(offset + j) & 0xFF : 0;
+          key = (key << 8) | (b ^ flip);
+        }
+        return key;
+      }
+      long value = isNull ? 0 : normalizedValue(row, ordinal, typeIds[i]);
+      if (width > NORMALIZED_KEY_BYTES) {
+        // Only the high 8 bytes of a decimal are used.
+        width = NORMALIZED_KEY_BYTES;
+      }
+      if (!ascending[i]) {
+        value = width == 8 ? ~value : value ^ ((1L << (width << 3)) - 1);
+      }
+      if (width <= remaining) {
+        key = width == 8 ? value : (key << (width << 3)) | value;
+        remaining -= width;
+      } else {
+        key = (key << (remaining << 3)) | (value >>> ((width - remaining) << 3));
+        remaining = 0;
+      }
+    }
+    return remaining == 0 ? key : key << (remaining << 3);
+  }
+
+  /** Returns the value as an unsigned number in the low bytes of key width. */
+  private static long normalizedValue(BinaryRow row, int ordinal, int typeId) {
+    if (typeId == DataTypes.TYPE_BOOL) {
+      return row.getBoolean(ordinal) ? 1 : 0;
+    } else if (typeId == DataTypes.TYPE_INT8) {
+      return (row.getByte(ordinal) ^ 0x80) & 0xFF;
+    } else if (typeId == DataTypes.TYPE_INT16) {
+      return (row.getInt16(ordinal) ^ 0x8000) & 0xFFFF;
+    } else if (typeId == DataTypes.TYPE_INT32 || typeId == DataTypes.TYPE_LOCAL_DATE) {
+      return (row.getInt32(ordinal) ^ 0x80000000) & 0xFFFFFFFFL;
+    } else if (typeId == DataTypes.TYPE_FLOAT32) {
+      int bits = Float.floatToIntBits(row.getFloat32(ordinal));
+      // Negative values are ordered reversely by bits.
+      return (bits ^ ((bits >> 31) | 0x80000000)) & 0xFFFFFFFFL;
+    } else if (typeId == DataTypes.TYPE_FLOAT64) {
+      long bits = Double.doubleToLongBits(row.getFloat64(ordinal));
+      return bits ^ ((bits >> 63) | Long.MIN_VALUE);
+    } else if (typeId == DataTypes.TYPE_DECIMAL) {
+      return decimalHigh(row, ordinal) ^ Long.MIN_VALUE;
+    } else {
+      return row.getInt64(ordinal) ^ Long.MIN_VALUE;
+    }
+  }
+
+  @Override
+  public int compare(BinaryRow row1, BinaryRow row2) {
+    for (int i = 0; i < ordinals.length; i++) {
+      int ordinal = ordinals[i];
+      boolean isNull1 = row1.isNullAt(ordinal);
+      boolean isNull2 = row2.isNullAt(ordinal);
+      int c;
+      if (isNull1 || isNull2) {
+        c = isNull1 == isNull2 ? 0 : (isNull1 ? -1 : 1);
+      } else {
+        c = compareValue(row1, row2, ordinal, typeIds[i]);
+      }
+      if (c != 0) {
+        return ascending[i] ? c : -c;
+      }
+    }
+    return 0;
+  }
+
+  private static int compareValue(BinaryRow row1, BinaryRow row2, int ordinal, int typeId) {
+    if (typeId == DataTypes.TYPE_BOOL) {
+      return Boolean.compare(row1.getBoolean(ordinal), row2.getBoolean(ordinal));
+    } else if (typeId == DataTypes.TYPE_INT8) {
+      return Byte.compare(row1.getByte(ordinal), row2.getByte(ordinal));
+    } else if (typeId == DataTypes.TYPE_INT16) {
+      return Short.compare(row1.getInt16(ordinal), row2.getInt16(ordinal));
+    } else if (typeId == DataTypes.TYPE_INT32 || typeId == DataTypes.TYPE_LOCAL_DATE) {
+      return Integer.compare(row1.getInt32(ordinal), row2.getInt32(ordinal));
+    } else if (typeId == DataTypes.TYPE_FLOAT32) {
+      return Float.compare(row1.getFloat32(ordinal), row2.getFloat32(ordinal));
+    } else if (typeId == DataTypes.TYPE_FLOAT64) {
+      return Double.compare(row1.getFloat64(ordinal), row2.getFloat64(ordinal));
+    } else if (typeId == DataTypes.TYPE_DECIMAL) {
+      int c = Long.compare(decimalHigh(row1, ordinal), decimalHigh(row2, ordinal));
+      if (c != 0) {
+        return c;
+      }
+      return Long.compareUnsigned(decimalLow(row1, ordinal), decimalLow(row2, ordinal));
+    } else if (typeId == DataTypes.TYPE_STRING || typeId == DataTypes.TYPE_BINARY) {
+      long offsetAndSize1 = row1.getInt64(ordinal);
+      long offsetAndSize2 = row2.getInt64(ordinal);
+      return compareBytes(
+          row1.getBuffer(),
+          row1.getBaseOffset() + (int) (offsetAndSize1 >> 32),
+          (int) offsetAndSize1,
+          row2.getBuffer(),
+          row2.getBaseOffset() + (int) (offsetAndSize2 >> 32),
+          (int) offsetAndSize2);
+    } else {
+      return Long.compare(row1.getInt64(ordinal), row2.getInt64(ordinal));
+    }
+  }
+
+  /** Compares two byte ranges lexicographically as unsigned bytes. */
+  static int compareBytes(
+      MemoryBuffer buffer1, int offset1, int size1, MemoryBuffer buffer2, int offset2, int size2) {
+    int size = Math.min(size1, size2);
+    int i = 0;
+    for (; i + 8 <= size; i += 8) {
+      long v1 = buffer1.getInt64(offset1 + i);
+      long v2 = buffer2.getInt64(offset2 + i);
+      if (v1 != v2) {
+        // Buffers are little-endian, reverse bytes to compare the first different byte.
+        return Long.compareUnsigned(Long.reverseBytes(v1), Long.reverseBytes(v2));
+      }
+    }
+    for (; i < size; i++) {
+      int c = (buffer1.getByte(offset1 + i) & 0xFF) - (buffer2.getByte(offset2 + i) & 0xFF);
+      if (c != 0) {
+        return c;
+      }
+    }
+    return Integer.compare(size1, size2);
+  }
+
+  // Decimals are stored as 16 bytes little-endian two's complement unscaled values.
+  private static long decimalHigh(BinaryRow row, int ordinal) {
+    long offsetAndSize = row.getInt64(ordinal);
+    return row.getBuffer().getInt64(row.getBaseOffset() + (int) (offsetAndSize >> 32) + 8);
+  }
+
+  private static long decimalLow(BinaryRow row, int ordinal) {
+    long offsetAndSize = row.getInt64(ordinal);
+    return row.getBuffer().getInt64(row.getBaseOffset() + (int) (offsetAndSize >> 32));
+  }
+}
@@ -0,0 +1,247 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.fory.format.row.binary;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import org.apache.fory.format.type.DataTypes;
+import org.apache.fory.format.type.Schema;
+import org.apache.fory.memory.MemoryBuffer;
+import org.apache.fory.memory.MemoryUtils;
+import org.apache.fory.util.Preconditions;
+
+/**
+ * Reads a row file written by {@link BinaryRowFileWriter}. Blocks are memory-mapped on first
+ * access, and rows are read in place by pointing a {@link BinaryRow} to the mapped block, so no
+ * row bytes are copied or parsed. Any row can be addressed by its index through the block index
+ * of the footer, and blocks can be skipped by their min/max statistics without being mapped.
+ *
+ * <p>Rows pointed by the reader are invalid after the reader is closed. Mapped memory is released
+ * when the mapped buffers are garbage collected. The reader is not thread-safe.
+ */
+public class BinaryRowFileReader implements AutoCloseable {
+  private final FileChannel channel;
+  private final Schema schema;
+  private final int numFields;
+  private final long[] blockOffsets;
+  private final int[] blockRows;
+  private final int[] blockDataSizes;
+  // First row index of every block, and total row count at the end.
+  private final long[] firstRows;
+  private final int[] nullCounts;
+  private final BinaryRow[] minRows;
+  private final BinaryRow[] maxRows;
+  private final MemoryBuffer[] blockBuffers;
+
+  public BinaryRowFileReader(Path path) {
+    try {
+      channel = FileChannel.open(path, StandardOpenOption.READ);
+    } catch (IOException e) {
+      throw new RuntimeException("Open row file " + path + " failed", e);
+    }
+    try {
+      long fileSize = size();
+      if (fileSize < BinaryRowFileWriter.HEADER_SIZE + BinaryRowFileWriter.TRAILER_SIZE) {
+        throw new IllegalArgumentException(path + " is not a row file");
+      }
+      MemoryBuffer header = read(0, BinaryRowFileWriter.HEADER_SIZE);
+      MemoryBuffer trailer =
+          read(fileSize - BinaryRowFileWriter.TRAILER_SIZE, BinaryRowFileWriter.TRAILER_SIZE);
+      long footerOffset = trailer.readInt64();
+      int version = trailer.readInt32();
+      if (header.readInt32() != BinaryRowFileWriter.MAGIC
+          || trailer.readInt32() != BinaryRowFileWriter.MAGIC) {
+        throw new IllegalArgumentException(path + " is not a row file");
+      }
+      if (version != BinaryRowFileWriter.VERSION) {
+        throw new IllegalArgumentException("Unsupported row file version " + version);
+      }
+      long footerSize = fileSize - BinaryRowFileWriter.TRAILER_SIZE - footerOffset;
+      Preconditions.checkArgument(
+          footerSize > 0 && footerSize <= Integer.MAX_VALUE, "Invalid footer of %s", path);
+      MemoryBuffer footer = read(footerOffset, (int) footerSize);
+      schema = DataTypes.deserializeSchema(footer);
+      numFields = schema.numFields();
+      int numBlocks = footer.readInt32();
+      blockOffsets = new long[numBlocks];
+      blockRows = new int[numBlocks];
+      blockDataSizes = new int[numBlocks];
+      firstRows = new long[numBlocks + 1];
+      nullCounts = new int[numBlocks * numFields];
+      minRows = new BinaryRow[numBlocks];
+      maxRows = new BinaryRow[numBlocks];
+      blockBuffers = new MemoryBuffer[numBlocks];
+      for (int i = 0; i < numBlocks; i++) {
+        blockOffsets[i] = footer.readInt64();
+        blockRows[i] = footer.readInt32();
+        blockDataSizes[i] = footer.readInt32();
+        firstRows[i + 1] = firstRows[i] + blockRows[i];
+        for (int j = 0; j < numFields; j++) {
+          nullCounts[i * numFields + j] = footer.readInt32();
+        }
+        minRows[i] = readStatsRow(footer);
+        maxRows[i] = readStatsRow(footer);
+      }
+    } catch (RuntimeException e) {
+      closeChannel();
+      throw e;
+    }
+  }
+
+  private long size() {
+    try {
+      return channel.size();
+    } catch (IOException e) {
+      throw new RuntimeException("Read row file size failed", e);
+    }
+  }
+
+  private MemoryBuffer read(long offset, int size) {
+    ByteBuffer byteBuffer = ByteBuffer.allocate(size);
+    try {
+      while (byteBuffer.hasRemaining()) {
+        if (channel.read(byteBuffer, offset + byteBuffer.position()) < 0) {
+          throw new IllegalArgumentException("Row file is truncated");
+        }
+      }
+    } catch (IOException e) {
+      throw new RuntimeException("Read row file failed", e);
+    }
+    byteBuffer.flip();
+    return MemoryUtils.wrap(byteBuffer);
+  }
+
+  private BinaryRow readStatsRow(MemoryBuffer footer) {
+    int size = footer.readInt32();
+    BinaryRow row = new BinaryRow(schema);
+    row.pointTo(footer, footer.readerIndex(), size);
+    footer.readerIndex(footer.readerIndex() + size);
+    return row;
+  }
+
+  public Schema getSchema() {
+    return schema;
+  }
+
+  /** Returns the number of rows in the file. */
+  public long numRows() {
+    return firstRows[blockRows.length];
+  }
+
+  public int numBlocks() {
+    return blockRows.length;
+  }
+
+  /** Returns the number of rows in <code>block</code>. */
+  public int blockNumRows(int block) {
+    return blockRows[block];
+  }
+
+  /** Returns the index of the first row of <code>block</code> in the file. */
+  public long blockFirstRow(int block) {
+    return firstRows[block];
+  }
+
+  /** Returns the number of null values of field <code>ordinal</code> in <code>block</code>. */
+  public int nullCount(int block, int ordinal) {
+    return nullCounts[block * numFields + ordinal];
+  }
+
+  /**
+   * Returns a row of the min values of fixed-width primitive fields in <code>block</code>. A field
+   * is null if it has no statistics or all its values in the block are null or NaN.
+   */
+  public BinaryRow blockMin(int block) {
+    return minRows[block];
+  }
+
+  /** Returns a row of the max values in <code>block</code>, see {@link #blockMin}. */
+  public BinaryRow blockMax(int block) {
+    return maxRows[block];
+  }
+
+  /** Returns the index of the block which contains row <code>rowIndex</code>. */
+  public int blockOf(long rowIndex) {
+    Preconditions.checkArgument(
+        rowIndex >= 0 && rowIndex < numRows(), "Row index %s out of bounds", rowIndex);
+    int index = Arrays.binarySearch(firstRows, 0, blockRows.length, rowIndex);
+    if (index >= 0) {
+      // Skip empty blocks, which can't be written by the writer but are valid anyway.
+      while (blockRows[index] == 0) {
+        index++;
+      }
+      return index;
+    }
+    return -index - 2;
+  }
+
+  /** Point <code>row</code> to row <code>rowIndex</code> of the file. */
+  public void pointTo(long rowIndex, BinaryRow row) {
+    int block = blockOf(rowIndex);
+    pointTo(block, (int) (rowIndex - firstRows[block]), row);
+  }
+
+  /** Point <code>row</code> to row <code>index</code> of <code>block</code>. */
+  public void pointTo(int block, int index, BinaryRow row) {
+    Preconditions.checkArgument(
+        index >= 0 && index < blockRows[block], "Row index %s out of block bounds", index);
+    MemoryBuffer buffer = blockBuffer(block);
+    int indexOffset = blockDataSizes[block] + (index << 2);
+    int offset = buffer.getInt32(indexOffset);
+    row.pointTo(buffer, offset, buffer.getInt32(indexOffset + 4) - offset);
+  }
+
+  /**
+   * Returns the mapped buffer of <code>block</code>, which holds the rows of the block followed by
+   * the row offset table.
+   */
+  public MemoryBuffer blockBuffer(int block) {
+    MemoryBuffer buffer = blockBuffers[block];
+    if (buffer == null) {
+      long size = blockDataSizes[block] + ((long) blockRows[block] + 1) * 4;
+      try {
+        buffer =
+            MemoryUtils.wrap(channel.map(FileChannel.MapMode.READ_ONLY, blockOffsets[block], size));
+      } catch (IOException e) {
+        throw new RuntimeException("Map block " + block + " failed", e);
+      }
+      blockBuffers[block] = buffer;
+    }
+    return buffer;
+  }
+
+  @Override
+  public void close() {
+    Arrays.fill(blockBuffers, null);
+    closeChannel();
+  }
+
+  private void closeChannel() {
+    try {
+      channel.close();
+    } catch (IOException e) {
+      throw new RuntimeException("Close row file failed", e);
+    }
+  }
+}
@@ -0,0 +1,343 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.fory.format.row.binary;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import org.apache.fory.format.row.binary.writer.BinaryRowWriter;
+import org.apache.fory.format.type.DataTypes;
+import org.apache.fory.format.type.Schema;
+import org.apache.fory.memory.MemoryBuffer;
+import org.apache.fory.memory.MemoryUtils;
+import org.apache.fory.util.Preconditions;
+
+/**
+ * Writes {@link BinaryRow}s to a row file, which can be memory-mapped and read in place by {@link
+ * BinaryRowFileReader}.
+ *
+ * <p>The file starts with an 8-byte header, followed by blocks of rows. Every block holds the bytes
+ * of its rows, then an offset table of <code>numRows + 1</code> int32 row offsets relative to the
+ * block start. The footer holds the schema, the file offset, row count and data size of every
+ * block, and per-block statistics: null counts of all fields, and min/max values of fixed-width
+ * primitive fields stored as two rows of the file schema. The file ends with a 16-byte trailer of
+ * the footer offset, version and magic number. All numbers are little-endian, blocks are 8-byte
+ * aligned.
+ *
+ * <p>Rows are copied as is, so compact rows can be written too as long as they're read by {@link
+ * CompactBinaryRow}s. A block is written once its rows reach <code>blockSize</code> bytes, the
+ * writer is not thread-safe. {@link #close()} writes remaining rows and the footer, then closes the
+ * channel.
+ */
+public class BinaryRowFileWriter implements AutoCloseable {
+  static final int MAGIC = 0x574f5246; // "FROW"
+  static final int VERSION = 1;
+  static final int HEADER_SIZE = 8;
+  static final int TRAILER_SIZE = 16;
+  public static final int DEFAULT_BLOCK_SIZE = 1024 * 1024;
+
+  static final int STATS_NONE = 0;
+  static final int STATS_LONG = 1;
+  static final int STATS_DOUBLE = 2;
+
+  private final Schema schema;
+  private final WritableByteChannel channel;
+  private final int blockSize;
+  private final int[] typeIds;
+  private final int[] statsKinds;
+  private final MemoryBuffer block;
+  private int[] rowOffsets = new int[64];
+  private int blockRows;
+  // Statistics of current block.
+  private final int[] nullCounts;
+  private final boolean[] hasStats;
+  private final long[] minLongs;
+  private final long[] maxLongs;
+  private final double[] minDoubles;
+  private final double[] maxDoubles;
+  private final BinaryRowWriter statsWriter;
+  // Block entries of the footer.
+  private final MemoryBuffer footer;
+  private long position;
+  private long numRows;
+  private int numBlocks;
+  private boolean closed;
+
+  public BinaryRowFileWriter(Schema schema, Path path) {
+    this(schema, open(path), DEFAULT_BLOCK_SIZE);
+  }
+
+  /** @param blockSize a block is written when the size of its rows reaches this value. */
+  public BinaryRowFileWriter(Schema schema, WritableByteChannel channel, int blockSize) {
+    Preconditions.checkArgument(blockSize > 0, "blockSize must be positive");
+    this.schema = schema;
+    this.channel = channel;
+    this.blockSize = blockSize;
+    int numFields = schema.numFields();
+    typeIds = new int[numFields];
+    statsKinds = new int[numFields];
+    for (int i = 0; i < numFields; i++) {
+      typeIds[i] = schema.field(i).type().typeId();
+      statsKinds[i] = statsKind(typeIds[i]);
+    }
+    nullCounts = new int[numFields];
+    hasStats = new boolean[numFields];
+    minLongs = new long[numFields];
+    maxLongs = new long[numFields];
+    minDoubles = new double[numFields];
+    maxDoubles = new double[numFields];
+    statsWriter = new BinaryRowWriter(schema);
+    block = MemoryUtils.buffer(Math.min(blockSize, DEFAULT_BLOCK_SIZE) + 64);
+    footer = MemoryUtils.buffer(64);
+    MemoryBuffer header = MemoryUtils.buffer(HEADER_SIZE);
+    header.writeInt32(MAGIC);
+    header.writeInt32(VERSION);
+    writeFully(header, "header");
+  }
+
+  private static FileChannel open(Path path) {
+    try {
+      return FileChannel.open(
+          path,
+          StandardOpenOption.CREATE,
+          StandardOpenOption.TRUNCATE_EXISTING,
+          StandardOpenOption.WRITE);
+    } catch (IOException e) {
+      throw new RuntimeException("Open row file " + path + " failed", e);
+    }
+  }
+
+  static int statsKind(int typeId) {
+    if (typeId == DataTypes.TYPE_BOOL
+        || typeId == DataTypes.TYPE_INT8
+        || typeId == DataTypes.TYPE_INT16
+        || typeId == DataTypes.TYPE_INT32
+        || typeId == DataTypes.TYPE_LOCAL_DATE
+        || typeId == DataTypes.TYPE_INT64
+        || typeId == DataTypes.TYPE_TIMESTAMP
+        || typeId == DataTypes.TYPE_DURATION) {
+      return STATS_LONG;
+    } else if (typeId == DataTypes.TYPE_FLOAT32 || typeId == DataTypes.TYPE_FLOAT64) {
+      return STATS_DOUBLE;
+    }
+    return STATS_NONE;
+  }
+
+  public Schema getSchema() {
+    return schema;
+  }
+
+  /** Append <code>row</code> to current block, and write the block if it's full. */
+  public void write(BinaryRow row) {
+    Preconditions.checkState(!closed, "Writer is closed");
+    int size = row.getSizeInBytes();
+    int offset = block.writerIndex();
+    block.ensure(offset + size);
+    block.copyFrom(offset, row.getBuffer(), row.getBaseOffset(), size);
+    block.writerIndex(offset + size);
+    if (blockRows + 1 == rowOffsets.length) {
+      rowOffsets = Arrays.copyOf(rowOffsets, rowOffsets.length * 2);
+    }
+    rowOffsets[blockRows++] = offset;
+    numRows++;
+    updateStats(row);
+    if (block.writerIndex() >= blockSize) {
+      flush();
+    }
+  }
+
+  private void updateStats(BinaryRow row) {
+    int[] statsKinds = this.statsKinds;
+    for (int i = 0; i < statsKinds.length; i++) {
+      if (row.isNullAt(i)) {
+        nullCounts[i]++;
+        continue;
+      }
+      int kind = statsKinds[i];
+      if (kind == STATS_LONG) {
+        long value = getLong(row, i, typeIds[i]);
+        if (!hasStats[i]) {
+          hasStats[i] = true;
+          minLongs[i] = value;
+          maxLongs[i] = value;
+        } else if (value < minLongs[i]) {
+          minLongs[i] = value;
+        } else if (value > maxLongs[i]) {
+          maxLongs[i] = value;
+        }
+      } else if (kind == STATS_DOUBLE) {
+        double value =
+            typeIds[i] == DataTypes.TYPE_FLOAT32 ? row.getFloat32(i) : row.getFloat64(i);
+        if (Double.isNaN(value)) {
+          continue;
+        }
+        if (!hasStats[i]) {
+          hasStats[i] = true;
+          minDoubles[i] = value;
+          maxDoubles[i] = value;
+        } else if (value < minDoubles[i]) {
+          minDoubles[i] = value;
+        } else if (value > maxDoubles[i]) {
+          maxDoubles[i] = value;
+        }
+      }
+    }
+  }
+
+  private static long getLong(BinaryRow row, int ordinal, int typeId) {
+    if (typeId == DataTypes.TYPE_BOOL) {
+      return row.getBoolean(ordinal) ? 1 : 0;
+    } else if (typeId == DataTypes.TYPE_INT8) {
+      return row.getByte(ordinal);
+    } else if (typeId == DataTypes.TYPE_INT16) {
+      return row.getInt16(ordinal);
+    } else if (typeId == DataTypes.TYPE_INT32 || typeId == DataTypes.TYPE_LOCAL_DATE) {
+      return row.getInt32(ordinal);
+    } else {
+      return row.getInt64(ordinal);
+    }
+  }
+
+  /** Write rows of current block to the channel if there are any. */
+  public void flush() {
+    if (blockRows == 0) {
+      return;
+    }
+    int dataSize = block.writerIndex();
+    rowOffsets[blockRows] = dataSize;
+    for (int i = 0; i <= blockRows; i++) {
+      block.writeInt32(rowOffsets[i]);
+    }
+    while ((block.writerIndex() & 7) != 0) {
+      block.writeByte(0);
+    }
+    footer.writeInt64(position);
+    footer.writeInt32(blockRows);
+    footer.writeInt32(dataSize);
+    for (int i = 0; i < nullCounts.length; i++) {
+      footer.writeInt32(nullCounts[i]);
+    }
+    writeStatsRow(true);
+    writeStatsRow(false);
+    writeFully(block, "block " + numBlocks);
+    block.writerIndex(0);
+    blockRows = 0;
+    numBlocks++;
+    Arrays.fill(nullCounts, 0);
+    Arrays.fill(hasStats, false);
+  }
+
+  private void writeStatsRow(boolean min) {
+    BinaryRowWriter writer = statsWriter;
+    writer.getBuffer().writerIndex(0);
+    writer.reset();
+    for (int i = 0; i < typeIds.length; i++) {
+      if (!hasStats[i]) {
+        writer.setNullAt(i);
+        continue;
+      }
+      int typeId = typeIds[i];
+      if (statsKinds[i] == STATS_DOUBLE) {
+        double value = min ? minDoubles[i] : maxDoubles[i];
+        if (typeId == DataTypes.TYPE_FLOAT32) {
+          writer.write(i, (float) value);
+        } else {
+          writer.write(i, value);
+        }
+        continue;
+      }
+      long value = min ? minLongs[i] : maxLongs[i];
+      if (typeId == DataTypes.TYPE_BOOL) {
+        writer.write(i, value != 0);
+      } else if (typeId == DataTypes.TYPE_INT8) {
+        writer.write(i, (byte) value);
+      } else if (typeId == DataTypes.TYPE_INT16) {
+        writer.write(i, (short) value);
+      } else if (typeId == DataTypes.TYPE_INT32 || typeId == DataTypes.TYPE_LOCAL_DATE) {
+        writer.write(i, (int) value);
+      } else {
+        writer.write(i, value);
+      }
+    }
+    BinaryRow row = writer.getRow();
+    int size = row.getSizeInBytes();
+    footer.writeInt32(size);
+    int offset = footer.writerIndex();
+    footer.ensure(offset + size);
+    footer.copyFrom(offset, row.getBuffer(), row.getBaseOffset(), size);
+    footer.writerIndex(offset + size);
+  }
+
+  private void writeFully(MemoryBuffer buffer, String name) {
+    ByteBuffer byteBuffer = buffer.sliceAsByteBuffer(0, buffer.writerIndex());
+    try {
+      while (byteBuffer.hasRemaining()) {
+        position += channel.write(byteBuffer);
+      }
+    } catch (IOException e) {
+      throw new RuntimeException("Write " + name + " failed", e);
+    }
+  }
+
+  /** Returns the number of rows written to this writer. */
+  public long numRows() {
+    return numRows;
+  }
+
+  /** Returns the number of blocks written to the channel. */
+  public int numBlocks() {
+    return numBlocks;
+  }
+
+  /** Returns the number of bytes written to the channel. */
+  public long bytesWritten() {
+    return position;
+  }
+
+  @Override
+  public void close() {
+    if (closed) {
+      return;
+    }
+    try {
+      flush();
+      long footerOffset = position;
+      MemoryBuffer buffer = MemoryUtils.buffer(footer.writerIndex() + 64);
+      DataTypes.serializeSchema(schema, buffer);
+      buffer.writeInt32(numBlocks);
+      buffer.writeBytes(footer.getBytes(0, footer.writerIndex()));
+      buffer.writeInt64(footerOffset);
+      buffer.writeInt32(VERSION);
+      buffer.writeInt32(MAGIC);
+      writeFully(buffer, "footer");
+    } finally {
+      closed = true;
+      try {
+        channel.close();
+      } catch (IOException e) {
+        throw new RuntimeException("Close row file failed", e);
+      }
+    }
+  }
+}
@@ -0,0 +1,166 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.fory.format.row.binary;
+
+import org.apache.fory.format.type.DataTypes;
+import org.apache.fory.format.type.Schema;
+import org.apache.fory.memory.MemoryBuffer;
+import org.apache.fory.util.MurmurHash3;
+import org.apache.fory.util.Preconditions;
+
+/**
+ * Hashes and compares key fields of {@link BinaryRow}s for equality on their binary data, which can
+ * be used to group or join rows without deserializing them.
+ *
+ * <p>Fixed-width values are hashed by their bits and variable-width values such as strings and
+ * nested structs by their bytes, so values are equal only if they have the same binary
+ * representation: <code>0.0</code> and <code>-0.0</code> are different keys.
+ */
+public class BinaryRowHasher {
+  private static final long SEED = 0x9E3779B97F4A7C15L;
+  private static final long NULL_HASH = 0x5BD1E995L;
+
+  private final int[] ordinals;
+  private final int[] widths;
+
+  /** Create a hasher for <code>fieldNames</code> of rows, all fields if no names are passed. */
+  public BinaryRowHasher(Schema schema, String... fieldNames) {
+    this(schema, fieldNames.length == 0 ? allOrdinals(schema) : ordinals(schema, fieldNames));
+  }
+
+  public BinaryRowHasher(Schema schema, int[] ordinals) {
+    Preconditions.checkArgument(ordinals.length > 0, "No key fields");
+    this.ordinals = ordinals.clone();
+    widths = new int[ordinals.length];
+    for (int i = 0; i < ordinals.length; i++) {
+      // Values wider than a slot are stored in the variable-length region like strings.
+      int width = DataTypes.getTypeWidth(schema.field(ordinals[i]).type());
+      widths[i] = width <= 8 ? width : -1;
+    }
+  }
+
+  private static int[] allOrdinals(Schema schema) {
+    int[] ordinals = new int[schema.numFields()];
+    for (int i = 0; i < ordinals.length; i++) {
+      ordinals[i] = i;
+    }
+    return ordinals;
+  }
+
+  private static int[] ordinals(Schema schema, String... fieldNames) {
+    return BinaryRowComparator.ordinals(schema, fieldNames);
+  }
+
+  /** Returns the hash of key fields of <code>row</code>. */
+  public int hash(BinaryRow row) {
+    long hash = SEED;
+    for (int i = 0; i < ordinals.length; i++) {
+      int ordinal = ordinals[i];
+      if (row.isNullAt(ordinal)) {
+        hash = mix(hash, NULL_HASH);
+        continue;
+      }
+      int width = widths[i];
+      if (width > 0) {
+        hash = mix(hash, fixedWidthBits(row, ordinal, width));
+      } else {
+        long offsetAndSize = row.getInt64(ordinal);
+        hash =
+            hashBytes(
+                row.getBuffer(),
+                row.getBaseOffset() + (int) (offsetAndSize >> 32),
+                (int) offsetAndSize,
+                hash);
+      }
+    }
+    return (int) MurmurHash3.fmix64(hash);
+  }
+
+  /** Returns true if key fields of the two rows are binary equal. */
+  public boolean keyEquals(BinaryRow row1, BinaryRow row2) {
+    for (int i = 0; i < ordinals.length; i++) {
+      int ordinal = ordinals[i];
+      boolean isNull1 = row1.isNullAt(ordinal);
+      if (isNull1 != row2.isNullAt(ordinal)) {
+        return false;
+      }
+      if (isNull1) {
+        continue;
+      }
+      int width = widths[i];
+      if (width > 0) {
+        if (fixedWidthBits(row1, ordinal, width) != fixedWidthBits(row2, ordinal, width)) {
+          return false;
+        }
+      } else {
+        long offsetAndSize1 = row1.getInt64(ordinal);
+        long offsetAndSize2 = row2.getInt64(ordinal);
+        if ((int) offsetAndSize1 != (int) offsetAndSize2) {
+          return false;
+        }
+        if (BinaryRowComparator.compareBytes(
+                row1.getBuffer(),
+                row1.getBaseOffset() + (int) (offsetAndSize1 >> 32),
+                (int) offsetAndSize1,
+                row2.getBuffer(),
+                row2.getBaseOffset() + (int) (offsetAndSize2 >> 32),
+                (int) offsetAndSize2)
+            != 0) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  private static long fixedWidthBits(BinaryRow row, int ordinal, int width) {
+    switch (width) {
+      case 1:
+        return row.getByte(ordinal);
+      case 2:
+        return row.getInt16(ordinal);
+      case 4:
+        return row.getInt32(ordinal);
+      default:
+        return row.getInt64(ordinal);
+    }
+  }
+
+  /** Hashes <code>size</code> bytes of <code>buffer</code> from <code>offset</code>. */
+  public static long hashBytes(MemoryBuffer buffer, int offset, int size, long seed) {
+    long hash = mix(seed, size);
+    int i = 0;
+    for (; i + 8 <= size; i += 8) {
+      hash = mix(hash, buffer.getInt64(offset + i));
+    }
+    if (i < size) {
+      long tail = 0;
+      for (int shift = 0; i < size; i++, shift += 8) {
+        tail |= (buffer.getByte(offset + i) & 0xFFL) << shift;
+      }
+      hash = mix(hash, tail);
+    }
+    return hash;
+  }
+
+  private static long mix(long hash, long value) {
+    return (hash ^ MurmurHash3.fmix64(value)) * SEED;
+  }
+}
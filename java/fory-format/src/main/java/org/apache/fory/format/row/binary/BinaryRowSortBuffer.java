@@ -0,0 +1,250 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.fory.format.row.binary;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import org.apache.fory.format.type.Schema;
+import org.apache.fory.memory.MemoryBuffer;
+import org.apache.fory.memory.MemoryUtils;
+import org.apache.fory.util.Preconditions;
+
+/**
+ * A buffer which collects {@link BinaryRow}s and sorts them by a {@link BinaryRowComparator}
+ * without deserializing them.
+ *
+ * <p>Row bytes are appended to a data buffer, and every row gets a 16-byte entry of its normalized
+ * key and its offset and size in a pointer buffer. {@link #sort()} sorts entries by an LSD radix
+ * sort on the normalized keys, which skips key bytes shared by all rows, then sorts entries with
+ * equal normalized keys by the comparator unless the normalized key is full. Rows are never moved.
+ *
+ * <p>Buffers have a fixed capacity and can be allocated off-heap, {@link #write} returns false once
+ * the buffer is full, so the caller can sort and spill the rows, then {@link #reset()} the buffer.
+ * Off-heap memory is released when the buffer is garbage collected.
+ */
+public class BinaryRowSortBuffer {
+  private static final int ENTRY_SIZE = 16;
+  private static final int SMALL_RUN_SIZE = 16;
+
+  private final BinaryRowComparator comparator;
+  private final Schema schema;
+  private final int maxRows;
+  private final MemoryBuffer data;
+  // Two regions of `maxRows` entries, radix sort scatters entries from one to the other.
+  private final MemoryBuffer pointers;
+  private final BinaryRow row1;
+  private final BinaryRow row2;
+  private long[] runPointers = new long[0];
+  private long[] runPointersTmp = new long[0];
+  private int entriesOffset;
+  private int dataSize;
+  private int numRows;
+  private boolean sorted;
+
+  /**
+   * @param maxRows max number of rows in the buffer.
+   * @param dataCapacity max number of row bytes in the buffer.
+   * @param offHeap whether to allocate the buffers off-heap.
+   */
+  public BinaryRowSortBuffer(
+      BinaryRowComparator comparator, int maxRows, int dataCapacity, boolean offHeap) {
+    Preconditions.checkArgument(maxRows > 0, "maxRows must be positive");
+    Preconditions.checkArgument(
+        (long) maxRows * ENTRY_SIZE * 2 <= Integer.MAX_VALUE, "maxRows is too large");
+    this.comparator = comparator;
+    this.schema = comparator.getSchema();
+    this.maxRows = maxRows;
+    data = allocate(dataCapacity, offHeap);
+    pointers = allocate(maxRows * ENTRY_SIZE * 2, offHeap);
+    row1 = new BinaryRow(schema);
+    row2 = new BinaryRow(schema);
+  }
+
+  private static MemoryBuffer allocate(int size, boolean offHeap) {
+    if (offHeap) {
+      return MemoryUtils.wrap(ByteBuffer.allocateDirect(size));
+    }
+    return MemoryUtils.buffer(size);
+  }
+
+  /** Copy <code>row</code> into this buffer, returns false if there isn't enough room for it. */
+  public boolean write(BinaryRow row) {
+    int size = row.getSizeInBytes();
+    if (numRows == maxRows || size > data.size() - dataSize) {
+      return false;
+    }
+    data.copyFrom(dataSize, row.getBuffer(), row.getBaseOffset(), size);
+    int entry = entriesOffset + numRows * ENTRY_SIZE;
+    pointers.putInt64(entry, comparator.normalizedKey(row));
+    pointers.putInt64(entry + 8, ((long) dataSize << 32) | size);
+    dataSize += size;
+    numRows++;
+    sorted = false;
+    return true;
+  }
+
+  public int numRows() {
+    return numRows;
+  }
+
+  /** Returns the number of row bytes in this buffer. */
+  public int dataSize() {
+    return dataSize;
+  }
+
+  /** Sort rows in this buffer, rows are read in sorted order by {@link #get} afterwards. */
+  public void sort() {
+    if (sorted || numRows < 2) {
+      return;
+    }
+    radixSort();
+    if (!comparator.isNormalizedKeyFull()) {
+      int start = 0;
+      for (int i = 1; i <= numRows; i++) {
+        if (i == numRows || normalizedKey(i) != normalizedKey(start)) {
+          if (i - start > 1) {
+            sortRun(start, i);
+          }
+          start = i;
+        }
+      }
+    }
+    sorted = true;
+  }
+
+  private void radixSort() {
+    int[] counts = new int[256];
+    int otherOffset = maxRows * ENTRY_SIZE - entriesOffset;
+    for (int shift = 0; shift < 64; shift += 8) {
+      Arrays.fill(counts, 0);
+      for (int i = 0; i < numRows; i++) {
+        counts[(int) (normalizedKey(i) >>> shift) & 0xFF]++;
+      }
+      int first = (int) (normalizedKey(0) >>> shift) & 0xFF;
+      if (counts[first] == numRows) {
+        // All rows share this byte, the pass won't change the order.
+        continue;
+      }
+      int offset = 0;
+      for (int b = 0; b < counts.length; b++) {
+        int count = counts[b];
+        counts[b] = offset;
+        offset += count;
+      }
+      for (int i = 0; i < numRows; i++) {
+        int entry = entriesOffset + i * ENTRY_SIZE;
+        long key = pointers.getInt64(entry);
+        int target = otherOffset + counts[(int) (key >>> shift) & 0xFF]++ * ENTRY_SIZE;
+        pointers.putInt64(target, key);
+        pointers.putInt64(target + 8, pointers.getInt64(entry + 8));
+      }
+      int tmp = entriesOffset;
+      entriesOffset = otherOffset;
+      otherOffset = tmp;
+    }
+  }
+
+  /** Sort entries in [start, end) which have equal normalized keys by the comparator. */
+  private void sortRun(int start, int end) {
+    int size = end - start;
+    if (runPointers.length < size) {
+      runPointers = new long[size];
+      runPointersTmp = new long[size];
+    }
+    for (int i = 0; i < size; i++) {
+      runPointers[i] = pointer(start + i);
+    }
+    mergeSort(runPointers, runPointersTmp, 0, size);
+    for (int i = 0; i < size; i++) {
+      pointers.putInt64(entriesOffset + (start + i) * ENTRY_SIZE + 8, runPointers[i]);
+    }
+  }
+
+  private void mergeSort(long[] array, long[] tmp, int from, int to) {
+    if (to - from <= SMALL_RUN_SIZE) {
+      for (int i = from + 1; i < to; i++) {
+        long pointer = array[i];
+        int j = i - 1;
+        while (j >= from && comparePointers(array[j], pointer) > 0) {
+          array[j + 1] = array[j];
+          j--;
+        }
+        array[j + 1] = pointer;
+      }
+      return;
+    }
+    int mid = (from + to) >>> 1;
+    mergeSort(array, tmp, from, mid);
+    mergeSort(array, tmp, mid, to);
+    if (comparePointers(array[mid - 1], array[mid]) <= 0) {
+      return;
+    }
+    System.arraycopy(array, from, tmp, from, to - from);
+    int i = from;
+    int j = mid;
+    for (int k = from; k < to; k++) {
+      if (j >= to || (i < mid && comparePointers(tmp[i], tmp[j]) <= 0)) {
+        array[k] = tmp[i++];
+      } else {
+        array[k] = tmp[j++];
+      }
+    }
+  }
+
+  private int comparePointers(long pointer1, long pointer2) {
+    row1.pointTo(data, (int) (pointer1 >>> 32), (int) pointer1);
+    row2.pointTo(data, (int) (pointer2 >>> 32), (int) pointer2);
+    return comparator.compare(row1, row2);
+  }
+
+  /** Returns the normalized key of the row at <code>index</code>. */
+  public long normalizedKey(int index) {
+    return pointers.getInt64(entriesOffset + index * ENTRY_SIZE);
+  }
+
+  private long pointer(int index) {
+    return pointers.getInt64(entriesOffset + index * ENTRY_SIZE + 8);
+  }
+
+  /**
+   * Returns a row view of the row at <code>index</code>, which is backed by this buffer and valid
+   * until the buffer is reset.
+   */
+  public BinaryRow get(int index) {
+    BinaryRow row = new BinaryRow(schema);
+    pointTo(index, row);
+    return row;
+  }
+
+  /** Point <code>row</code> to the row at <code>index</code> of this buffer. */
+  public void pointTo(int index, BinaryRow row) {
+    Preconditions.checkArgument(index >= 0 && index < numRows, "Row index out of bounds");
+    long pointer = pointer(index);
+    row.pointTo(data, (int) (pointer >>> 32), (int) pointer);
+  }
+
+  /** Remove all rows from this buffer. */
+  public void reset() {
+    entriesOffset = 0;
+    dataSize = 0;
+    numRows = 0;
+    sorted = false;
+  }
+}
@@ -0,0 +1,300 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.fory.format.row.binary;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import org.apache.fory.format.row.Row;
+import org.apache.fory.format.type.DataTypes;
+import org.apache.fory.format.type.Field;
+import org.apache.fory.memory.MemoryBuffer;
+import org.apache.fory.memory.MemoryUtils;
+import org.apache.fory.util.MurmurHash3;
+
+/**
+ * Statistics of a field gathered by {@link RowStatistics}: null count, min/max values, an estimate
+ * of distinct values by a HyperLogLog sketch, and total bytes of variable-length values.
+ *
+ * <p>Min/max values are collected for primitive, date, timestamp, duration, string, binary and
+ * decimal fields, NaN values are ignored. Distinct values and bytes of nested fields are only
+ * collected from {@link BinaryRow}s of the default layout.
+ */
+public final class ColumnStatistics {
+  private static final int KIND_LONG = 0;
+  private static final int KIND_DOUBLE = 1;
+  private static final int KIND_BYTES = 2;
+  private static final int KIND_DECIMAL = 3;
+  private static final int KIND_NESTED = 4;
+  private static final long SEED = 47;
+
+  private final Field field;
+  private final int typeId;
+  private final int kind;
+  private final HyperLogLog distinct = new HyperLogLog(HyperLogLog.DEFAULT_PRECISION);
+  private long nullCount;
+  private long varLengthBytes;
+  private boolean hasMinMax;
+  private long minLong;
+  private long maxLong;
+  private double minDouble;
+  private double maxDouble;
+  // Copies of min/max bytes, only copied again when min/max changes.
+  private MemoryBuffer minBytes;
+  private MemoryBuffer maxBytes;
+  private BigDecimal minDecimal;
+  private BigDecimal maxDecimal;
+
+  ColumnStatistics(Field field) {
+    this.field = field;
+    typeId = field.type().typeId();
+    kind = kind(typeId);
+  }
+
+  private static int kind(int typeId) {
+    if (typeId == DataTypes.TYPE_FLOAT32 || typeId == DataTypes.TYPE_FLOAT64) {
+      return KIND_DOUBLE;
+    } else if (typeId == DataTypes.TYPE_STRING || typeId == DataTypes.TYPE_BINARY) {
+      return KIND_BYTES;
+    } else if (typeId == DataTypes.TYPE_DECIMAL) {
+      return KIND_DECIMAL;
+    } else if (typeId == DataTypes.TYPE_STRUCT
+        || typeId == DataTypes.TYPE_LIST
+        || typeId == DataTypes.TYPE_MAP) {
+      return KIND_NESTED;
+    }
+    return KIND_LONG;
+  }
+
+  void update(Row row, int ordinal) {
+    if (row.isNullAt(ordinal)) {
+      nullCount++;
+      return;
+    }
+    switch (kind) {
+      case KIND_LONG:
+        updateLong(getLong(row, ordinal));
+        break;
+      case KIND_DOUBLE:
+        updateDouble(
+            typeId == DataTypes.TYPE_FLOAT32 ? row.getFloat32(ordinal) : row.getFloat64(ordinal));
+        break;
+      case KIND_DECIMAL:
+        updateDecimal(row.getDecimal(ordinal));
+        break;
+      default:
+        updateBytes(row, ordinal);
+    }
+  }
+
+  private long getLong(Row row, int ordinal) {
+    if (typeId == DataTypes.TYPE_BOOL) {
+      return row.getBoolean(ordinal) ? 1 : 0;
+    } else if (typeId == DataTypes.TYPE_INT8) {
+      return row.getByte(ordinal);
+    } else if (typeId == DataTypes.TYPE_INT16) {
+      return row.getInt16(ordinal);
+    } else if (typeId == DataTypes.TYPE_INT32 || typeId == DataTypes.TYPE_LOCAL_DATE) {
+      return row.getInt32(ordinal);
+    } else {
+      return row.getInt64(ordinal);
+    }
+  }
+
+  private void updateLong(long value) {
+    distinct.add(MurmurHash3.fmix64(value));
+    if (!hasMinMax) {
+      hasMinMax = true;
+      minLong = value;
+      maxLong = value;
+    } else if (value < minLong) {
+      minLong = value;
+    } else if (value > maxLong) {
+      maxLong = value;
+    }
+  }
+
+  private void updateDouble(double value) {
+    // Add 0.0 to count -0.0 and 0.0 as one value.
+    distinct.add(MurmurHash3.fmix64(Double.doubleToLongBits(value + 0.0)));
+    if (Double.isNaN(value)) {
+      return;
+    }
+    if (!hasMinMax) {
+      hasMinMax = true;
+      minDouble = value;
+      maxDouble = value;
+    } else if (value < minDouble) {
+      minDouble = value;
+    } else if (value > maxDouble) {
+      maxDouble = value;
+    }
+  }
+
+  private void updateDecimal(BigDecimal value) {
+    distinct.add(hashDecimal(value));
+    if (!hasMinMax) {
+      hasMinMax = true;
+      minDecimal = value;
+      maxDecimal = value;
+    } else if (value.compareTo(minDecimal) < 0) {
+      minDecimal = value;
+    } else if (value.compareTo(maxDecimal) > 0) {
+      maxDecimal = value;
+    }
+  }
+
+  private static long hashDecimal(BigDecimal value) {
+    BigInteger unscaled = value.unscaledValue();
+    long scaleHash = MurmurHash3.fmix64(value.scale());
+    if (unscaled.bitLength() < 64) {
+      return MurmurHash3.fmix64(unscaled.longValue() ^ scaleHash);
+    }
+    byte[] bytes = unscaled.toByteArray();
+    return BinaryRowHasher.hashBytes(MemoryUtils.wrap(bytes), 0, bytes.length, SEED ^ scaleHash);
+  }
+
+  private void updateBytes(Row row, int ordinal) {
+    MemoryBuffer buffer;
+    int offset;
+    int size;
+    if (row.getClass() == BinaryRow.class) {
+      BinaryRow binaryRow = (BinaryRow) row;
+      buffer = binaryRow.getBuffer();
+      long offsetAndSize = buffer.getInt64(binaryRow.getOffset(ordinal));
+      offset = binaryRow.getBaseOffset() + (int) (offsetAndSize >> 32);
+      size = (int) offsetAndSize;
+    } else if (kind == KIND_BYTES) {
+      byte[] bytes =
+          typeId == DataTypes.TYPE_STRING
+              ? row.getString(ordinal).getBytes(StandardCharsets.UTF_8)
+              : row.getBinary(ordinal);
+      buffer = MemoryUtils.wrap(bytes);
+      offset = 0;
+      size = bytes.length;
+    } else {
+      return;
+    }
+    varLengthBytes += size;
+    distinct.add(BinaryRowHasher.hashBytes(buffer, offset, size, SEED));
+    if (kind == KIND_NESTED) {
+      return;
+    }
+    if (!hasMinMax) {
+      hasMinMax = true;
+      minBytes = copy(buffer, offset, size);
+      maxBytes = minBytes;
+    } else if (compare(buffer, offset, size, minBytes) < 0) {
+      minBytes = copy(buffer, offset, size);
+    } else if (compare(buffer, offset, size, maxBytes) > 0) {
+      maxBytes = copy(buffer, offset, size);
+    }
+  }
+
+  private static int compare(MemoryBuffer buffer, int offset, int size, MemoryBuffer bytes) {
+    return BinaryRowComparator.compareBytes(buffer, offset, size, bytes, 0, bytes.size());
+  }
+
+  private static MemoryBuffer copy(MemoryBuffer buffer, int offset, int size) {
+    return MemoryUtils.wrap(buffer.getBytes(offset, size));
+  }
+
+  public Field getField() {
+    return field;
+  }
+
+  public long getNullCount() {
+    return nullCount;
+  }
+
+  /** Returns total bytes of variable-length values, which is 0 for fixed-width fields. */
+  public long getVarLengthBytes() {
+    return varLengthBytes;
+  }
+
+  /** Returns an estimate of the number of distinct non-null values. */
+  public long getDistinctCount() {
+    return distinct.estimate();
+  }
+
+  /**
+   * Returns the min value, boxed as the value returned by the row getter of the field type, such as
+   * an Integer of days for dates. Returns null if there are no non-null values or the field type
+   * has no min/max statistics.
+   */
+  public Object getMin() {
+    return hasMinMax ? value(minLong, minDouble, minBytes, minDecimal) : null;
+  }
+
+  /** Returns the max value, see {@link #getMin()}. */
+  public Object getMax() {
+    return hasMinMax ? value(maxLong, maxDouble, maxBytes, maxDecimal) : null;
+  }
+
+  private Object value(long longValue, double doubleValue, MemoryBuffer bytes, BigDecimal decimal) {
+    switch (kind) {
+      case KIND_DOUBLE:
+        return typeId == DataTypes.TYPE_FLOAT32 ? (Object) (float) doubleValue : doubleValue;
+      case KIND_DECIMAL:
+        return decimal;
+      case KIND_BYTES:
+        byte[] array = bytes.getBytes(0, bytes.size());
+        return typeId == DataTypes.TYPE_STRING ? new String(array, StandardCharsets.UTF_8) : array;
+      default:
+        if (typeId == DataTypes.TYPE_BOOL) {
+          return longValue != 0;
+        } else if (typeId == DataTypes.TYPE_INT8) {
+          return (byte) longValue;
+        } else if (typeId == DataTypes.TYPE_INT16) {
+          return (short) longValue;
+        } else if (typeId == DataTypes.TYPE_INT32 || typeId == DataTypes.TYPE_LOCAL_DATE) {
+          return (int) longValue;
+        }
+        return longValue;
+    }
+  }
+
+  void reset() {
+    distinct.reset();
+    nullCount = 0;
+    varLengthBytes = 0;
+    hasMinMax = false;
+    minBytes = maxBytes = null;
+    minDecimal = maxDecimal = null;
+  }
+
+  @Override
+  public String toString() {
+    return "ColumnStatistics{"
+        + "field="
+        + field.name()
+        + ", nullCount="
+        + nullCount
+        + ", min="
+        + getMin()
+        + ", max="
+        + getMax()
+        + ", distinctCount="
+        + getDistinctCount()
+        + ", varLengthBytes="
+        + varLengthBytes
+        + '}';
+  }
+}
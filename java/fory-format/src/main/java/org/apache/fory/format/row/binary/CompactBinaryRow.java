@@ -22,6 +22,7 @@ package org.apache.fory.format.row.binary;
 import org.apache.fory.format.type.Field;
 import org.apache.fory.format.type.Schema;
 import org.apache.fory.memory.MemoryBuffer;
+import org.apache.fory.memory.MemoryUtils;
 
 /**
  * A compact version of {@link BinaryRow}. The compact encoding includes additional optimizations:
@@ -29,6 +30,8 @@ import org.apache.fory.memory.MemoryBuffer;
  * <ul>
  *   <li>fixed size binary objects are stored in the fixed size section with no pointer needed
  *   <li>small values can take up fewer than 8 bytes
+ *   <li>low-cardinality strings can be stored as 4-byte codes of a {@link StringDictionary} shared
+ *       by a batch of rows
  *   <li>null bitmap is skipped if all fields are primitive / not-nullable
  *   <li>the header is packed better, with the null-bitmap allowed to borrow alignment padding at
  *       end of fixed section
@@ -41,6 +44,7 @@ import org.apache.fory.memory.MemoryBuffer;
 public class CompactBinaryRow extends BinaryRow {
   private final CompactRowLayout layout;
   private final int bitmapOffset;
+  private StringDictionary dictionary;
 
   public CompactBinaryRow(final Schema schema) {
     this(new CompactRowLayout(schema));
@@ -56,6 +60,42 @@ public class CompactBinaryRow extends BinaryRow {
     return layout;
   }
 
+  /**
+   * Set the dictionary which resolves codes of dictionary-encoded fields, see {@link
+   * org.apache.fory.format.type.DataTypes#dictionaryField}.
+   */
+  public void setDictionary(final StringDictionary dictionary) {
+    this.dictionary = dictionary;
+  }
+
+  public StringDictionary getDictionary() {
+    return dictionary;
+  }
+
+  /** Returns the dictionary code of dictionary-encoded field <code>ordinal</code>. */
+  public int getDictionaryCode(final int ordinal) {
+    return getBuffer().getInt32(getOffset(ordinal));
+  }
+
+  private StringDictionary dictionary(final int ordinal) {
+    if (dictionary == null) {
+      throw new IllegalStateException(
+          "No dictionary for dictionary-encoded field " + getSchema().field(ordinal));
+    }
+    return dictionary;
+  }
+
+  @Override
+  public String getString(final int ordinal) {
+    if (layout.dictionaryEncoded[ordinal]) {
+      if (isNullAt(ordinal)) {
+        return null;
+      }
+      return dictionary(ordinal).getString(getDictionaryCode(ordinal));
+    }
+    return super.getString(ordinal);
+  }
+
   @Override
   public boolean isNullAt(final int ordinal) {
     if (layout.allFieldsNotNullable) {
@@ -72,7 +112,10 @@ public class CompactBinaryRow extends BinaryRow {
   @Override
   public MemoryBuffer getBuffer(final int ordinal) {
     final int fixedWidthBinary = layout.fixedWidths[ordinal];
-    if (fixedWidthBinary >= 0) {
+    if (layout.dictionaryEncoded[ordinal]) {
+      final byte[] bytes = getBinary(ordinal);
+      return bytes == null ? null : MemoryUtils.wrap(bytes);
+    } else if (fixedWidthBinary >= 0) {
       if (isNullAt(ordinal)) {
         return null;
       }
@@ -85,7 +128,12 @@ public class CompactBinaryRow extends BinaryRow {
   @Override
   public byte[] getBinary(final int ordinal) {
     final int fixedWidthBinary = layout.fixedWidths[ordinal];
-    if (fixedWidthBinary >= 0) {
+    if (layout.dictionaryEncoded[ordinal]) {
+      if (isNullAt(ordinal)) {
+        return null;
+      }
+      return dictionary(ordinal).getBytes(getDictionaryCode(ordinal));
+    } else if (fixedWidthBinary >= 0) {
       if (isNullAt(ordinal)) {
         return null;
       }
@@ -103,6 +151,7 @@ public class CompactBinaryRow extends BinaryRow {
       return null;
     }
     final CompactBinaryRow row = layout.childLayouts[ordinal].newRow();
+    row.dictionary = dictionary;
     final int fixedWidthBinary = layout.fixedWidths[ordinal];
     if (fixedWidthBinary == -1) {
       final long offsetAndSize = getInt64(ordinal);
@@ -145,6 +194,8 @@ public class CompactBinaryRow extends BinaryRow {
 
   @Override
   protected BinaryRow rowForCopy() {
-    return new CompactBinaryRow(layout);
+    final CompactBinaryRow row = new CompactBinaryRow(layout);
+    row.dictionary = dictionary;
+    return row;
   }
 }
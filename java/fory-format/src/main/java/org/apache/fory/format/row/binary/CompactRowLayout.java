@@ -38,6 +38,9 @@ public final class CompactRowLayout {
   public final boolean allFieldsNotNullable;
   public final int bitmapWidthInBytes;
 
+  /** Whether a field is a string stored as a {@link StringDictionary} code in a 4-byte slot. */
+  public final boolean[] dictionaryEncoded;
+
   /**
    * Nested layout per field: struct row for struct fields, element row for {@code List<Struct>}.
    */
@@ -49,9 +52,11 @@ public final class CompactRowLayout {
     final List<Field> fields = schema.fields();
     this.fixedWidths = new int[fields.size()];
     this.childLayouts = new CompactRowLayout[fields.size()];
+    this.dictionaryEncoded = new boolean[fields.size()];
     for (int i = 0; i < fields.size(); i++) {
       final Field field = fields.get(i);
       fixedWidths[i] = CompactBinaryRowWriter.fixedWidthFor(field);
+      dictionaryEncoded[i] = DataTypes.isDictionaryEncoded(field);
       if (field.type() instanceof DataTypes.StructType) {
         childLayouts[i] = new CompactRowLayout(DataTypes.createSchema(field));
       } else if (field.type() instanceof DataTypes.ListType) {
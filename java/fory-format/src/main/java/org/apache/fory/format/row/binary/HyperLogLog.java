@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.fory.format.row.binary;
+
+import java.util.Arrays;
+
+/**
+ * A HyperLogLog sketch which estimates the number of distinct 64-bit hashes added to it, with a
+ * relative error of about <code>1.04 / sqrt(2^precision)</code>. Hashes must be well mixed, see
+ * {@link org.apache.fory.util.MurmurHash3#fmix64}.
+ */
+final class HyperLogLog {
+  static final int DEFAULT_PRECISION = 12;
+
+  private final int precision;
+  private final byte[] registers;
+
+  HyperLogLog(int precision) {
+    this.precision = precision;
+    registers = new byte[1 << precision];
+  }
+
+  void add(long hash) {
+    int index = (int) (hash >>> (64 - precision));
+    // Rank of the first set bit of the remaining bits, the index bits are shifted out.
+    int rank = Long.numberOfLeadingZeros((hash << precision) | (1L << (precision - 1))) + 1;
+    if (rank > registers[index]) {
+      registers[index] = (byte) rank;
+    }
+  }
+
+  long estimate() {
+    int m = registers.length;
+    double sum = 0;
+    int zeros = 0;
+    for (byte register : registers) {
+      sum += 1.0 / (1L << register);
+      if (register == 0) {
+        zeros++;
+      }
+    }
+    double alpha = 0.7213 / (1 + 1.079 / m);
+    double estimate = alpha * m * m / sum;
+    if (estimate <= 2.5 * m && zeros > 0) {
+      // Linear counting is more accurate for small cardinalities.
+      estimate = m * Math.log((double) m / zeros);
+    }
+    return Math.round(estimate);
+  }
+
+  void reset() {
+    Arrays.fill(registers, (byte) 0);
+  }
+}
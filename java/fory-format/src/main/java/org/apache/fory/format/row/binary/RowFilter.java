@@ -0,0 +1,255 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.fory.format.row.binary;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.apache.fory.annotation.Internal;
+import org.apache.fory.format.row.binary.writer.CompactBinaryRowWriter;
+import org.apache.fory.format.type.Schema;
+import org.apache.fory.memory.MemoryBuffer;
+import org.apache.fory.util.Preconditions;
+
+/**
+ * A conjunction of simple predicates on fields of rows: equality, range, null check and IN.
+ *
+ * <p>A filter is compiled into a {@link RowPredicate} for a schema, which reads only the fields
+ * referenced by the filter from the fixed-width slots and variable-length offsets of a row. Strings
+ * and binaries are compared with the constants by bytes without decoding, comparisons with a null
+ * value are false like in SQL.
+ *
+ * <pre>{@code
+ * RowPredicate predicate =
+ *     RowFilter.and(RowFilter.between("age", 18, 30), RowFilter.in("city", "a", "b"))
+ *         .compile(schema);
+ * for (BinaryRow row : rows) {
+ *   if (predicate.test(row)) {
+ *     // ...
+ *   }
+ * }
+ * }</pre>
+ *
+ * <p>Constants are converted to the type of the field: integral fields accept integral numbers,
+ * floating fields accept numbers, date fields accept {@link java.time.LocalDate} or days, timestamp
+ * fields accept {@link java.time.Instant} or micros, string fields accept strings, binary fields
+ * accept byte arrays and decimal fields accept {@link BigDecimal}s. Generated classes are cached by
+ * the shape of filters, so compiling filters which only differ by constants is cheap.
+ */
+public final class RowFilter {
+  enum Op {
+    EQ,
+    LT,
+    LE,
+    GT,
+    GE,
+    IN,
+    IS_NULL,
+    IS_NOT_NULL,
+    AND
+  }
+
+  final Op op;
+  final String fieldName;
+  final Object[] values;
+  final List<RowFilter> children;
+
+  private RowFilter(Op op, String fieldName, Object[] values, List<RowFilter> children) {
+    this.op = op;
+    this.fieldName = fieldName;
+    this.values = values;
+    this.children = children;
+  }
+
+  private static RowFilter leaf(Op op, String fieldName, Object... values) {
+    Preconditions.checkNotNull(fieldName);
+    for (Object value : values) {
+      Preconditions.checkArgument(value != null, "Null constant for field %s", fieldName);
+    }
+    return new RowFilter(op, fieldName, values, Collections.emptyList());
+  }
+
+  public static RowFilter equal(String fieldName, Object value) {
+    return leaf(Op.EQ, fieldName, value);
+  }
+
+  public static RowFilter lessThan(String fieldName, Object value) {
+    return leaf(Op.LT, fieldName, value);
+  }
+
+  public static RowFilter lessThanOrEqual(String fieldName, Object value) {
+    return leaf(Op.LE, fieldName, value);
+  }
+
+  public static RowFilter greaterThan(String fieldName, Object value) {
+    return leaf(Op.GT, fieldName, value);
+  }
+
+  public static RowFilter greaterThanOrEqual(String fieldName, Object value) {
+    return leaf(Op.GE, fieldName, value);
+  }
+
+  /** Matches values in <code>[lower, upper]</code>. */
+  public static RowFilter between(String fieldName, Object lower, Object upper) {
+    return and(greaterThanOrEqual(fieldName, lower), lessThanOrEqual(fieldName, upper));
+  }
+
+  public static RowFilter in(String fieldName, Object... values) {
+    Preconditions.checkArgument(values.length > 0, "No values for IN of field %s", fieldName);
+    return leaf(Op.IN, fieldName, values);
+  }
+
+  public static RowFilter in(String fieldName, List<?> values) {
+    return in(fieldName, values.toArray());
+  }
+
+  public static RowFilter isNull(String fieldName) {
+    return leaf(Op.IS_NULL, fieldName);
+  }
+
+  public static RowFilter isNotNull(String fieldName) {
+    return leaf(Op.IS_NOT_NULL, fieldName);
+  }
+
+  /** Matches rows matched by all <code>filters</code>, which are evaluated in order. */
+  public static RowFilter and(RowFilter... filters) {
+    Preconditions.checkArgument(filters.length > 0, "No filters");
+    return new RowFilter(Op.AND, null, new Object[0], Arrays.asList(filters.clone()));
+  }
+
+  /** Returns predicates of this filter in evaluation order. */
+  List<RowFilter> leaves() {
+    List<RowFilter> leaves = new ArrayList<>();
+    addLeaves(leaves);
+    return leaves;
+  }
+
+  private void addLeaves(List<RowFilter> leaves) {
+    if (op == Op.AND) {
+      for (RowFilter child : children) {
+        child.addLeaves(leaves);
+      }
+    } else {
+      leaves.add(this);
+    }
+  }
+
+  /** Compile this filter for {@link BinaryRow}s of <code>schema</code>. */
+  public RowPredicate compile(Schema schema) {
+    return new RowPredicateBuilder(schema, null, null).build(leaves());
+  }
+
+  /**
+   * Compile this filter for {@link CompactBinaryRow}s of <code>schema</code>, fields are ordered
+   * like the compact writer does if they aren't.
+   */
+  public RowPredicate compileCompact(Schema schema) {
+    return compileCompact(schema, null);
+  }
+
+  /**
+   * Compile this filter for {@link CompactBinaryRow}s of <code>schema</code> whose
+   * dictionary-encoded fields use <code>dictionary</code>. Equality predicates of these fields
+   * compare dictionary codes which are looked up at compile time, so the predicate must be compiled
+   * after the dictionary is populated, and again for rows of another dictionary.
+   */
+  public RowPredicate compileCompact(Schema schema, StringDictionary dictionary) {
+    CompactRowLayout layout = new CompactRowLayout(CompactBinaryRowWriter.sortSchema(schema));
+    return new RowPredicateBuilder(layout.schema, layout, dictionary).build(leaves());
+  }
+
+  @Override
+  public String toString() {
+    if (op == Op.AND) {
+      StringBuilder builder = new StringBuilder("(");
+      for (int i = 0; i < children.size(); i++) {
+        if (i > 0) {
+          builder.append(" AND ");
+        }
+        builder.append(children.get(i));
+      }
+      return builder.append(')').toString();
+    }
+    return fieldName + " " + op + (values.length == 0 ? "" : " " + Arrays.deepToString(values));
+  }
+
+  // ###########################################################
+  // ############ helpers used by generated predicates #########
+  // ###########################################################
+
+  /** Returns true if the variable-length value at <code>offsetAndSize</code> equals a constant. */
+  @Internal
+  public static boolean equalBytes(
+      MemoryBuffer buffer, int baseOffset, long offsetAndSize, MemoryBuffer constant) {
+    int size = (int) offsetAndSize;
+    if (size != constant.size()) {
+      return false;
+    }
+    int offset = baseOffset + (int) (offsetAndSize >> 32);
+    int i = 0;
+    for (; i + 8 <= size; i += 8) {
+      if (buffer.getInt64(offset + i) != constant.getInt64(i)) {
+        return false;
+      }
+    }
+    for (; i < size; i++) {
+      if (buffer.getByte(offset + i) != constant.getByte(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /** Compares the variable-length value at <code>offsetAndSize</code> with a constant. */
+  @Internal
+  public static int compareBytes(
+      MemoryBuffer buffer, int baseOffset, long offsetAndSize, MemoryBuffer constant) {
+    return BinaryRowComparator.compareBytes(
+        buffer,
+        baseOffset + (int) (offsetAndSize >> 32),
+        (int) offsetAndSize,
+        constant,
+        0,
+        constant.size());
+  }
+
+  @Internal
+  public static boolean inBytes(
+      MemoryBuffer buffer, int baseOffset, long offsetAndSize, MemoryBuffer[] constants) {
+    for (MemoryBuffer constant : constants) {
+      if (equalBytes(buffer, baseOffset, offsetAndSize, constant)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Internal
+  public static boolean inDecimals(BigDecimal value, BigDecimal[] constants) {
+    for (BigDecimal constant : constants) {
+      if (value.compareTo(constant) == 0) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
@@ -0,0 +1,474 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.fory.format.row.binary;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.fory.codegen.CodeGenerator;
+import org.apache.fory.codegen.CodegenContext;
+import org.apache.fory.codegen.CompileUnit;
+import org.apache.fory.format.row.binary.RowFilter.Op;
+import org.apache.fory.format.type.DataTypes;
+import org.apache.fory.format.type.Field;
+import org.apache.fory.format.type.Schema;
+import org.apache.fory.logging.Logger;
+import org.apache.fory.logging.LoggerFactory;
+import org.apache.fory.memory.BitUtils;
+import org.apache.fory.memory.MemoryBuffer;
+import org.apache.fory.memory.MemoryUtils;
+import org.apache.fory.util.DateTimeUtils;
+import org.apache.fory.util.StringUtils;
+
+/**
+ * Generates a {@link RowPredicate} for the predicates of a {@link RowFilter}. Offsets of slots and
+ * null bits are computed from the layout and inlined into the code, constants are passed to the
+ * constructor so that filters of the same shape share the generated class.
+ */
+final class RowPredicateBuilder {
+  private static final Logger LOG = LoggerFactory.getLogger(RowPredicateBuilder.class);
+  private static final Map<String, Class<?>> predicateClasses = new ConcurrentHashMap<>();
+  private static final AtomicInteger idGenerator = new AtomicInteger();
+  // IN with more values is evaluated by a binary search.
+  private static final int MAX_INLINE_IN_VALUES = 8;
+
+  private final Schema schema;
+  private final CompactRowLayout layout;
+  private final StringDictionary dictionary;
+  private final int bitmapWidthInBytes;
+  private final List<String[]> fields = new ArrayList<>();
+  private final StringBuilder constructorCode = new StringBuilder();
+  private final StringBuilder testCode = new StringBuilder();
+  private final List<Object> constants = new ArrayList<>();
+  private final BitSet loadedValues = new BitSet();
+
+  /**
+   * @param layout layout of compact rows, null for default rows.
+   * @param dictionary dictionary of dictionary-encoded fields of compact rows, may be null.
+   */
+  RowPredicateBuilder(Schema schema, CompactRowLayout layout, StringDictionary dictionary) {
+    this.schema = schema;
+    this.layout = layout;
+    this.dictionary = dictionary;
+    bitmapWidthInBytes = BitUtils.calculateBitmapWidthInBytes(schema.numFields());
+  }
+
+  RowPredicate build(List<RowFilter> predicates) {
+    testCode.append("MemoryBuffer buffer = row.getBuffer();\n");
+    testCode.append("int base = row.getBaseOffset();\n");
+    for (RowFilter predicate : predicates) {
+      addPredicate(predicate);
+    }
+    testCode.append("return true;");
+    StringBuilder key = new StringBuilder();
+    for (String[] field : fields) {
+      key.append(field[0]).append(' ').append(field[1]).append(";\n");
+    }
+    key.append(constructorCode).append(testCode);
+    Class<?> cls = predicateClasses.computeIfAbsent(key.toString(), k -> compile());
+    try {
+      Object[] args = constants.toArray();
+      return (RowPredicate) cls.getConstructor(Object[].class).newInstance((Object) args);
+    } catch (ReflectiveOperationException e) {
+      throw new IllegalStateException("Failed to create predicate " + cls, e);
+    }
+  }
+
+  private Class<?> compile() {
+    String pkg = RowPredicateBuilder.class.getPackage().getName();
+    String className = "RowPredicate_" + idGenerator.getAndIncrement();
+    CodegenContext ctx = new CodegenContext();
+    ctx.setPackage(pkg);
+    ctx.setClassName(className);
+    ctx.addImports(MemoryBuffer.class, BigDecimal.class, Arrays.class);
+    ctx.implementsInterfaces(ctx.type(RowPredicate.class));
+    for (String[] field : fields) {
+      ctx.addField(true, field[0], field[1], null);
+    }
+    ctx.addConstructor(constructorCode.toString(), Object[].class, "constants");
+    ctx.addMethod("test", testCode.toString(), boolean.class, BinaryRow.class, "row");
+    String code = ctx.genCode();
+    LOG.info("Create predicate {}", className);
+    ClassLoader classLoader =
+        CodeGenerator.getSharedCodeGenerator(RowPredicate.class.getClassLoader())
+            .compile(new CompileUnit(pkg, className, code));
+    try {
+      return classLoader.loadClass(pkg + "." + className);
+    } catch (ClassNotFoundException e) {
+      throw new IllegalStateException("Impossible because we just compiled class", e);
+    }
+  }
+
+  private void addPredicate(RowFilter predicate) {
+    int ordinal = schema.getFieldIndex(predicate.fieldName);
+    if (ordinal < 0) {
+      throw new IllegalArgumentException(
+          "Field " + predicate.fieldName + " doesn't exist in " + schema);
+    }
+    String isNull = isNullCode(ordinal);
+    if (predicate.op == Op.IS_NULL) {
+      testCode.append(StringUtils.format("if (!(${isNull})) return false;\n", "isNull", isNull));
+      return;
+    }
+    if (!isNull.equals("false")) {
+      testCode.append(StringUtils.format("if (${isNull}) return false;\n", "isNull", isNull));
+    }
+    if (predicate.op == Op.IS_NOT_NULL) {
+      return;
+    }
+    Field field = schema.field(ordinal);
+    if (layout != null && layout.dictionaryEncoded[ordinal]) {
+      addDictionaryPredicate(predicate, ordinal);
+      return;
+    }
+    int typeId = field.type().typeId();
+    ValueKind kind = valueKind(field);
+    String value = "v" + ordinal;
+    if (!loadedValues.get(ordinal)) {
+      loadedValues.set(ordinal);
+      testCode.append(
+          StringUtils.format(
+              "${type} ${value} = ${load};\n",
+              "type",
+              kind.type,
+              "value",
+              value,
+              "load",
+              loadCode(ordinal, typeId, kind)));
+    }
+    Object[] values = new Object[predicate.values.length];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = convert(field, kind, predicate.values[i]);
+    }
+    String condition;
+    if (predicate.op == Op.IN) {
+      condition = inCode(kind, value, values);
+    } else {
+      if (kind == ValueKind.BOOLEAN && predicate.op != Op.EQ) {
+        throw new IllegalArgumentException("Unsupported predicate " + predicate);
+      }
+      condition =
+          compareCode(kind, value, predicate.op, addConstant(kind.constantType, values[0]));
+    }
+    testCode.append(StringUtils.format("if (!(${cond})) return false;\n", "cond", condition));
+  }
+
+  /**
+   * Dictionary-encoded strings are compared by their codes, constants which aren't in the
+   * dictionary get code -1 which matches no value.
+   */
+  private void addDictionaryPredicate(RowFilter predicate, int ordinal) {
+    Field field = schema.field(ordinal);
+    if (predicate.op != Op.EQ && predicate.op != Op.IN) {
+      throw new IllegalArgumentException(
+          "Only equality predicates are supported by dictionary-encoded field " + field);
+    }
+    if (dictionary == null) {
+      throw new IllegalArgumentException("No dictionary for dictionary-encoded field " + field);
+    }
+    Object[] codes = new Object[predicate.values.length];
+    for (int i = 0; i < codes.length; i++) {
+      Object value = predicate.values[i];
+      if (!(value instanceof String)) {
+        throw new IllegalArgumentException(
+            "Constant " + value + " of " + value.getClass() + " doesn't match field " + field);
+      }
+      codes[i] = (long) dictionary.lookup((String) value);
+    }
+    String value = "v" + ordinal;
+    if (!loadedValues.get(ordinal)) {
+      loadedValues.set(ordinal);
+      testCode.append(
+          StringUtils.format(
+              "long ${value} = buffer.getInt32(base + ${offset});\n",
+              "value",
+              value,
+              "offset",
+              slotOffset(ordinal)));
+    }
+    String condition;
+    if (predicate.op == Op.IN) {
+      condition = inCode(ValueKind.LONG, value, codes);
+    } else {
+      condition = compareCode(ValueKind.LONG, value, Op.EQ, addConstant("long", codes[0]));
+    }
+    testCode.append(StringUtils.format("if (!(${cond})) return false;\n", "cond", condition));
+  }
+
+  private String isNullCode(int ordinal) {
+    int bitmapOffset;
+    if (layout == null) {
+      bitmapOffset = 0;
+    } else if (layout.allFieldsNotNullable) {
+      return "false";
+    } else {
+      bitmapOffset = layout.fixedOffsets[layout.fixedOffsets.length - 1];
+    }
+    return StringUtils.format(
+        "(buffer.getByte(base + ${offset}) & ${mask}) != 0",
+        "offset",
+        bitmapOffset + (ordinal >> 3),
+        "mask",
+        1 << (ordinal & 7));
+  }
+
+  private int slotOffset(int ordinal) {
+    return layout == null ? bitmapWidthInBytes + (ordinal << 3) : layout.fixedOffsets[ordinal];
+  }
+
+  private enum ValueKind {
+    BOOLEAN("boolean", "boolean"),
+    LONG("long", "long"),
+    DOUBLE("double", "double"),
+    // Offset and size of a variable-length value, which is compared with constant bytes.
+    BYTES("long", "MemoryBuffer"),
+    DECIMAL("BigDecimal", "BigDecimal");
+
+    final String type;
+    final String constantType;
+
+    ValueKind(String type, String constantType) {
+      this.type = type;
+      this.constantType = constantType;
+    }
+  }
+
+  private static ValueKind valueKind(Field field) {
+    int typeId = field.type().typeId();
+    if (typeId == DataTypes.TYPE_BOOL) {
+      return ValueKind.BOOLEAN;
+    } else if (typeId == DataTypes.TYPE_INT8
+        || typeId == DataTypes.TYPE_INT16
+        || typeId == DataTypes.TYPE_INT32
+        || typeId == DataTypes.TYPE_INT64
+        || typeId == DataTypes.TYPE_LOCAL_DATE
+        || typeId == DataTypes.TYPE_TIMESTAMP
+        || typeId == DataTypes.TYPE_DURATION) {
+      return ValueKind.LONG;
+    } else if (typeId == DataTypes.TYPE_FLOAT32 || typeId == DataTypes.TYPE_FLOAT64) {
+      return ValueKind.DOUBLE;
+    } else if (typeId == DataTypes.TYPE_STRING || typeId == DataTypes.TYPE_BINARY) {
+      return ValueKind.BYTES;
+    } else if (typeId == DataTypes.TYPE_DECIMAL) {
+      return ValueKind.DECIMAL;
+    } else {
+      throw new IllegalArgumentException("Unsupported filter field " + field);
+    }
+  }
+
+  private String loadCode(int ordinal, int typeId, ValueKind kind) {
+    if (kind == ValueKind.DECIMAL) {
+      return "row.getDecimal(" + ordinal + ")";
+    }
+    String method;
+    if (typeId == DataTypes.TYPE_BOOL) {
+      method = "getBoolean";
+    } else if (typeId == DataTypes.TYPE_INT8) {
+      method = "getByte";
+    } else if (typeId == DataTypes.TYPE_INT16) {
+      method = "getInt16";
+    } else if (typeId == DataTypes.TYPE_INT32 || typeId == DataTypes.TYPE_LOCAL_DATE) {
+      method = "getInt32";
+    } else if (typeId == DataTypes.TYPE_FLOAT32) {
+      method = "getFloat32";
+    } else if (typeId == DataTypes.TYPE_FLOAT64) {
+      method = "getFloat64";
+    } else {
+      method = "getInt64";
+    }
+    return StringUtils.format(
+        "buffer.${method}(base + ${offset})", "method", method, "offset", slotOffset(ordinal));
+  }
+
+  private static Object convert(Field field, ValueKind kind, Object value) {
+    int typeId = field.type().typeId();
+    switch (kind) {
+      case BOOLEAN:
+        if (value instanceof Boolean) {
+          return value;
+        }
+        break;
+      case LONG:
+        if (value instanceof Long
+            || value instanceof Integer
+            || value instanceof Short
+            || value instanceof Byte) {
+          return ((Number) value).longValue();
+        } else if (value instanceof LocalDate && typeId == DataTypes.TYPE_LOCAL_DATE) {
+          return (long) DateTimeUtils.localDateToDays((LocalDate) value);
+        } else if (value instanceof Instant && typeId == DataTypes.TYPE_TIMESTAMP) {
+          return DateTimeUtils.instantToMicros((Instant) value);
+        }
+        break;
+      case DOUBLE:
+        if (value instanceof Number) {
+          Number number = (Number) value;
+          // Compare with the float value which a float field would store.
+          return typeId == DataTypes.TYPE_FLOAT32
+              ? (double) number.floatValue()
+              : number.doubleValue();
+        }
+        break;
+      case BYTES:
+        if (value instanceof String && typeId == DataTypes.TYPE_STRING) {
+          return MemoryUtils.wrap(((String) value).getBytes(StandardCharsets.UTF_8));
+        } else if (value instanceof byte[]) {
+          return MemoryUtils.wrap((byte[]) value);
+        }
+        break;
+      case DECIMAL:
+        if (value instanceof BigDecimal) {
+          return value;
+        } else if (value instanceof Number) {
+          return new BigDecimal(value.toString());
+        }
+        break;
+      default:
+        break;
+    }
+    throw new IllegalArgumentException(
+        "Constant " + value + " of " + value.getClass() + " doesn't match field " + field);
+  }
+
+  private String addConstant(String type, Object value) {
+    String name = "c" + constants.size();
+    String boxed;
+    if (value instanceof Boolean) {
+      boxed = "((Boolean) constants[${index}]).booleanValue()";
+    } else if (value instanceof Long) {
+      boxed = "((Long) constants[${index}]).longValue()";
+    } else if (value instanceof Double) {
+      boxed = "((Double) constants[${index}]).doubleValue()";
+    } else {
+      boxed = "(${type}) constants[${index}]";
+    }
+    constructorCode.append(
+        StringUtils.format(
+            "${name} = " + boxed + ";\n",
+            "name",
+            name,
+            "index",
+            constants.size(),
+            "type",
+            type));
+    fields.add(new String[] {type, name});
+    constants.add(value);
+    return name;
+  }
+
+  private String compareCode(ValueKind kind, String value, Op op, String constant) {
+    String operator;
+    switch (op) {
+      case EQ:
+        operator = "==";
+        break;
+      case LT:
+        operator = "<";
+        break;
+      case LE:
+        operator = "<=";
+        break;
+      case GT:
+        operator = ">";
+        break;
+      case GE:
+        operator = ">=";
+        break;
+      default:
+        throw new IllegalArgumentException("Unsupported operator " + op);
+    }
+    if (kind == ValueKind.BYTES) {
+      if (op == Op.EQ) {
+        return StringUtils.format(
+            "RowFilter.equalBytes(buffer, base, ${value}, ${constant})",
+            "value",
+            value,
+            "constant",
+            constant);
+      }
+      return StringUtils.format(
+          "RowFilter.compareBytes(buffer, base, ${value}, ${constant}) ${operator} 0",
+          "value",
+          value,
+          "constant",
+          constant,
+          "operator",
+          operator);
+    } else if (kind == ValueKind.DECIMAL) {
+      return StringUtils.format(
+          "${value}.compareTo(${constant}) ${operator} 0",
+          "value",
+          value,
+          "constant",
+          constant,
+          "operator",
+          operator);
+    }
+    return value + " " + operator + " " + constant;
+  }
+
+  private String inCode(ValueKind kind, String value, Object[] values) {
+    if (kind == ValueKind.BYTES) {
+      MemoryBuffer[] buffers = Arrays.copyOf(values, values.length, MemoryBuffer[].class);
+      return StringUtils.format(
+          "RowFilter.inBytes(buffer, base, ${value}, ${constant})",
+          "value",
+          value,
+          "constant",
+          addConstant("MemoryBuffer[]", buffers));
+    } else if (kind == ValueKind.DECIMAL) {
+      BigDecimal[] decimals = Arrays.copyOf(values, values.length, BigDecimal[].class);
+      return StringUtils.format(
+          "RowFilter.inDecimals(${value}, ${constant})",
+          "value",
+          value,
+          "constant",
+          addConstant("BigDecimal[]", decimals));
+    } else if (values.length > MAX_INLINE_IN_VALUES && kind == ValueKind.LONG) {
+      long[] longs = new long[values.length];
+      for (int i = 0; i < values.length; i++) {
+        longs[i] = (Long) values[i];
+      }
+      Arrays.sort(longs);
+      return StringUtils.format(
+          "Arrays.binarySearch(${constant}, ${value}) >= 0",
+          "value",
+          value,
+          "constant",
+          addConstant("long[]", longs));
+    }
+    StringBuilder code = new StringBuilder();
+    for (int i = 0; i < values.length; i++) {
+      if (i > 0) {
+        code.append(" || ");
+      }
+      code.append(value).append(" == ").append(addConstant(kind.constantType, values[i]));
+    }
+    return code.toString();
+  }
+}
@@ -0,0 +1,143 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.fory.format.row.binary;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.fory.format.row.binary.writer.BaseBinaryRowWriter;
+import org.apache.fory.format.row.binary.writer.BinaryRowWriter;
+import org.apache.fory.format.row.binary.writer.CompactBinaryRowWriter;
+import org.apache.fory.format.type.DataTypes;
+import org.apache.fory.format.type.Field;
+import org.apache.fory.format.type.Schema;
+import org.apache.fory.memory.BitUtils;
+import org.apache.fory.memory.MemoryBuffer;
+import org.apache.fory.util.Preconditions;
+
+/**
+ * Copies selected fields of rows into narrower rows of the same layout, without decoding the
+ * values: fixed-width slots are copied by bits, and variable-length values such as strings and
+ * nested structs, arrays and maps are copied by bytes since their offsets are relative to their own
+ * start.
+ *
+ * <p>A projection owns a writer and is not thread-safe, the projected row is overwritten by the
+ * next {@link #project} call unless it's copied.
+ */
+public class RowProjection {
+  private final Schema projectedSchema;
+  private final boolean compact;
+  private final BaseBinaryRowWriter writer;
+  private final int[] sourceOrdinals;
+  private final int[] sourceSlotOffsets;
+  // Width of inline values in the source slots, -1 for variable-length values.
+  private final int[] sourceWidths;
+  // Dictionary codes of compact rows are copied as is, projected rows share the dictionary.
+  private final boolean[] dictionaryEncoded;
+
+  /** Create a projection of <code>fieldNames</code> of default rows of <code>schema</code>. */
+  public RowProjection(Schema schema, String... fieldNames) {
+    this(schema, false, fieldNames);
+  }
+
+  /**
+   * Create a projection of <code>fieldNames</code> of rows of <code>schema</code>.
+   *
+   * @param compact whether the rows are {@link CompactBinaryRow}s, the projected rows are compact
+   *     rows too.
+   */
+  public RowProjection(Schema schema, boolean compact, String... fieldNames) {
+    Preconditions.checkArgument(fieldNames.length > 0, "No projected fields");
+    this.compact = compact;
+    CompactRowLayout layout = null;
+    if (compact) {
+      layout = new CompactRowLayout(CompactBinaryRowWriter.sortSchema(schema));
+      schema = layout.schema;
+    }
+    List<Field> fields = new ArrayList<>(fieldNames.length);
+    for (String fieldName : fieldNames) {
+      Field field = schema.getFieldByName(fieldName);
+      Preconditions.checkArgument(
+          field != null, "Field %s doesn't exist in %s", fieldName, schema);
+      fields.add(field);
+    }
+    projectedSchema = DataTypes.schema(fields);
+    writer =
+        compact
+            ? new CompactBinaryRowWriter(projectedSchema)
+            : new BinaryRowWriter(projectedSchema);
+    // The compact writer may order projected fields differently.
+    Schema writerSchema = writer.getSchema();
+    int numFields = writerSchema.numFields();
+    sourceOrdinals = new int[numFields];
+    sourceSlotOffsets = new int[numFields];
+    sourceWidths = new int[numFields];
+    dictionaryEncoded = new boolean[numFields];
+    int bitmapWidthInBytes = BitUtils.calculateBitmapWidthInBytes(schema.numFields());
+    for (int i = 0; i < numFields; i++) {
+      int ordinal = schema.getFieldIndex(writerSchema.field(i).name());
+      sourceOrdinals[i] = ordinal;
+      if (compact) {
+        sourceSlotOffsets[i] = layout.fixedOffsets[ordinal];
+        sourceWidths[i] = layout.fixedWidths[ordinal];
+        dictionaryEncoded[i] = layout.dictionaryEncoded[ordinal];
+      } else {
+        sourceSlotOffsets[i] = bitmapWidthInBytes + (ordinal << 3);
+        sourceWidths[i] = BinaryRow.isFixedLength(schema.field(ordinal).type()) ? 8 : -1;
+      }
+    }
+  }
+
+  /** Returns the schema of projected rows, which is ordered like the writer for compact rows. */
+  public Schema getSchema() {
+    return writer.getSchema();
+  }
+
+  /** Copy the projected fields of <code>row</code> into a new row backed by the writer buffer. */
+  public BinaryRow project(BinaryRow row) {
+    MemoryBuffer buffer = row.getBuffer();
+    int baseOffset = row.getBaseOffset();
+    writer.getBuffer().writerIndex(0);
+    writer.reset();
+    if (compact) {
+      ((CompactBinaryRowWriter) writer).setDictionary(((CompactBinaryRow) row).getDictionary());
+    }
+    for (int i = 0; i < sourceOrdinals.length; i++) {
+      if (row.isNullAt(sourceOrdinals[i])) {
+        writer.setNullAt(i);
+        continue;
+      }
+      int slotOffset = baseOffset + sourceSlotOffsets[i];
+      int width = sourceWidths[i];
+      if (width < 0) {
+        long offsetAndSize = buffer.getInt64(slotOffset);
+        writer.writeUnaligned(
+            i, buffer, baseOffset + (int) (offsetAndSize >> 32), (int) offsetAndSize);
+      } else if (dictionaryEncoded[i]) {
+        writer.write(i, buffer.getInt32(slotOffset));
+      } else if (compact) {
+        // Inline values are copied into the fixed slot by the compact writer.
+        writer.writeUnaligned(i, buffer, slotOffset, width);
+      } else {
+        writer.write(i, buffer.getInt64(slotOffset));
+      }
+    }
+    return writer.getRow();
+  }
+}
@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.fory.format.row.binary;
+
+import org.apache.fory.format.row.Row;
+import org.apache.fory.format.type.Field;
+import org.apache.fory.format.type.Schema;
+import org.apache.fory.util.Preconditions;
+
+/**
+ * Gathers {@link ColumnStatistics} of every top-level field of rows, so statistics can be
+ * collected while rows are written instead of by another pass over them. See {@link
+ * org.apache.fory.format.row.binary.writer.BaseBinaryRowWriter#enableStatistics()} and {@link
+ * org.apache.fory.format.vectorized.ArrowWriter#enableStatistics()}.
+ */
+public final class RowStatistics {
+  private final Schema schema;
+  private final ColumnStatistics[] columns;
+  private long numRows;
+
+  public RowStatistics(Schema schema) {
+    this.schema = schema;
+    columns = new ColumnStatistics[schema.numFields()];
+    for (int i = 0; i < columns.length; i++) {
+      columns[i] = new ColumnStatistics(schema.field(i));
+    }
+  }
+
+  public Schema getSchema() {
+    return schema;
+  }
+
+  /** Add field values of <code>row</code> to the statistics. */
+  public void update(Row row) {
+    ColumnStatistics[] columns = this.columns;
+    for (int i = 0; i < columns.length; i++) {
+      columns[i].update(row, i);
+    }
+    numRows++;
+  }
+
+  /** Returns the number of rows added to the statistics. */
+  public long numRows() {
+    return numRows;
+  }
+
+  public ColumnStatistics get(int ordinal) {
+    return columns[ordinal];
+  }
+
+  public ColumnStatistics get(String fieldName) {
+    Field field = schema.getFieldByName(fieldName);
+    Preconditions.checkArgument(field != null, "Field %s doesn't exist in %s", fieldName, schema);
+    return columns[schema.getFieldIndex(fieldName)];
+  }
+
+  public void reset() {
+    for (ColumnStatistics column : columns) {
+      column.reset();
+    }
+    numRows = 0;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder builder = new StringBuilder("RowStatistics{numRows=").append(numRows);
+    for (ColumnStatistics column : columns) {
+      builder.append(", ").append(column);
+    }
+    return builder.append('}').toString();
+  }
+}
@@ -0,0 +1,189 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.fory.format.row.binary;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import org.apache.fory.memory.MemoryBuffer;
+import org.apache.fory.memory.MemoryUtils;
+
+/**
+ * A dictionary of strings shared by the rows of a batch, which assigns codes to distinct UTF-8
+ * strings in insertion order. Dictionary-encoded fields of {@link CompactBinaryRow}s store the code
+ * in a 4-byte fixed slot, see {@link org.apache.fory.format.type.DataTypes#dictionaryField}.
+ *
+ * <p>Strings are looked up by their bytes, so the writer doesn't decode strings to encode them, and
+ * decoded strings are cached, so reading a code doesn't decode the string again. The dictionary
+ * must be sent along with the rows of a batch, see {@link #writeTo} and {@link #readFrom}. It's not
+ * thread-safe.
+ */
+public final class StringDictionary {
+  private static final long SEED = 31;
+
+  // Bytes of all strings, string `i` is at [offsets[i], offsets[i + 1]).
+  private MemoryBuffer data = MemoryUtils.buffer(256);
+  private int[] offsets = new int[17];
+  private String[] strings = new String[16];
+  private int size;
+  // Open addressing table of `code + 1`, 0 for empty slots.
+  private int[] table = new int[32];
+
+  /** Returns the code of <code>value</code>, which is added to the dictionary if absent. */
+  public int encode(String value) {
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    return encode(MemoryUtils.wrap(bytes), 0, bytes.length);
+  }
+
+  /** Returns the code of the UTF-8 bytes, which are added to the dictionary if absent. */
+  public int encode(MemoryBuffer buffer, int offset, int length) {
+    int hash = (int) BinaryRowHasher.hashBytes(buffer, offset, length, SEED);
+    int mask = table.length - 1;
+    for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+      int entry = table[slot];
+      if (entry == 0) {
+        int code = add(buffer, offset, length);
+        table[slot] = code + 1;
+        if (size * 2 > table.length) {
+          rehash();
+        }
+        return code;
+      }
+      if (equals(entry - 1, buffer, offset, length)) {
+        return entry - 1;
+      }
+    }
+  }
+
+  /** Returns the code of <code>value</code>, or -1 if it's not in the dictionary. */
+  public int lookup(String value) {
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    MemoryBuffer buffer = MemoryUtils.wrap(bytes);
+    int hash = (int) BinaryRowHasher.hashBytes(buffer, 0, bytes.length, SEED);
+    int mask = table.length - 1;
+    for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+      int entry = table[slot];
+      if (entry == 0) {
+        return -1;
+      }
+      if (equals(entry - 1, buffer, 0, bytes.length)) {
+        return entry - 1;
+      }
+    }
+  }
+
+  private boolean equals(int code, MemoryBuffer buffer, int offset, int length) {
+    int start = offsets[code];
+    int size = offsets[code + 1] - start;
+    return size == length
+        && BinaryRowComparator.compareBytes(data, start, size, buffer, offset, length) == 0;
+  }
+
+  private int add(MemoryBuffer buffer, int offset, int length) {
+    int code = size;
+    if (code == strings.length) {
+      strings = Arrays.copyOf(strings, strings.length * 2);
+      offsets = Arrays.copyOf(offsets, strings.length + 1);
+    }
+    int start = offsets[code];
+    data.ensure(start + length);
+    data.copyFrom(start, buffer, offset, length);
+    offsets[code + 1] = start + length;
+    size++;
+    return code;
+  }
+
+  private void rehash() {
+    int[] newTable = new int[table.length * 2];
+    int mask = newTable.length - 1;
+    for (int code = 0; code < size; code++) {
+      int start = offsets[code];
+      int hash = (int) BinaryRowHasher.hashBytes(data, start, offsets[code + 1] - start, SEED);
+      int slot = hash & mask;
+      while (newTable[slot] != 0) {
+        slot = (slot + 1) & mask;
+      }
+      newTable[slot] = code + 1;
+    }
+    table = newTable;
+  }
+
+  /** Returns the string of <code>code</code>. */
+  public String getString(int code) {
+    checkCode(code);
+    String value = strings[code];
+    if (value == null) {
+      int start = offsets[code];
+      value = new String(data.getBytes(start, offsets[code + 1] - start), StandardCharsets.UTF_8);
+      strings[code] = value;
+    }
+    return value;
+  }
+
+  /** Returns the UTF-8 bytes of <code>code</code>. */
+  public byte[] getBytes(int code) {
+    checkCode(code);
+    int start = offsets[code];
+    return data.getBytes(start, offsets[code + 1] - start);
+  }
+
+  private void checkCode(int code) {
+    if (code < 0 || code >= size) {
+      throw new IllegalArgumentException(
+          "Code " + code + " out of bounds for dictionary of size " + size);
+    }
+  }
+
+  /** Returns the number of strings in the dictionary. */
+  public int size() {
+    return size;
+  }
+
+  /** Remove all strings, so the dictionary can be used for the next batch. */
+  public void clear() {
+    Arrays.fill(table, 0);
+    Arrays.fill(strings, 0, size, null);
+    size = 0;
+  }
+
+  /** Write the strings of the dictionary to <code>buffer</code>. */
+  public void writeTo(MemoryBuffer buffer) {
+    buffer.writeVarUInt32(size);
+    for (int code = 0; code < size; code++) {
+      int start = offsets[code];
+      int length = offsets[code + 1] - start;
+      buffer.writeVarUInt32(length);
+      buffer.ensure(buffer.writerIndex() + length);
+      buffer.copyFrom(buffer.writerIndex(), data, start, length);
+      buffer.increaseWriterIndex(length);
+    }
+  }
+
+  /** Read a dictionary written by {@link #writeTo}. */
+  public static StringDictionary readFrom(MemoryBuffer buffer) {
+    StringDictionary dictionary = new StringDictionary();
+    int size = buffer.readVarUInt32();
+    for (int i = 0; i < size; i++) {
+      int length = buffer.readVarUInt32();
+      dictionary.encode(buffer, buffer.readerIndex(), length);
+      buffer.increaseReaderIndex(length);
+    }
+    return dictionary;
+  }
+}
@@ -21,6 +21,7 @@ package org.apache.fory.format.row.binary.writer;
 
 import java.math.BigDecimal;
 import org.apache.fory.format.row.binary.BinaryRow;
+import org.apache.fory.format.row.binary.RowStatistics;
 import org.apache.fory.format.type.DataTypes;
 import org.apache.fory.format.type.Schema;
 import org.apache.fory.memory.MemoryBuffer;
@@ -36,6 +37,8 @@ import org.apache.fory.memory.MemoryUtils;
  */
 public abstract class BaseBinaryRowWriter extends BinaryWriter {
   private final Schema schema;
+  private RowStatistics statistics;
+  private boolean rowFinished;
 
   public BaseBinaryRowWriter(Schema schema) {
     super(MemoryUtils.buffer(schema.numFields() * 32), 0);
@@ -92,6 +95,7 @@ public abstract class BaseBinaryRowWriter extends BinaryWriter {
     grow(fixedSize);
     buffer._increaseWriterIndexUnsafe(fixedSize);
     resetHeader();
+    rowFinished = false;
   }
 
   protected void resetHeader() {
@@ -121,15 +125,43 @@ public abstract class BaseBinaryRowWriter extends BinaryWriter {
     BinaryRow row = newRow();
     int size = size();
     row.pointTo(buffer, startIndex, size);
+    finishRow(row);
     return row;
   }
 
+  /**
+   * Adds the row written since the last {@link #reset()} to the statistics, once no matter how
+   * often it's got or copied.
+   */
+  private void finishRow(BinaryRow row) {
+    if (statistics != null && !rowFinished) {
+      rowFinished = true;
+      statistics.update(row);
+    }
+  }
+
+  /**
+   * Collect statistics of rows written by this writer, a row is added to the statistics when it's
+   * finished by the first {@link #getRow()} or {@link #copyToRow()} after {@link #reset()}.
+   */
+  public void enableStatistics() {
+    if (statistics == null) {
+      statistics = new RowStatistics(schema);
+    }
+  }
+
+  /** Returns statistics of written rows, or null if statistics are not enabled. */
+  public RowStatistics getStatistics() {
+    return statistics;
+  }
+
   public BinaryRow copyToRow() {
     BinaryRow row = newRow();
     int size = size();
     MemoryBuffer buffer = MemoryUtils.buffer(size);
     this.buffer.copyTo(startIndex, buffer, 0, size);
-    row.pointTo(buffer, startIndex, size);
+    row.pointTo(buffer, 0, size);
+    finishRow(row);
     return row;
   }
 
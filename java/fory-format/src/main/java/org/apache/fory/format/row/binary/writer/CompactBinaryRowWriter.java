@@ -25,17 +25,20 @@ import java.util.List;
 import org.apache.fory.format.row.binary.BinaryRow;
 import org.apache.fory.format.row.binary.CompactBinaryRow;
 import org.apache.fory.format.row.binary.CompactRowLayout;
+import org.apache.fory.format.row.binary.StringDictionary;
 import org.apache.fory.format.type.DataType;
 import org.apache.fory.format.type.DataTypes;
 import org.apache.fory.format.type.Field;
 import org.apache.fory.format.type.Schema;
 import org.apache.fory.memory.MemoryBuffer;
+import org.apache.fory.memory.MemoryUtils;
 
 /** Writer class to produce {@link CompactBinaryRow}-formatted rows. */
 public class CompactBinaryRowWriter extends BaseBinaryRowWriter {
 
   private final int fixedSize;
   private final CompactRowLayout layout;
+  private StringDictionary dictionary;
 
   public CompactBinaryRowWriter(final Schema schema) {
     super(sortSchema(schema), computeFixedRegionSize(schema));
@@ -122,6 +125,9 @@ public class CompactBinaryRowWriter extends BaseBinaryRowWriter {
 
   /** Number of bytes used for a field if fixed, -1 if variable sized. */
   public static int fixedWidthFor(final Field f) {
+    if (DataTypes.isDictionaryEncoded(f)) {
+      return 4;
+    }
     DataType type = f.type();
     int fixedWidth = DataTypes.getTypeWidth(type);
     if (fixedWidth == -1) {
@@ -297,11 +303,34 @@ public class CompactBinaryRowWriter extends BaseBinaryRowWriter {
     buffer.putFloat32(offset, value);
   }
 
+  /**
+   * Set the dictionary which strings of dictionary-encoded fields are added to, it's shared by
+   * rows created by this writer. See {@link org.apache.fory.format.type.DataTypes#dictionaryField}.
+   */
+  public void setDictionary(final StringDictionary dictionary) {
+    this.dictionary = dictionary;
+  }
+
+  public StringDictionary getDictionary() {
+    return dictionary;
+  }
+
+  private void writeDictionaryCode(
+      final int ordinal, final MemoryBuffer input, final int offset, final int numBytes) {
+    if (dictionary == null) {
+      throw new IllegalStateException(
+          "No dictionary for dictionary-encoded field " + getSchema().field(ordinal));
+    }
+    buffer.putInt32(getOffset(ordinal), dictionary.encode(input, offset, numBytes));
+  }
+
   @Override
   public void writeUnaligned(
       final int ordinal, final byte[] input, final int offset, final int numBytes) {
     final int inlineWidth = layout.fixedWidths[ordinal];
-    if (inlineWidth > 0) {
+    if (layout.dictionaryEncoded[ordinal]) {
+      writeDictionaryCode(ordinal, MemoryUtils.wrap(input, offset, numBytes), 0, numBytes);
+    } else if (inlineWidth > 0) {
       checkFixedWidth(ordinal, numBytes);
       buffer.put(getOffset(ordinal), input, offset, numBytes);
     } else {
@@ -313,7 +342,9 @@ public class CompactBinaryRowWriter extends BaseBinaryRowWriter {
   public void writeUnaligned(
       final int ordinal, final MemoryBuffer input, final int offset, final int numBytes) {
     final int inlineWidth = layout.fixedWidths[ordinal];
-    if (inlineWidth > 0) {
+    if (layout.dictionaryEncoded[ordinal]) {
+      writeDictionaryCode(ordinal, input, offset, numBytes);
+    } else if (inlineWidth > 0) {
       checkFixedWidth(ordinal, numBytes);
       buffer.copyFrom(getOffset(ordinal), input, offset, numBytes);
     } else {
@@ -335,6 +366,8 @@ public class CompactBinaryRowWriter extends BaseBinaryRowWriter {
 
   @Override
   public BinaryRow newRow() {
-    return layout.newRow();
+    final CompactBinaryRow row = layout.newRow();
+    row.setDictionary(dictionary);
+    return row;
   }
 }
@@ -82,6 +82,10 @@ public class DataTypes {
   public static final String MAP_KEY_NAME = "key";
   public static final String MAP_VALUE_NAME = "value";
 
+  // Field metadata of string fields stored as dictionary codes in compact rows
+  public static final String ENCODING_KEY = "fory.encoding";
+  public static final String DICTIONARY_ENCODING = "dictionary";
+
   // Pre-built primitive array fields for convenience
   public static final Field PRIMITIVE_BOOLEAN_ARRAY_FIELD =
       primitiveArrayField(bool(), ARRAY_ITEM_NAME, false);
@@ -700,6 +704,23 @@ public class DataTypes {
     return new Field(name, type, false);
   }
 
+  /**
+   * Creates a string field which compact rows store as an int32 code of a shared dictionary
+   * instead of the string bytes. Default rows ignore the encoding. The encoding is kept by {@link
+   * #serializeSchema}, but not by {@link Field#equals}, so compare it with {@link
+   * #isDictionaryEncoded} when needed.
+   */
+  public static Field dictionaryField(String name, boolean nullable) {
+    return new Field(
+        name, utf8(), nullable, Collections.singletonMap(ENCODING_KEY, DICTIONARY_ENCODING));
+  }
+
+  /** Returns whether <code>field</code> is a dictionary-encoded string field. */
+  public static boolean isDictionaryEncoded(Field field) {
+    return field.type().typeId() == TYPE_STRING
+        && DICTIONARY_ENCODING.equals(field.metadata().get(ENCODING_KEY));
+  }
+
   // ============================================================================
   // Factory functions for creating schemas
   // ============================================================================
@@ -925,4 +946,14 @@ public class DataTypes {
   public static Schema deserializeSchema(byte[] bytes) {
     return SchemaEncoder.fromBytes(bytes);
   }
+
+  /**
+   * Deserializes a Fory Schema from a MemoryBuffer.
+   *
+   * @param buffer the buffer to read from
+   * @return the deserialized schema
+   */
+  public static Schema deserializeSchema(org.apache.fory.memory.MemoryBuffer buffer) {
+    return SchemaEncoder.fromBytes(buffer);
+  }
 }
@@ -47,7 +47,7 @@ import org.apache.fory.type.Types;
  * - bits 0-1: encoding (0=UTF8, 1=ALL_TO_LOWER_SPECIAL, 2=LOWER_UPPER_DIGIT_SPECIAL)
  * - bits 2-5: name size - 1 (0-15, if 15 then varint follows for larger sizes)
  * - bit 6: nullable flag
- * - bit 7: reserved
+ * - bit 7: dictionary-encoded string flag, see DataTypes#dictionaryField
  *
  * Type info:
  * - type_id (1 byte)
@@ -144,6 +144,9 @@ public class SchemaEncoder {
     if (field.nullable()) {
       header |= 0x40; // bit 6: nullable
     }
+    if (DataTypes.isDictionaryEncoded(field)) {
+      header |= 0x80; // bit 7: dictionary-encoded string
+    }
     buffer.writeByte(header);
 
     if (bigSize) {
@@ -159,6 +162,7 @@ public class SchemaEncoder {
     int encodingIndex = header & 0x03;
     int nameSizeMinus1 = (header >> 2) & 0x0F;
     boolean nullable = (header & 0x40) != 0;
+    boolean dictionaryEncoded = (header & 0x80) != 0;
 
     int nameSize;
     if (nameSizeMinus1 == FIELD_NAME_SIZE_THRESHOLD) {
@@ -172,6 +176,13 @@ public class SchemaEncoder {
     String name = FIELD_NAME_DECODER.decode(nameBytes, encoding);
 
     DataType type = readType(buffer);
+    if (dictionaryEncoded) {
+      if (type.typeId() != Types.STRING) {
+        throw new IllegalArgumentException(
+            "Dictionary encoding is only supported for string fields, but got " + type);
+      }
+      return DataTypes.dictionaryField(name, nullable);
+    }
     return new Field(name, type, nullable);
   }
 
@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.fory.format.vectorized;
+
+import org.apache.arrow.vector.FieldVector;
+import org.apache.fory.format.row.ArrayData;
+import org.apache.fory.format.row.binary.BinaryArray;
+import org.apache.fory.format.type.DataTypes;
+import org.apache.fory.format.type.Field;
+
+/**
+ * A read-only {@link ArrayData} view over a range of an arrow vector, such as the elements of a
+ * list vector at a row index. Values are read from the vector lazily by getters.
+ */
+public class ArrowArray extends ArrowGetters implements ArrayData {
+  private final Field field;
+  private final Field elementField;
+  private final FieldVector vector;
+  private final int start;
+  private final int numElements;
+
+  ArrowArray(Field field, FieldVector vector, int start, int numElements) {
+    this.field = field;
+    this.elementField = DataTypes.arrayElementField(field);
+    this.vector = vector;
+    this.start = start;
+    this.numElements = numElements;
+  }
+
+  @Override
+  FieldVector vector(int ordinal) {
+    return vector;
+  }
+
+  @Override
+  int index(int ordinal) {
+    return start + ordinal;
+  }
+
+  @Override
+  Field field(int ordinal) {
+    return elementField;
+  }
+
+  public Field getField() {
+    return field;
+  }
+
+  @Override
+  public int numElements() {
+    return numElements;
+  }
+
+  @Override
+  public BinaryArray copy() {
+    return RowCopier.copyArray(field, this);
+  }
+}
@@ -0,0 +1,253 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.fory.format.vectorized;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import org.apache.arrow.vector.BaseVariableWidthVector;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.DateDayVector;
+import org.apache.arrow.vector.DecimalVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.Float4Vector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.SmallIntVector;
+import org.apache.arrow.vector.TimeStampVector;
+import org.apache.arrow.vector.TinyIntVector;
+import org.apache.arrow.vector.VarBinaryVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.complex.ListVector;
+import org.apache.arrow.vector.complex.MapVector;
+import org.apache.arrow.vector.complex.StructVector;
+import org.apache.fory.format.row.Getters;
+import org.apache.fory.format.row.Setters;
+import org.apache.fory.format.type.DataTypes;
+import org.apache.fory.format.type.Field;
+import org.apache.fory.memory.MemoryBuffer;
+import org.apache.fory.memory.MemoryUtils;
+
+/**
+ * Base class of read-only views over arrow vectors. A subclass maps an ordinal to the vector and
+ * the index in the vector which holds the value, values are read from the vector only when a
+ * getter is called.
+ */
+abstract class ArrowGetters implements Getters, Setters {
+
+  abstract FieldVector vector(int ordinal);
+
+  abstract int index(int ordinal);
+
+  abstract Field field(int ordinal);
+
+  @Override
+  public boolean isNullAt(int ordinal) {
+    return vector(ordinal).isNull(index(ordinal));
+  }
+
+  @Override
+  public boolean getBoolean(int ordinal) {
+    return ((BitVector) vector(ordinal)).get(index(ordinal)) == 1;
+  }
+
+  @Override
+  public byte getByte(int ordinal) {
+    return ((TinyIntVector) vector(ordinal)).get(index(ordinal));
+  }
+
+  @Override
+  public short getInt16(int ordinal) {
+    return ((SmallIntVector) vector(ordinal)).get(index(ordinal));
+  }
+
+  @Override
+  public int getInt32(int ordinal) {
+    return ((IntVector) vector(ordinal)).get(index(ordinal));
+  }
+
+  @Override
+  public long getInt64(int ordinal) {
+    return ((BigIntVector) vector(ordinal)).get(index(ordinal));
+  }
+
+  @Override
+  public float getFloat32(int ordinal) {
+    return ((Float4Vector) vector(ordinal)).get(index(ordinal));
+  }
+
+  @Override
+  public double getFloat64(int ordinal) {
+    return ((Float8Vector) vector(ordinal)).get(index(ordinal));
+  }
+
+  @Override
+  public BigDecimal getDecimal(int ordinal) {
+    if (isNullAt(ordinal)) {
+      return null;
+    }
+    return ((DecimalVector) vector(ordinal)).getObject(index(ordinal));
+  }
+
+  @Override
+  public int getDate(int ordinal) {
+    return ((DateDayVector) vector(ordinal)).get(index(ordinal));
+  }
+
+  @Override
+  public long getTimestamp(int ordinal) {
+    return ((TimeStampVector) vector(ordinal)).get(index(ordinal));
+  }
+
+  @Override
+  public String getString(int ordinal) {
+    if (isNullAt(ordinal)) {
+      return null;
+    }
+    return new String(
+        ((VarCharVector) vector(ordinal)).get(index(ordinal)), StandardCharsets.UTF_8);
+  }
+
+  @Override
+  public byte[] getBinary(int ordinal) {
+    if (isNullAt(ordinal)) {
+      return null;
+    }
+    return ((VarBinaryVector) vector(ordinal)).get(index(ordinal));
+  }
+
+  /** Returns a buffer backed by the data buffer of the vector, the bytes are not copied. */
+  @Override
+  public MemoryBuffer getBuffer(int ordinal) {
+    if (isNullAt(ordinal)) {
+      return null;
+    }
+    BaseVariableWidthVector vector = (BaseVariableWidthVector) vector(ordinal);
+    int index = index(ordinal);
+    return MemoryUtils.wrap(
+        vector
+            .getDataBuffer()
+            .nioBuffer(vector.getStartOffset(index), vector.getValueLength(index)));
+  }
+
+  @Override
+  public ArrowRow getStruct(int ordinal) {
+    if (isNullAt(ordinal)) {
+      return null;
+    }
+    StructVector vector = (StructVector) vector(ordinal);
+    ArrowRow row =
+        new ArrowRow(
+            DataTypes.schemaFromStructField(field(ordinal)),
+            vector.getChildrenFromFields().toArray(new FieldVector[0]));
+    row.pointTo(index(ordinal));
+    return row;
+  }
+
+  @Override
+  public ArrowArray getArray(int ordinal) {
+    if (isNullAt(ordinal)) {
+      return null;
+    }
+    ListVector vector = (ListVector) vector(ordinal);
+    int index = index(ordinal);
+    int start = vector.getElementStartIndex(index);
+    return new ArrowArray(
+        field(ordinal),
+        vector.getDataVector(),
+        start,
+        vector.getElementEndIndex(index) - start);
+  }
+
+  @Override
+  public ArrowMap getMap(int ordinal) {
+    if (isNullAt(ordinal)) {
+      return null;
+    }
+    MapVector vector = (MapVector) vector(ordinal);
+    int index = index(ordinal);
+    int start = vector.getElementStartIndex(index);
+    int numElements = vector.getElementEndIndex(index) - start;
+    StructVector entries = (StructVector) vector.getDataVector();
+    Field field = field(ordinal);
+    return new ArrowMap(
+        field,
+        new ArrowArray(
+            DataTypes.keyArrayFieldForMap(field),
+            entries.getChild(MapVector.KEY_NAME),
+            start,
+            numElements),
+        new ArrowArray(
+            DataTypes.itemArrayFieldForMap(field),
+            entries.getChild(MapVector.VALUE_NAME),
+            start,
+            numElements));
+  }
+
+  @Override
+  public void setNullAt(int ordinal) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public void setBoolean(int ordinal, boolean value) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public void setByte(int ordinal, byte value) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public void setInt16(int ordinal, short value) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public void setInt32(int ordinal, int value) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public void setInt64(int ordinal, long value) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public void setFloat32(int ordinal, float value) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public void setFloat64(int ordinal, double value) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public void setDate(int ordinal, int value) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public void setTimestamp(int ordinal, long value) {
+    throw new UnsupportedOperationException();
+  }
+}
@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.fory.format.vectorized;
+
+import org.apache.fory.format.row.MapData;
+import org.apache.fory.format.row.binary.BinaryMap;
+import org.apache.fory.format.type.Field;
+
+/** A read-only {@link MapData} view over the entries of an arrow map vector at a row index. */
+public class ArrowMap implements MapData {
+  private final Field field;
+  private final ArrowArray keys;
+  private final ArrowArray values;
+
+  ArrowMap(Field field, ArrowArray keys, ArrowArray values) {
+    this.field = field;
+    this.keys = keys;
+    this.values = values;
+  }
+
+  public Field getField() {
+    return field;
+  }
+
+  @Override
+  public int numElements() {
+    return keys.numElements();
+  }
+
+  @Override
+  public ArrowArray keyArray() {
+    return keys;
+  }
+
+  @Override
+  public ArrowArray valueArray() {
+    return values;
+  }
+
+  @Override
+  public BinaryMap copy() {
+    return RowCopier.copyMap(field, this);
+  }
+}
@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.fory.format.vectorized;
+
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.fory.format.row.Row;
+import org.apache.fory.format.row.binary.BinaryRow;
+import org.apache.fory.format.row.binary.writer.BinaryRowWriter;
+import org.apache.fory.format.type.ArrowSchemaConverter;
+import org.apache.fory.format.type.Field;
+import org.apache.fory.format.type.Schema;
+
+/**
+ * A read-only {@link Row} view which points at a row index of arrow vectors. Values are read from
+ * the vectors lazily by getters, so rows of a record batch can be filtered without building
+ * objects. Call {@link #pointTo(int)} to move the view to another row, and {@link #copy()} to
+ * copy the row out of the vectors as a {@link BinaryRow}.
+ */
+public class ArrowRow extends ArrowGetters implements Row {
+  private final Schema schema;
+  private final FieldVector[] vectors;
+  private int rowIndex;
+  private BinaryRowWriter copierWriter;
+  private RowCopier.ValueCopier[] copiers;
+
+  /** Create a view over the vectors of <code>root</code>, which points at the first row. */
+  public ArrowRow(VectorSchemaRoot root) {
+    this(
+        ArrowSchemaConverter.fromArrowSchema(root.getSchema()),
+        root.getFieldVectors().toArray(new FieldVector[0]));
+  }
+
+  /** Create a view over <code>vectors</code> which hold the fields of <code>schema</code>. */
+  public ArrowRow(Schema schema, FieldVector[] vectors) {
+    if (schema.numFields() != vectors.length) {
+      throw new IllegalArgumentException(
+          "Schema has " + schema.numFields() + " fields but got " + vectors.length + " vectors");
+    }
+    this.schema = schema;
+    this.vectors = vectors;
+  }
+
+  public void pointTo(int rowIndex) {
+    this.rowIndex = rowIndex;
+  }
+
+  public int getRowIndex() {
+    return rowIndex;
+  }
+
+  @Override
+  FieldVector vector(int ordinal) {
+    return vectors[ordinal];
+  }
+
+  @Override
+  int index(int ordinal) {
+    return rowIndex;
+  }
+
+  @Override
+  Field field(int ordinal) {
+    return schema.field(ordinal);
+  }
+
+  @Override
+  public Schema getSchema() {
+    return schema;
+  }
+
+  @Override
+  public int numFields() {
+    return vectors.length;
+  }
+
+  @Override
+  public BinaryRow copy() {
+    BinaryRowWriter writer = new BinaryRowWriter(schema);
+    writer.reset();
+    copyTo(writer);
+    return writer.getRow();
+  }
+
+  /**
+   * Copy the fields of current row to the row which <code>writer</code> is writing. The writer must
+   * be reset for a row of the same schema as this view.
+   */
+  public void copyTo(BinaryRowWriter writer) {
+    if (copierWriter != writer) {
+      copiers = RowCopier.rowCopiers(schema, writer);
+      copierWriter = writer;
+    }
+    RowCopier.copyRow(this, copiers, writer);
+  }
+
+  @Override
+  public String toString() {
+    return copy().toString();
+  }
+}
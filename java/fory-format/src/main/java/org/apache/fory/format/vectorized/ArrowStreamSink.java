@@ -0,0 +1,146 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.fory.format.vectorized;
+
+import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.dictionary.DictionaryProvider;
+import org.apache.arrow.vector.ipc.ArrowStreamWriter;
+import org.apache.fory.format.row.binary.BinaryRow;
+import org.apache.fory.format.type.Schema;
+import org.apache.fory.util.Preconditions;
+
+/**
+ * Writes rows to a {@link WritableByteChannel} as an arrow IPC stream: the schema followed by
+ * record batches, see {@link ArrowStreamSource} for reading the stream.
+ *
+ * <p>Rows are appended to the vectors of a single batch by an {@link ArrowWriter}, the batch is
+ * written to the channel and reset once it holds <code>maxBatchRows</code> rows or
+ * <code>maxBatchBytes</code> bytes of row data, so memory is bounded by one batch no matter how
+ * many rows are written. Batches are written on the calling thread, a channel which can't accept
+ * more data such as a full pipe blocks {@link #write} until the reader catches up.
+ *
+ * <p>The sink is not thread-safe. {@link #close()} writes remaining rows and the end of stream,
+ * then closes the channel.
+ */
+public class ArrowStreamSink implements AutoCloseable {
+  public static final int DEFAULT_MAX_BATCH_ROWS = 64 * 1024;
+  public static final long DEFAULT_MAX_BATCH_BYTES = 64L * 1024 * 1024;
+
+  private final VectorSchemaRoot root;
+  private final ArrowWriter arrowWriter;
+  private final ArrowStreamWriter streamWriter;
+  private final int maxBatchRows;
+  private final long maxBatchBytes;
+  private int batchRows;
+  private long batchBytes;
+  private long numRows;
+  private int numBatches;
+  private boolean closed;
+
+  public ArrowStreamSink(Schema schema, WritableByteChannel channel) {
+    this(schema, channel, DEFAULT_MAX_BATCH_ROWS, DEFAULT_MAX_BATCH_BYTES);
+  }
+
+  /**
+   * @param maxBatchRows max number of rows in a record batch.
+   * @param maxBatchBytes a record batch is written when the size of its rows in row format reaches
+   *     this value.
+   */
+  public ArrowStreamSink(
+      Schema schema, WritableByteChannel channel, int maxBatchRows, long maxBatchBytes) {
+    Preconditions.checkArgument(maxBatchRows > 0, "maxBatchRows must be positive");
+    Preconditions.checkArgument(maxBatchBytes > 0, "maxBatchBytes must be positive");
+    this.maxBatchRows = maxBatchRows;
+    this.maxBatchBytes = maxBatchBytes;
+    root = ArrowUtils.createVectorSchemaRoot(schema);
+    arrowWriter = new ArrowWriter(root);
+    streamWriter =
+        new ArrowStreamWriter(root, new DictionaryProvider.MapDictionaryProvider(), channel);
+    try {
+      streamWriter.start();
+    } catch (IOException e) {
+      root.close();
+      throw new RuntimeException("Write arrow stream schema failed", e);
+    }
+  }
+
+  /** Append <code>row</code> to current batch, and write the batch if it's full. */
+  public void write(BinaryRow row) {
+    Preconditions.checkState(!closed, "Sink is closed");
+    arrowWriter.write(row);
+    batchRows++;
+    batchBytes += row.getSizeInBytes();
+    numRows++;
+    if (batchRows >= maxBatchRows || batchBytes >= maxBatchBytes) {
+      flush();
+    }
+  }
+
+  /** Write rows of current batch to the channel as a record batch if there are any. */
+  public void flush() {
+    if (batchRows == 0) {
+      return;
+    }
+    arrowWriter.finish();
+    try {
+      streamWriter.writeBatch();
+    } catch (IOException e) {
+      throw new RuntimeException(String.format("Write record batch %d failed", numBatches), e);
+    }
+    arrowWriter.reset();
+    batchRows = 0;
+    batchBytes = 0;
+    numBatches++;
+  }
+
+  /** Returns the number of rows written to this sink. */
+  public long numRows() {
+    return numRows;
+  }
+
+  /** Returns the number of record batches written to the channel. */
+  public int numBatches() {
+    return numBatches;
+  }
+
+  /** Returns the number of bytes written to the channel. */
+  public long bytesWritten() {
+    return streamWriter.bytesWritten();
+  }
+
+  @Override
+  public void close() {
+    if (closed) {
+      return;
+    }
+    try {
+      flush();
+      streamWriter.end();
+    } catch (IOException e) {
+      throw new RuntimeException("Write arrow stream end failed", e);
+    } finally {
+      closed = true;
+      streamWriter.close();
+      root.close();
+    }
+  }
+}
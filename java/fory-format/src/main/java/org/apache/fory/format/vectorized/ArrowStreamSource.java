@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.fory.format.vectorized;
+
+import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.ipc.ArrowStreamReader;
+import org.apache.fory.format.type.ArrowSchemaConverter;
+import org.apache.fory.format.type.Schema;
+
+/**
+ * Reads an arrow IPC stream from a {@link ReadableByteChannel} batch by batch, such as a stream
+ * written by {@link ArrowStreamSink}.
+ *
+ * <p>Only one record batch is loaded at a time: {@link #loadNextBatch()} loads the next batch into
+ * the vectors of {@link #root()}, which are reused for all batches of the stream. Rows of current
+ * batch can be read by {@link ArrowRow} views, or as java beans by an {@link
+ * org.apache.fory.format.encoder.ArrowBatchDecoder} created for {@link #root()} once.
+ *
+ * <p>The source is not thread-safe. {@link #close()} releases the vectors and closes the channel.
+ */
+public class ArrowStreamSource implements AutoCloseable {
+  private final ArrowStreamReader reader;
+  private final VectorSchemaRoot root;
+  private final Schema schema;
+  private final FieldVector[] vectors;
+  private int numBatches;
+
+  /** Create a source and read the schema of the stream from <code>channel</code>. */
+  public ArrowStreamSource(ReadableByteChannel channel) {
+    reader = new ArrowStreamReader(channel, ArrowUtils.requireAllocator());
+    try {
+      root = reader.getVectorSchemaRoot();
+    } catch (IOException e) {
+      closeReader();
+      throw new RuntimeException("Read arrow stream schema failed", e);
+    }
+    schema = ArrowSchemaConverter.fromArrowSchema(root.getSchema());
+    vectors = root.getFieldVectors().toArray(new FieldVector[0]);
+  }
+
+  public Schema schema() {
+    return schema;
+  }
+
+  /** Returns the root which holds vectors of current batch. */
+  public VectorSchemaRoot root() {
+    return root;
+  }
+
+  /**
+   * Load the next record batch into {@link #root()}, returns false if the stream is finished. Rows
+   * of the previous batch are released.
+   */
+  public boolean loadNextBatch() {
+    boolean loaded;
+    try {
+      loaded = reader.loadNextBatch();
+    } catch (IOException e) {
+      throw new RuntimeException(String.format("Read record batch %d failed", numBatches), e);
+    }
+    if (loaded) {
+      numBatches++;
+    }
+    return loaded;
+  }
+
+  /** Returns the number of rows in current batch. */
+  public int batchRowCount() {
+    return root.getRowCount();
+  }
+
+  /** Returns a row view over current batch, which points at <code>rowIndex</code>. */
+  public ArrowRow row(int rowIndex) {
+    ArrowRow row = new ArrowRow(schema, vectors);
+    row.pointTo(rowIndex);
+    return row;
+  }
+
+  /** Returns the number of record batches loaded. */
+  public int numBatches() {
+    return numBatches;
+  }
+
+  /** Returns the number of bytes read from the channel. */
+  public long bytesRead() {
+    return reader.bytesRead();
+  }
+
+  @Override
+  public void close() {
+    closeReader();
+  }
+
+  private void closeReader() {
+    try {
+      reader.close();
+    } catch (IOException e) {
+      throw new RuntimeException("Close arrow stream failed", e);
+    }
+  }
+}
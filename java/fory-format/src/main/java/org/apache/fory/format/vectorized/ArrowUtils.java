@@ -123,7 +123,7 @@ public class ArrowUtils {
     }
   }
 
-  private static RootAllocator requireAllocator() {
+  static RootAllocator requireAllocator() {
     if (allocator != null) {
       return allocator;
     }
@@ -46,6 +46,7 @@ import org.apache.fory.format.row.ArrayData;
 import org.apache.fory.format.row.Getters;
 import org.apache.fory.format.row.MapData;
 import org.apache.fory.format.row.Row;
+import org.apache.fory.format.row.binary.RowStatistics;
 import org.apache.fory.format.type.DefaultTypeVisitor;
 
 // Derived from
@@ -57,6 +58,8 @@ public class ArrowWriter {
   private final VectorSchemaRoot root;
   private final VectorUnloader unloader;
   private final ArrowArrayWriter[] fieldWriters;
+  private boolean collectStatistics;
+  private RowStatistics statistics;
 
   public ArrowWriter(VectorSchemaRoot root) {
     this.root = root;
@@ -76,6 +79,28 @@ public class ArrowWriter {
       fieldWriters[i].write(row, i);
     }
     rowCount++;
+    if (collectStatistics) {
+      if (statistics == null) {
+        statistics = new RowStatistics(row.getSchema());
+      }
+      statistics.update(row);
+    }
+  }
+
+  /**
+   * Collect statistics of rows written by this writer. Statistics are not cleared by {@link
+   * #reset()}, so they cover all batches written by this writer unless they're reset explicitly.
+   */
+  public void enableStatistics() {
+    collectStatistics = true;
+  }
+
+  /**
+   * Returns statistics of written rows, or null if statistics are not enabled or no rows are
+   * written.
+   */
+  public RowStatistics getStatistics() {
+    return statistics;
   }
 
   public VectorSchemaRoot finish() {
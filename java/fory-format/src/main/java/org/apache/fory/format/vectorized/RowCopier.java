@@ -0,0 +1,183 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.fory.format.vectorized;
+
+import org.apache.fory.format.row.ArrayData;
+import org.apache.fory.format.row.Getters;
+import org.apache.fory.format.row.MapData;
+import org.apache.fory.format.row.Row;
+import org.apache.fory.format.row.binary.BinaryArray;
+import org.apache.fory.format.row.binary.BinaryMap;
+import org.apache.fory.format.row.binary.writer.BinaryArrayWriter;
+import org.apache.fory.format.row.binary.writer.BinaryRowWriter;
+import org.apache.fory.format.row.binary.writer.BinaryWriter;
+import org.apache.fory.format.type.DataTypes;
+import org.apache.fory.format.type.Field;
+import org.apache.fory.format.type.Schema;
+import org.apache.fory.memory.MemoryBuffer;
+
+/**
+ * Copies values read by {@link Getters} to binary row format. Writers of nested values are created
+ * once with the copiers, since a nested writer is registered to its parent writer when created.
+ */
+final class RowCopier {
+
+  /** Copies the value at an ordinal of getters to the same ordinal of a writer. */
+  interface ValueCopier {
+    void copy(Getters getters, int ordinal);
+  }
+
+  private RowCopier() {}
+
+  static ValueCopier[] rowCopiers(Schema schema, BinaryWriter writer) {
+    ValueCopier[] copiers = new ValueCopier[schema.numFields()];
+    for (int i = 0; i < copiers.length; i++) {
+      copiers[i] = copier(schema.field(i), writer);
+    }
+    return copiers;
+  }
+
+  static void copyRow(Getters getters, ValueCopier[] copiers, BinaryWriter writer) {
+    for (int i = 0; i < copiers.length; i++) {
+      if (getters.isNullAt(i)) {
+        writer.setNullAt(i);
+      } else {
+        copiers[i].copy(getters, i);
+      }
+    }
+  }
+
+  static BinaryArray copyArray(Field field, ArrayData array) {
+    BinaryRowWriter writer = new BinaryRowWriter(DataTypes.schema(field));
+    writer.reset();
+    new ArrayCopier(field, writer).write(array, 0);
+    return writer.getRow().getArray(0);
+  }
+
+  static BinaryMap copyMap(Field field, MapData map) {
+    BinaryRowWriter writer = new BinaryRowWriter(DataTypes.schema(field));
+    writer.reset();
+    new MapCopier(field, writer).write(map, 0);
+    return writer.getRow().getMap(0);
+  }
+
+  private static ValueCopier copier(Field field, BinaryWriter writer) {
+    int typeId = field.type().typeId();
+    if (typeId == DataTypes.TYPE_BOOL) {
+      return (getters, ordinal) -> writer.write(ordinal, getters.getBoolean(ordinal));
+    } else if (typeId == DataTypes.TYPE_INT8) {
+      return (getters, ordinal) -> writer.write(ordinal, getters.getByte(ordinal));
+    } else if (typeId == DataTypes.TYPE_INT16) {
+      return (getters, ordinal) -> writer.write(ordinal, getters.getInt16(ordinal));
+    } else if (typeId == DataTypes.TYPE_INT32) {
+      return (getters, ordinal) -> writer.write(ordinal, getters.getInt32(ordinal));
+    } else if (typeId == DataTypes.TYPE_INT64) {
+      return (getters, ordinal) -> writer.write(ordinal, getters.getInt64(ordinal));
+    } else if (typeId == DataTypes.TYPE_FLOAT32) {
+      return (getters, ordinal) -> writer.write(ordinal, getters.getFloat32(ordinal));
+    } else if (typeId == DataTypes.TYPE_FLOAT64) {
+      return (getters, ordinal) -> writer.write(ordinal, getters.getFloat64(ordinal));
+    } else if (typeId == DataTypes.TYPE_DECIMAL) {
+      return (getters, ordinal) -> writer.write(ordinal, getters.getDecimal(ordinal));
+    } else if (typeId == DataTypes.TYPE_LOCAL_DATE) {
+      return (getters, ordinal) -> writer.write(ordinal, getters.getDate(ordinal));
+    } else if (typeId == DataTypes.TYPE_TIMESTAMP) {
+      return (getters, ordinal) -> writer.write(ordinal, getters.getTimestamp(ordinal));
+    } else if (typeId == DataTypes.TYPE_STRING || typeId == DataTypes.TYPE_BINARY) {
+      return (getters, ordinal) -> {
+        MemoryBuffer buffer = getters.getBuffer(ordinal);
+        writer.writeUnaligned(ordinal, buffer, 0, buffer.size());
+      };
+    } else if (typeId == DataTypes.TYPE_STRUCT) {
+      Schema schema = DataTypes.schemaFromStructField(field);
+      BinaryRowWriter structWriter = new BinaryRowWriter(schema, writer);
+      ValueCopier[] copiers = rowCopiers(schema, structWriter);
+      return (getters, ordinal) -> {
+        Row struct = getters.getStruct(ordinal);
+        int offset = writer.writerIndex();
+        structWriter.reset();
+        copyRow(struct, copiers, structWriter);
+        writer.setOffsetAndSize(ordinal, offset, writer.writerIndex() - offset);
+      };
+    } else if (typeId == DataTypes.TYPE_LIST) {
+      ArrayCopier copier = new ArrayCopier(field, writer);
+      return (getters, ordinal) -> copier.write(getters.getArray(ordinal), ordinal);
+    } else if (typeId == DataTypes.TYPE_MAP) {
+      MapCopier copier = new MapCopier(field, writer);
+      return (getters, ordinal) -> copier.write(getters.getMap(ordinal), ordinal);
+    } else {
+      throw new UnsupportedOperationException("Unsupported type: " + field.type());
+    }
+  }
+
+  private static final class ArrayCopier {
+    private final BinaryWriter writer;
+    private final BinaryArrayWriter arrayWriter;
+    private final ValueCopier elementCopier;
+
+    ArrayCopier(Field field, BinaryWriter writer) {
+      this.writer = writer;
+      arrayWriter = new BinaryArrayWriter(field, writer);
+      elementCopier = copier(DataTypes.arrayElementField(field), arrayWriter);
+    }
+
+    void write(ArrayData array, int ordinal) {
+      int offset = writer.writerIndex();
+      writeArray(array);
+      writer.setOffsetAndSize(ordinal, offset, writer.writerIndex() - offset);
+    }
+
+    /** Write elements of <code>array</code> without setting the offset in parent writer. */
+    int writeArray(ArrayData array) {
+      int numElements = array.numElements();
+      arrayWriter.reset(numElements);
+      for (int i = 0; i < numElements; i++) {
+        if (array.isNullAt(i)) {
+          arrayWriter.setNullAt(i);
+        } else {
+          elementCopier.copy(array, i);
+        }
+      }
+      return arrayWriter.size();
+    }
+  }
+
+  private static final class MapCopier {
+    private final BinaryWriter writer;
+    private final ArrayCopier keyCopier;
+    private final ArrayCopier valueCopier;
+
+    MapCopier(Field field, BinaryWriter writer) {
+      this.writer = writer;
+      keyCopier = new ArrayCopier(DataTypes.keyArrayFieldForMap(field), writer);
+      valueCopier = new ArrayCopier(DataTypes.itemArrayFieldForMap(field), writer);
+    }
+
+    void write(MapData map, int ordinal) {
+      int offset = writer.writerIndex();
+      // preserve 8 bytes to write the key array numBytes later
+      writer.writeDirectly(-1);
+      int keyArrayBytes = keyCopier.writeArray(map.keyArray());
+      writer.writeDirectly(offset, keyArrayBytes);
+      valueCopier.writeArray(map.valueArray());
+      writer.setOffsetAndSize(ordinal, offset, writer.writerIndex() - offset);
+    }
+  }
+}
@@ -23,13 +23,16 @@ import static org.apache.fory.collection.Collections.ofHashMap;
 import static org.apache.fory.format.encoder.CodecBuilderTest.testStreamingEncode;
 
 import com.google.common.collect.ImmutableMap;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicLong;
 import lombok.Data;
+import org.apache.fory.format.row.binary.BinaryArray;
 import org.apache.fory.format.row.binary.BinaryRow;
+import org.apache.fory.format.type.Schema;
 import org.apache.fory.memory.MemoryBuffer;
 import org.apache.fory.memory.MemoryUtils;
 import org.apache.fory.test.bean.BeanA;
@@ -64,6 +67,107 @@ public class RowEncoderTest {
     }
   }
 
+  @Test
+  public void testEncodeBatch() {
+    RowEncoder<BeanA> encoder = Encoders.bean(BeanA.class);
+    List<BeanA> beans = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      beans.add(BeanA.createBeanA(i % 3));
+    }
+    MemoryBuffer buffer = MemoryUtils.buffer(16);
+    buffer.writeInt32(7);
+    int size = encoder.encodeBatch(beans, buffer);
+    Assert.assertEquals(buffer.writerIndex(), size + 4);
+    buffer.writeInt32(8);
+    Assert.assertEquals(buffer.readInt32(), 7);
+    Assert.assertEquals(encoder.decodeBatch(buffer), beans);
+    Assert.assertEquals(buffer.readInt32(), 8);
+    Assert.assertEquals(encoder.decodeBatch(encoder.encodeBatch(beans)), beans);
+    Assert.assertEquals(encoder.decodeBatch(encoder.encodeBatch(new ArrayList<>())).size(), 0);
+    // Rows and single objects can still be encoded after a batch.
+    BinaryRow row = encoder.toRow(beans.get(1));
+    Assert.assertEquals(encoder.fromRow(row), beans.get(1));
+    checkCorruptBatches(encoder, encoder.encodeBatch(beans.subList(0, 3)));
+  }
+
+  @Test
+  public void testDefaultEncodeBatch() {
+    RowEncoder<BeanA> encoder = Encoders.bean(BeanA.class);
+    // Only implements the row conversions, so the batch methods use the interface defaults.
+    RowEncoder<BeanA> rowOnlyEncoder =
+        new RowEncoder<BeanA>() {
+          @Override
+          public Schema schema() {
+            return encoder.schema();
+          }
+
+          @Override
+          public BeanA fromRow(BinaryRow row) {
+            return encoder.fromRow(row);
+          }
+
+          @Override
+          public BinaryRow toRow(BeanA obj) {
+            return encoder.toRow(obj);
+          }
+
+          @Override
+          public BeanA decode(MemoryBuffer buffer) {
+            return encoder.decode(buffer);
+          }
+
+          @Override
+          public BeanA decode(byte[] bytes) {
+            return encoder.decode(bytes);
+          }
+
+          @Override
+          public byte[] encode(BeanA obj) {
+            return encoder.encode(obj);
+          }
+
+          @Override
+          public int encode(MemoryBuffer buffer, BeanA obj) {
+            return encoder.encode(buffer, obj);
+          }
+        };
+    List<BeanA> beans = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      beans.add(BeanA.createBeanA(i % 3));
+    }
+    byte[] bytes = rowOnlyEncoder.encodeBatch(beans);
+    Assert.assertEquals(bytes, encoder.encodeBatch(beans));
+    Assert.assertEquals(rowOnlyEncoder.decodeBatch(bytes), beans);
+    Assert.assertEquals(rowOnlyEncoder.decodeBatch(encoder.encodeBatch(beans)), beans);
+    MemoryBuffer buffer = MemoryUtils.buffer(16);
+    buffer.writeInt32(7);
+    int size = rowOnlyEncoder.encodeBatch(beans, buffer);
+    Assert.assertEquals(buffer.writerIndex(), size + 4);
+    Assert.assertEquals(buffer.readInt32(), 7);
+    Assert.assertEquals(encoder.decodeBatch(buffer), beans);
+    Assert.assertEquals(buffer.readerIndex(), buffer.writerIndex());
+    byte[] empty = rowOnlyEncoder.encodeBatch(new ArrayList<>());
+    Assert.assertEquals(rowOnlyEncoder.decodeBatch(empty).size(), 0);
+    checkCorruptBatches(rowOnlyEncoder, encoder.encodeBatch(beans.subList(0, 3)));
+  }
+
+  private static void checkCorruptBatches(RowEncoder<BeanA> encoder, byte[] batch) {
+    // Header is the schema hash and row count, followed by numRows + 1 int32 row offsets.
+    for (int numRows : new int[] {-1, 4, Integer.MAX_VALUE}) {
+      MemoryBuffer buffer = MemoryUtils.wrap(batch.clone());
+      buffer.putInt32(8, numRows);
+      Assert.assertThrows(EncoderException.class, () -> encoder.decodeBatch(buffer));
+    }
+    int[][] offsets = {{0, 0}, {1, batch.length + 8}, {2, -8}, {3, batch.length + 8}};
+    for (int[] offset : offsets) {
+      MemoryBuffer buffer = MemoryUtils.wrap(batch.clone());
+      buffer.putInt32(12 + offset[0] * 4, offset[1]);
+      Assert.assertThrows(EncoderException.class, () -> encoder.decodeBatch(buffer));
+    }
+    byte[] truncated = Arrays.copyOf(batch, batch.length - 8);
+    Assert.assertThrows(EncoderException.class, () -> encoder.decodeBatch(truncated));
+  }
+
   @Data
   public static class Foo {
     public Foo() {
@@ -103,6 +207,37 @@ public class RowEncoderTest {
     Assert.assertEquals(foo, deserializedFoo);
   }
 
+  @Test
+  public void testLazyMapField() {
+    Foo foo = new Foo();
+    RowEncoder<Foo> encoder = Encoders.bean(Foo.class);
+    Foo deserializedFoo = encoder.decode(encoder.encode(foo));
+    Assert.assertTrue(deserializedFoo.f4 instanceof LazyMap);
+    Assert.assertEquals(deserializedFoo.f4, foo.f4);
+    Assert.assertEquals(deserializedFoo, foo);
+    deserializedFoo.f4.put("k3", 3);
+    Assert.assertEquals(deserializedFoo.f4.get("k3"), Integer.valueOf(3));
+    Assert.assertEquals(deserializedFoo.f4.size(), 3);
+  }
+
+  @Test
+  public void testLazyFieldsDecodedOnAccess() {
+    RowEncoder<Foo> encoder = Encoders.bean(Foo.class);
+    BinaryRow row = encoder.toRow(new Foo());
+    Foo decoded = encoder.fromRow(row);
+    // Update the row after decoding, lazy fields must only read it on first access.
+    BinaryArray list = row.getArray(row.getSchema().getFieldIndex("f3"));
+    list.setNullAt(1);
+    BinaryArray mapValues = row.getMap(row.getSchema().getFieldIndex("f4")).valueArray();
+    for (int i = 0; i < mapValues.numElements(); i++) {
+      mapValues.setInt32(i, 42);
+    }
+    row.setInt32(row.getSchema().getFieldIndex("f1"), 42);
+    Assert.assertEquals(decoded.f1, 2);
+    Assert.assertEquals(decoded.f3, Arrays.asList("a", null, "c"));
+    Assert.assertEquals(decoded.f4, ImmutableMap.of("k1", 42, "k2", 42));
+  }
+
   private static class PrivateStruct {
     java.util.Map<Long, Long> f1;
     java.util.Map<String, String> f2;
@@ -0,0 +1,164 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.fory.format.row.binary;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.apache.fory.format.row.binary.writer.BinaryRowWriter;
+import org.apache.fory.format.type.DataTypes;
+import org.apache.fory.format.type.Schema;
+import org.testng.annotations.Test;
+
+public class BinaryRowComparatorTest {
+  static final Schema SCHEMA =
+      DataTypes.schema(
+          Arrays.asList(
+              DataTypes.field("id", DataTypes.int32()),
+              DataTypes.field("name", DataTypes.utf8()),
+              DataTypes.field("score", DataTypes.float64()),
+              DataTypes.field("amount", DataTypes.decimal(10, 2)),
+              DataTypes.notNullField("day", DataTypes.int16())));
+
+  static BinaryRow row(Integer id, String name, double score, BigDecimal amount, short day) {
+    BinaryRowWriter writer = new BinaryRowWriter(SCHEMA);
+    writer.reset();
+    if (id == null) {
+      writer.setNullAt(0);
+    } else {
+      writer.write(0, id);
+    }
+    if (name == null) {
+      writer.setNullAt(1);
+    } else {
+      writer.write(1, name);
+    }
+    writer.write(2, score);
+    writer.write(3, amount);
+    writer.write(4, day);
+    return writer.getRow();
+  }
+
+  static List<BinaryRow> randomRows(int numRows, long seed) {
+    Random random = new Random(seed);
+    String[] names = {"", "a", "ab", "abcdefgh", "abcdefghi", "abcdefgj", "été", "z"};
+    List<BinaryRow> rows = new ArrayList<>();
+    for (int i = 0; i < numRows; i++) {
+      rows.add(
+          row(
+              random.nextInt(10) == 0 ? null : random.nextInt(20) - 10,
+              random.nextInt(10) == 0 ? null : names[random.nextInt(names.length)],
+              random.nextInt(5) - 2.5,
+              random.nextInt(10) == 0 ? null : BigDecimal.valueOf(random.nextInt(2000) - 1000, 2),
+              (short) (random.nextInt(200) - 100)));
+    }
+    return rows;
+  }
+
+  private static BinaryRow row(Integer id, String name) {
+    return row(id, name, 0, BigDecimal.ONE, (short) 0);
+  }
+
+  private static BinaryRow row(double score, BigDecimal amount) {
+    return row(1, "a", score, amount, (short) 0);
+  }
+
+  @Test
+  public void testCompare() {
+    BinaryRowComparator comparator = new BinaryRowComparator(SCHEMA, "id", "name");
+    assertTrue(comparator.compare(row(null, "a"), row(-1, "a")) < 0);
+    assertTrue(comparator.compare(row(-1, "b"), row(1, "a")) < 0);
+    assertTrue(comparator.compare(row(1, "ab"), row(1, "b")) < 0);
+    assertTrue(comparator.compare(row(1, "a"), row(1, "ab")) < 0);
+    assertTrue(comparator.compare(row(1, "z"), row(1, "é")) < 0);
+    assertTrue(comparator.compare(row(1, (String) null), row(1, "")) < 0);
+    assertEquals(comparator.compare(row(1, "a"), row(1, "a", 1, null, (short) 1)), 0);
+    comparator = new BinaryRowComparator(SCHEMA, new int[] {2, 3}, new boolean[] {true, false});
+    assertTrue(comparator.compare(row(-0.0, BigDecimal.ONE), row(0.0, BigDecimal.ONE)) < 0);
+    assertTrue(comparator.compare(row(1.0, BigDecimal.ONE), row(Double.NaN, BigDecimal.ONE)) < 0);
+    // Amounts are in descending order.
+    BinaryRow negative = row(1.0, BigDecimal.valueOf(-2));
+    assertTrue(comparator.compare(negative, row(1.0, BigDecimal.valueOf(-30))) < 0);
+    assertTrue(comparator.compare(row(1.0, BigDecimal.TEN), negative) < 0);
+    assertTrue(comparator.compare(row(1.0, BigDecimal.ONE), row(1.0, null)) < 0);
+  }
+
+  @Test
+  public void testNormalizedKey() {
+    List<BinaryRowComparator> comparators =
+        Arrays.asList(
+            new BinaryRowComparator(SCHEMA, "id", "name"),
+            new BinaryRowComparator(SCHEMA, new int[] {1, 0}, new boolean[] {false, true}),
+            new BinaryRowComparator(SCHEMA, new int[] {2, 4}, new boolean[] {false, false}),
+            new BinaryRowComparator(SCHEMA, "amount", "id"),
+            new BinaryRowComparator(SCHEMA, "day", "id"));
+    assertFalse(comparators.get(0).isNormalizedKeyFull());
+    assertFalse(comparators.get(2).isNormalizedKeyFull());
+    assertTrue(comparators.get(4).isNormalizedKeyFull());
+    List<BinaryRow> rows = randomRows(100, 7);
+    for (BinaryRowComparator comparator : comparators) {
+      for (BinaryRow row1 : rows) {
+        for (BinaryRow row2 : rows) {
+          int c = comparator.compare(row1, row2);
+          int prefixC =
+              Long.compareUnsigned(comparator.normalizedKey(row1), comparator.normalizedKey(row2));
+          if (prefixC != 0) {
+            assertEquals(Integer.signum(prefixC), Integer.signum(c));
+          } else if (comparator.isNormalizedKeyFull()) {
+            assertEquals(c, 0);
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testHash() {
+    BinaryRowHasher hasher = new BinaryRowHasher(SCHEMA, "id", "name", "amount");
+    List<BinaryRow> rows = randomRows(100, 11);
+    List<BinaryRow> copies = randomRows(100, 11);
+    for (int i = 0; i < rows.size(); i++) {
+      assertTrue(hasher.keyEquals(rows.get(i), copies.get(i)));
+      assertEquals(hasher.hash(rows.get(i)), hasher.hash(copies.get(i)));
+    }
+    BinaryRowComparator comparator = new BinaryRowComparator(SCHEMA, "id", "name", "amount");
+    for (BinaryRow row1 : rows) {
+      for (BinaryRow row2 : rows) {
+        boolean equal = hasher.keyEquals(row1, row2);
+        assertEquals(equal, comparator.compare(row1, row2) == 0);
+        if (equal) {
+          assertEquals(hasher.hash(row1), hasher.hash(row2));
+        }
+      }
+    }
+    BinaryRowHasher rowHasher = new BinaryRowHasher(SCHEMA);
+    assertFalse(
+        rowHasher.keyEquals(
+            row(1, "a", 0.0, null, (short) 0), row(1, "a", -0.0, null, (short) 0)));
+    assertTrue(
+        rowHasher.keyEquals(row(1, null, 1, null, (short) 0), row(1, null, 1, null, (short) 0)));
+  }
+}
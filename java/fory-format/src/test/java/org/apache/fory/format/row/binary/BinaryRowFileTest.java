@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.fory.format.row.binary;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import org.apache.fory.format.row.binary.writer.CompactBinaryRowWriter;
+import org.apache.fory.format.type.DataTypes;
+import org.apache.fory.format.type.Schema;
+import org.testng.annotations.Test;
+
+public class BinaryRowFileTest {
+
+  @Test
+  public void testWriteRead() throws IOException {
+    Path path = Files.createTempFile("rows", ".bin");
+    try {
+      List<BinaryRow> rows = BinaryRowComparatorTest.randomRows(1000, 7);
+      try (BinaryRowFileWriter writer =
+          new BinaryRowFileWriter(
+              BinaryRowComparatorTest.SCHEMA,
+              FileChannel.open(path, StandardOpenOption.WRITE),
+              4096)) {
+        for (BinaryRow row : rows) {
+          writer.write(row);
+        }
+        assertEquals(writer.numRows(), rows.size());
+        assertTrue(writer.numBlocks() > 1);
+      }
+      try (BinaryRowFileReader reader = new BinaryRowFileReader(path)) {
+        assertEquals(reader.getSchema(), BinaryRowComparatorTest.SCHEMA);
+        assertEquals(reader.numRows(), rows.size());
+        assertTrue(reader.numBlocks() > 1);
+        BinaryRow row = new BinaryRow(reader.getSchema());
+        for (int i = rows.size() - 1; i >= 0; i--) {
+          reader.pointTo((long) i, row);
+          assertEquals(row.toBytes(), rows.get(i).toBytes());
+        }
+        for (int block = 0; block < reader.numBlocks(); block++) {
+          int firstRow = (int) reader.blockFirstRow(block);
+          int nullIds = 0;
+          int minId = Integer.MAX_VALUE;
+          int maxId = Integer.MIN_VALUE;
+          double maxScore = Double.NEGATIVE_INFINITY;
+          for (int i = 0; i < reader.blockNumRows(block); i++) {
+            reader.pointTo(block, i, row);
+            assertEquals(reader.blockOf(firstRow + i), block);
+            BinaryRow expected = rows.get(firstRow + i);
+            assertEquals(row.toBytes(), expected.toBytes());
+            if (expected.isNullAt(0)) {
+              nullIds++;
+            } else {
+              minId = Math.min(minId, expected.getInt32(0));
+              maxId = Math.max(maxId, expected.getInt32(0));
+            }
+            maxScore = Math.max(maxScore, expected.getFloat64(2));
+          }
+          assertEquals(reader.nullCount(block, 0), nullIds);
+          assertEquals(reader.blockMin(block).getInt32(0), minId);
+          assertEquals(reader.blockMax(block).getInt32(0), maxId);
+          assertEquals(reader.blockMax(block).getFloat64(2), maxScore);
+          // Strings and decimals have no statistics.
+          assertTrue(reader.blockMin(block).isNullAt(1));
+          assertTrue(reader.blockMax(block).isNullAt(3));
+        }
+      }
+    } finally {
+      Files.delete(path);
+    }
+  }
+
+  @Test
+  public void testWriteReadDictionaryEncodedRows() throws IOException {
+    Schema schema =
+        DataTypes.schema(
+            Arrays.asList(
+                DataTypes.field("id", DataTypes.int64()),
+                DataTypes.dictionaryField("country", true)));
+    String[] countries = {"Germany", "Japan", "Brazil"};
+    CompactBinaryRowWriter rowWriter = new CompactBinaryRowWriter(schema);
+    StringDictionary dictionary = new StringDictionary();
+    rowWriter.setDictionary(dictionary);
+    Path path = Files.createTempFile("rows", ".bin");
+    try {
+      try (BinaryRowFileWriter writer =
+          new BinaryRowFileWriter(schema, FileChannel.open(path, StandardOpenOption.WRITE), 256)) {
+        for (int i = 0; i < 100; i++) {
+          rowWriter.getBuffer().writerIndex(0);
+          rowWriter.reset();
+          rowWriter.write(0, (long) i);
+          rowWriter.write(1, countries[i % countries.length]);
+          writer.write(rowWriter.getRow());
+        }
+      }
+      try (BinaryRowFileReader reader = new BinaryRowFileReader(path)) {
+        // Without the encoding, codes would be read as inline strings.
+        assertTrue(DataTypes.isDictionaryEncoded(reader.getSchema().field(1)));
+        CompactBinaryRow row = new CompactBinaryRow(reader.getSchema());
+        row.setDictionary(dictionary);
+        for (int i = 0; i < 100; i++) {
+          reader.pointTo((long) i, row);
+          assertEquals(row.getInt64(0), i);
+          assertEquals(row.getString(1), countries[i % countries.length]);
+        }
+      }
+    } finally {
+      Files.delete(path);
+    }
+  }
+}
@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.fory.format.row.binary;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+public class BinaryRowSortBufferTest {
+
+  @DataProvider
+  public static Object[][] offHeap() {
+    return new Object[][] {{false}, {true}};
+  }
+
+  @Test(dataProvider = "offHeap")
+  public void testSort(boolean offHeap) {
+    List<BinaryRowComparator> comparators = new ArrayList<>();
+    comparators.add(new BinaryRowComparator(BinaryRowComparatorTest.SCHEMA, "name", "id"));
+    comparators.add(new BinaryRowComparator(BinaryRowComparatorTest.SCHEMA, "day"));
+    comparators.add(
+        new BinaryRowComparator(
+            BinaryRowComparatorTest.SCHEMA,
+            new int[] {3, 2, 0},
+            new boolean[] {false, true, true}));
+    List<BinaryRow> rows = BinaryRowComparatorTest.randomRows(1000, 17);
+    for (BinaryRowComparator comparator : comparators) {
+      BinaryRowSortBuffer buffer = new BinaryRowSortBuffer(comparator, 1000, 1 << 20, offHeap);
+      for (int round = 0; round < 2; round++) {
+        for (BinaryRow row : rows) {
+          assertTrue(buffer.write(row));
+        }
+        buffer.sort();
+        List<BinaryRow> expected = new ArrayList<>(rows);
+        expected.sort(comparator);
+        assertEquals(buffer.numRows(), rows.size());
+        BinaryRow row = new BinaryRow(comparator.getSchema());
+        for (int i = 0; i < rows.size(); i++) {
+          buffer.pointTo(i, row);
+          assertEquals(comparator.compare(row, expected.get(i)), 0);
+          if (i > 0) {
+            assertTrue(comparator.compare(buffer.get(i - 1), row) <= 0);
+          }
+        }
+        buffer.reset();
+      }
+    }
+  }
+
+  @Test
+  public void testFull() {
+    BinaryRowComparator comparator = new BinaryRowComparator(BinaryRowComparatorTest.SCHEMA, "id");
+    List<BinaryRow> rows = BinaryRowComparatorTest.randomRows(10, 3);
+    BinaryRowSortBuffer buffer = new BinaryRowSortBuffer(comparator, 4, 1 << 10, false);
+    for (int i = 0; i < 4; i++) {
+      assertTrue(buffer.write(rows.get(i)));
+    }
+    assertFalse(buffer.write(rows.get(4)));
+    buffer.reset();
+    buffer = new BinaryRowSortBuffer(comparator, 10, rows.get(0).getSizeInBytes(), false);
+    assertTrue(buffer.write(rows.get(0)));
+    assertFalse(buffer.write(rows.get(1)));
+    assertEquals(buffer.dataSize(), rows.get(0).getSizeInBytes());
+  }
+}
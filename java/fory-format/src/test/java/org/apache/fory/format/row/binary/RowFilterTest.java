@@ -0,0 +1,225 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.fory.format.row.binary;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Predicate;
+import org.apache.fory.format.row.binary.writer.BaseBinaryRowWriter;
+import org.apache.fory.format.row.binary.writer.BinaryRowWriter;
+import org.apache.fory.format.row.binary.writer.CompactBinaryRowWriter;
+import org.apache.fory.format.type.DataTypes;
+import org.apache.fory.format.type.Schema;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+public class RowFilterTest {
+  private static final Schema SCHEMA =
+      DataTypes.schema(
+          Arrays.asList(
+              DataTypes.notNullField("id", DataTypes.int64()),
+              DataTypes.field("age", DataTypes.int32()),
+              DataTypes.field("score", DataTypes.float32()),
+              DataTypes.field("name", DataTypes.utf8()),
+              DataTypes.field("active", DataTypes.bool()),
+              DataTypes.field("day", DataTypes.date32()),
+              DataTypes.field("amount", DataTypes.decimal(10, 2))));
+  private static final String[] NAMES = {"a", "b", "bc", "abcdefghijk", "é"};
+
+  @DataProvider
+  public static Object[][] compact() {
+    return new Object[][] {{false}, {true}};
+  }
+
+  private static List<Object[]> randomValues(int numRows) {
+    Random random = new Random(7);
+    List<Object[]> rows = new ArrayList<>();
+    for (int i = 0; i < numRows; i++) {
+      rows.add(
+          new Object[] {
+            (long) i,
+            random.nextInt(8) == 0 ? null : random.nextInt(50),
+            random.nextInt(8) == 0 ? null : random.nextInt(10) / 2.0f,
+            random.nextInt(8) == 0 ? null : NAMES[random.nextInt(NAMES.length)],
+            random.nextInt(8) == 0 ? null : random.nextBoolean(),
+            random.nextInt(8) == 0 ? null : random.nextInt(10),
+            random.nextInt(8) == 0 ? null : BigDecimal.valueOf(random.nextInt(1000) - 500, 2)
+          });
+    }
+    return rows;
+  }
+
+  private static BinaryRow toRow(Object[] values, BaseBinaryRowWriter writer) {
+    writer.getBuffer().writerIndex(0);
+    writer.reset();
+    for (int i = 0; i < values.length; i++) {
+      int ordinal = writer.getSchema().getFieldIndex(SCHEMA.field(i).name());
+      Object value = values[i];
+      if (value == null) {
+        writer.setNullAt(ordinal);
+      } else if (value instanceof Long) {
+        writer.write(ordinal, (long) value);
+      } else if (value instanceof Integer) {
+        writer.write(ordinal, (int) value);
+      } else if (value instanceof Float) {
+        writer.write(ordinal, (float) value);
+      } else if (value instanceof String) {
+        writer.write(ordinal, (String) value);
+      } else if (value instanceof Boolean) {
+        writer.write(ordinal, (boolean) value);
+      } else {
+        writer.write(ordinal, (BigDecimal) value);
+      }
+    }
+    return writer.copyToRow();
+  }
+
+  private static List<BinaryRow> toRows(List<Object[]> values, boolean compact) {
+    BaseBinaryRowWriter writer =
+        compact ? new CompactBinaryRowWriter(SCHEMA) : new BinaryRowWriter(SCHEMA);
+    List<BinaryRow> rows = new ArrayList<>();
+    for (Object[] value : values) {
+      rows.add(toRow(value, writer));
+    }
+    return rows;
+  }
+
+  private static RowPredicate compile(RowFilter filter, boolean compact) {
+    return compact ? filter.compileCompact(SCHEMA) : filter.compile(SCHEMA);
+  }
+
+  private static void checkFilter(
+      RowFilter filter, Predicate<Object[]> expected, List<Object[]> values, boolean compact) {
+    RowPredicate predicate = compile(filter, compact);
+    List<BinaryRow> rows = toRows(values, compact);
+    int matched = 0;
+    for (int i = 0; i < rows.size(); i++) {
+      boolean result = expected.test(values.get(i));
+      assertEquals(predicate.test(rows.get(i)), result, Arrays.toString(values.get(i)));
+      matched += result ? 1 : 0;
+    }
+    Assert.assertTrue(matched > 0, filter.toString());
+  }
+
+  @Test(dataProvider = "compact")
+  public void testFilter(boolean compact) {
+    List<Object[]> values = randomValues(500);
+    checkFilter(
+        RowFilter.and(RowFilter.between("age", 20, 30), RowFilter.in("name", "a", "bc")),
+        v ->
+            v[1] != null
+                && (int) v[1] >= 20
+                && (int) v[1] <= 30
+                && ("a".equals(v[3]) || "bc".equals(v[3])),
+        values,
+        compact);
+    checkFilter(
+        RowFilter.and(RowFilter.isNull("age"), RowFilter.equal("active", true)),
+        v -> v[1] == null && Boolean.TRUE.equals(v[4]),
+        values,
+        compact);
+    checkFilter(
+        RowFilter.and(
+            RowFilter.greaterThan("score", 1.5),
+            RowFilter.lessThan("amount", new BigDecimal("0.5"))),
+        v ->
+            v[2] != null
+                && (float) v[2] > 1.5
+                && v[6] != null
+                && ((BigDecimal) v[6]).compareTo(new BigDecimal("0.5")) < 0,
+        values,
+        compact);
+    List<Object> ids = new ArrayList<>();
+    for (long i = 0; i < 100; i += 3) {
+      ids.add(i);
+    }
+    checkFilter(
+        RowFilter.and(RowFilter.in("id", ids), RowFilter.isNotNull("name")),
+        v -> ids.contains(v[0]) && v[3] != null,
+        values,
+        compact);
+    checkFilter(
+        RowFilter.and(
+            RowFilter.greaterThanOrEqual("name", "b"),
+            RowFilter.lessThanOrEqual("day", LocalDate.ofEpochDay(5))),
+        v -> v[3] != null && ((String) v[3]).compareTo("b") >= 0 && v[5] != null && (int) v[5] <= 5,
+        values,
+        compact);
+    List<BigDecimal> amounts = new ArrayList<>();
+    for (Object[] v : values.subList(0, 20)) {
+      if (v[6] != null) {
+        amounts.add(((BigDecimal) v[6]).stripTrailingZeros());
+      }
+    }
+    checkFilter(
+        RowFilter.in("amount", amounts),
+        v -> v[6] != null && amounts.contains(((BigDecimal) v[6]).stripTrailingZeros()),
+        values,
+        compact);
+  }
+
+  @Test
+  public void testSharedClass() {
+    RowPredicate predicate1 = RowFilter.equal("name", "a").compile(SCHEMA);
+    RowPredicate predicate2 = RowFilter.equal("name", "b").compile(SCHEMA);
+    assertSame(predicate1.getClass(), predicate2.getClass());
+    Assert.assertThrows(
+        IllegalArgumentException.class, () -> RowFilter.equal("unknown", 1).compile(SCHEMA));
+    Assert.assertThrows(
+        IllegalArgumentException.class, () -> RowFilter.equal("age", "a").compile(SCHEMA));
+    Assert.assertThrows(
+        IllegalArgumentException.class, () -> RowFilter.lessThan("active", true).compile(SCHEMA));
+  }
+
+  @Test(dataProvider = "compact")
+  public void testProjection(boolean compact) {
+    List<Object[]> values = randomValues(100);
+    List<BinaryRow> rows = toRows(values, compact);
+    RowProjection projection = new RowProjection(SCHEMA, compact, "amount", "name", "age");
+    Schema schema = projection.getSchema();
+    assertEquals(schema.numFields(), 3);
+    for (int i = 0; i < rows.size(); i++) {
+      BinaryRow row = projection.project(rows.get(i));
+      Object[] value = values.get(i);
+      int age = schema.getFieldIndex("age");
+      int name = schema.getFieldIndex("name");
+      int amount = schema.getFieldIndex("amount");
+      if (value[1] == null) {
+        Assert.assertTrue(row.isNullAt(age));
+      } else {
+        assertEquals(row.getInt32(age), value[1]);
+      }
+      assertEquals(row.getString(name), value[3]);
+      assertEquals(row.getDecimal(amount), value[6]);
+      if (value[3] == null) {
+        assertNull(row.getString(name));
+      }
+    }
+  }
+}
@@ -0,0 +1,177 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.fory.format.row.binary;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import org.apache.fory.format.row.binary.writer.BaseBinaryRowWriter;
+import org.apache.fory.format.row.binary.writer.BinaryRowWriter;
+import org.apache.fory.format.row.binary.writer.CompactBinaryRowWriter;
+import org.apache.fory.format.type.DataTypes;
+import org.apache.fory.format.type.Schema;
+import org.apache.fory.util.MurmurHash3;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+public class RowStatisticsTest {
+  private static final Schema SCHEMA =
+      DataTypes.schema(
+          Arrays.asList(
+              DataTypes.field("id", DataTypes.int64()),
+              DataTypes.field("name", DataTypes.utf8()),
+              DataTypes.field("score", DataTypes.float32()),
+              DataTypes.field("amount", DataTypes.decimal(10, 2)),
+              DataTypes.field("tags", DataTypes.list(DataTypes.utf8()))));
+
+  @DataProvider
+  public static Object[][] compact() {
+    return new Object[][] {{false}, {true}};
+  }
+
+  @Test(dataProvider = "compact")
+  public void testStatistics(boolean compact) {
+    BaseBinaryRowWriter writer =
+        compact ? new CompactBinaryRowWriter(SCHEMA) : new BinaryRowWriter(SCHEMA);
+    writer.enableStatistics();
+    Schema schema = writer.getSchema();
+    int id = schema.getFieldIndex("id");
+    int name = schema.getFieldIndex("name");
+    int score = schema.getFieldIndex("score");
+    int amount = schema.getFieldIndex("amount");
+    int tags = schema.getFieldIndex("tags");
+    Random random = new Random(7);
+    int numRows = 20000;
+    Set<Long> ids = new HashSet<>();
+    long nullNames = 0;
+    long nameBytes = 0;
+    for (int i = 0; i < numRows; i++) {
+      writer.getBuffer().writerIndex(0);
+      writer.reset();
+      long idValue = random.nextInt(10000) - 5000;
+      ids.add(idValue);
+      writer.write(id, idValue);
+      if (i % 10 == 0) {
+        writer.setNullAt(name);
+        nullNames++;
+      } else {
+        String nameValue = "n" + (i % 100);
+        nameBytes += nameValue.length();
+        writer.write(name, nameValue);
+      }
+      writer.write(score, i % 7 == 0 ? Float.NaN : (float) (i % 50));
+      writer.write(amount, BigDecimal.valueOf(i % 1000 - 500, 2));
+      writer.setNullAt(tags);
+      writer.getRow();
+    }
+    RowStatistics statistics = writer.getStatistics();
+    assertEquals(statistics.numRows(), numRows);
+    ColumnStatistics idStatistics = statistics.get("id");
+    assertEquals(idStatistics.getNullCount(), 0);
+    assertEquals(idStatistics.getMin(), ids.stream().min(Long::compare).get());
+    assertEquals(idStatistics.getMax(), ids.stream().max(Long::compare).get());
+    assertTrue(Math.abs(idStatistics.getDistinctCount() - ids.size()) < ids.size() * 0.05);
+    ColumnStatistics nameStatistics = statistics.get("name");
+    assertEquals(nameStatistics.getNullCount(), nullNames);
+    assertEquals(nameStatistics.getMin(), "n1");
+    assertEquals(nameStatistics.getMax(), "n99");
+    assertEquals(nameStatistics.getVarLengthBytes(), nameBytes);
+    assertTrue(Math.abs(nameStatistics.getDistinctCount() - 90) <= 3);
+    ColumnStatistics scoreStatistics = statistics.get("score");
+    assertEquals(scoreStatistics.getMin(), 0.0f);
+    assertEquals(scoreStatistics.getMax(), 49.0f);
+    assertEquals(statistics.get("amount").getMin(), BigDecimal.valueOf(-500, 2));
+    assertEquals(statistics.get("amount").getMax(), BigDecimal.valueOf(499, 2));
+    assertEquals(statistics.get("tags").getNullCount(), numRows);
+    assertNull(statistics.get("tags").getMin());
+    statistics.reset();
+    assertEquals(statistics.numRows(), 0);
+    assertEquals(statistics.get("id").getDistinctCount(), 0);
+    assertNull(statistics.get("id").getMin());
+  }
+
+  @Test(dataProvider = "compact")
+  public void testRowFinishedOnce(boolean compact) {
+    BaseBinaryRowWriter writer =
+        compact ? new CompactBinaryRowWriter(SCHEMA) : new BinaryRowWriter(SCHEMA);
+    writer.enableStatistics();
+    int id = writer.getSchema().getFieldIndex("id");
+    for (int i = 0; i < 10; i++) {
+      // Write rows after a prefix, so copies don't start at the offset of the row.
+      writer.getBuffer().writerIndex(16);
+      writer.reset();
+      writer.write(id, (long) i);
+      for (int j = 0; j < SCHEMA.numFields(); j++) {
+        if (j != id) {
+          writer.setNullAt(j);
+        }
+      }
+      if (i % 2 == 0) {
+        writer.getRow();
+        writer.getRow();
+        writer.copyToRow();
+      } else {
+        assertEquals(writer.copyToRow().getInt64(id), i);
+        writer.copyToRow();
+      }
+    }
+    RowStatistics statistics = writer.getStatistics();
+    assertEquals(statistics.numRows(), 10);
+    assertEquals(statistics.get("id").getMin(), 0L);
+    assertEquals(statistics.get("id").getMax(), 9L);
+    assertTrue(Math.abs(statistics.get("id").getDistinctCount() - 10) <= 1);
+  }
+
+  @Test
+  public void testDecimalDistinctCount() {
+    Schema schema =
+        DataTypes.schema(Arrays.asList(DataTypes.field("amount", DataTypes.decimal(38, 2))));
+    BinaryRowWriter writer = new BinaryRowWriter(schema);
+    writer.enableStatistics();
+    // Values which only differ above the low 64 bits of their unscaled value.
+    BigInteger base = BigInteger.ONE.shiftLeft(64);
+    int numValues = 100;
+    for (int i = 0; i < numValues; i++) {
+      writer.getBuffer().writerIndex(0);
+      writer.reset();
+      writer.write(0, new BigDecimal(base.multiply(BigInteger.valueOf(i + 1)), 2));
+      writer.getRow();
+    }
+    long distinct = writer.getStatistics().get("amount").getDistinctCount();
+    assertTrue(Math.abs(distinct - numValues) <= 3, "" + distinct);
+  }
+
+  @Test
+  public void testDistinctCount() {
+    HyperLogLog sketch = new HyperLogLog(HyperLogLog.DEFAULT_PRECISION);
+    for (long i = 0; i < 1000000; i++) {
+      sketch.add(MurmurHash3.fmix64(i * 3));
+      sketch.add(MurmurHash3.fmix64(i * 3));
+    }
+    assertTrue(Math.abs(sketch.estimate() - 1000000) < 1000000 * 0.05, "" + sketch.estimate());
+  }
+}
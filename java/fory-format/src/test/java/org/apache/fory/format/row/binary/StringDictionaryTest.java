@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.fory.format.row.binary;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import java.util.Arrays;
+import org.apache.fory.format.row.binary.writer.CompactBinaryRowWriter;
+import org.apache.fory.format.type.DataTypes;
+import org.apache.fory.format.type.Schema;
+import org.apache.fory.memory.MemoryBuffer;
+import org.apache.fory.memory.MemoryUtils;
+import org.testng.annotations.Test;
+
+public class StringDictionaryTest {
+  private static final String[] COUNTRIES = {
+    "Germany", "Japan", "United States", "Brazil", "日本"
+  };
+  private static final Schema SCHEMA =
+      DataTypes.schema(
+          Arrays.asList(
+              DataTypes.field("id", DataTypes.int64()),
+              DataTypes.dictionaryField("country", true),
+              DataTypes.field("message", DataTypes.utf8())));
+
+  @Test
+  public void testDictionary() {
+    StringDictionary dictionary = new StringDictionary();
+    for (int i = 0; i < 1000; i++) {
+      assertEquals(dictionary.encode("s" + i), i);
+    }
+    for (int i = 0; i < 1000; i++) {
+      assertEquals(dictionary.encode("s" + i), i);
+      assertEquals(dictionary.lookup("s" + i), i);
+      assertEquals(dictionary.getString(i), "s" + i);
+    }
+    assertEquals(dictionary.lookup("absent"), -1);
+    MemoryBuffer buffer = MemoryUtils.buffer(16);
+    dictionary.writeTo(buffer);
+    StringDictionary newDictionary = StringDictionary.readFrom(buffer);
+    assertEquals(newDictionary.size(), 1000);
+    assertEquals(newDictionary.getString(999), "s999");
+    assertEquals(newDictionary.lookup("s10"), 10);
+    dictionary.clear();
+    assertEquals(dictionary.size(), 0);
+    assertEquals(dictionary.lookup("s1"), -1);
+    assertEquals(dictionary.encode("s1"), 0);
+  }
+
+  private static byte[] write(CompactBinaryRowWriter writer, int i) {
+    Schema schema = writer.getSchema();
+    writer.getBuffer().writerIndex(0);
+    writer.reset();
+    writer.write(schema.getFieldIndex("id"), (long) i);
+    if (i % 10 == 0) {
+      writer.setNullAt(schema.getFieldIndex("country"));
+    } else {
+      writer.write(schema.getFieldIndex("country"), COUNTRIES[i % COUNTRIES.length]);
+    }
+    writer.write(schema.getFieldIndex("message"), "m");
+    return writer.getRow().toBytes();
+  }
+
+  @Test
+  public void testDictionaryEncodedRow() {
+    CompactBinaryRowWriter writer = new CompactBinaryRowWriter(SCHEMA);
+    StringDictionary dictionary = new StringDictionary();
+    writer.setDictionary(dictionary);
+    CompactBinaryRowWriter plainWriter =
+        new CompactBinaryRowWriter(
+            DataTypes.schema(
+                Arrays.asList(
+                    DataTypes.field("id", DataTypes.int64()),
+                    DataTypes.field("country", DataTypes.utf8()),
+                    DataTypes.field("message", DataTypes.utf8()))));
+    Schema schema = writer.getSchema();
+    int country = schema.getFieldIndex("country");
+    CompactBinaryRow row = (CompactBinaryRow) writer.newRow();
+    for (int i = 0; i < 100; i++) {
+      byte[] bytes = write(writer, i);
+      assertTrue(bytes.length < write(plainWriter, i).length);
+      row.pointTo(MemoryUtils.wrap(bytes), 0, bytes.length);
+      assertEquals(row.getInt64(schema.getFieldIndex("id")), i);
+      assertEquals(row.getString(schema.getFieldIndex("message")), "m");
+      if (i % 10 == 0) {
+        assertTrue(row.isNullAt(country));
+        assertNull(row.getString(country));
+      } else {
+        String expected = COUNTRIES[i % COUNTRIES.length];
+        assertEquals(row.getString(country), expected);
+        assertEquals(row.getDictionaryCode(country), dictionary.lookup(expected));
+        assertEquals(row.copy().getString(country), expected);
+      }
+    }
+    assertEquals(dictionary.size(), COUNTRIES.length);
+  }
+
+  @Test
+  public void testFilterAndProject() {
+    CompactBinaryRowWriter writer = new CompactBinaryRowWriter(SCHEMA);
+    StringDictionary dictionary = new StringDictionary();
+    writer.setDictionary(dictionary);
+    for (int i = 1; i < 20; i++) {
+      write(writer, i);
+    }
+    RowPredicate predicate = RowFilter.equal("country", "Japan").compileCompact(SCHEMA, dictionary);
+    RowPredicate inPredicate =
+        RowFilter.in("country", "Brazil", "France").compileCompact(SCHEMA, dictionary);
+    RowProjection projection = new RowProjection(SCHEMA, true, "country");
+    for (int i = 1; i < 20; i++) {
+      write(writer, i);
+      BinaryRow row = writer.getRow();
+      String expected = i % 10 == 0 ? null : COUNTRIES[i % COUNTRIES.length];
+      assertEquals(predicate.test(row), "Japan".equals(expected));
+      assertEquals(inPredicate.test(row), "Brazil".equals(expected));
+      assertEquals(projection.project(row).getString(0), expected);
+    }
+    RowPredicate absent = RowFilter.equal("country", "Mars").compileCompact(SCHEMA, dictionary);
+    assertFalse(absent.test(writer.getRow()));
+  }
+}
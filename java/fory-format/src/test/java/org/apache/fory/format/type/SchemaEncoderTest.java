@@ -20,6 +20,8 @@
 package org.apache.fory.format.type;
 
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
 
 import java.util.Arrays;
 import org.testng.annotations.Test;
@@ -47,6 +49,27 @@ public class SchemaEncoderTest {
     assertEquals(deserialized.field(3).name(), "active");
   }
 
+  @Test
+  public void testSerializeDictionaryField() {
+    Schema schema =
+        new Schema(
+            Arrays.asList(
+                DataTypes.dictionaryField("country", true),
+                new Field("name", DataTypes.utf8(), true),
+                DataTypes.field(
+                    "address",
+                    DataTypes.struct(DataTypes.dictionaryField("city_of_residence", false)))));
+
+    Schema deserialized = SchemaEncoder.fromBytes(SchemaEncoder.toBytes(schema));
+
+    assertEquals(deserialized, schema);
+    assertTrue(DataTypes.isDictionaryEncoded(deserialized.field(0)));
+    assertFalse(DataTypes.isDictionaryEncoded(deserialized.field(1)));
+    Field city = ((DataTypes.StructType) deserialized.field(2).type()).field(0);
+    assertTrue(DataTypes.isDictionaryEncoded(city));
+    assertFalse(city.nullable());
+  }
+
   @Test
   public void testSerializeNestedSchema() {
     DataType addressType =
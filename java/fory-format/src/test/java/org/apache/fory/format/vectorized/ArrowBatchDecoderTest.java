@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.fory.format.vectorized;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import org.apache.arrow.vector.VectorLoader;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.ipc.message.ArrowRecordBatch;
+import org.apache.fory.format.encoder.ArrowBatchDecoder;
+import org.apache.fory.format.encoder.ArrowBatchEncoder;
+import org.apache.fory.format.encoder.Encoders;
+import org.apache.fory.format.encoder.RowEncoder;
+import org.apache.fory.format.row.binary.BinaryRow;
+import org.apache.fory.format.type.TypeInference;
+import org.apache.fory.format.vectorized.ArrowBatchEncoderTest.Event;
+import org.apache.fory.memory.MemoryBuffer;
+import org.apache.fory.memory.MemoryUtils;
+import org.apache.fory.test.bean.BeanA;
+import org.testng.annotations.Test;
+
+public class ArrowBatchDecoderTest {
+
+  private static void assertEvent(Event event, Event expected) {
+    assertEquals(event.id, expected.id);
+    assertEquals(event.count, expected.count);
+    assertEquals(event.flag, expected.flag);
+    assertEquals(event.score, expected.score);
+    assertEquals(event.name, expected.name);
+    assertEquals(event.kind, expected.kind);
+    assertEquals(event.date, expected.date);
+    assertEquals(event.time, expected.time);
+    assertEquals(event.tags, expected.tags);
+  }
+
+  @Test
+  public void testRead() {
+    ArrowTestSupport.skipIfArrowUnavailable();
+    List<Event> events = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      events.add(ArrowBatchEncoderTest.event(i));
+    }
+    MemoryBuffer buffer = MemoryUtils.buffer(32);
+    org.apache.arrow.vector.types.pojo.Schema arrowSchema;
+    try (ArrowBatchEncoder<Event> encoder =
+        Encoders.buildBeanCodec(Event.class).buildArrowEncoder().get()) {
+      encoder.writeAll(events);
+      arrowSchema = encoder.finish().getSchema();
+      ArrowRecordBatch recordBatch = encoder.finishAsRecordBatch();
+      ArrowUtils.serializeRecordBatch(recordBatch, buffer);
+      recordBatch.close();
+    }
+    Function<VectorSchemaRoot, ArrowBatchDecoder<Event>> decoderFactory =
+        Encoders.buildBeanCodec(Event.class).buildArrowDecoder();
+    try (VectorSchemaRoot root = VectorSchemaRoot.create(arrowSchema, ArrowUtils.allocator);
+        ArrowRecordBatch recordBatch = ArrowUtils.deserializeRecordBatch(buffer)) {
+      new VectorLoader(root).load(recordBatch);
+      ArrowBatchDecoder<Event> decoder = decoderFactory.apply(root);
+      assertEquals(decoder.rowCount(), events.size());
+      List<Event> newEvents = decoder.readAll();
+      for (int i = 0; i < events.size(); i++) {
+        assertEvent(newEvents.get(i), events.get(i));
+      }
+      // Filter rows by the lazy view and read the matched rows only.
+      ArrowRow row = decoder.row(0);
+      int idOrdinal = row.getSchema().getFieldIndex("id");
+      int tagsOrdinal = row.getSchema().getFieldIndex("tags");
+      for (int i = 0; i < decoder.rowCount(); i++) {
+        row.pointTo(i);
+        assertEquals(row.getInt32(idOrdinal), i);
+        if (row.isNullAt(tagsOrdinal)) {
+          assertNull(events.get(i).tags);
+          assertNull(row.getArray(tagsOrdinal));
+          continue;
+        }
+        assertEquals(row.getArray(tagsOrdinal).getString(0), "t" + i);
+        if (i % 2 == 0) {
+          assertEvent(decoder.read(i), events.get(i));
+        }
+      }
+      BinaryRow copy = decoder.row(1).copy();
+      assertEvent(Encoders.bean(Event.class).fromRow(copy), events.get(1));
+    }
+  }
+
+  @Test
+  public void testReadArrowWriterBatch() {
+    ArrowTestSupport.skipIfArrowUnavailable();
+    ArrowWriter arrowWriter = ArrowUtils.createArrowWriter(TypeInference.inferSchema(BeanA.class));
+    RowEncoder<BeanA> rowEncoder = Encoders.bean(BeanA.class);
+    List<BeanA> beans = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      BeanA beanA = BeanA.createBeanA(2);
+      beans.add(beanA);
+      arrowWriter.write(rowEncoder.toRow(beanA));
+    }
+    VectorSchemaRoot root = arrowWriter.finish();
+    ArrowBatchDecoder<BeanA> decoder =
+        Encoders.buildBeanCodec(BeanA.class).buildArrowDecoder().apply(root);
+    for (int i = 0; i < beans.size(); i++) {
+      assertEquals(decoder.read(i), beans.get(i));
+      ArrowRow row = decoder.row(i);
+      assertEquals(rowEncoder.fromRow(row.copy()), beans.get(i));
+    }
+    root.close();
+  }
+}
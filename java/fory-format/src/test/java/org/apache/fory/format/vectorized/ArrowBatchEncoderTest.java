@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.fory.format.vectorized;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.apache.arrow.vector.TimeStampVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.ipc.message.ArrowRecordBatch;
+import org.apache.fory.format.encoder.ArrowBatchEncoder;
+import org.apache.fory.format.encoder.Encoders;
+import org.apache.fory.format.encoder.RowEncoder;
+import org.apache.fory.format.type.TypeInference;
+import org.apache.fory.test.bean.BeanA;
+import org.apache.fory.util.DateTimeUtils;
+import org.testng.annotations.Test;
+
+public class ArrowBatchEncoderTest {
+
+  public enum Kind {
+    CLICK,
+    VIEW
+  }
+
+  public static class Event {
+    public int id;
+    public Long count;
+    public boolean flag;
+    public Double score;
+    public String name;
+    public Kind kind;
+    public LocalDate date;
+    public Instant time;
+    public List<String> tags;
+  }
+
+  static Event event(int i) {
+    Event event = new Event();
+    event.id = i;
+    event.flag = i % 2 == 0;
+    if (i % 3 != 0) {
+      event.count = (long) i * 1000;
+      event.score = i / 3.0;
+      event.name = "name" + i;
+      event.kind = Kind.values()[i % 2];
+      event.date = LocalDate.of(2024, 1, 1).plusDays(i);
+      event.time = Instant.ofEpochSecond(1_700_000_000L + i, 1000);
+      event.tags = Arrays.asList("t" + i, "tag");
+    }
+    return event;
+  }
+
+  @Test
+  public void testWrite() {
+    ArrowTestSupport.skipIfArrowUnavailable();
+    try (ArrowBatchEncoder<Event> encoder =
+        Encoders.buildBeanCodec(Event.class).buildArrowEncoder().get()) {
+      for (int batch = 0; batch < 2; batch++) {
+        encoder.reset();
+        List<Event> events = new ArrayList<>();
+        for (int i = 0; i < 10 + batch; i++) {
+          events.add(event(i));
+        }
+        encoder.writeAll(events);
+        VectorSchemaRoot root = encoder.finish();
+        assertEquals(root.getRowCount(), events.size());
+        for (int i = 0; i < events.size(); i++) {
+          Event event = events.get(i);
+          assertEquals(root.getVector("id").getObject(i), event.id);
+          assertEquals(root.getVector("flag").getObject(i), event.flag);
+          assertEquals(root.getVector("count").getObject(i), event.count);
+          assertEquals(root.getVector("score").getObject(i), event.score);
+          if (event.name == null) {
+            assertNull(root.getVector("name").getObject(i));
+            assertNull(root.getVector("kind").getObject(i));
+            assertNull(root.getVector("date").getObject(i));
+            assertNull(root.getVector("time").getObject(i));
+            assertNull(root.getVector("tags").getObject(i));
+          } else {
+            assertEquals(root.getVector("name").getObject(i).toString(), event.name);
+            assertEquals(root.getVector("kind").getObject(i).toString(), event.kind.name());
+            assertEquals(root.getVector("date").getObject(i), (int) event.date.toEpochDay());
+            assertEquals(
+                ((TimeStampVector) root.getVector("time")).get(i),
+                DateTimeUtils.instantToMicros(event.time));
+            List<?> tags = (List<?>) root.getVector("tags").getObject(i);
+            assertEquals(tags.size(), 2);
+            assertEquals(tags.get(0).toString(), "t" + i);
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testSameAsArrowWriter() {
+    ArrowTestSupport.skipIfArrowUnavailable();
+    ArrowWriter arrowWriter = ArrowUtils.createArrowWriter(TypeInference.inferSchema(BeanA.class));
+    RowEncoder<BeanA> rowEncoder = Encoders.bean(BeanA.class);
+    try (ArrowBatchEncoder<BeanA> encoder =
+        Encoders.buildBeanCodec(BeanA.class).buildArrowEncoder().get()) {
+      for (int i = 0; i < 10; i++) {
+        BeanA beanA = BeanA.createBeanA(2);
+        arrowWriter.write(rowEncoder.toRow(beanA));
+        encoder.write(beanA);
+      }
+      assertEquals(
+          encoder.finish().contentToTSVString(), arrowWriter.finish().contentToTSVString());
+      ArrowRecordBatch recordBatch = encoder.finishAsRecordBatch();
+      assertEquals(recordBatch.getLength(), 10);
+      recordBatch.close();
+    }
+  }
+}
@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.fory.format.vectorized;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.fory.format.encoder.ArrowBatchDecoder;
+import org.apache.fory.format.encoder.Encoders;
+import org.apache.fory.format.encoder.RowEncoder;
+import org.apache.fory.format.type.TypeInference;
+import org.apache.fory.test.bean.BeanA;
+import org.testng.annotations.Test;
+
+public class ArrowStreamTest {
+
+  @Test
+  public void testWriteRead() {
+    ArrowTestSupport.skipIfArrowUnavailable();
+    RowEncoder<BeanA> rowEncoder = Encoders.bean(BeanA.class);
+    List<BeanA> beans = new ArrayList<>();
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    try (ArrowStreamSink sink =
+        new ArrowStreamSink(
+            TypeInference.inferSchema(BeanA.class),
+            Channels.newChannel(outputStream),
+            3,
+            ArrowStreamSink.DEFAULT_MAX_BATCH_BYTES)) {
+      for (int i = 0; i < 10; i++) {
+        BeanA beanA = BeanA.createBeanA(2);
+        beans.add(beanA);
+        sink.write(rowEncoder.toRow(beanA));
+      }
+      assertEquals(sink.numBatches(), 3);
+      sink.close();
+      assertEquals(sink.numRows(), 10);
+      assertEquals(sink.numBatches(), 4);
+      assertEquals(sink.bytesWritten(), outputStream.size());
+    }
+    List<BeanA> newBeans = new ArrayList<>();
+    try (ArrowStreamSource source =
+        new ArrowStreamSource(
+            Channels.newChannel(new ByteArrayInputStream(outputStream.toByteArray())))) {
+      assertEquals(
+          source.schema().fieldNames(), TypeInference.inferSchema(BeanA.class).fieldNames());
+      ArrowBatchDecoder<BeanA> decoder =
+          Encoders.buildBeanCodec(BeanA.class).buildArrowDecoder().apply(source.root());
+      while (source.loadNextBatch()) {
+        assertTrue(source.batchRowCount() <= 3);
+        for (int i = 0; i < source.batchRowCount(); i++) {
+          BeanA bean = decoder.read(i);
+          assertEquals(rowEncoder.fromRow(source.row(i).copy()), bean);
+          newBeans.add(bean);
+        }
+      }
+      assertFalse(source.loadNextBatch());
+      assertEquals(source.numBatches(), 4);
+    }
+    assertEquals(newBeans, beans);
+  }
+
+  @Test
+  public void testMaxBatchBytes() {
+    ArrowTestSupport.skipIfArrowUnavailable();
+    RowEncoder<BeanA> rowEncoder = Encoders.bean(BeanA.class);
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    try (ArrowStreamSink sink =
+        new ArrowStreamSink(
+            TypeInference.inferSchema(BeanA.class), Channels.newChannel(outputStream), 1000, 1)) {
+      for (int i = 0; i < 5; i++) {
+        sink.write(rowEncoder.toRow(BeanA.createBeanA(2)));
+      }
+      assertEquals(sink.numBatches(), 5);
+    }
+  }
+}
@@ -19,24 +19,36 @@
 
 package org.apache.fory.json;
 
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.lang.reflect.GenericArrayType;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.lang.reflect.TypeVariable;
 import java.lang.reflect.WildcardType;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.WritableByteChannel;
 import java.util.Objects;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import org.apache.fory.collection.IntArray;
 import org.apache.fory.json.reader.JsonReader;
 import org.apache.fory.json.reader.Latin1JsonReader;
 import org.apache.fory.json.reader.Utf16JsonReader;
 import org.apache.fory.json.reader.Utf8JsonReader;
+import org.apache.fory.json.reader.Utf8JsonSource;
 import org.apache.fory.json.resolver.JsonSharedRegistry;
 import org.apache.fory.json.resolver.JsonTypeInfo;
 import org.apache.fory.json.resolver.JsonTypeResolver;
 import org.apache.fory.json.writer.StringJsonWriter;
 import org.apache.fory.json.writer.Utf8JsonWriter;
+import org.apache.fory.memory.MemoryBuffer;
+import org.apache.fory.memory.MemoryUtils;
 import org.apache.fory.meta.TypeExtMeta;
 import org.apache.fory.reflect.TypeRef;
 import org.apache.fory.serializer.StringSerializer;
@@ -87,6 +99,9 @@ public final class ForyJson {
   /** Default approximate graph-memory gate for one root JSON deserialization. */
   public static final long DEFAULT_MAX_GRAPH_MEMORY_BYTES = 128L * 1024 * 1024;
 
+  /** Default number of buffered bytes after which stream output is written to its destination. */
+  public static final int DEFAULT_OUTPUT_FLUSH_THRESHOLD_BYTES = 64 * 1024;
+
   private final int homeSlotMask;
   private final JsonConfig config;
   private final PooledState[] slots;
@@ -154,6 +169,86 @@ public final class ForyJson {
     return JsonStreamDecoder.forNdjson(this, elementType, maxValueBytes);
   }
 
+  /**
+   * Returns a parallel stream of the elements of one complete top-level UTF-8 JSON array in {@code
+   * bytes}.
+   *
+   * <p>Element boundaries are indexed by one sequential structural pass before this method returns,
+   * so malformed array framing fails here. Elements are parsed in place by independent root
+   * operations on the stream's fork-join pool and are encounter-ordered; use {@link
+   * Stream#forEachOrdered} or a collector to observe them in input order. Run the terminal
+   * operation inside a dedicated {@link java.util.concurrent.ForkJoinPool} to bound its
+   * parallelism, and keep the configured concurrency level at least that parallelism so workers do
+   * not wait for pooled state. The array must not be modified until the stream is consumed.
+   */
+  public <T> Stream<T> parallelArrayStream(byte[] bytes, Class<T> elementType) {
+    return parallelArrayStream(ByteBuffer.wrap(bytes), elementType);
+  }
+
+  /** Returns a parallel stream of generic JSON array elements; see {@link #parallelArrayStream}. */
+  public <T> Stream<T> parallelArrayStream(byte[] bytes, TypeRef<T> elementType) {
+    return parallelArrayStream(ByteBuffer.wrap(bytes), elementType);
+  }
+
+  /**
+   * Returns a parallel stream of the elements of one complete top-level UTF-8 JSON array in the
+   * remaining bytes of {@code input}, such as a memory-mapped file.
+   *
+   * <p>Splitting and ordering follow {@link #parallelArrayStream(byte[], Class)}. Heap buffers are
+   * parsed in place; direct buffers copy one element at a time into task-owned storage. The buffer
+   * position and limit are not modified, and its content must not change until the stream is
+   * consumed.
+   */
+  public <T> Stream<T> parallelArrayStream(ByteBuffer input, Class<T> elementType) {
+    Objects.requireNonNull(elementType, "elementType");
+    return StreamSupport.stream(
+        JsonRecordSpliterator.forArray(this, elementType, null, input), true);
+  }
+
+  /** Returns a parallel stream of generic JSON array elements; see {@link #parallelArrayStream}. */
+  public <T> Stream<T> parallelArrayStream(ByteBuffer input, TypeRef<T> elementType) {
+    Objects.requireNonNull(elementType, "elementType");
+    return StreamSupport.stream(
+        JsonRecordSpliterator.forArray(this, null, elementType, input), true);
+  }
+
+  /**
+   * Returns a parallel stream of the records of a complete UTF-8 newline-delimited JSON input in
+   * {@code bytes}.
+   *
+   * <p>The input is split lazily at LF bytes, which cannot occur inside a JSON value, and each
+   * record is parsed in place by an independent root operation. Records follow the {@link
+   * #newNdjsonStreamDecoder(Class, int) NDJSON decoder} rules: LF or CRLF endings, an optional
+   * final line ending, and skipped whitespace-only lines. Ordering and parallelism follow {@link
+   * #parallelArrayStream(byte[], Class)}; malformed records fail the terminal operation.
+   */
+  public <T> Stream<T> parallelNdjsonStream(byte[] bytes, Class<T> elementType) {
+    return parallelNdjsonStream(ByteBuffer.wrap(bytes), elementType);
+  }
+
+  /** Returns a parallel stream of generic NDJSON records; see {@link #parallelNdjsonStream}. */
+  public <T> Stream<T> parallelNdjsonStream(byte[] bytes, TypeRef<T> elementType) {
+    return parallelNdjsonStream(ByteBuffer.wrap(bytes), elementType);
+  }
+
+  /**
+   * Returns a parallel stream of the newline-delimited JSON records in the remaining bytes of
+   * {@code input}, such as a memory-mapped file. Buffer handling follows {@link
+   * #parallelArrayStream(ByteBuffer, Class)}.
+   */
+  public <T> Stream<T> parallelNdjsonStream(ByteBuffer input, Class<T> elementType) {
+    Objects.requireNonNull(elementType, "elementType");
+    return StreamSupport.stream(
+        JsonRecordSpliterator.forNdjson(this, elementType, null, input), true);
+  }
+
+  /** Returns a parallel stream of generic NDJSON records; see {@link #parallelNdjsonStream}. */
+  public <T> Stream<T> parallelNdjsonStream(ByteBuffer input, TypeRef<T> elementType) {
+    Objects.requireNonNull(elementType, "elementType");
+    return StreamSupport.stream(
+        JsonRecordSpliterator.forNdjson(this, null, elementType, input), true);
+  }
+
   JsonConfig config() {
     return config;
   }
@@ -286,8 +381,10 @@ public final class ForyJson {
   /**
    * Serializes {@code value} as UTF-8 JSON to {@code output}.
    *
-   * <p>The complete document is buffered before one write to the stream. This method neither
-   * flushes nor closes the caller-owned stream.
+   * <p>Output is written to the stream in chunks once the configured output flush threshold is
+   * crossed, so memory stays bounded for documents of any size; if serialization fails, a prefix of
+   * the document may already have been written. This method neither flushes nor closes the
+   * caller-owned stream.
    *
    * <p>This root API is not reentrant on the same instance. A custom codec invoked by this
    * operation must write nested content through the {@link Utf8JsonWriter} passed to its {@code
@@ -298,6 +395,7 @@ public final class ForyJson {
     PooledState entry = acquire();
     JsonState state = entry.state;
     Utf8JsonWriter writer = state.utf8Writer;
+    writer.setOutput(output);
     try {
       state.typeResolver.lockJIT();
       try {
@@ -349,6 +447,39 @@ public final class ForyJson {
     writeJsonDeclared(value, declaredType, output);
   }
 
+  /**
+   * Serializes {@code value} as UTF-8 JSON to a blocking {@code channel}, writing chunks as {@link
+   * #writeJsonTo(Object, OutputStream)} does. This method does not close the caller-owned channel.
+   *
+   * <p>This root API is not reentrant on the same instance.
+   */
+  public void writeJsonToChannel(Object value, WritableByteChannel channel) {
+    writeJsonTo(value, Channels.newOutputStream(Objects.requireNonNull(channel, "channel")));
+  }
+
+  /**
+   * Writes UTF-8 JSON to a blocking {@code channel} using {@code declaredType}'s codec, without
+   * closing the channel.
+   *
+   * <p>This root API is not reentrant on the same instance.
+   */
+  public <T> void writeJsonToChannel(T value, Class<T> declaredType, WritableByteChannel channel) {
+    writeJsonTo(
+        value, declaredType, Channels.newOutputStream(Objects.requireNonNull(channel, "channel")));
+  }
+
+  /**
+   * Writes UTF-8 JSON to a blocking {@code channel} using the generic codec captured by {@code
+   * declaredType}, without closing the channel.
+   *
+   * <p>This root API is not reentrant on the same instance.
+   */
+  public <T> void writeJsonToChannel(
+      T value, TypeRef<T> declaredType, WritableByteChannel channel) {
+    writeJsonTo(
+        value, declaredType, Channels.newOutputStream(Objects.requireNonNull(channel, "channel")));
+  }
+
   private String toJsonDeclared(Object value, Class<?> type) {
     PooledState entry = acquire();
     JsonState state = entry.state;
@@ -439,6 +570,7 @@ public final class ForyJson {
     PooledState entry = acquire();
     JsonState state = entry.state;
     Utf8JsonWriter writer = state.utf8Writer;
+    writer.setOutput(output);
     try {
       state.typeResolver.lockJIT();
       try {
@@ -461,6 +593,7 @@ public final class ForyJson {
     PooledState entry = acquire();
     JsonState state = entry.state;
     Utf8JsonWriter writer = state.utf8Writer;
+    writer.setOutput(output);
     try {
       state.typeResolver.lockJIT();
       try {
@@ -736,6 +869,337 @@ public final class ForyJson {
     }
   }
 
+  /**
+   * Validates exactly one UTF-8 JSON value in {@code bytes} and returns a lazy document over it.
+   *
+   * <p>The whole input is validated and indexed by one structural pass, but no member is
+   * materialized: document views decode strings and numbers only when they are read. The document
+   * borrows {@code bytes}, which must not be modified while it is in use.
+   */
+  public JsonDocument parseDocument(byte[] bytes) {
+    return parseDocument(bytes, 0, bytes.length);
+  }
+
+  /**
+   * Validates exactly one UTF-8 JSON value in {@code bytes[offset, offset + length)} and returns a
+   * lazy document over that range.
+   */
+  public JsonDocument parseDocument(byte[] bytes, int offset, int length) {
+    checkByteRange(bytes, offset, length);
+    PooledState entry = acquire();
+    JsonState state = entry.state;
+    try {
+      IntArray tape = state.utf8Reader(bytes, offset, length).scanTape();
+      return new JsonDocument(this, bytes, tape.elementData);
+    } finally {
+      try {
+        state.clearUtf8Reader();
+      } finally {
+        release(entry);
+      }
+    }
+  }
+
+  /**
+   * Parses exactly one UTF-8 JSON value from the remaining bytes of {@code buffer} using {@code
+   * type} as its declared Java type. Trailing non-whitespace content is rejected.
+   *
+   * <p>Heap buffers are parsed in place and direct buffers are read through {@link
+   * MemoryUtils#wrap(ByteBuffer)} like an off-heap {@link MemoryBuffer}. Read-only heap buffers up
+   * to the configured buffer size limit are copied once into reusable per-instance storage; larger
+   * ones are copied chunk by chunk into the refilled window described by {@link
+   * #fromJson(InputStream, Class)}. The buffer position and limit are not modified.
+   *
+   * <p>This root API is not reentrant on the same instance. A custom codec invoked by this
+   * operation must consume nested content through the {@link Utf8JsonReader} passed to its {@code
+   * readUtf8} method instead of invoking a {@code ForyJson} root API.
+   */
+  public <T> T fromJson(ByteBuffer buffer, Class<T> type) {
+    if (buffer.hasArray()) {
+      return fromJson(
+          buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining(), type);
+    }
+    if (buffer.isDirect()) {
+      return fromJson(MemoryUtils.wrap(buffer), type);
+    }
+    PooledState entry = acquire();
+    JsonState state = entry.state;
+    try {
+      return readUtf8Root(state.utf8Reader(buffer), type, state);
+    } finally {
+      try {
+        state.clearInput();
+      } finally {
+        release(entry);
+      }
+    }
+  }
+
+  /**
+   * Parses exactly one UTF-8 JSON value from the remaining bytes of {@code buffer} using a generic
+   * type captured by {@link TypeRef}. Trailing non-whitespace content is rejected.
+   *
+   * <p>This root API is not reentrant on the same instance. A custom codec invoked by this
+   * operation must consume nested content through the {@link Utf8JsonReader} passed to its {@code
+   * readUtf8} method instead of invoking a {@code ForyJson} root API.
+   */
+  public <T> T fromJson(ByteBuffer buffer, TypeRef<T> typeRef) {
+    if (buffer.hasArray()) {
+      return fromJson(
+          buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining(), typeRef);
+    }
+    if (buffer.isDirect()) {
+      return fromJson(MemoryUtils.wrap(buffer), typeRef);
+    }
+    PooledState entry = acquire();
+    JsonState state = entry.state;
+    try {
+      return readUtf8Root(state.utf8Reader(buffer), typeRef, state);
+    } finally {
+      try {
+        state.clearInput();
+      } finally {
+        release(entry);
+      }
+    }
+  }
+
+  /**
+   * Parses exactly one UTF-8 JSON value from {@code buffer[readerIndex, size)} using {@code type}
+   * as its declared Java type. Trailing non-whitespace content is rejected.
+   *
+   * <p>Heap buffers are parsed in place. Off-heap buffers up to the configured buffer size limit
+   * are bulk-copied from their native memory once into reusable per-instance storage; larger ones
+   * are copied chunk by chunk into the refilled window described by {@link
+   * #fromJson(InputStream, Class)}, so no input-sized array is allocated. The reader index is not
+   * modified.
+   *
+   * <p>This root API is not reentrant on the same instance. A custom codec invoked by this
+   * operation must consume nested content through the {@link Utf8JsonReader} passed to its {@code
+   * readUtf8} method instead of invoking a {@code ForyJson} root API.
+   */
+  public <T> T fromJson(MemoryBuffer buffer, Class<T> type) {
+    byte[] heapMemory = buffer.getHeapMemory();
+    if (heapMemory != null) {
+      return fromJson(heapMemory, buffer._unsafeHeapReaderIndex(), buffer.remaining(), type);
+    }
+    PooledState entry = acquire();
+    JsonState state = entry.state;
+    try {
+      return readUtf8Root(state.utf8Reader(buffer), type, state);
+    } finally {
+      try {
+        state.clearInput();
+      } finally {
+        release(entry);
+      }
+    }
+  }
+
+  /**
+   * Parses exactly one UTF-8 JSON value from {@code buffer[readerIndex, size)} using a generic type
+   * captured by {@link TypeRef}. Trailing non-whitespace content is rejected.
+   *
+   * <p>This root API is not reentrant on the same instance. A custom codec invoked by this
+   * operation must consume nested content through the {@link Utf8JsonReader} passed to its {@code
+   * readUtf8} method instead of invoking a {@code ForyJson} root API.
+   */
+  public <T> T fromJson(MemoryBuffer buffer, TypeRef<T> typeRef) {
+    byte[] heapMemory = buffer.getHeapMemory();
+    if (heapMemory != null) {
+      return fromJson(heapMemory, buffer._unsafeHeapReaderIndex(), buffer.remaining(), typeRef);
+    }
+    PooledState entry = acquire();
+    JsonState state = entry.state;
+    try {
+      return readUtf8Root(state.utf8Reader(buffer), typeRef, state);
+    } finally {
+      try {
+        state.clearInput();
+      } finally {
+        release(entry);
+      }
+    }
+  }
+
+  /**
+   * Parses exactly one UTF-8 JSON value read from {@code input} using {@code type} as its declared
+   * Java type. Trailing non-whitespace content is rejected.
+   *
+   * <p>The stream is read in chunks into a window over reusable per-instance storage. The reader
+   * refills the window as it advances and drops the bytes it has already parsed, so the window
+   * grows only to hold the largest single token, or an object that a polymorphic codec must scan
+   * ahead for its type discriminator. Whitespace after the value is read to end of stream, and
+   * reading stops at the first other byte, which is reported as trailing content. A grown window
+   * is not retained after the call. This method does not close the caller-owned stream.
+   *
+   * <p>This root API is not reentrant on the same instance. A custom codec invoked by this
+   * operation must consume nested content through the {@link Utf8JsonReader} passed to its {@code
+   * readUtf8} method instead of invoking a {@code ForyJson} root API.
+   */
+  public <T> T fromJson(InputStream input, Class<T> type) {
+    Objects.requireNonNull(input, "input");
+    PooledState entry = acquire();
+    JsonState state = entry.state;
+    try {
+      return readUtf8Root(state.utf8Reader(input), type, state);
+    } finally {
+      try {
+        state.clearInput();
+      } finally {
+        release(entry);
+      }
+    }
+  }
+
+  /**
+   * Parses exactly one UTF-8 JSON value read from {@code input} using a generic type captured by
+   * {@link TypeRef}, buffering the same way {@link #fromJson(InputStream, Class)} does. Trailing
+   * non-whitespace content is rejected. This method does not close the caller-owned stream.
+   *
+   * <p>This root API is not reentrant on the same instance. A custom codec invoked by this
+   * operation must consume nested content through the {@link Utf8JsonReader} passed to its {@code
+   * readUtf8} method instead of invoking a {@code ForyJson} root API.
+   */
+  public <T> T fromJson(InputStream input, TypeRef<T> typeRef) {
+    Objects.requireNonNull(input, "input");
+    PooledState entry = acquire();
+    JsonState state = entry.state;
+    try {
+      return readUtf8Root(state.utf8Reader(input), typeRef, state);
+    } finally {
+      try {
+        state.clearInput();
+      } finally {
+        release(entry);
+      }
+    }
+  }
+
+  /**
+   * Parses exactly one UTF-8 JSON value read from the blocking {@code channel} using {@code type}
+   * as its declared Java type, buffering the same way {@link #fromJson(InputStream, Class)} does.
+   * This method does not close the caller-owned channel.
+   *
+   * @throws IllegalArgumentException if {@code channel} is a non-blocking {@link
+   *     SelectableChannel}
+   * @throws ForyJsonException if a read fails or returns no bytes
+   *
+   * <p>This root API is not reentrant on the same instance. A custom codec invoked by this
+   * operation must consume nested content through the {@link Utf8JsonReader} passed to its {@code
+   * readUtf8} method instead of invoking a {@code ForyJson} root API.
+   */
+  public <T> T fromJson(ReadableByteChannel channel, Class<T> type) {
+    Objects.requireNonNull(channel, "channel");
+    PooledState entry = acquire();
+    JsonState state = entry.state;
+    try {
+      return readUtf8Root(state.utf8Reader(channel), type, state);
+    } finally {
+      try {
+        state.clearInput();
+      } finally {
+        release(entry);
+      }
+    }
+  }
+
+  /**
+   * Parses exactly one UTF-8 JSON value read from the blocking {@code channel} using a generic type
+   * captured by {@link TypeRef}, with the same buffering and blocking-mode checks as {@link
+   * #fromJson(ReadableByteChannel, Class)}. This method does not close the caller-owned channel.
+   *
+   * <p>This root API is not reentrant on the same instance. A custom codec invoked by this
+   * operation must consume nested content through the {@link Utf8JsonReader} passed to its {@code
+   * readUtf8} method instead of invoking a {@code ForyJson} root API.
+   */
+  public <T> T fromJson(ReadableByteChannel channel, TypeRef<T> typeRef) {
+    Objects.requireNonNull(channel, "channel");
+    PooledState entry = acquire();
+    JsonState state = entry.state;
+    try {
+      return readUtf8Root(state.utf8Reader(channel), typeRef, state);
+    } finally {
+      try {
+        state.clearInput();
+      } finally {
+        release(entry);
+      }
+    }
+  }
+
+  private <T> T readUtf8Root(Utf8JsonReader reader, Class<T> type, JsonState state) {
+    state.typeResolver.lockJIT();
+    try {
+      return castValue(readUtf8Value(reader, type, state), type);
+    } finally {
+      state.typeResolver.unlockJIT();
+    }
+  }
+
+  private <T> T readUtf8Root(Utf8JsonReader reader, TypeRef<T> typeRef, JsonState state) {
+    state.typeResolver.lockJIT();
+    try {
+      return castValue(readUtf8Value(reader, typeRef, state), typeRef);
+    } finally {
+      state.typeResolver.unlockJIT();
+    }
+  }
+
+  /**
+   * Parses one UTF-8 JSON value from the start of {@code bytes[offset, offset + length)} for {@link
+   * JsonStreamDecoder} without requiring the range to end with it. The absolute index right after
+   * the value is stored in {@code end[0]}.
+   */
+  <T> T fromJsonPrefix(byte[] bytes, int offset, int length, Class<T> type, int[] end) {
+    PooledState entry = acquire();
+    JsonState state = entry.state;
+    try {
+      Utf8JsonReader reader = state.utf8Reader(bytes, offset, length);
+      state.typeResolver.lockJIT();
+      try {
+        Object value = state.declaredRootTypeInfo(type).utf8Reader().readUtf8(reader);
+        end[0] = reader.position();
+        return castValue(value, type);
+      } finally {
+        state.typeResolver.unlockJIT();
+      }
+    } finally {
+      try {
+        state.clearUtf8Reader();
+      } finally {
+        release(entry);
+      }
+    }
+  }
+
+  /** Parses one UTF-8 JSON value prefix using a generic type captured by {@link TypeRef}. */
+  <T> T fromJsonPrefix(byte[] bytes, int offset, int length, TypeRef<T> typeRef, int[] end) {
+    PooledState entry = acquire();
+    JsonState state = entry.state;
+    try {
+      Utf8JsonReader reader = state.utf8Reader(bytes, offset, length);
+      state.typeResolver.lockJIT();
+      try {
+        JsonTypeInfo typeInfo = state.declaredRootTypeInfo(typeRef);
+        Object value = null;
+        if (!readOuterNull(reader, typeRef, typeInfo)) {
+          value = typeInfo.utf8Reader().readUtf8(reader);
+        }
+        end[0] = reader.position();
+        return castValue(value, typeRef);
+      } finally {
+        state.typeResolver.unlockJIT();
+      }
+    } finally {
+      try {
+        state.clearUtf8Reader();
+      } finally {
+        release(entry);
+      }
+    }
+  }
+
   private PooledState acquire() {
     PooledState[] slots = this.slots;
     if (slots.length == 1) {
@@ -985,7 +1449,11 @@ public final class ForyJson {
     private final Utf8JsonReader utf8Reader;
     private final Latin1JsonReader latin1Reader;
     private final Utf16JsonReader utf16Reader;
+    private final int inputSizeLimitBytes;
     private byte[] charBackedUtf16Bytes;
+    // Storage for off-heap roots and the first window of source roots; Utf8JsonReader scans one
+    // contiguous array.
+    private byte[] inputBytes;
     private Class<?> lastRuntimeRootType;
     private JsonTypeInfo lastRuntimeRootInfo;
     // Keep Class and TypeRef roots in one declared-token cache. Separate caches give C2 competing
@@ -1002,7 +1470,9 @@ public final class ForyJson {
       utf8Reader = new Utf8JsonReader(config, typeResolver);
       latin1Reader = new Latin1JsonReader(config, typeResolver);
       utf16Reader = new Utf16JsonReader(config, typeResolver);
+      inputSizeLimitBytes = config.bufferSizeLimitBytes();
       charBackedUtf16Bytes = EMPTY_BYTES;
+      inputBytes = EMPTY_BYTES;
     }
 
     private Latin1JsonReader latin1Reader(String input) {
@@ -1049,6 +1519,78 @@ public final class ForyJson {
       return utf8Reader;
     }
 
+    private Utf8JsonReader utf8Reader(ByteBuffer input) {
+      int length = input.remaining();
+      // Read through a duplicate so the caller's position is left untouched.
+      ByteBuffer source = input.duplicate();
+      if (length > inputSizeLimitBytes) {
+        // Storage this large would not be retained anyway; refill a small window chunk by chunk.
+        return sourceReader(new ByteBufferSource(source));
+      }
+      byte[] bytes = inputBytes(length);
+      source.get(bytes, 0, length);
+      utf8Reader.reset(bytes, 0, length);
+      return utf8Reader;
+    }
+
+    private Utf8JsonReader utf8Reader(MemoryBuffer input) {
+      int length = input.remaining();
+      int index = input.readerIndex();
+      if (length > inputSizeLimitBytes) {
+        return sourceReader(new MemoryBufferSource(input, index, index + length));
+      }
+      byte[] bytes = inputBytes(length);
+      input.get(index, bytes, 0, length);
+      utf8Reader.reset(bytes, 0, length);
+      return utf8Reader;
+    }
+
+    private Utf8JsonReader utf8Reader(InputStream input) {
+      return sourceReader(input::read);
+    }
+
+    private Utf8JsonReader utf8Reader(ReadableByteChannel input) {
+      if (input instanceof SelectableChannel && !((SelectableChannel) input).isBlocking()) {
+        throw new IllegalArgumentException("JSON input channel must be in blocking mode");
+      }
+      return sourceReader(
+          (bytes, offset, length) -> {
+            int read = input.read(ByteBuffer.wrap(bytes, offset, length));
+            if (read == 0) {
+              // A blocking channel never returns zero for a non-empty buffer; fail instead of
+              // spinning.
+              throw new ForyJsonException(
+                  "JSON input channel returned no bytes; it must be blocking");
+            }
+            return read;
+          });
+    }
+
+    /**
+     * Resets the UTF-8 reader on a window over the retained storage. The reader refills it as it
+     * advances and stops reading the source at the first byte after the root value that is not
+     * whitespace.
+     */
+    private Utf8JsonReader sourceReader(Utf8JsonSource source) {
+      return utf8Reader.reset(source, inputBytes(INITIAL_BUFFER_SIZE));
+    }
+
+    private byte[] inputBytes(int minCapacity) {
+      byte[] bytes = inputBytes;
+      if (bytes.length < minCapacity) {
+        bytes = new byte[Math.max(minCapacity, INITIAL_BUFFER_SIZE)];
+        inputBytes = bytes;
+      }
+      return bytes;
+    }
+
+    private void clearInput() {
+      utf8Reader.clear();
+      if (inputBytes.length > inputSizeLimitBytes) {
+        inputBytes = EMPTY_BYTES;
+      }
+    }
+
     // Clear only readers reset by the current public parse entry; clearing the unused readers shows
     // up on small byte-input parses and does not release additional retained input.
     private void clearStringReaders() {
@@ -1109,4 +1651,50 @@ public final class ForyJson {
       return declaredRootTypeInfo(type);
     }
   }
+
+  /** Copies the remaining bytes of a large buffer into a reader window chunk by chunk. */
+  private static final class ByteBufferSource implements Utf8JsonSource {
+    private final ByteBuffer buffer;
+
+    private ByteBufferSource(ByteBuffer buffer) {
+      this.buffer = buffer;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) {
+      int read = Math.min(length, buffer.remaining());
+      if (read == 0) {
+        return -1;
+      }
+      buffer.get(bytes, offset, read);
+      return read;
+    }
+  }
+
+  /**
+   * Copies a large buffer range into a reader window chunk by chunk. Reads by index so heap,
+   * direct and raw-address buffers are handled alike and the reader index is left untouched.
+   */
+  private static final class MemoryBufferSource implements Utf8JsonSource {
+    private final MemoryBuffer buffer;
+    private final int end;
+    private int index;
+
+    private MemoryBufferSource(MemoryBuffer buffer, int index, int end) {
+      this.buffer = buffer;
+      this.index = index;
+      this.end = end;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) {
+      int read = Math.min(length, end - index);
+      if (read == 0) {
+        return -1;
+      }
+      buffer.get(index, bytes, offset, read);
+      index += read;
+      return read;
+    }
+  }
 }
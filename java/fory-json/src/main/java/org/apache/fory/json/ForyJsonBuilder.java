@@ -44,8 +44,9 @@ import org.apache.fory.platform.GraalvmSupport;
  * snapshot the current thread context class loader, allow a nesting depth of 20, cache up to 8192
  * common field names in each reader, use twice the available processors as the pooled-state
  * concurrency level, apply a fixed 128 MiB graph-memory gate to each root read, retain writer
- * buffers up to 2 MiB, and install no custom type checker. Field mode disables getter and setter
- * discovery but continues to discover eligible instance fields across the class hierarchy.
+ * buffers up to 2 MiB, write stream output in chunks of about 64 KiB, and install no custom type
+ * checker. Field mode disables getter and setter discovery but continues to discover eligible
+ * instance fields across the class hierarchy.
  */
 public final class ForyJsonBuilder {
   private boolean writeNullFields;
@@ -59,6 +60,7 @@ public final class ForyJsonBuilder {
   private long maxGraphMemoryBytes = ForyJson.DEFAULT_MAX_GRAPH_MEMORY_BYTES;
   private int concurrencyLevel = Math.max(1, Runtime.getRuntime().availableProcessors() * 2);
   private int bufferSizeLimitBytes = 2 * 1024 * 1024;
+  private int outputFlushThresholdBytes = ForyJson.DEFAULT_OUTPUT_FLUSH_THRESHOLD_BYTES;
   private JsonTypeChecker typeChecker;
   private final CodecRegistry codecRegistry = new CodecRegistry();
   private final Map<Class<?>, Class<?>> mixins = new IdentityHashMap<>();
@@ -191,9 +193,10 @@ public final class ForyJsonBuilder {
   }
 
   /**
-   * Sets the maximum byte-buffer capacity retained by each pooled String and UTF-8 writer.
+   * Sets the maximum byte-buffer capacity retained by each pooled String and UTF-8 writer, and by
+   * the input storage used for stream, channel and direct-buffer parsing.
    *
-   * <p>This bounds reusable writer storage after a root operation; it does not limit JSON output
+   * <p>This bounds reusable storage after a root operation; it does not limit JSON input or output
    * size.
    */
   public ForyJsonBuilder withBufferSizeLimitBytes(int bufferSizeLimitBytes) {
@@ -204,6 +207,23 @@ public final class ForyJsonBuilder {
     return this;
   }
 
+  /**
+   * Sets the number of buffered bytes after which {@code writeJsonTo} and {@code
+   * writeJsonToChannel} write pending UTF-8 output to their destination.
+   *
+   * <p>Output is written at the next object, array, or element boundary once the threshold is
+   * crossed, so the writer buffer stays near this size for documents of any length, and the first
+   * bytes reach the destination before the whole document is rendered. The default is {@link
+   * ForyJson#DEFAULT_OUTPUT_FLUSH_THRESHOLD_BYTES}.
+   */
+  public ForyJsonBuilder withOutputFlushThresholdBytes(int outputFlushThresholdBytes) {
+    if (outputFlushThresholdBytes < 1) {
+      throw new IllegalArgumentException("outputFlushThresholdBytes must be positive");
+    }
+    this.outputFlushThresholdBytes = outputFlushThresholdBytes;
+    return this;
+  }
+
   /**
    * Registers an exact custom JSON codec for {@code type}, replacing an earlier registration.
    *
@@ -286,6 +306,7 @@ public final class ForyJsonBuilder {
             maxGraphMemoryBytes,
             concurrencyLevel,
             bufferSizeLimitBytes,
+            outputFlushThresholdBytes,
             installed.codecs,
             installed.mixins,
             installed.factories,
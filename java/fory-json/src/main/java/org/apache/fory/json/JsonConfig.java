@@ -36,8 +36,9 @@ import org.apache.fory.json.resolver.CodecRegistry;
  * <p>Scalar settings and the codec registry are snapshotted at construction; the JSON runtime never
  * observes later builder mutation. {@link JsonCodegenKey} identifies only settings that can change
  * generated source; runtime-only settings such as depth, graph memory, and asynchronous scheduling
- * do not fragment generated class names. Concurrency, per-reader field-name cache, and retained
- * writer-buffer limits are also runtime-only and do not fragment generated class names.
+ * do not fragment generated class names. Concurrency, per-reader field-name cache, retained
+ * writer-buffer limits, and the stream-output flush threshold are also runtime-only and do not
+ * fragment generated class names.
  */
 public final class JsonConfig {
   private static final int MAX_CACHED_FIELD_NAMES = 1 << 29;
@@ -53,6 +54,7 @@ public final class JsonConfig {
   private final long maxGraphMemoryBytes;
   private final int concurrencyLevel;
   private final int bufferSizeLimitBytes;
+  private final int outputFlushThresholdBytes;
   private final CodecRegistry codecRegistry;
   private final Map<Class<?>, Class<?>> mixins;
   private final JsonCodecFactory[] codecFactories;
@@ -73,6 +75,7 @@ public final class JsonConfig {
       long maxGraphMemoryBytes,
       int concurrencyLevel,
       int bufferSizeLimitBytes,
+      int outputFlushThresholdBytes,
       CodecRegistry codecRegistry,
       Map<Class<?>, Class<?>> mixins,
       JsonCodecFactory[] codecFactories,
@@ -93,6 +96,7 @@ public final class JsonConfig {
     this.maxGraphMemoryBytes = maxGraphMemoryBytes;
     this.concurrencyLevel = concurrencyLevel;
     this.bufferSizeLimitBytes = bufferSizeLimitBytes;
+    this.outputFlushThresholdBytes = outputFlushThresholdBytes;
     this.codecRegistry = codecRegistry.copy();
     this.mixins = immutableMixins(mixins);
     this.codecFactories = codecFactories.clone();
@@ -172,6 +176,14 @@ public final class JsonConfig {
     return bufferSizeLimitBytes;
   }
 
+  /**
+   * Returns the number of buffered UTF-8 bytes after which stream output is written to the
+   * destination at the next value boundary.
+   */
+  public int outputFlushThresholdBytes() {
+    return outputFlushThresholdBytes;
+  }
+
   public CodecRegistry codecRegistry() {
     return codecRegistry;
   }
@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.fory.json;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Validated UTF-8 JSON document that decodes members only when they are read.
+ *
+ * <p>{@link ForyJson#parseDocument(byte[])} validates the complete input once and records a
+ * structural tape of value offsets over the caller's bytes. {@link #root()} then returns
+ * read-only {@link LazyJsonObject} and {@link LazyJsonArray} views; strings and numbers are decoded
+ * by each read and use the same natural mappings as {@link JsonObject}. Unread members cost no
+ * allocation, so gateways can inspect a few keys and forward the original bytes of any subtree.
+ *
+ * <p>The document borrows the input array, which must not be modified while the document or one of
+ * its views is in use. A document is immutable and may be shared between threads; each view caches
+ * its member index and is not thread-safe.
+ */
+public final class JsonDocument {
+  private final ForyJson foryJson;
+  private final byte[] bytes;
+  private final int[] tape;
+
+  JsonDocument(ForyJson foryJson, byte[] bytes, int[] tape) {
+    this.foryJson = foryJson;
+    this.bytes = bytes;
+    this.tape = tape;
+  }
+
+  /**
+   * Returns the root value: a {@link LazyJsonObject}, a {@link LazyJsonArray}, a String, a
+   * Boolean, a Number, or {@code null}.
+   */
+  public Object root() {
+    return value(0);
+  }
+
+  /** Returns a copy of the document's exact input bytes, excluding surrounding whitespace. */
+  public byte[] toJsonBytes() {
+    return toJsonBytes(0);
+  }
+
+  Object value(int node) {
+    int start = tape[node];
+    switch (bytes[start]) {
+      case '{':
+        return new LazyJsonObject(this, node);
+      case '[':
+        return new LazyJsonArray(this, node);
+      case '"':
+        return string(node);
+      case 't':
+        return Boolean.TRUE;
+      case 'f':
+        return Boolean.FALSE;
+      case 'n':
+        return null;
+      default:
+        return foryJson.fromJson(bytes, start, tape[node + 1] - start, Object.class);
+    }
+  }
+
+  String string(int node) {
+    int start = tape[node] + 1;
+    int end = tape[node + 1] - 1;
+    if (indexOfEscape(start, end) < 0) {
+      // The tape scan already validated the UTF-8 content of the quoted text.
+      return new String(bytes, start, end - start, StandardCharsets.UTF_8);
+    }
+    return foryJson.fromJson(bytes, start - 1, end - start + 2, String.class);
+  }
+
+  /** Compares one quoted member name with {@code name} without decoding ASCII names. */
+  boolean nameEquals(int node, String name) {
+    int start = tape[node] + 1;
+    int end = tape[node + 1] - 1;
+    int length = name.length();
+    if (end - start < length) {
+      return false;
+    }
+    for (int i = 0; i < length; i++) {
+      char ch = name.charAt(i);
+      byte raw = bytes[start + i];
+      if (ch >= 0x80 || raw < 0 || raw == '\\') {
+        return string(node).equals(name);
+      }
+      if (raw != ch) {
+        return false;
+      }
+    }
+    return end - start == length;
+  }
+
+  boolean isContainerEmpty(int node) {
+    return tape[node + 2] == node + 3;
+  }
+
+  /** Returns the tape index of the first child of the container at {@code node}. */
+  int firstChild(int node) {
+    return node + 3;
+  }
+
+  /** Returns the tape index that follows the subtree at {@code node}. */
+  int next(int node) {
+    return tape[node + 2];
+  }
+
+  byte[] toJsonBytes(int node) {
+    return Arrays.copyOfRange(bytes, tape[node], tape[node + 1]);
+  }
+
+  String toJson(int node) {
+    int start = tape[node];
+    return new String(bytes, start, tape[node + 1] - start, StandardCharsets.UTF_8);
+  }
+
+  <T> T read(int node, Class<T> type) {
+    int start = tape[node];
+    return foryJson.fromJson(bytes, start, tape[node + 1] - start, type);
+  }
+
+  private int indexOfEscape(int start, int end) {
+    for (int i = start; i < end; i++) {
+      if (bytes[i] == '\\') {
+        return i;
+      }
+    }
+    return -1;
+  }
+}
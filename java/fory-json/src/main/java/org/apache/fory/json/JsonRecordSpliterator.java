@@ -0,0 +1,330 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.fory.json;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import org.apache.fory.reflect.TypeRef;
+
+/**
+ * Splits one buffered UTF-8 JSON array or newline-delimited JSON input at value boundaries so the
+ * values can be decoded by a parallel {@link java.util.stream.Stream}.
+ *
+ * <p>NDJSON input is split lazily at line feeds, which never occur inside a JSON string. Array
+ * input is indexed by one sequential structural pass when the spliterator is created, because an
+ * element boundary cannot be recognized from an arbitrary offset. Every value is parsed by an
+ * independent {@link ForyJson} root operation, so concurrent leaves use the instance's pooled
+ * states. Heap input is parsed in place; direct input is copied one value at a time into
+ * leaf-owned storage.
+ */
+abstract class JsonRecordSpliterator<T> implements Spliterator<T> {
+  // Smaller NDJSON ranges are decoded by one task; per-task overhead dominates below this size.
+  private static final int MIN_SPLIT_BYTES = 32 * 1024;
+
+  final ForyJson foryJson;
+  final Class<T> elementClass;
+  final TypeRef<T> elementType;
+  // Each spliterator owns its view, so absolute scans and relative copies never share a cursor.
+  final ByteBuffer input;
+  private final byte[] array;
+  private final int arrayOffset;
+  private byte[] scratch;
+
+  JsonRecordSpliterator(
+      ForyJson foryJson, Class<T> elementClass, TypeRef<T> elementType, ByteBuffer input) {
+    this.foryJson = foryJson;
+    this.elementClass = elementClass;
+    this.elementType = elementType;
+    this.input = input.duplicate();
+    if (input.hasArray()) {
+      array = input.array();
+      arrayOffset = input.arrayOffset();
+    } else {
+      array = null;
+      arrayOffset = 0;
+    }
+  }
+
+  static <T> Spliterator<T> forNdjson(
+      ForyJson foryJson, Class<T> elementClass, TypeRef<T> elementType, ByteBuffer input) {
+    return new NdjsonSpliterator<>(
+        foryJson, elementClass, elementType, input, input.position(), input.limit());
+  }
+
+  static <T> Spliterator<T> forArray(
+      ForyJson foryJson, Class<T> elementClass, TypeRef<T> elementType, ByteBuffer input) {
+    int[] bounds = indexArray(input, input.position(), input.limit());
+    return new ArraySpliterator<>(
+        foryJson, elementClass, elementType, input, bounds, 0, bounds.length >>> 1);
+  }
+
+  final T read(int start, int end) {
+    int length = end - start;
+    if (array != null) {
+      int offset = arrayOffset + start;
+      return elementClass != null
+          ? foryJson.fromJson(array, offset, length, elementClass)
+          : foryJson.fromJson(array, offset, length, elementType);
+    }
+    byte[] bytes = scratch;
+    if (bytes == null || bytes.length < length) {
+      bytes = new byte[Math.max(length, 256)];
+      scratch = bytes;
+    }
+    input.position(start);
+    input.get(bytes, 0, length);
+    return elementClass != null
+        ? foryJson.fromJson(bytes, 0, length, elementClass)
+        : foryJson.fromJson(bytes, 0, length, elementType);
+  }
+
+  /** Returns start and end offsets of every top-level array element as consecutive pairs. */
+  private static int[] indexArray(ByteBuffer input, int start, int end) {
+    int cursor = skipWhitespace(input, start, end);
+    if (cursor == end || input.get(cursor) != '[') {
+      throw JsonStreamDecoder.framingError("Expected top-level JSON array");
+    }
+    cursor = skipWhitespace(input, cursor + 1, end);
+    int[] bounds = new int[16];
+    int size = 0;
+    if (cursor < end && input.get(cursor) == ']') {
+      cursor++;
+    } else {
+      while (true) {
+        if (cursor == end) {
+          throw JsonStreamDecoder.framingError("Incomplete top-level JSON array");
+        }
+        byte first = input.get(cursor);
+        if (first == ',' || first == ']') {
+          throw JsonStreamDecoder.framingError("Expected JSON array element");
+        }
+        int elementStart = cursor;
+        cursor = scanArrayElement(input, cursor, end);
+        if (size == bounds.length) {
+          bounds = Arrays.copyOf(bounds, size << 1);
+        }
+        bounds[size++] = elementStart;
+        bounds[size++] = cursor;
+        if (input.get(cursor) == ']') {
+          cursor++;
+          break;
+        }
+        cursor = skipWhitespace(input, cursor + 1, end);
+      }
+    }
+    if (skipWhitespace(input, cursor, end) != end) {
+      throw JsonStreamDecoder.framingError("Trailing content after top-level JSON array");
+    }
+    return Arrays.copyOf(bounds, size);
+  }
+
+  /** Returns the index of the comma or closing bracket that ends the element at {@code cursor}. */
+  private static int scanArrayElement(ByteBuffer input, int cursor, int end) {
+    int objectDepth = 0;
+    int arrayDepth = 0;
+    boolean inString = false;
+    while (true) {
+      cursor =
+          inString
+              ? JsonStreamDecoder.findStringSpecial(input, cursor, end)
+              : JsonStreamDecoder.findArraySpecial(input, cursor, end);
+      if (cursor >= end) {
+        throw JsonStreamDecoder.framingError("Incomplete top-level JSON array");
+      }
+      byte ch = input.get(cursor);
+      if (inString) {
+        if (ch == '\\') {
+          // Step over the escaped byte together with the backslash.
+          cursor++;
+        } else {
+          inString = false;
+        }
+      } else {
+        switch (ch) {
+          case '"':
+            inString = true;
+            break;
+          case '{':
+            objectDepth++;
+            break;
+          case '}':
+            if (objectDepth != 0) {
+              objectDepth--;
+            }
+            break;
+          case '[':
+            arrayDepth++;
+            break;
+          default:
+            if (objectDepth == 0 && arrayDepth == 0) {
+              return cursor;
+            }
+            if (ch == ']' && arrayDepth != 0) {
+              arrayDepth--;
+            }
+        }
+      }
+      cursor++;
+    }
+  }
+
+  private static int skipWhitespace(ByteBuffer input, int cursor, int end) {
+    while (cursor < end && JsonStreamDecoder.isWhitespace(input.get(cursor) & 0xff)) {
+      cursor++;
+    }
+    return cursor;
+  }
+
+  private static final class NdjsonSpliterator<T> extends JsonRecordSpliterator<T> {
+    private int position;
+    private final int fence;
+
+    NdjsonSpliterator(
+        ForyJson foryJson,
+        Class<T> elementClass,
+        TypeRef<T> elementType,
+        ByteBuffer input,
+        int position,
+        int fence) {
+      super(foryJson, elementClass, elementType, input);
+      this.position = position;
+      this.fence = fence;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+      while (position < fence) {
+        int lineEnd = findLineFeed(position);
+        int start = position;
+        int end = lineEnd;
+        position = lineEnd == fence ? fence : lineEnd + 1;
+        if (lineEnd != fence && end > start && input.get(end - 1) == '\r') {
+          end--;
+        }
+        if (!isBlank(start, end)) {
+          action.accept(read(start, end));
+          return true;
+        }
+      }
+      return false;
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+      int remaining = fence - position;
+      if (remaining < MIN_SPLIT_BYTES) {
+        return null;
+      }
+      int lineEnd = findLineFeed(position + (remaining >>> 1));
+      if (lineEnd == fence) {
+        return null;
+      }
+      int splitStart = position;
+      position = lineEnd + 1;
+      return new NdjsonSpliterator<>(
+          foryJson, elementClass, elementType, input, splitStart, position);
+    }
+
+    @Override
+    public long estimateSize() {
+      // Bytes are an upper bound for the record count and keep split decisions proportional.
+      return fence - position;
+    }
+
+    @Override
+    public int characteristics() {
+      return ORDERED;
+    }
+
+    private int findLineFeed(int cursor) {
+      while (true) {
+        cursor = JsonStreamDecoder.findLineSpecial(input, cursor, fence);
+        if (cursor == fence || input.get(cursor) == '\n') {
+          return cursor;
+        }
+        cursor++;
+      }
+    }
+
+    private boolean isBlank(int start, int end) {
+      while (start < end) {
+        byte ch = input.get(start++);
+        if (ch != ' ' && ch != '\t') {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+
+  private static final class ArraySpliterator<T> extends JsonRecordSpliterator<T> {
+    private final int[] bounds;
+    private int index;
+    private final int fence;
+
+    ArraySpliterator(
+        ForyJson foryJson,
+        Class<T> elementClass,
+        TypeRef<T> elementType,
+        ByteBuffer input,
+        int[] bounds,
+        int index,
+        int fence) {
+      super(foryJson, elementClass, elementType, input);
+      this.bounds = bounds;
+      this.index = index;
+      this.fence = fence;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+      if (index >= fence) {
+        return false;
+      }
+      int pair = index++ << 1;
+      action.accept(read(bounds[pair], bounds[pair + 1]));
+      return true;
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+      int mid = (index + fence) >>> 1;
+      if (mid <= index) {
+        return null;
+      }
+      int splitIndex = index;
+      index = mid;
+      return new ArraySpliterator<>(
+          foryJson, elementClass, elementType, input, bounds, splitIndex, mid);
+    }
+
+    @Override
+    public long estimateSize() {
+      return fence - index;
+    }
+
+    @Override
+    public int characteristics() {
+      return ORDERED | SIZED | SUBSIZED;
+    }
+  }
+}
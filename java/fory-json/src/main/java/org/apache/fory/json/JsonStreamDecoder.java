@@ -33,10 +33,15 @@ import org.apache.fory.reflect.TypeRef;
  * supplied {@link ByteBuffer} position but never retains the buffer or changes its limit or byte
  * order.
  *
- * <p>Each returned value is parsed by an independent {@link ForyJson} root operation. The decoder
- * retains one bounded staging array whose capacity grows with committed value bytes and is reused
- * until successful {@link #finish()} or any {@link #decodeNext(ByteBuffer) decodeNext} or {@code
- * finish} failure permanently terminates the decoder.
+ * <p>Each returned value is parsed by an independent {@link ForyJson} root operation. An array
+ * element in a heap buffer is parsed in place in one pass and its delimiter is checked at the
+ * reader position. The reader does not signal running out of input apart from a syntax error, so a
+ * failed in-place parse frames the buffered bytes to tell an element cut by the buffer end from a
+ * malformed one; a cut element is staged and parsed again once complete. NDJSON records are framed
+ * by their line ending and parsed in place. Values that span buffers, and values read from direct
+ * buffers, are copied into one bounded staging array whose capacity grows with committed value
+ * bytes and is reused until successful {@link #finish()} or any {@link #decodeNext(ByteBuffer)
+ * decodeNext} or {@code finish} failure permanently terminates the decoder.
  *
  * <p>For array streams, {@code maxValueBytes} excludes outer punctuation and whitespace skipped
  * before an element, but includes whitespace after the element and before its delimiter. For
@@ -57,6 +62,7 @@ public final class JsonStreamDecoder<T> {
   private static final byte NEXT_VALUE = 2;
   private static final byte IN_VALUE = 3;
   private static final byte AFTER_ARRAY = 4;
+  private static final byte AFTER_VALUE = 5;
 
   private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
   private static final byte[] EMPTY_BYTES = new byte[0];
@@ -78,6 +84,7 @@ public final class JsonStreamDecoder<T> {
   private final TypeRef<T> elementType;
   private final int maxValueBytes;
   private final byte format;
+  private final int[] prefixEnd = new int[1];
 
   private byte[] valueBytes = EMPTY_BYTES;
   private int valueLength;
@@ -91,6 +98,7 @@ public final class JsonStreamDecoder<T> {
   private boolean pendingCarriageReturn;
   private boolean valueAvailable;
   private T currentValue;
+  private T pendingValue;
 
   static <T> JsonStreamDecoder<T> forArray(
       ForyJson foryJson, Class<T> elementType, int maxValueBytes) {
@@ -192,6 +200,9 @@ public final class JsonStreamDecoder<T> {
       if (arrayState == IN_VALUE) {
         return scanArrayValue(input);
       }
+      if (arrayState == AFTER_VALUE) {
+        return completePendingValue(input);
+      }
       if (arrayState == AFTER_ARRAY) {
         consumeArraySuffix(input);
         return false;
@@ -219,6 +230,110 @@ public final class JsonStreamDecoder<T> {
   }
 
   private boolean scanArrayValue(ByteBuffer input) {
+    if (valueLength == 0 && input.hasArray()) {
+      return readArrayValueInPlace(input);
+    }
+    return stageArrayValue(input);
+  }
+
+  /**
+   * Parses the element at the buffer position directly from the heap array and checks its {@code
+   * ,} or {@code ]} delimiter at the reader position, so an element that lies inside this buffer is
+   * read in one pass.
+   */
+  private boolean readArrayValueInPlace(ByteBuffer input) {
+    int start = input.position();
+    int limit = input.limit();
+    int valueLimit = limit - start > maxValueBytes ? start + maxValueBytes : limit;
+    int offset = input.arrayOffset();
+    T value;
+    try {
+      value =
+          elementClass != null
+              ? foryJson.fromJsonPrefix(
+                  input.array(), offset + start, valueLimit - start, elementClass, prefixEnd)
+              : foryJson.fromJsonPrefix(
+                  input.array(), offset + start, valueLimit - start, elementType, prefixEnd);
+    } catch (ForyJsonException e) {
+      // The reader has no separate end-of-input signal, so frame the buffered bytes to tell an
+      // element cut by the buffer end, which is staged, from a malformed one.
+      if (frameArrayValue(input) >= 0) {
+        throw e;
+      }
+      return false;
+    }
+    int cursor = prefixEnd[0] - offset;
+    boolean selfDelimited = isSelfDelimited(input.get(start));
+    if (cursor == limit && !selfDelimited) {
+      // A number or literal ending with the buffer may continue in the next buffer.
+      return stageArrayValue(input);
+    }
+    while (cursor < valueLimit && isWhitespace(input.get(cursor) & 0xff)) {
+      cursor++;
+    }
+    if (cursor == limit) {
+      // The delimiter is in a later buffer, keep the value until it arrives.
+      pendingValue = value;
+      valueLength = cursor - start;
+      arrayState = AFTER_VALUE;
+      input.position(limit);
+      return false;
+    }
+    byte ch = input.get(cursor);
+    if (ch == ',' || ch == ']') {
+      input.position(cursor + 1);
+      return completeArrayValue(ch, value);
+    }
+    if (cursor == valueLimit && (!selfDelimited || isWhitespace(ch & 0xff))) {
+      throw valueTooLarge();
+    }
+    throw framingError("Expected ',' or ']' after JSON array element");
+  }
+
+  private static boolean isSelfDelimited(byte first) {
+    return first == '{' || first == '[' || first == '"';
+  }
+
+  /** Consumes whitespace after a parsed element until its delimiter arrives. */
+  private boolean completePendingValue(ByteBuffer input) {
+    while (input.hasRemaining()) {
+      byte ch = input.get(input.position());
+      if (ch == ',' || ch == ']') {
+        input.get();
+        T value = pendingValue;
+        pendingValue = null;
+        return completeArrayValue(ch, value);
+      }
+      if (!isWhitespace(ch & 0xff)) {
+        throw framingError("Expected ',' or ']' after JSON array element");
+      }
+      if (valueLength == maxValueBytes) {
+        throw valueTooLarge();
+      }
+      valueLength++;
+      input.get();
+    }
+    return false;
+  }
+
+  /** Stages the element bytes of this buffer and parses the frame once its delimiter is found. */
+  private boolean stageArrayValue(ByteBuffer input) {
+    int delimiter = frameArrayValue(input);
+    if (delimiter < 0) {
+      return false;
+    }
+    byte ch = input.get(delimiter);
+    appendSegment(input, delimiter);
+    T value = readFrame(valueLength);
+    input.position(delimiter + 1);
+    return completeArrayValue(ch, value);
+  }
+
+  /**
+   * Scans the element from the buffer position and returns the index of its delimiter, or {@code
+   * -1} after appending the scanned bytes to the frame.
+   */
+  private int frameArrayValue(ByteBuffer input) {
     int segmentStart = input.position();
     int scanCursor = segmentStart;
     int inputLimit = input.limit();
@@ -245,19 +360,16 @@ public final class JsonStreamDecoder<T> {
       }
       byte ch = input.get(scanCursor);
       if (!inString && objectDepth == 0 && arrayDepth == 0 && (ch == ',' || ch == ']')) {
-        appendSegment(input, scanCursor);
-        input.position(scanCursor + 1);
-        return completeArrayValue(ch);
+        return scanCursor;
       }
       updateArrayState(ch);
       scanCursor++;
     }
     appendSegment(input, scanCursor);
-    return false;
+    return -1;
   }
 
-  private boolean completeArrayValue(byte delimiter) {
-    T value = readFrame(valueLength);
+  private boolean completeArrayValue(byte delimiter, T value) {
     clearFrame();
     clearArrayValueState();
     arrayState = delimiter == ',' ? NEXT_VALUE : AFTER_ARRAY;
@@ -338,6 +450,20 @@ public final class JsonStreamDecoder<T> {
         limit = start + remaining + 1;
       }
       int special = findLineSpecial(input, start, limit);
+      if (valueLength == 0 && special != limit && input.hasArray()) {
+        int terminatorLength = lineTerminatorLength(input, special);
+        if (terminatorLength != 0) {
+          // The whole record is in this buffer, so parse it without staging.
+          input.position(special + terminatorLength);
+          markRecordStart(input, start, special);
+          if (recordStarted) {
+            recordStarted = false;
+            publish(readInPlace(input, start, special - start));
+            return true;
+          }
+          continue;
+        }
+      }
       markRecordStart(input, start, special);
       appendSegment(input, special);
       if (special == limit) {
@@ -352,6 +478,14 @@ public final class JsonStreamDecoder<T> {
     }
   }
 
+  private static int lineTerminatorLength(ByteBuffer input, int index) {
+    if (input.get(index) == '\n') {
+      return 1;
+    }
+    int next = index + 1;
+    return next < input.limit() && input.get(next) == '\n' ? 2 : 0;
+  }
+
   private boolean completeNdjsonLine() {
     if (!recordStarted) {
       clearFrame();
@@ -452,6 +586,13 @@ public final class JsonStreamDecoder<T> {
         : foryJson.fromJson(valueBytes, 0, length, elementType);
   }
 
+  private T readInPlace(ByteBuffer input, int start, int length) {
+    int offset = input.arrayOffset() + start;
+    return elementClass != null
+        ? foryJson.fromJson(input.array(), offset, length, elementClass)
+        : foryJson.fromJson(input.array(), offset, length, elementType);
+  }
+
   private void publish(T value) {
     currentValue = value;
     valueAvailable = true;
@@ -482,6 +623,7 @@ public final class JsonStreamDecoder<T> {
   private void markFailed() {
     lifecycle = FAILED;
     clearCurrentValue();
+    pendingValue = null;
     valueLength = 0;
     valueBytes = EMPTY_BYTES;
   }
@@ -490,7 +632,7 @@ public final class JsonStreamDecoder<T> {
     return new JsonStreamValueLimitException(maxValueBytes);
   }
 
-  private static ForyJsonException framingError(String message) {
+  static ForyJsonException framingError(String message) {
     return new ForyJsonException(message);
   }
 
@@ -502,7 +644,7 @@ public final class JsonStreamDecoder<T> {
     return new IllegalStateException("JSON stream decoder is already terminated");
   }
 
-  private static int findStringSpecial(ByteBuffer input, int cursor, int limit) {
+  static int findStringSpecial(ByteBuffer input, int cursor, int limit) {
     while (limit - cursor >= 16) {
       if (stringSpecialMask(input.getLong(cursor)) != 0) {
         return findStringSpecialScalar(input, cursor, cursor + 8);
@@ -521,7 +663,7 @@ public final class JsonStreamDecoder<T> {
     return findStringSpecialScalar(input, cursor, limit);
   }
 
-  private static int findArraySpecial(ByteBuffer input, int cursor, int limit) {
+  static int findArraySpecial(ByteBuffer input, int cursor, int limit) {
     while (limit - cursor >= 16) {
       if (arraySpecialMask(input.getLong(cursor)) != 0) {
         return findArraySpecialScalar(input, cursor, cursor + 8);
@@ -540,7 +682,7 @@ public final class JsonStreamDecoder<T> {
     return findArraySpecialScalar(input, cursor, limit);
   }
 
-  private static int findLineSpecial(ByteBuffer input, int cursor, int limit) {
+  static int findLineSpecial(ByteBuffer input, int cursor, int limit) {
     while (limit - cursor >= 16) {
       if (lineSpecialMask(input.getLong(cursor)) != 0) {
         return findLineSpecialScalar(input, cursor, cursor + 8);
@@ -613,7 +755,7 @@ public final class JsonStreamDecoder<T> {
     return cursor;
   }
 
-  private static boolean isWhitespace(int ch) {
+  static boolean isWhitespace(int ch) {
     return ch == ' ' || ch == '\n' || ch == '\r' || ch == '\t';
   }
 }
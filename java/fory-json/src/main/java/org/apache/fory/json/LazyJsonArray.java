@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.fory.json;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Read-only {@link List} view of one array in a {@link JsonDocument}.
+ *
+ * <p>Element offsets are indexed on the first positional read; elements are decoded on every read
+ * and nested containers are returned as further views. Use {@link #toJsonArray()} for a mutable
+ * copy or {@link #toJsonBytes()} to forward the original bytes.
+ */
+public final class LazyJsonArray extends AbstractList<Object> implements RandomAccess {
+  private final JsonDocument document;
+  private final int node;
+  private int[] elements;
+
+  LazyJsonArray(JsonDocument document, int node) {
+    this.document = document;
+    this.node = node;
+  }
+
+  @Override
+  public Object get(int index) {
+    int[] elements = elements();
+    if (index < 0 || index >= elements.length) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + elements.length);
+    }
+    return document.value(elements[index]);
+  }
+
+  @Override
+  public int size() {
+    return elements().length;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return document.isContainerEmpty(node);
+  }
+
+  /** Returns a mutable {@link JsonArray} decoded from this array's input bytes. */
+  public JsonArray toJsonArray() {
+    return document.read(node, JsonArray.class);
+  }
+
+  /** Returns a copy of this array's exact input bytes. */
+  public byte[] toJsonBytes() {
+    return document.toJsonBytes(node);
+  }
+
+  /** Returns this array's exact input text. */
+  public String toJson() {
+    return document.toJson(node);
+  }
+
+  private int[] elements() {
+    int[] elements = this.elements;
+    if (elements == null) {
+      JsonDocument document = this.document;
+      int end = document.next(node);
+      elements = new int[8];
+      int size = 0;
+      for (int child = document.firstChild(node); child < end; child = document.next(child)) {
+        if (size == elements.length) {
+          elements = Arrays.copyOf(elements, size << 1);
+        }
+        elements[size++] = child;
+      }
+      elements = Arrays.copyOf(elements, size);
+      this.elements = elements;
+    }
+    return elements;
+  }
+}
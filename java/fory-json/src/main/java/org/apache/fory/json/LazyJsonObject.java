@@ -0,0 +1,209 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.fory.json;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Read-only {@link Map} view of one object in a {@link JsonDocument}.
+ *
+ * <p>{@link #get} and {@link #containsKey} compare member names against the input bytes and decode
+ * only the selected value. Operations that need every distinct name, such as {@link #size()} and
+ * iteration, decode the names once and then follow {@link JsonObject} semantics: the first
+ * occurrence of a duplicated name keeps its position and the last occurrence supplies the value.
+ * Values are decoded on every read; nested containers are returned as further views. Use {@link
+ * #toJsonObject()} for a mutable copy or {@link #toJsonBytes()} to forward the original bytes.
+ */
+public final class LazyJsonObject extends AbstractMap<String, Object> {
+  private final JsonDocument document;
+  private final int node;
+  // Name to value-node index, built on the first operation that needs every distinct name.
+  private LinkedHashMap<String, Integer> members;
+  private Set<Map.Entry<String, Object>> entrySet;
+
+  LazyJsonObject(JsonDocument document, int node) {
+    this.document = document;
+    this.node = node;
+  }
+
+  @Override
+  public Object get(Object key) {
+    int valueNode = valueNode(key);
+    return valueNode < 0 ? null : document.value(valueNode);
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return valueNode(key) >= 0;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return document.isContainerEmpty(node);
+  }
+
+  @Override
+  public int size() {
+    return members().size();
+  }
+
+  @Override
+  public Set<Map.Entry<String, Object>> entrySet() {
+    Set<Map.Entry<String, Object>> entries = entrySet;
+    if (entries == null) {
+      entries = new EntrySet();
+      entrySet = entries;
+    }
+    return entries;
+  }
+
+  /** Returns a mutable {@link JsonObject} decoded from this object's input bytes. */
+  public JsonObject toJsonObject() {
+    return document.read(node, JsonObject.class);
+  }
+
+  /** Returns a copy of this object's exact input bytes. */
+  public byte[] toJsonBytes() {
+    return document.toJsonBytes(node);
+  }
+
+  /** Returns this object's exact input text. */
+  public String toJson() {
+    return document.toJson(node);
+  }
+
+  private int valueNode(Object key) {
+    if (!(key instanceof String)) {
+      return -1;
+    }
+    LinkedHashMap<String, Integer> members = this.members;
+    if (members != null) {
+      Integer valueNode = members.get(key);
+      return valueNode == null ? -1 : valueNode;
+    }
+    String name = (String) key;
+    JsonDocument document = this.document;
+    int end = document.next(node);
+    int found = -1;
+    for (int child = document.firstChild(node); child < end; ) {
+      int valueNode = document.next(child);
+      if (document.nameEquals(child, name)) {
+        found = valueNode;
+      }
+      child = document.next(valueNode);
+    }
+    return found;
+  }
+
+  private LinkedHashMap<String, Integer> members() {
+    LinkedHashMap<String, Integer> members = this.members;
+    if (members == null) {
+      members = new LinkedHashMap<>();
+      JsonDocument document = this.document;
+      int end = document.next(node);
+      for (int child = document.firstChild(node); child < end; ) {
+        int valueNode = document.next(child);
+        members.put(document.string(child), valueNode);
+        child = document.next(valueNode);
+      }
+      this.members = members;
+    }
+    return members;
+  }
+
+  private final class EntrySet extends AbstractSet<Map.Entry<String, Object>> {
+    @Override
+    public Iterator<Map.Entry<String, Object>> iterator() {
+      Iterator<Map.Entry<String, Integer>> iterator = members().entrySet().iterator();
+      return new Iterator<Map.Entry<String, Object>>() {
+        @Override
+        public boolean hasNext() {
+          return iterator.hasNext();
+        }
+
+        @Override
+        public Map.Entry<String, Object> next() {
+          if (!iterator.hasNext()) {
+            throw new NoSuchElementException();
+          }
+          return new LazyEntry(iterator.next());
+        }
+      };
+    }
+
+    @Override
+    public int size() {
+      return members().size();
+    }
+  }
+
+  private final class LazyEntry implements Map.Entry<String, Object> {
+    private final String key;
+    private final int valueNode;
+
+    private LazyEntry(Map.Entry<String, Integer> member) {
+      key = member.getKey();
+      valueNode = member.getValue();
+    }
+
+    @Override
+    public String getKey() {
+      return key;
+    }
+
+    @Override
+    public Object getValue() {
+      return document.value(valueNode);
+    }
+
+    @Override
+    public Object setValue(Object value) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (!(o instanceof Map.Entry)) {
+        return false;
+      }
+      Map.Entry<?, ?> other = (Map.Entry<?, ?>) o;
+      Object value = getValue();
+      return key.equals(other.getKey())
+          && (value == null ? other.getValue() == null : value.equals(other.getValue()));
+    }
+
+    @Override
+    public int hashCode() {
+      Object value = getValue();
+      return key.hashCode() ^ (value == null ? 0 : value.hashCode());
+    }
+
+    @Override
+    public String toString() {
+      return key + "=" + getValue();
+    }
+  }
+}
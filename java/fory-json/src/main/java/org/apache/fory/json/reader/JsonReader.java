@@ -37,6 +37,7 @@ import java.time.ZonedDateTime;
 import java.util.Objects;
 import java.util.UUID;
 import org.apache.fory.annotation.Internal;
+import org.apache.fory.collection.IntArray;
 import org.apache.fory.json.ForyJsonException;
 import org.apache.fory.json.JsonConfig;
 import org.apache.fory.json.meta.JsonFieldInfo;
@@ -170,6 +171,7 @@ public abstract class JsonReader {
    * checked.
    */
   public final int scanObjectStringField(JsonSubtypeScanInfo info) {
+    bufferValue();
     int savedPosition = position;
     int savedDepth = depth;
     try {
@@ -591,14 +593,16 @@ public abstract class JsonReader {
   }
 
   public final void skipWhitespace() {
-    while (position < length()) {
-      char ch = charAt(position);
-      if (ch == ' ' || ch == '\n' || ch == '\r' || ch == '\t') {
-        position++;
-      } else {
-        return;
+    do {
+      while (position < length()) {
+        char ch = charAt(position);
+        if (ch == ' ' || ch == '\n' || ch == '\r' || ch == '\t') {
+          position++;
+        } else {
+          return;
+        }
       }
-    }
+    } while (refill());
   }
 
   public final boolean consume(char expected) {
@@ -1307,11 +1311,12 @@ public abstract class JsonReader {
 
   private ForyJsonException invalidStringValue(String type, RuntimeException e) {
     return new ForyJsonException(
-        "Invalid " + type + " JSON string at JSON position " + position, e);
+        "Invalid " + type + " JSON string at JSON position " + sourcePosition(position), e);
   }
 
   private ForyJsonException invalidStringValue(String type) {
-    return new ForyJsonException("Invalid " + type + " JSON string at JSON position " + position);
+    return new ForyJsonException(
+        "Invalid " + type + " JSON string at JSON position " + sourcePosition(position));
   }
 
   private static int parse4(CharSequence value, int index) {
@@ -1388,7 +1393,8 @@ public abstract class JsonReader {
     try {
       return new BigInteger(number);
     } catch (NumberFormatException e) {
-      throw new ForyJsonException("Invalid JSON big integer at JSON position " + position, e);
+      throw new ForyJsonException(
+          "Invalid JSON big integer at JSON position " + sourcePosition(position), e);
     }
   }
 
@@ -1400,7 +1406,8 @@ public abstract class JsonReader {
     try {
       value = new BigDecimal(number);
     } catch (NumberFormatException e) {
-      throw new ForyJsonException("Invalid JSON big decimal at JSON position " + position, e);
+      throw new ForyJsonException(
+          "Invalid JSON big decimal at JSON position " + sourcePosition(position), e);
     }
     int scale = value.scale();
     if (scale > MAX_BIG_DECIMAL_SCALE || scale < -MAX_BIG_DECIMAL_SCALE) {
@@ -2524,7 +2531,8 @@ public abstract class JsonReader {
     try {
       return Integer.parseInt(readString());
     } catch (NumberFormatException e) {
-      throw new ForyJsonException("Invalid integer field name at JSON position " + position, e);
+      throw new ForyJsonException(
+          "Invalid integer field name at JSON position " + sourcePosition(position), e);
     }
   }
 
@@ -2532,7 +2540,8 @@ public abstract class JsonReader {
     try {
       return Long.parseLong(readString());
     } catch (NumberFormatException e) {
-      throw new ForyJsonException("Invalid long field name at JSON position " + position, e);
+      throw new ForyJsonException(
+          "Invalid long field name at JSON position " + sourcePosition(position), e);
     }
   }
 
@@ -2597,7 +2606,7 @@ public abstract class JsonReader {
       return Long.parseUnsignedLong(readString());
     } catch (NumberFormatException e) {
       throw new ForyJsonException(
-          "Invalid unsigned long field name at JSON position " + position, e);
+          "Invalid unsigned long field name at JSON position " + sourcePosition(position), e);
     }
   }
 
@@ -2765,13 +2774,29 @@ public abstract class JsonReader {
   }
 
   protected final ForyJsonException error(String message) {
-    return new ForyJsonException(message + " at JSON position " + position);
+    return new ForyJsonException(message + " at JSON position " + sourcePosition(position));
   }
 
   protected final ForyJsonException errorAt(String message, int offset) {
-    return new ForyJsonException(message + " at JSON position " + offset);
+    return new ForyJsonException(message + " at JSON position " + sourcePosition(offset));
+  }
+
+  /** Returns the input position reported for {@code offset}, counting input a stream dropped. */
+  protected long sourcePosition(int offset) {
+    return offset;
   }
 
+  /**
+   * Reads more input when whitespace skipping reaches the end of the current input, and returns
+   * whether input follows the position. Only stream readers refill.
+   */
+  protected boolean refill() {
+    return false;
+  }
+
+  /** Makes the whole object or array at the position readable before an offset-based lookahead. */
+  protected void bufferValue() {}
+
   private int scanWhitespace(int cursor) {
     int inputLength = length();
     while (cursor < inputLength) {
@@ -2868,6 +2893,108 @@ public abstract class JsonReader {
     }
   }
 
+  /**
+   * Validates one complete JSON value at the current position, rejects trailing content, and
+   * returns its structural tape without materializing any member.
+   *
+   * <p>Every value, and every object member name, occupies three consecutive tape slots: its start
+   * offset, its end offset, and the tape index that follows its subtree. Container children follow
+   * their parent directly, with each member name recorded before its value, so siblings are
+   * reached by following the third slot. Offsets use this reader's input coordinates.
+   */
+  @Internal
+  public final IntArray scanTape() {
+    IntArray tape = new IntArray(48);
+    position = tapeValue(tape, position, depth, 0);
+    finish();
+    return tape;
+  }
+
+  private int tapeValue(IntArray tape, int cursor, int savedDepth, int scanDepth) {
+    cursor = scanWhitespace(cursor);
+    if (cursor >= length()) {
+      throw errorAt("Expected value", cursor);
+    }
+    int node = tape.size;
+    tape.add(cursor);
+    tape.add(0);
+    tape.add(0);
+    char ch = charAt(cursor);
+    int end;
+    if (ch == '{') {
+      end = tapeObject(tape, cursor, savedDepth, scanDepth + 1);
+    } else if (ch == '[') {
+      end = tapeArray(tape, cursor, savedDepth, scanDepth + 1);
+    } else {
+      // Scalars are validated here but decoded only when a document view reads them.
+      end = scanValue(cursor, savedDepth, scanDepth);
+    }
+    int[] slots = tape.elementData;
+    slots[node + 1] = end;
+    slots[node + 2] = tape.size;
+    return end;
+  }
+
+  private int tapeObject(IntArray tape, int cursor, int savedDepth, int scanDepth) {
+    checkScanDepth(savedDepth, scanDepth, cursor);
+    cursor = scanWhitespace(cursor + 1);
+    if (cursor < length() && charAt(cursor) == '}') {
+      return cursor + 1;
+    }
+    while (true) {
+      int nameEnd = scanStringEnd(cursor);
+      tape.add(cursor);
+      tape.add(nameEnd);
+      tape.add(tape.size + 1);
+      cursor = scanWhitespace(nameEnd);
+      if (cursor >= length() || charAt(cursor) != ':') {
+        throw errorAt("Expected ':'", cursor);
+      }
+      cursor = tapeValue(tape, cursor + 1, savedDepth, scanDepth);
+      cursor = scanWhitespace(cursor);
+      if (cursor >= length()) {
+        throw errorAt("Expected ',' or '}'", cursor);
+      }
+      char separator = charAt(cursor++);
+      if (separator == '}') {
+        return cursor;
+      }
+      if (separator != ',') {
+        throw errorAt("Expected ',' or '}'", cursor - 1);
+      }
+      cursor = scanWhitespace(cursor);
+      if (cursor < length() && charAt(cursor) == '}') {
+        throw errorAt("Expected object field", cursor);
+      }
+    }
+  }
+
+  private int tapeArray(IntArray tape, int cursor, int savedDepth, int scanDepth) {
+    checkScanDepth(savedDepth, scanDepth, cursor);
+    cursor = scanWhitespace(cursor + 1);
+    if (cursor < length() && charAt(cursor) == ']') {
+      return cursor + 1;
+    }
+    while (true) {
+      cursor = tapeValue(tape, cursor, savedDepth, scanDepth);
+      cursor = scanWhitespace(cursor);
+      if (cursor >= length()) {
+        throw errorAt("Expected ',' or ']'", cursor);
+      }
+      char separator = charAt(cursor++);
+      if (separator == ']') {
+        return cursor;
+      }
+      if (separator != ',') {
+        throw errorAt("Expected ',' or ']'", cursor - 1);
+      }
+      cursor = scanWhitespace(cursor);
+      if (cursor < length() && charAt(cursor) == ']') {
+        throw errorAt("Expected array value", cursor);
+      }
+    }
+  }
+
   private int scanLiteral(int cursor, String literal) {
     int end = cursor + literal.length();
     if (end > length()) {
@@ -100,6 +100,7 @@ public final class Utf8JsonReader extends JsonReader {
   private byte[] stringDecodeBuffer = new byte[INITIAL_STRING_DECODE_BUFFER_SIZE];
   // Keep the cache after hot representation fields; an inherited reference shifts their offsets.
   private final FieldNameCache fieldNameCache;
+  private Utf8JsonWindow window;
 
   public Utf8JsonReader(JsonConfig config, JsonTypeResolver typeResolver) {
     super(config, typeResolver);
@@ -449,6 +450,7 @@ public final class Utf8JsonReader extends JsonReader {
     this.input = input;
     inputLimit = input.length;
     position = 0;
+    window = null;
     reset();
     return this;
   }
@@ -463,6 +465,24 @@ public final class Utf8JsonReader extends JsonReader {
     this.input = input;
     inputLimit = offset + length;
     position = offset;
+    window = null;
+    reset();
+    return this;
+  }
+
+  /**
+   * Resets this reader to bytes read from {@code source} as parsing advances, using {@code buffer}
+   * as initial storage. Only a window ending after a complete value is buffered; the reader drops
+   * consumed bytes and refills where it skips whitespace at the end of that window, so generated
+   * token fast paths run on buffered bytes unchanged.
+   */
+  @Internal
+  public Utf8JsonReader reset(Utf8JsonSource source, byte[] buffer) {
+    Utf8JsonWindow window = new Utf8JsonWindow(source, buffer);
+    this.window = window;
+    input = window.bytes;
+    inputLimit = window.limit;
+    position = 0;
     reset();
     return this;
   }
@@ -477,6 +497,7 @@ public final class Utf8JsonReader extends JsonReader {
     input = EMPTY_BYTES;
     inputLimit = 0;
     position = 0;
+    window = null;
     if (stringDecodeBuffer.length > RETAINED_STRING_DECODE_BUFFER_SIZE) {
       stringDecodeBuffer = new byte[RETAINED_STRING_DECODE_BUFFER_SIZE];
     }
@@ -3379,17 +3400,47 @@ public final class Utf8JsonReader extends JsonReader {
   }
 
   private void skipWhitespaceFast() {
-    while (position < inputLimit) {
-      int ch = input[position];
-      if (ch > ' ') {
-        return;
-      }
-      if (isWhitespace(ch)) {
-        position++;
-      } else {
-        return;
+    do {
+      while (position < inputLimit) {
+        int ch = input[position];
+        if (ch > ' ') {
+          return;
+        }
+        if (isWhitespace(ch)) {
+          position++;
+        } else {
+          return;
+        }
       }
+    } while (refill());
+  }
+
+  @Override
+  protected boolean refill() {
+    Utf8JsonWindow window = this.window;
+    if (window == null) {
+      return false;
     }
+    position -= window.refill(position);
+    input = window.bytes;
+    inputLimit = window.limit;
+    return position < inputLimit;
+  }
+
+  @Override
+  protected void bufferValue() {
+    Utf8JsonWindow window = this.window;
+    if (window != null) {
+      position -= window.bufferValue(position);
+      input = window.bytes;
+      inputLimit = window.limit;
+    }
+  }
+
+  @Override
+  protected long sourcePosition(int offset) {
+    Utf8JsonWindow window = this.window;
+    return window == null ? offset : window.dropped + offset;
   }
 
   private static boolean isWhitespace(int ch) {
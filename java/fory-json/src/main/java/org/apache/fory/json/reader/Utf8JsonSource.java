@@ -0,0 +1,34 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.fory.json.reader;
+
+import java.io.IOException;
+import org.apache.fory.annotation.Internal;
+
+/** Supplies UTF-8 JSON bytes to a {@link Utf8JsonReader} which refills as it advances. */
+@Internal
+@FunctionalInterface
+public interface Utf8JsonSource {
+  /**
+   * Reads at most {@code length} bytes into {@code bytes[offset, offset + length)}. Returns the
+   * number of bytes read, at least one, or {@code -1} at the end of input.
+   */
+  int read(byte[] bytes, int offset, int length) throws IOException;
+}
@@ -0,0 +1,267 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.fory.json.reader;
+
+import java.io.IOException;
+import java.util.Arrays;
+import org.apache.fory.json.ForyJsonException;
+
+/**
+ * Input window of a {@link Utf8JsonReader} refilled from a {@link Utf8JsonSource}.
+ *
+ * <p>The readable bytes always end right after a complete JSON value that is not an object member
+ * name, optionally followed by whitespace, or at the end of input. A token, a member name with its
+ * colon, and the first token of the next value are never split, so the reader reaches the end only
+ * where it skips whitespace before a separator, a container end or the end of input. It refills
+ * there: bytes before its position are dropped and chunks are read until the next such cut. Token
+ * fast paths therefore run unchanged on buffered bytes.
+ *
+ * <p>Framing tracks only strings, nesting and member names; the reader still validates every byte.
+ * Once the root value is complete, the first trailing non-whitespace byte ends the window so the
+ * reader rejects it without reading the rest of the source.
+ */
+final class Utf8JsonWindow {
+  private static final int MAX_BUFFER_BYTES = Integer.MAX_VALUE - 8;
+  private static final byte ARRAY = 0;
+  private static final byte OBJECT_NAME = 1;
+  private static final byte OBJECT_VALUE = 2;
+
+  private final Utf8JsonSource source;
+  byte[] bytes;
+  // Exclusive end of the readable bytes.
+  int limit;
+  // Source offset of bytes[0].
+  long dropped;
+  private int filled;
+  private boolean exhausted;
+  private byte[] containers;
+  private int depth;
+  private int cut;
+  private boolean inString;
+  private boolean escaped;
+  private boolean memberName;
+  private boolean inScalar;
+  private boolean rootComplete;
+  private boolean trailing;
+
+  Utf8JsonWindow(Utf8JsonSource source, byte[] buffer) {
+    this.source = source;
+    bytes = buffer;
+    containers = new byte[16];
+    // Root readers may start with a token read that does not refill.
+    while (limit == 0 && fill()) {}
+  }
+
+  /**
+   * Drops the bytes before {@code keep} and reads until the readable bytes extend past their
+   * current end or the input ends. Returns the number of dropped bytes.
+   */
+  int refill(int keep) {
+    int shift = drop(keep);
+    int end = limit;
+    while (limit <= end && fill()) {}
+    return shift;
+  }
+
+  /**
+   * Drops the bytes before {@code start} and reads until the object or array starting there,
+   * after optional whitespace, is readable. Other values need no lookahead past their token.
+   * Returns the number of dropped bytes.
+   */
+  int bufferValue(int start) {
+    int shift = drop(start);
+    int cursor = 0;
+    int valueDepth = 0;
+    boolean valueString = false;
+    boolean valueEscaped = false;
+    do {
+      byte[] bytes = this.bytes;
+      int end = filled;
+      while (cursor < end) {
+        int ch = bytes[cursor++];
+        if (valueString) {
+          if (valueEscaped) {
+            valueEscaped = false;
+          } else if (ch == '\\') {
+            valueEscaped = true;
+          } else if (ch == '"') {
+            valueString = false;
+          }
+        } else if (ch == '{' || ch == '[') {
+          valueDepth++;
+        } else if (valueDepth == 0) {
+          if (!isWhitespace(ch)) {
+            return shift;
+          }
+        } else if (ch == '"') {
+          valueString = true;
+        } else if ((ch == '}' || ch == ']') && --valueDepth == 0) {
+          // Framing has cut at this end, so the readable bytes already cover it.
+          return shift;
+        }
+      }
+    } while (fill());
+    return shift;
+  }
+
+  private int drop(int keep) {
+    if (keep == 0) {
+      return 0;
+    }
+    System.arraycopy(bytes, keep, bytes, 0, filled - keep);
+    filled -= keep;
+    limit -= keep;
+    cut = Math.max(cut - keep, 0);
+    dropped += keep;
+    return keep;
+  }
+
+  private boolean fill() {
+    if (exhausted || trailing) {
+      return false;
+    }
+    if (filled == bytes.length) {
+      grow();
+    }
+    int read;
+    try {
+      read = source.read(bytes, filled, bytes.length - filled);
+    } catch (IOException e) {
+      throw new ForyJsonException("Cannot read JSON input", e);
+    }
+    if (read < 0) {
+      exhausted = true;
+      limit = filled;
+      return false;
+    }
+    int start = filled;
+    filled = start + read;
+    frame(start, filled);
+    limit = cut;
+    return true;
+  }
+
+  private void grow() {
+    int length = bytes.length;
+    if (length >= MAX_BUFFER_BYTES) {
+      throw new IllegalArgumentException("JSON input is too large");
+    }
+    long newLength = Math.max((long) length << 1, 1024);
+    bytes = Arrays.copyOf(bytes, (int) Math.min(newLength, MAX_BUFFER_BYTES));
+  }
+
+  private void frame(int start, int end) {
+    byte[] bytes = this.bytes;
+    for (int i = start; i < end; i++) {
+      int ch = bytes[i];
+      if (inString) {
+        if (escaped) {
+          escaped = false;
+        } else if (ch == '\\') {
+          escaped = true;
+        } else if (ch == '"') {
+          inString = false;
+          if (!memberName) {
+            endValue(i + 1);
+          }
+        }
+        continue;
+      }
+      if (inScalar) {
+        if (!endsScalar(ch)) {
+          continue;
+        }
+        inScalar = false;
+        endValue(i);
+      }
+      if (isWhitespace(ch)) {
+        // Whitespace right after a cut can be dropped with the value before it.
+        if (cut == i && i > 0) {
+          cut = i + 1;
+        }
+        continue;
+      }
+      if (depth == 0 && (rootComplete || ch == '}' || ch == ']')) {
+        // Content past the root value ends the window; the reader rejects it.
+        cut = i + 1;
+        trailing = true;
+        return;
+      }
+      switch (ch) {
+        case '"':
+          inString = true;
+          memberName = containers[depth] == OBJECT_NAME;
+          break;
+        case '{':
+          push(OBJECT_NAME);
+          break;
+        case '[':
+          push(ARRAY);
+          break;
+        case '}':
+        case ']':
+          depth--;
+          endValue(i + 1);
+          break;
+        case ':':
+          if (containers[depth] == OBJECT_NAME) {
+            containers[depth] = OBJECT_VALUE;
+          }
+          break;
+        case ',':
+          if (containers[depth] == OBJECT_VALUE) {
+            containers[depth] = OBJECT_NAME;
+          }
+          break;
+        default:
+          inScalar = true;
+      }
+    }
+  }
+
+  private void endValue(int end) {
+    cut = end;
+    if (depth == 0) {
+      rootComplete = true;
+    }
+  }
+
+  private void push(byte container) {
+    if (++depth == containers.length) {
+      containers = Arrays.copyOf(containers, depth << 1);
+    }
+    containers[depth] = container;
+  }
+
+  private static boolean endsScalar(int ch) {
+    return isWhitespace(ch)
+        || ch == ','
+        || ch == ']'
+        || ch == '}'
+        || ch == ':'
+        || ch == '"'
+        || ch == '['
+        || ch == '{';
+  }
+
+  private static boolean isWhitespace(int ch) {
+    return ch == ' ' || ch == '\n' || ch == '\r' || ch == '\t';
+  }
+}
@@ -50,6 +50,12 @@ import org.apache.fory.serializer.StringSerializer;
  * detached copy, while {@link #writeTo(OutputStream)} writes the active range without closing or
  * flushing the destination. Reset applies the configured retained-buffer limit.
  *
+ * <p>With an output attached by {@link #setOutput(OutputStream)}, buffered bytes are written to
+ * it once the configured flush threshold is crossed. The check runs only at the start of object,
+ * array, and element writes, where neither this writer nor a generated codec holds a cached buffer
+ * position, so inline generated writes remain valid and a document of any size streams through a
+ * buffer close to the threshold.
+ *
  * <p>Finite float and double spelling comes from the JDK formatter, directly when available and
  * through a retained {@link StringBuilder} otherwise. Compact {@link BigDecimal} values are emitted
  * directly with JDK-compatible spelling; inflated values and out-of-long {@link BigInteger} values
@@ -119,6 +125,10 @@ public final class Utf8JsonWriter extends JsonWriter implements Appendable {
   private byte[] buffer;
   private final StringBuilder decimalBuilder;
   private final int bufferSizeLimitBytes;
+  private final int outputFlushThresholdBytes;
+  private OutputStream output;
+  // Position at which buffered bytes are written to the attached output; unreachable without one.
+  private int flushPosition = Integer.MAX_VALUE;
   // Every write keeps this cursor within [0, buffer.length], so a one-byte write grows only when
   // the cursor equals the current capacity.
   private int position;
@@ -131,12 +141,15 @@ public final class Utf8JsonWriter extends JsonWriter implements Appendable {
     super(config, typeResolver);
     this.buffer = buffer;
     bufferSizeLimitBytes = config.bufferSizeLimitBytes();
+    outputFlushThresholdBytes = config.outputFlushThresholdBytes();
     decimalBuilder = newDecimalBuilder();
   }
 
   @Override
   public void reset() {
     super.reset();
+    output = null;
+    flushPosition = Integer.MAX_VALUE;
     if (buffer.length > bufferSizeLimitBytes) {
       buffer = new byte[bufferSizeLimitBytes];
     }
@@ -170,6 +183,21 @@ public final class Utf8JsonWriter extends JsonWriter implements Appendable {
     }
   }
 
+  /**
+   * Attaches {@code output} so pending bytes are written to it whenever the configured flush
+   * threshold is crossed at a value boundary. The caller still writes the remaining range with
+   * {@link #writeTo(OutputStream)}; {@link #reset()} detaches the output.
+   */
+  public void setOutput(OutputStream output) {
+    this.output = output;
+    flushPosition = output == null ? Integer.MAX_VALUE : outputFlushThresholdBytes;
+  }
+
+  private void flushOutput() {
+    writeTo(output);
+    position = 0;
+  }
+
   @Override
   public void writeNull() {
     writeAscii("null");
@@ -902,6 +930,9 @@ public final class Utf8JsonWriter extends JsonWriter implements Appendable {
   }
 
   public void writeObjectStartWithIntField(byte[] namePrefix, int value) {
+    if (position >= flushPosition) {
+      flushOutput();
+    }
     enterDepth();
     int additional = namePrefix.length + 12;
     if (position + additional > buffer.length) {
@@ -914,6 +945,9 @@ public final class Utf8JsonWriter extends JsonWriter implements Appendable {
 
   public void writeObjectStartWithIntField(
       long prefix0, long prefix1, int prefixLength, int value) {
+    if (position >= flushPosition) {
+      flushOutput();
+    }
     enterDepth();
     int additional = Math.max(packedPrefixSize(prefixLength), prefixLength + 12);
     if (position + additional > buffer.length) {
@@ -964,6 +998,9 @@ public final class Utf8JsonWriter extends JsonWriter implements Appendable {
   }
 
   public void writeObjectStartWithLongField(byte[] namePrefix, long value) {
+    if (position >= flushPosition) {
+      flushOutput();
+    }
     enterDepth();
     int additional = namePrefix.length + 21;
     if (position + additional > buffer.length) {
@@ -976,6 +1013,9 @@ public final class Utf8JsonWriter extends JsonWriter implements Appendable {
 
   public void writeObjectStartWithLongField(
       long prefix0, long prefix1, int prefixLength, long value) {
+    if (position >= flushPosition) {
+      flushOutput();
+    }
     enterDepth();
     int additional = Math.max(packedPrefixSize(prefixLength), prefixLength + 21);
     if (position + additional > buffer.length) {
@@ -990,6 +1030,9 @@ public final class Utf8JsonWriter extends JsonWriter implements Appendable {
     // Generated codecs prepack '{' with the first field prefix so this writer-owned buffer update
     // needs one capacity check. Keep the String value in the generated caller: writeString is a
     // deliberately independent, naturally large C2 subtree shared by every generated field.
+    if (position >= flushPosition) {
+      flushOutput();
+    }
     enterDepth();
     int additional = packedPrefixSize(prefixLength);
     if (position + additional > buffer.length) {
@@ -1188,6 +1231,9 @@ public final class Utf8JsonWriter extends JsonWriter implements Appendable {
   }
 
   private void writeStringElementWithComma(int comma, String value) {
+    if (comma != 0 && position >= flushPosition) {
+      flushOutput();
+    }
     if (value == null) {
       writeNullStringElement(comma);
       return;
@@ -1366,6 +1412,9 @@ public final class Utf8JsonWriter extends JsonWriter implements Appendable {
 
   @Override
   public void writeObjectStart() {
+    if (position >= flushPosition) {
+      flushOutput();
+    }
     enterDepth();
     writeByteRaw((byte) '{');
   }
@@ -1378,6 +1427,9 @@ public final class Utf8JsonWriter extends JsonWriter implements Appendable {
 
   @Override
   public void writeArrayStart() {
+    if (position >= flushPosition) {
+      flushOutput();
+    }
     enterDepth();
     writeByteRaw((byte) '[');
   }
@@ -1391,6 +1443,9 @@ public final class Utf8JsonWriter extends JsonWriter implements Appendable {
   @Override
   public void writeComma(int index) {
     if (index != 0) {
+      if (position >= flushPosition) {
+        flushOutput();
+      }
       int pos = position;
       if (pos == buffer.length) {
         grow(1);
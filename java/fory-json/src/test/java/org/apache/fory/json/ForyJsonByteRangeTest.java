@@ -21,10 +21,23 @@ package org.apache.fory.json;
 
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertThrows;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.expectThrows;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.Pipe;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import org.apache.fory.memory.MemoryBuffer;
+import org.apache.fory.memory.MemoryUtils;
 import org.apache.fory.reflect.TypeRef;
 import org.testng.annotations.Test;
 
@@ -76,6 +89,241 @@ public class ForyJsonByteRangeTest {
         () -> json.fromJson(bytes, Integer.MAX_VALUE, 1, Object.class));
   }
 
+  @Test
+  public void readStreamAndChannel() {
+    ForyJson json =
+        ForyJson.builder().withAsyncCompilation(false).withBufferSizeLimitBytes(64).build();
+    List<String> values = new ArrayList<>();
+    for (int i = 0; i < 5000; i++) {
+      values.add("value" + i);
+    }
+    byte[] bytes = json.toJsonBytes(values);
+    TypeRef<List<String>> type = new TypeRef<List<String>>() {};
+    assertEquals(json.fromJson(new ByteArrayInputStream(bytes), type), values);
+    assertEquals(json.fromJson(Channels.newChannel(new ByteArrayInputStream(bytes)), type), values);
+    // Storage grown past the retained limit by the previous document must not leak into this one.
+    byte[] small = "xx[1,2,3]".getBytes(StandardCharsets.UTF_8);
+    assertEquals(
+        json.fromJson(new ByteArrayInputStream(small, 2, 7), new TypeRef<List<Integer>>() {}),
+        Arrays.asList(1, 2, 3));
+    assertThrows(
+        ForyJsonException.class,
+        () -> {
+          byte[] trailing = "[1] 2".getBytes(StandardCharsets.UTF_8);
+          json.fromJson(new ByteArrayInputStream(trailing), Object.class);
+        });
+    InputStream failing =
+        new InputStream() {
+          @Override
+          public int read() throws IOException {
+            throw new IOException("closed");
+          }
+        };
+    assertThrows(ForyJsonException.class, () -> json.fromJson(failing, Object.class));
+  }
+
+  @Test
+  public void readChunkedStream() {
+    RangeValue value =
+        json.fromJson(oneByteStream("  {\"name\":\"a\\\"]}\",\"count\":4}"), RangeValue.class);
+    assertEquals(value.name, "a\"]}");
+    assertEquals(value.count, 4);
+    assertEquals(json.fromJson(oneByteStream("\"x\\\\\" \n"), String.class), "x\\");
+    assertEquals(json.fromJson(oneByteStream(" 42 "), Integer.class), Integer.valueOf(42));
+    assertThrows(
+        ForyJsonException.class, () -> json.fromJson(oneByteStream("[1]  ]"), Object.class));
+    assertThrows(
+        ForyJsonException.class, () -> json.fromJson(oneByteStream("[1, [2]"), Object.class));
+  }
+
+  @Test
+  public void stopBufferingAfterRootValue() {
+    // Whitespace after the value is drained without growing storage, and reading stops at the
+    // first trailing byte instead of consuming the rest of the stream.
+    byte[] padding = new byte[1 << 20];
+    Arrays.fill(padding, (byte) ' ');
+    InputStream input =
+        new SequenceInputStream(
+            new ByteArrayInputStream("[1,2]".getBytes(StandardCharsets.UTF_8)),
+            new ByteArrayInputStream(padding));
+    assertEquals(json.fromJson(input, new TypeRef<List<Integer>>() {}), Arrays.asList(1, 2));
+
+    byte[] trailing = new byte[1 << 20];
+    Arrays.fill(trailing, (byte) 'x');
+    ByteArrayInputStream rest = new ByteArrayInputStream(trailing);
+    InputStream withTrailing =
+        new SequenceInputStream(
+            new ByteArrayInputStream("{} ".getBytes(StandardCharsets.UTF_8)), rest);
+    assertThrows(ForyJsonException.class, () -> json.fromJson(withTrailing, Object.class));
+    assertTrue(rest.available() > 0);
+  }
+
+  @Test
+  public void refillWhileReading() {
+    ForyJson json =
+        ForyJson.builder().withAsyncCompilation(false).withBufferSizeLimitBytes(64).build();
+    String document =
+        "{\"name\":\"" + repeat('c', 20000) + "\\u00e9\\\"\",\"count\":-12}";
+    RangeValue value = json.fromJson(oneByteStream(document), RangeValue.class);
+    assertEquals(value.name, repeat('c', 20000) + "\u00e9\"");
+    assertEquals(value.count, -12);
+    List<Object> values = new ArrayList<>();
+    for (int i = 0; i < 2000; i++) {
+      values.add(Arrays.asList(i, "v" + i, i * 0.5, i % 2 == 0, null));
+    }
+    String array = " \n" + json.toJson(values) + "\t";
+    assertEquals(
+        json.fromJson(oneByteStream(array), Object.class),
+        json.fromJson(array.getBytes(StandardCharsets.UTF_8), Object.class));
+    // Parsing starts before the rest of the stream is read: the error is reported from the
+    // buffered prefix instead of the read failure that follows it.
+    InputStream failingTail =
+        new SequenceInputStream(
+            new ByteArrayInputStream("[1,2,}".getBytes(StandardCharsets.UTF_8)),
+            new InputStream() {
+              @Override
+              public int read() throws IOException {
+                throw new IOException("closed");
+              }
+            });
+    ForyJsonException error =
+        expectThrows(ForyJsonException.class, () -> json.fromJson(failingTail, Object.class));
+    assertTrue(error.getCause() == null, error.getMessage());
+  }
+
+  @Test
+  public void readSubtypesFromStream() {
+    StringBuilder builder = new StringBuilder("[");
+    for (int i = 0; i < 500; i++) {
+      builder.append(i == 0 ? "" : ",").append("{\"radius\":").append(i);
+      builder.append(",\"kind\":\"circle\"}");
+    }
+    String document = builder.append(']').toString();
+    List<JsonSubTypesTest.Shape> shapes =
+        json.fromJson(oneByteStream(document), new TypeRef<List<JsonSubTypesTest.Shape>>() {});
+    assertEquals(shapes.size(), 500);
+    assertEquals(((JsonSubTypesTest.Circle) shapes.get(499)).radius, 499);
+  }
+
+  @Test
+  public void reportStreamErrorPosition() {
+    String document = "[\"" + repeat('d', 30000) + "\",2,x]";
+    String bytesMessage =
+        expectThrows(
+                ForyJsonException.class,
+                () -> json.fromJson(document.getBytes(StandardCharsets.UTF_8), Object.class))
+            .getMessage();
+    String streamMessage =
+        expectThrows(
+                ForyJsonException.class, () -> json.fromJson(oneByteStream(document), Object.class))
+            .getMessage();
+    assertEquals(streamMessage, bytesMessage);
+  }
+
+  @Test
+  public void readLargeBufferThroughWindow() {
+    ForyJson json =
+        ForyJson.builder().withAsyncCompilation(false).withBufferSizeLimitBytes(64).build();
+    List<String> values = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      values.add("value" + i);
+    }
+    byte[] bytes = json.toJsonBytes(values);
+    TypeRef<List<String>> type = new TypeRef<List<String>>() {};
+    ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length + 2);
+    direct.put((byte) 'x').put(bytes).put((byte) 'y').flip().position(1).limit(bytes.length + 1);
+    assertEquals(json.fromJson(direct, type), values);
+    assertEquals(direct.position(), 1);
+    MemoryBuffer offHeap = MemoryUtils.wrap(direct);
+    int readerIndex = offHeap.readerIndex();
+    assertEquals(json.fromJson(offHeap, type), values);
+    assertEquals(offHeap.readerIndex(), readerIndex);
+    ByteBuffer readOnly = ByteBuffer.wrap(bytes).asReadOnlyBuffer();
+    assertEquals(json.fromJson(readOnly, type), values);
+    assertEquals(readOnly.position(), 0);
+    direct.limit(bytes.length + 2);
+    assertThrows(ForyJsonException.class, () -> json.fromJson(direct, type));
+  }
+
+  @Test
+  public void rejectNonBlockingChannel() throws IOException {
+    Pipe pipe = Pipe.open();
+    try {
+      pipe.source().configureBlocking(false);
+      assertThrows(
+          IllegalArgumentException.class, () -> json.fromJson(pipe.source(), Object.class));
+    } finally {
+      pipe.source().close();
+      pipe.sink().close();
+    }
+    ReadableByteChannel empty =
+        new ReadableByteChannel() {
+          @Override
+          public int read(ByteBuffer dst) {
+            return 0;
+          }
+
+          @Override
+          public boolean isOpen() {
+            return true;
+          }
+
+          @Override
+          public void close() {}
+        };
+    assertThrows(ForyJsonException.class, () -> json.fromJson(empty, Object.class));
+  }
+
+  @Test
+  public void readBufferRemaining() {
+    String document = "{\"name\":\"" + repeat('b', 40) + "\",\"count\":3}";
+    byte[] bytes = ("prefix" + document).getBytes(StandardCharsets.UTF_8);
+    ByteBuffer heap = ByteBuffer.wrap(bytes);
+    heap.position("prefix".length());
+    assertEquals(json.fromJson(heap, RangeValue.class).count, 3);
+    assertEquals(heap.position(), "prefix".length());
+
+    ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+    direct.put(bytes).flip().position("prefix".length());
+    assertEquals(json.fromJson(direct, RangeValue.class).name, repeat('b', 40));
+    assertEquals(direct.position(), "prefix".length());
+    assertEquals(json.fromJson(direct.asReadOnlyBuffer(), RangeValue.class).count, 3);
+
+    MemoryBuffer buffer = MemoryUtils.wrap(bytes);
+    buffer.readerIndex("prefix".length());
+    assertEquals(json.fromJson(buffer, new TypeRef<RangeValue>() {}).count, 3);
+    assertEquals(buffer.readerIndex(), "prefix".length());
+    MemoryBuffer offHeap = MemoryUtils.wrap(direct);
+    assertEquals(json.fromJson(offHeap, RangeValue.class).name, repeat('b', 40));
+  }
+
+  private static final class OneByteInputStream extends InputStream {
+    private final byte[] bytes;
+    private int position;
+
+    private OneByteInputStream(byte[] bytes) {
+      this.bytes = bytes;
+    }
+
+    @Override
+    public int read() {
+      return position < bytes.length ? bytes[position++] & 0xff : -1;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) {
+      if (position == bytes.length) {
+        return -1;
+      }
+      b[off] = bytes[position++];
+      return 1;
+    }
+  }
+
+  private static InputStream oneByteStream(String text) {
+    return new OneByteInputStream(text.getBytes(StandardCharsets.UTF_8));
+  }
+
   private static String repeat(char value, int count) {
     char[] chars = new char[count];
     Arrays.fill(chars, value);
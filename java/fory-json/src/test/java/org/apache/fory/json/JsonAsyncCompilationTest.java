@@ -1326,6 +1326,7 @@ public class JsonAsyncCompilationTest {
             ForyJson.DEFAULT_MAX_GRAPH_MEMORY_BYTES,
             concurrencyLevel,
             2 * 1024 * 1024,
+            ForyJson.DEFAULT_OUTPUT_FLUSH_THRESHOLD_BYTES,
             codecs,
             Collections.<Class<?>, Class<?>>emptyMap(),
             new JsonCodecFactory[0],
@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.fory.json;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertThrows;
+import static org.testng.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import org.testng.annotations.Test;
+
+public class JsonDocumentTest {
+  private final ForyJson json = ForyJson.builder().withAsyncCompilation(false).build();
+
+  @Test
+  public void readMembersOnDemand() {
+    String text =
+        "{\"id\":7,\"name\":\"fo\\u0072y\",\"ok\":true,\"none\":null,\"price\":1.25,"
+            + "\"tags\":[\"a\",{\"k\":[1,2]},[]],\"nested\":{\"x\":-3,\"\\u00e9t\\u00e9\":\"ok\"},"
+            + "\"\u00e9t\u00e9\":\"summer\",\"id\":8}";
+    byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+    JsonDocument document = json.parseDocument(bytes);
+    LazyJsonObject root = (LazyJsonObject) document.root();
+
+    // Duplicate names follow JsonObject: the last value wins at the first position.
+    assertEquals(root.get("id"), json.fromJson("8", Object.class));
+    assertEquals(root.get("name"), "fory");
+    assertEquals(root.get("ok"), Boolean.TRUE);
+    assertTrue(root.containsKey("none"));
+    assertNull(root.get("none"));
+    assertFalse(root.containsKey("missing"));
+    assertEquals(root.get("\u00e9t\u00e9"), "summer");
+    LazyJsonArray tags = (LazyJsonArray) root.get("tags");
+    assertEquals(tags.size(), 3);
+    assertEquals(tags.get(0), "a");
+    assertEquals(((Map<?, ?>) tags.get(1)).get("k"), json.fromJson("[1,2]", Object.class));
+    assertTrue(((List<?>) tags.get(2)).isEmpty());
+    assertThrows(IndexOutOfBoundsException.class, () -> tags.get(3));
+    LazyJsonObject nested = (LazyJsonObject) root.get("nested");
+    assertEquals(nested.get("x"), json.fromJson("-3", Object.class));
+    assertEquals(nested.get("\u00e9t\u00e9"), "ok");
+    assertEquals(nested.toJson(), "{\"x\":-3,\"\\u00e9t\\u00e9\":\"ok\"}");
+
+    // Views compare equal to the eagerly parsed tree and keep its member order.
+    Object eager = json.fromJson(bytes, Object.class);
+    assertEquals(root, eager);
+    assertEquals(root.size(), 8);
+    assertEquals(root.keySet(), ((Map<?, ?>) eager).keySet());
+    assertEquals(root.toJsonObject(), eager);
+    assertEquals(tags.toJsonArray(), ((Map<?, ?>) eager).get("tags"));
+    assertEquals(document.toJsonBytes(), bytes);
+    assertThrows(UnsupportedOperationException.class, () -> root.put("id", 1));
+  }
+
+  @Test
+  public void readScalarRootsAndRanges() {
+    assertEquals(json.parseDocument(" \"x\" ".getBytes(StandardCharsets.UTF_8)).root(), "x");
+    assertNull(json.parseDocument("null".getBytes(StandardCharsets.UTF_8)).root());
+    byte[] range = "xx[1.5,{}]yy".getBytes(StandardCharsets.UTF_8);
+    JsonDocument document = json.parseDocument(range, 2, 8);
+    List<?> root = (List<?>) document.root();
+    assertEquals(root.get(0), json.fromJson("1.5", Object.class));
+    assertTrue(((Map<?, ?>) root.get(1)).isEmpty());
+    assertEquals(new String(document.toJsonBytes(), StandardCharsets.UTF_8), "[1.5,{}]");
+    assertEquals(
+        json.parseDocument("[1e400,-0,12345678901234567890]".getBytes(StandardCharsets.UTF_8))
+            .root(),
+        json.fromJson("[1e400,-0,12345678901234567890]", Object.class));
+  }
+
+  @Test
+  public void rejectInvalidDocument() {
+    for (String text :
+        new String[] {"", "{", "[1,]", "{\"a\" 1}", "{\"a\":01}", "[\"\\x\"]", "[1] 2", "tru"}) {
+      assertThrows(
+          ForyJsonException.class,
+          () -> json.parseDocument(text.getBytes(StandardCharsets.UTF_8)));
+    }
+    StringBuilder deep = new StringBuilder();
+    for (int i = 0; i < 10000; i++) {
+      deep.append('[');
+    }
+    assertThrows(
+        ForyJsonException.class,
+        () -> json.parseDocument(deep.toString().getBytes(StandardCharsets.UTF_8)));
+  }
+}
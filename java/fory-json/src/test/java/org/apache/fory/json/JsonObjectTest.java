@@ -22,11 +22,13 @@ package org.apache.fory.json;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertSame;
 import static org.testng.Assert.assertThrows;
+import static org.testng.Assert.assertTrue;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.lang.reflect.Method;
+import java.nio.channels.Channels;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
@@ -81,6 +83,45 @@ public class JsonObjectTest extends ForyJsonTestModels {
     assertThrows(ForyJsonException.class, () -> json.writeJsonTo(new PublicFields(), failing));
   }
 
+  @Test
+  public void writeJsonToFlushesChunks() throws IOException {
+    ForyJson json = newJsonBuilder().withOutputFlushThresholdBytes(256).build();
+    List<PublicFields> values = new ArrayList<>();
+    String[] names = new String[1000];
+    for (int i = 0; i < 1000; i++) {
+      values.add(new PublicFields());
+      names[i] = "name" + i;
+    }
+    int[] maxChunk = new int[1];
+    List<Integer> chunks = new ArrayList<>();
+    ByteArrayOutputStream output =
+        new ByteArrayOutputStream() {
+          @Override
+          public synchronized void write(byte[] b, int off, int len) {
+            chunks.add(len);
+            maxChunk[0] = Math.max(maxChunk[0], len);
+            super.write(b, off, len);
+          }
+        };
+    json.writeJsonTo(values, output);
+    assertEquals(output.toByteArray(), json.toJsonBytes(values));
+    assertTrue(chunks.size() > 100, chunks.toString());
+    assertTrue(maxChunk[0] < 512, chunks.toString());
+
+    output.reset();
+    chunks.clear();
+    json.writeJsonToChannel(names, String[].class, Channels.newChannel(output));
+    assertEquals(output.toByteArray(), json.toJsonBytes(names));
+    assertTrue(chunks.size() > 10, chunks.toString());
+
+    // Reset detaches the pooled writer from the previous output.
+    output.reset();
+    json.writeJsonTo(new PublicFields(), output);
+    assertEquals(
+        new String(output.toByteArray(), StandardCharsets.UTF_8),
+        "{\"active\":true,\"id\":7,\"name\":\"fory\"}");
+  }
+
   @SuppressWarnings({"rawtypes", "unchecked"})
   @Test
   public void typedWriteValidation() {
@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.fory.json;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertThrows;
+import static org.testng.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.apache.fory.reflect.TypeRef;
+import org.testng.annotations.Test;
+
+public class JsonParallelStreamTest {
+  private final ForyJson json = ForyJson.builder().withAsyncCompilation(false).build();
+
+  @Test
+  public void decodeNdjsonInOrder() {
+    StringBuilder document = new StringBuilder("\n");
+    List<Integer> expected = new ArrayList<>();
+    for (int i = 0; i < 20000; i++) {
+      document.append("{\"id\":").append(i).append(",\"name\":\"n\\n").append(i).append("\"}");
+      document.append(i % 3 == 0 ? "\r\n" : "\n");
+      if (i % 1000 == 0) {
+        document.append(" \t\n");
+      }
+      expected.add(i);
+    }
+    // The final record has no line ending.
+    document.append("{\"id\":20000}");
+    expected.add(20000);
+    byte[] bytes = document.toString().getBytes(StandardCharsets.UTF_8);
+    assertTrue(bytes.length > 256 * 1024);
+
+    List<Integer> ids =
+        json.parallelNdjsonStream(bytes, Record.class)
+            .map(record -> record.id)
+            .collect(Collectors.toList());
+    assertEquals(ids, expected);
+
+    ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+    direct.put(bytes).flip();
+    TypeRef<Map<String, Object>> type = new TypeRef<Map<String, Object>>() {};
+    List<Object> directIds =
+        json.parallelNdjsonStream(direct, type)
+            .map(record -> ((Number) record.get("id")).intValue())
+            .collect(Collectors.toList());
+    assertEquals(directIds, new ArrayList<Object>(expected));
+    assertEquals(direct.position(), 0);
+  }
+
+  @Test
+  public void decodeArrayInOrder() {
+    StringBuilder document = new StringBuilder(" [ ");
+    List<List<String>> expected = new ArrayList<>();
+    for (int i = 0; i < 5000; i++) {
+      if (i != 0) {
+        document.append(i % 2 == 0 ? "," : " ,\n");
+      }
+      document.append("[\"a,]}").append(i).append("\",\"b\\\"[\"]");
+      expected.add(Arrays.asList("a,]}" + i, "b\"["));
+    }
+    document.append(" ]\n");
+    byte[] bytes = document.toString().getBytes(StandardCharsets.UTF_8);
+    TypeRef<List<String>> type = new TypeRef<List<String>>() {};
+    assertEquals(json.parallelArrayStream(bytes, type).collect(Collectors.toList()), expected);
+
+    byte[] padded = new byte[bytes.length + 4];
+    System.arraycopy(bytes, 0, padded, 2, bytes.length);
+    ByteBuffer slice = ByteBuffer.wrap(padded, 2, bytes.length).slice();
+    assertEquals(json.parallelArrayStream(slice, type).count(), 5000);
+    assertEquals(
+        json.parallelArrayStream(utf8("[1,null,3]"), Integer.class).collect(Collectors.toList()),
+        Arrays.asList(1, null, 3));
+    assertEquals(json.parallelArrayStream(utf8(" [ ] "), Integer.class).count(), 0);
+  }
+
+  @Test
+  public void rejectMalformedInput() {
+    for (String framing : new String[] {"", "1", "[1", "[1,]", "[,1]", "[]x", "[\"a]"}) {
+      assertThrows(
+          ForyJsonException.class,
+          () -> json.parallelArrayStream(utf8(framing), Integer.class));
+    }
+    assertThrows(
+        ForyJsonException.class,
+        () ->
+            json.parallelArrayStream(utf8("[1,2 3]"), Integer.class)
+                .collect(Collectors.toList()));
+    assertThrows(
+        ForyJsonException.class,
+        () ->
+            json.parallelNdjsonStream(utf8("1\n[2,\n3]\n"), Object.class)
+                .collect(Collectors.toList()));
+    assertEquals(
+        json.parallelNdjsonStream(utf8(""), Integer.class).collect(Collectors.toList()),
+        Collections.emptyList());
+  }
+
+  private static ByteBuffer utf8(String value) {
+    return ByteBuffer.wrap(value.getBytes(StandardCharsets.UTF_8));
+  }
+
+  public static final class Record {
+    public int id;
+    public String name;
+
+    public Record() {}
+  }
+}
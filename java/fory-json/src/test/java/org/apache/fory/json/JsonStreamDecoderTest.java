@@ -34,6 +34,12 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import org.apache.fory.json.codec.JsonValueCodec;
+import org.apache.fory.json.reader.Latin1JsonReader;
+import org.apache.fory.json.reader.Utf16JsonReader;
+import org.apache.fory.json.reader.Utf8JsonReader;
+import org.apache.fory.json.writer.StringJsonWriter;
+import org.apache.fory.json.writer.Utf8JsonWriter;
 import org.apache.fory.reflect.TypeRef;
 import org.testng.annotations.Test;
 
@@ -120,6 +126,101 @@ public class JsonStreamDecoderTest {
     }
   }
 
+  @Test
+  public void decodeInPlaceMatchesStaging() {
+    StringBuilder array = new StringBuilder("[");
+    StringBuilder ndjson = new StringBuilder();
+    List<Map<String, Object>> expected = new ArrayList<>();
+    TypeRef<Map<String, Object>> type = new TypeRef<Map<String, Object>>() {};
+    for (int i = 0; i < 200; i++) {
+      String record = "{\"id\":" + i + ",\"tags\":[\"a,]\",\"b\"],\"v\":{\"n\":" + i + "}}";
+      array.append(i == 0 ? "" : " , ").append(record);
+      ndjson.append(record).append(i % 2 == 0 ? "\n" : "\r\n");
+      expected.add(json.fromJson(record, type));
+    }
+    array.append(']');
+    for (String document : new String[] {array.toString(), ndjson.toString()}) {
+      boolean isArray = document.startsWith("[");
+      byte[] bytes = document.getBytes(StandardCharsets.UTF_8);
+      int[] ends = {bytes.length / 3, bytes.length / 2, bytes.length - 7};
+      // Heap chunks parse whole values in place; direct chunks keep the staging path.
+      for (boolean direct : new boolean[] {false, true}) {
+        List<ByteBuffer> inputs = new ArrayList<>();
+        for (ByteBuffer heap : buffers(document, ends)) {
+          if (direct) {
+            ByteBuffer copy = ByteBuffer.allocateDirect(heap.remaining());
+            copy.put(heap).flip();
+            heap = copy;
+          }
+          inputs.add(heap);
+        }
+        JsonStreamDecoder<Map<String, Object>> decoder =
+            isArray
+                ? json.newArrayStreamDecoder(type, 256)
+                : json.newNdjsonStreamDecoder(type, 256);
+        assertEquals(decode(decoder, inputs), expected, "array=" + isArray + ", direct=" + direct);
+      }
+    }
+
+    // A malformed element that sits entirely inside the buffer is still reported.
+    JsonStreamDecoder<Integer> malformed = json.newArrayStreamDecoder(Integer.class, 16);
+    ByteBuffer input = utf8("[1,2 3,4]");
+    assertTrue(malformed.decodeNext(input));
+    assertThrows(ForyJsonException.class, () -> malformed.decodeNext(input));
+  }
+
+  @Test
+  public void parseBufferedElementOnce() {
+    CountingCodec codec = new CountingCodec();
+    ForyJson json =
+        ForyJson.builder()
+            .withAsyncCompilation(false)
+            .withConcurrencyLevel(1)
+            .registerCodec(Counted.class, codec)
+            .build();
+    JsonStreamDecoder<Counted> decoder = json.newArrayStreamDecoder(Counted.class, 16);
+    ByteBuffer input = utf8("[1,2 3,4]");
+    assertTrue(decoder.decodeNext(input));
+    assertEquals(decoder.value().value, 1);
+    // The element is parsed once in place and the delimiter check at the reader position reports
+    // the trailing content.
+    assertThrows(ForyJsonException.class, () -> decoder.decodeNext(input));
+    assertEquals(codec.reads, 2);
+
+    // A parsed element waits for a delimiter in a later buffer without being parsed again.
+    CountingCodec pendingCodec = new CountingCodec();
+    ForyJson pendingJson =
+        ForyJson.builder()
+            .withAsyncCompilation(false)
+            .withConcurrencyLevel(1)
+            .registerCodec(Counted.class, pendingCodec)
+            .build();
+    JsonStreamDecoder<Counted> pending = pendingJson.newArrayStreamDecoder(Counted.class, 16);
+    assertFalse(pending.decodeNext(utf8("[1 ")));
+    ByteBuffer second = utf8("  ,2]");
+    assertTrue(pending.decodeNext(second));
+    assertEquals(pending.value().value, 1);
+    assertTrue(pending.decodeNext(second));
+    assertEquals(pending.value().value, 2);
+    assertFalse(pending.finish());
+    assertEquals(pendingCodec.reads, 2);
+  }
+
+  @Test
+  public void decodeScalarsAtEverySplit() {
+    String document = "[ true , 123 ,\"x y\" , null,{\"a\":[1,2]} ,-4.5e3 , false]";
+    byte[] bytes = document.getBytes(StandardCharsets.UTF_8);
+    List<?> expected = json.fromJson(document, List.class);
+    for (int split = 0; split <= bytes.length; split++) {
+      JsonStreamDecoder<Object> decoder = json.newArrayStreamDecoder(Object.class, 32);
+      List<Object> values = new ArrayList<>();
+      drain(decoder, ByteBuffer.wrap(bytes, 0, split), values);
+      drain(decoder, ByteBuffer.wrap(bytes, split, bytes.length - split), values);
+      assertFalse(decoder.finish());
+      assertEquals(values, expected, "split=" + split);
+    }
+  }
+
   @Test
   public void decodeNdjsonAtEverySplit() {
     String document = "\n {\"v\":1}\r\n\t\r\n{\"v\":2}\n{\"v\":3}";
@@ -345,4 +446,42 @@ public class JsonStreamDecoderTest {
   private static ByteBuffer utf8(String value) {
     return ByteBuffer.wrap(value.getBytes(StandardCharsets.UTF_8));
   }
+
+  public static final class Counted {
+    private final int value;
+
+    private Counted(int value) {
+      this.value = value;
+    }
+  }
+
+  private static final class CountingCodec implements JsonValueCodec<Counted> {
+    private int reads;
+
+    @Override
+    public void writeString(StringJsonWriter writer, Counted value) {
+      writer.writeInt(value.value);
+    }
+
+    @Override
+    public void writeUtf8(Utf8JsonWriter writer, Counted value) {
+      writer.writeInt(value.value);
+    }
+
+    @Override
+    public Counted readLatin1(Latin1JsonReader reader) {
+      return new Counted(reader.readIntValue());
+    }
+
+    @Override
+    public Counted readUtf16(Utf16JsonReader reader) {
+      return new Counted(reader.readIntValue());
+    }
+
+    @Override
+    public Counted readUtf8(Utf8JsonReader reader) {
+      reads++;
+      return new Counted(reader.readIntValue());
+    }
+  }
 }
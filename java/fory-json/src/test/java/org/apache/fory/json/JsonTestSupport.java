@@ -51,6 +51,7 @@ final class JsonTestSupport {
           ForyJson.DEFAULT_MAX_GRAPH_MEMORY_BYTES,
           1,
           2 * 1024 * 1024,
+          ForyJson.DEFAULT_OUTPUT_FLUSH_THRESHOLD_BYTES,
           new CodecRegistry(),
           Collections.<Class<?>, Class<?>>emptyMap(),
           new JsonCodecFactory[0],
@@ -25,6 +25,7 @@ import static org.testng.Assert.assertTrue;
 import java.util.Random;
 import org.apache.fory.Fory;
 import org.apache.fory.config.ForyBuilder;
+import org.apache.fory.util.PrimitiveArrayCompressionType;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
@@ -38,7 +39,9 @@ public class ArrayCompressionTest {
       {"Byte range array", createByteRangeArray(1_000)},
       {"Short range array", createShortRangeArray(1_000)},
       {"Large value array", createLargeValueArray(1_000)},
-      {"Mixed value array", createMixedValueArray(1_000)}
+      {"Mixed value array", createMixedValueArray(1_000)},
+      {"Sorted id array", createSortedIdArray(1_000)},
+      {"Offset array", createOffsetArray(1_000)}
     };
   }
 
@@ -49,44 +52,52 @@ public class ArrayCompressionTest {
       {"Empty array", new long[] {}},
       {"Small array", new long[] {1L, 2L, 3L}},
       {"Int range array", createIntRangeLongArray(1000)},
-      {"Large value array", createLargeLongValueArray(1000)}
+      {"Large value array", createLargeLongValueArray(1000)},
+      {"Timestamp array", createTimestampArray(1000)},
+      {"Counter array", createCounterArray(1000)}
     };
   }
 
   @Test(dataProvider = "intArrayData")
   public void testIntArrayCompressionRoundTrip(String description, int[] originalArray) {
-    Fory foryWithCompression =
-        new ForyBuilder()
-            .withXlang(false)
-            .withIntArrayCompressed(true)
-            .withCompatible(false)
-            .build();
-    CompressedArraySerializers.registerSerializers(foryWithCompression);
-    byte[] serializedWithCompression = foryWithCompression.serialize(originalArray);
-    int[] deserializedWithCompression =
-        (int[]) foryWithCompression.deserialize(serializedWithCompression);
-    assertEquals(
-        deserializedWithCompression,
-        originalArray,
-        "Round trip failed with compression: " + description);
+    for (boolean bitPack : new boolean[] {false, true}) {
+      Fory foryWithCompression =
+          new ForyBuilder()
+              .withXlang(false)
+              .withIntArrayCompressed(true)
+              .withBitPackedArrayCompressed(bitPack)
+              .withCompatible(false)
+              .build();
+      CompressedArraySerializers.registerSerializers(foryWithCompression);
+      byte[] serializedWithCompression = foryWithCompression.serialize(originalArray);
+      int[] deserializedWithCompression =
+          (int[]) foryWithCompression.deserialize(serializedWithCompression);
+      assertEquals(
+          deserializedWithCompression,
+          originalArray,
+          "Round trip failed with compression: " + description + ", bitPack: " + bitPack);
+    }
   }
 
   @Test(dataProvider = "longArrayData")
   public void testLongArrayCompressionRoundTrip(String description, long[] originalArray) {
-    Fory foryWithCompression =
-        new ForyBuilder()
-            .withXlang(false)
-            .withLongArrayCompressed(true)
-            .withCompatible(false)
-            .build();
-    CompressedArraySerializers.registerSerializers(foryWithCompression);
-    byte[] serializedWithCompression = foryWithCompression.serialize(originalArray);
-    long[] deserializedWithCompression =
-        (long[]) foryWithCompression.deserialize(serializedWithCompression);
-    assertEquals(
-        deserializedWithCompression,
-        originalArray,
-        "Round trip failed with compression: " + description);
+    for (boolean bitPack : new boolean[] {false, true}) {
+      Fory foryWithCompression =
+          new ForyBuilder()
+              .withXlang(false)
+              .withLongArrayCompressed(true)
+              .withBitPackedArrayCompressed(bitPack)
+              .withCompatible(false)
+              .build();
+      CompressedArraySerializers.registerSerializers(foryWithCompression);
+      byte[] serializedWithCompression = foryWithCompression.serialize(originalArray);
+      long[] deserializedWithCompression =
+          (long[]) foryWithCompression.deserialize(serializedWithCompression);
+      assertEquals(
+          deserializedWithCompression,
+          originalArray,
+          "Round trip failed with compression: " + description + ", bitPack: " + bitPack);
+    }
   }
 
   @Test
@@ -139,6 +150,93 @@ public class ArrayCompressionTest {
         "Expected compression for int-range long array, got ratio: " + compressionRatio);
   }
 
+  @Test
+  public void testBitPackedCompressionRatios() {
+    Fory foryWithCompression =
+        new ForyBuilder()
+            .withXlang(false)
+            .withIntArrayCompressed(true)
+            .withLongArrayCompressed(true)
+            .withBitPackedArrayCompressed(true)
+            .withCompatible(false)
+            .build();
+    CompressedArraySerializers.registerSerializers(foryWithCompression);
+    Fory foryWithoutCompression =
+        new ForyBuilder()
+            .withXlang(false)
+            .withIntArrayCompressed(false)
+            .withLongArrayCompressed(false)
+            .withCompatible(false)
+            .build();
+
+    int[] sortedIds = createSortedIdArray(10_000);
+    double compressionRatio =
+        (double) foryWithCompression.serialize(sortedIds).length
+            / foryWithoutCompression.serialize(sortedIds).length;
+    assertTrue(
+        compressionRatio < 0.15,
+        "Expected delta compression for sorted ids, got ratio: " + compressionRatio);
+
+    int[] offsets = createOffsetArray(10_000);
+    compressionRatio =
+        (double) foryWithCompression.serialize(offsets).length
+            / foryWithoutCompression.serialize(offsets).length;
+    assertTrue(
+        compressionRatio < 0.40,
+        "Expected frame of reference compression for offsets, got ratio: " + compressionRatio);
+
+    long[] timestamps = createTimestampArray(10_000);
+    compressionRatio =
+        (double) foryWithCompression.serialize(timestamps).length
+            / foryWithoutCompression.serialize(timestamps).length;
+    assertTrue(
+        compressionRatio < 0.20,
+        "Expected delta compression for timestamps, got ratio: " + compressionRatio);
+  }
+
+  @Test
+  public void testBitPackingDisabledByDefault() {
+    Fory fory =
+        new ForyBuilder()
+            .withXlang(false)
+            .withIntArrayCompressed(true)
+            .withLongArrayCompressed(true)
+            .withCompatible(false)
+            .build();
+    CompressedArraySerializers.registerSerializers(fory);
+    Fory bitPackFory =
+        new ForyBuilder()
+            .withXlang(false)
+            .withIntArrayCompressed(true)
+            .withLongArrayCompressed(true)
+            .withBitPackedArrayCompressed(true)
+            .withCompatible(false)
+            .build();
+    CompressedArraySerializers.registerSerializers(bitPackFory);
+    // The compression type follows the root header, which has the same size for every array.
+    // An empty array is written as the NONE type byte and a zero size.
+    int typeIndex = fory.serialize(new int[0]).length - 2;
+
+    // Older readers only know the narrowing types, so they must still be the only ones written.
+    Object[] arrays = {
+      createSortedIdArray(1_000),
+      createOffsetArray(1_000),
+      createTimestampArray(1_000),
+      createCounterArray(1_000)
+    };
+    for (Object array : arrays) {
+      byte[] bytes = fory.serialize(array);
+      assertTrue(
+          bytes[typeIndex] <= PrimitiveArrayCompressionType.LONG_TO_INT.getValue(),
+          "Unexpected compression type " + bytes[typeIndex]);
+      assertEquals(fory.deserialize(bytes), array);
+      // Readers accept the bit-packed types regardless of the option.
+      assertEquals(fory.deserialize(bitPackFory.serialize(array)), array);
+    }
+    byte[] bitPacked = bitPackFory.serialize(arrays[0]);
+    assertEquals(bitPacked[typeIndex], PrimitiveArrayCompressionType.DELTA.getValue());
+  }
+
   @Test
   public void testLargeArrays() {
     Fory fory =
@@ -163,6 +261,46 @@ public class ArrayCompressionTest {
   }
 
   // Helper methods to create test data
+  private int[] createSortedIdArray(int size) {
+    int[] array = new int[size];
+    Random random = new Random(42);
+    int id = Integer.MAX_VALUE - size * 8;
+    for (int i = 0; i < size; i++) {
+      id += 1 + random.nextInt(7);
+      array[i] = id;
+    }
+    return array;
+  }
+
+  private int[] createOffsetArray(int size) {
+    int[] array = new int[size];
+    Random random = new Random(42);
+    for (int i = 0; i < size; i++) {
+      array[i] = -1_000_000_000 + random.nextInt(1 << 12);
+    }
+    return array;
+  }
+
+  private long[] createTimestampArray(int size) {
+    long[] array = new long[size];
+    Random random = new Random(42);
+    long timestamp = 1_700_000_000_000L;
+    for (int i = 0; i < size; i++) {
+      timestamp += random.nextInt(100);
+      array[i] = timestamp;
+    }
+    return array;
+  }
+
+  private long[] createCounterArray(int size) {
+    long[] array = new long[size];
+    Random random = new Random(42);
+    for (int i = 0; i < size; i++) {
+      array[i] = random.nextInt(1 << 20);
+    }
+    return array;
+  }
+
   private int[] createByteRangeArray(int size) {
     int[] array = new int[size];
     Random random = new Random(42);
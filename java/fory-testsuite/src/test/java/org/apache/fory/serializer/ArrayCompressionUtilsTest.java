@@ -274,4 +274,109 @@ public class ArrayCompressionUtilsTest {
         ArrayCompressionUtils.determineIntCompressionType(mixedArray),
         PrimitiveArrayCompressionType.NONE);
   }
+
+  @Test
+  public void testChooseIntCompressionType() {
+    int[] sortedIds = new int[1024];
+    int[] offsets = new int[1024];
+    int[] counts = new int[1024];
+    int[] byteRange = new int[1024];
+    Random random = new Random(42);
+    for (int i = 0; i < 1024; i++) {
+      sortedIds[i] = 1_000_000_000 + i * 3 + random.nextInt(3);
+      offsets[i] = -1_000_000_000 + random.nextInt(4096);
+      counts[i] = random.nextInt(1 << 20);
+      byteRange[i] = random.nextInt(256) - 128;
+    }
+    assertEquals(
+        ArrayCompressionUtils.chooseIntCompressionType(sortedIds),
+        PrimitiveArrayCompressionType.DELTA);
+    assertEquals(
+        ArrayCompressionUtils.chooseIntCompressionType(offsets),
+        PrimitiveArrayCompressionType.FRAME_OF_REFERENCE);
+    assertEquals(
+        ArrayCompressionUtils.chooseIntCompressionType(counts),
+        PrimitiveArrayCompressionType.BIT_PACKED);
+    // Narrowing is preferred when bit-packing doesn't save space.
+    assertEquals(
+        ArrayCompressionUtils.chooseIntCompressionType(byteRange),
+        PrimitiveArrayCompressionType.INT_TO_BYTE);
+    assertEquals(
+        ArrayCompressionUtils.chooseIntCompressionType(new int[] {1, 2, 3}),
+        PrimitiveArrayCompressionType.NONE);
+    int[] randomInts = new int[1024];
+    for (int i = 0; i < randomInts.length; i++) {
+      randomInts[i] = random.nextInt();
+    }
+    assertEquals(
+        ArrayCompressionUtils.chooseIntCompressionType(randomInts),
+        PrimitiveArrayCompressionType.NONE);
+  }
+
+  @Test
+  public void testChooseLongCompressionType() {
+    long[] timestamps = new long[1024];
+    long[] offsets = new long[1024];
+    long[] counts = new long[1024];
+    long[] intRange = new long[1024];
+    Random random = new Random(42);
+    long now = 1_700_000_000_000L;
+    for (int i = 0; i < 1024; i++) {
+      timestamps[i] = now + i * 1000L + random.nextInt(10);
+      offsets[i] = Long.MIN_VALUE + random.nextInt(1 << 20);
+      counts[i] = random.nextInt(1 << 20);
+      intRange[i] = random.nextInt();
+    }
+    assertEquals(
+        ArrayCompressionUtils.chooseLongCompressionType(timestamps),
+        PrimitiveArrayCompressionType.DELTA);
+    assertEquals(
+        ArrayCompressionUtils.chooseLongCompressionType(offsets),
+        PrimitiveArrayCompressionType.FRAME_OF_REFERENCE);
+    assertEquals(
+        ArrayCompressionUtils.chooseLongCompressionType(counts),
+        PrimitiveArrayCompressionType.BIT_PACKED);
+    assertEquals(
+        ArrayCompressionUtils.chooseLongCompressionType(intRange),
+        PrimitiveArrayCompressionType.LONG_TO_INT);
+    long[] randomLongs = new long[1024];
+    for (int i = 0; i < randomLongs.length; i++) {
+      randomLongs[i] = random.nextLong();
+    }
+    assertEquals(
+        ArrayCompressionUtils.chooseLongCompressionType(randomLongs),
+        PrimitiveArrayCompressionType.NONE);
+  }
+
+  @Test
+  public void testTransformRoundTrip() {
+    Random random = new Random(42);
+    int[] ints = new int[1001];
+    long[] longs = new long[1001];
+    for (int i = 0; i < ints.length; i++) {
+      // Overflowing differences must survive the round trip too.
+      ints[i] = i % 10 == 0 ? random.nextInt() : i;
+      longs[i] = i % 10 == 0 ? random.nextLong() : i;
+    }
+    int intMin = ArrayCompressionUtils.minValue(ints);
+    int[] decodedInts = ArrayCompressionUtils.encodeFrameOfReference(ints, intMin);
+    ArrayCompressionUtils.decodeFrameOfReference(decodedInts, intMin);
+    assertEquals(decodedInts, ints);
+    decodedInts = ArrayCompressionUtils.encodeDeltas(ints);
+    ArrayCompressionUtils.decodeDeltas(decodedInts);
+    assertEquals(decodedInts, ints);
+
+    long longMin = ArrayCompressionUtils.minValue(longs);
+    long[] decodedLongs = ArrayCompressionUtils.encodeFrameOfReference(longs, longMin);
+    ArrayCompressionUtils.decodeFrameOfReference(decodedLongs, longMin);
+    assertEquals(decodedLongs, longs);
+    decodedLongs = ArrayCompressionUtils.encodeDeltas(longs);
+    ArrayCompressionUtils.decodeDeltas(decodedLongs);
+    assertEquals(decodedLongs, longs);
+
+    assertEquals(ArrayCompressionUtils.bitWidth(new int[] {-1, 0, 5}, 1), 3);
+    assertEquals(ArrayCompressionUtils.bitWidth(new int[] {-1, 0, 5}, 0), 32);
+    assertEquals(ArrayCompressionUtils.bitWidth(new long[] {0, 0}, 0), 0);
+    assertEquals(ArrayCompressionUtils.bitWidth(new long[] {-1L}, 0), 64);
+  }
 }